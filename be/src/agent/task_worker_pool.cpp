@@ -58,10 +58,13 @@
 #include "util/starrocks_metrics.h"
 #include "util/stopwatch.hpp"
 #include "util/thread.h"
+#include "util/time.h"
 
 namespace starrocks {
 
 const size_t PUBLISH_VERSION_BATCH_SIZE = 10;
+// the max number of reported tablet snapshots kept to build the incremental tablet report
+const size_t MAX_TABLET_REPORT_SNAPSHOTS = 4;
 
 std::atomic<int64_t> TaskWorkerPool::_s_report_version(time(nullptr) * 10000);
 std::mutex TaskWorkerPool::_s_task_signatures_locks[TTaskType::type::NUM_TASK_TYPE];
@@ -1189,6 +1192,14 @@ void* TaskWorkerPool::_report_tablet_worker_thread_callback(void* arg_this) {
     request.__isset.tablets = true;
     AgentStatus status = STARROCKS_SUCCESS;
 
+    // The generation starts from current time, so it still increases after backend restarts.
+    int64_t tablet_report_generation = UnixMillis();
+    // The generation acknowledged by FE, the next report only contains the tablets changed after it.
+    // -1 means FE expects a full report.
+    int64_t acked_generation = -1;
+    // generation -> tablets reported, kept until the generation can't be acknowledged any more
+    std::map<int64_t, std::map<TTabletId, TTablet>> reported_tablets;
+
     while ((!worker_pool_this->_stopped)) {
         auto master_address = get_master_address();
         if (master_address.port == 0) {
@@ -1198,15 +1209,36 @@ void* TaskWorkerPool::_report_tablet_worker_thread_callback(void* arg_this) {
             continue;
         }
         request.tablets.clear();
+        request.__isset.base_tablet_report_generation = false;
 
         request.__set_report_version(_s_report_version.load(std::memory_order_relaxed));
-        Status st_report = StorageEngine::instance()->tablet_manager()->report_all_tablets_info(&request.tablets);
+        std::map<TTabletId, TTablet> tablets;
+        Status st_report = StorageEngine::instance()->tablet_manager()->report_all_tablets_info(&tablets);
         if (!st_report.ok()) {
             LOG(WARNING) << "Fail to report all tablets info, err=" << st_report.to_string();
             // wait for notifying until timeout
             StorageEngine::instance()->wait_for_report_notify(config::report_tablet_interval_seconds, true);
             continue;
         }
+        int64_t generation = ++tablet_report_generation;
+        auto base = reported_tablets.end();
+        if (config::enable_incremental_tablet_report && acked_generation >= 0) {
+            base = reported_tablets.find(acked_generation);
+        }
+        if (base != reported_tablets.end()) {
+            // the dropped tablets are absent in the incremental report, FE checks them in the full report
+            for (const auto& [tablet_id, tablet] : tablets) {
+                auto iter = base->second.find(tablet_id);
+                if (iter == base->second.end() || !(iter->second == tablet)) {
+                    request.tablets.emplace(tablet_id, tablet);
+                }
+            }
+            request.__set_base_tablet_report_generation(acked_generation);
+        } else {
+            request.tablets = tablets;
+        }
+        request.__set_tablet_report_generation(generation);
+        reported_tablets.emplace(generation, std::move(tablets));
         int64_t max_compaction_score =
                 std::max(StarRocksMetrics::instance()->tablet_cumulative_max_compaction_score.value(),
                          StarRocksMetrics::instance()->tablet_base_max_compaction_score.value());
@@ -1220,7 +1252,21 @@ void* TaskWorkerPool::_report_tablet_worker_thread_callback(void* arg_this) {
             StarRocksMetrics::instance()->report_all_tablets_requests_failed.increment(1);
             LOG(WARNING) << "Fail to report olap table state to " << master_address.hostname << ":"
                          << master_address.port << ", err=" << status;
+        } else if (result.__isset.tablet_report_generation) {
+            acked_generation = result.tablet_report_generation;
+        } else {
+            // FE doesn't support incremental tablet report
+            acked_generation = -1;
+        }
+        // The snapshots before the acked generation will never be used as base. If FE expects a full report,
+        // only the latest one may be acked later.
+        int64_t keep_from = acked_generation >= 0 ? acked_generation : generation;
+        reported_tablets.erase(reported_tablets.begin(), reported_tablets.lower_bound(keep_from));
+        while (reported_tablets.size() > MAX_TABLET_REPORT_SNAPSHOTS) {
+            reported_tablets.erase(reported_tablets.begin());
         }
+        VLOG(1) << "report " << request.tablets.size() << " tablets, generation: " << generation
+                << ", incremental: " << request.__isset.base_tablet_report_generation;
 
         // wait for notifying until timeout
         StorageEngine::instance()->wait_for_report_notify(config::report_tablet_interval_seconds, true);
@@ -121,6 +121,9 @@ CONF_mInt32(report_task_interval_seconds, "10");
 CONF_mInt32(report_disk_state_interval_seconds, "60");
 // The interval time(seconds) for agent report olap table to FE.
 CONF_mInt32(report_tablet_interval_seconds, "60");
+// Whether to only report the tablets changed after the generation acknowledged by FE.
+// A full report is still sent when FE asks for it.
+CONF_mBool(enable_incremental_tablet_report, "true");
 // The interval time(seconds) for agent report workgroup to FE.
 CONF_mInt32(report_workgroup_interval_seconds, "5");
 // The max download speed(KB/s).
@@ -796,6 +799,10 @@ CONF_String(dependency_librdkafka_debug, "all");
 CONF_Int64(loop_count_wait_fragments_finish, "0");
 
 CONF_Int16(jdbc_connection_pool_size, "8");
+// The number of rows fetched from the database in one round trip of a JDBC scan, 0 means the chunk size.
+CONF_mInt32(jdbc_statement_fetch_size, "0");
+// Whether a JDBC scan reuses the off-heap memory of the previous chunk, which is copied before the next is fetched.
+CONF_mBool(jdbc_scan_reuse_chunk, "true");
 
 // Now, only get_info is processed by _async_thread_pool, and only needs a small number of threads.
 // The default value is set as the THREAD_POOL_SIZE of RoutineLoadTaskScheduler of FE.
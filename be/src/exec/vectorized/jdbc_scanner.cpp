@@ -8,6 +8,7 @@
 #include "common/statusor.h"
 #include "jni_md.h"
 #include "util/defer_op.h"
+#include "util/string_parser.hpp"
 
 namespace starrocks::vectorized {
 
@@ -19,16 +20,6 @@ namespace starrocks::vectorized {
         return Status::InternalError(fmt::format("{}, error: {}", error_message, err)); \
     }
 
-#define PROCESS_NULL_VALUE(val, column)                                                                         \
-    if (val == nullptr) {                                                                                       \
-        if (!column->is_nullable()) {                                                                           \
-            return Status::DataQualityError(                                                                    \
-                    fmt::format("Unexpected NULL value occurs on NOT NULL column[{}]", slot_desc->col_name())); \
-        }                                                                                                       \
-        column->append_nulls(1);                                                                                \
-        return Status::OK();                                                                                    \
-    }
-
 Status JDBCScanner::open(RuntimeState* state) {
     _init_profile();
 
@@ -40,8 +31,6 @@ Status JDBCScanner::open(RuntimeState* state) {
 
     RETURN_IF_ERROR(_init_column_class_name());
 
-    RETURN_IF_ERROR(_init_jdbc_util());
-
     return Status::OK();
 }
 
@@ -52,10 +41,9 @@ Status JDBCScanner::get_next(RuntimeState* state, ChunkPtr* chunk, bool* eos) {
         *eos = true;
         return Status::OK();
     }
-    jobject jchunk = nullptr;
-    LOCAL_REF_GUARD(jchunk);
-    RETURN_IF_ERROR(_get_next_chunk(&jchunk));
-    RETURN_IF_ERROR(_fill_chunk(jchunk, chunk));
+    jlong chunk_meta = 0;
+    RETURN_IF_ERROR(_get_next_chunk(&chunk_meta));
+    RETURN_IF_ERROR(_fill_chunk(chunk_meta, chunk));
     return Status::OK();
 }
 
@@ -108,7 +96,9 @@ Status JDBCScanner::_init_jdbc_scan_context(RuntimeState* state) {
     LOCAL_REF_GUARD_ENV(env, passwd);
     jstring sql = env->NewStringUTF(_scan_ctx.sql.c_str());
     LOCAL_REF_GUARD_ENV(env, sql);
-    int statement_fetch_size = state->chunk_size();
+    // a chunk never has more rows than the chunk size, but the rows can be fetched in larger round trips
+    int chunk_size = state->chunk_size();
+    int statement_fetch_size = config::jdbc_statement_fetch_size > 0 ? config::jdbc_statement_fetch_size : chunk_size;
     int connection_pool_size = config::jdbc_connection_pool_size;
 
     auto scan_ctx = env->NewObject(scan_context_cls, constructor, driver_class_name, jdbc_url, user, passwd, sql,
@@ -117,6 +107,17 @@ Status JDBCScanner::_init_jdbc_scan_context(RuntimeState* state) {
     LOCAL_REF_GUARD_ENV(env, scan_ctx);
     CHECK_JAVA_EXCEPTION(env, "construct JDBCScanContext failed")
 
+    jmethodID set_chunk_size = env->GetMethodID(scan_context_cls, "setChunkSize", "(I)V");
+    DCHECK(set_chunk_size != nullptr);
+    env->CallVoidMethod(_jdbc_scan_context.handle(), set_chunk_size, chunk_size);
+    CHECK_JAVA_EXCEPTION(env, "set chunk size of JDBCScanContext failed")
+
+    // the off-heap chunk is copied to the output chunk before the next one is fetched, so it can be reused
+    jmethodID set_reuse_chunk = env->GetMethodID(scan_context_cls, "setReuseChunk", "(Z)V");
+    DCHECK(set_reuse_chunk != nullptr);
+    env->CallVoidMethod(_jdbc_scan_context.handle(), set_reuse_chunk, (jboolean)config::jdbc_scan_reuse_chunk);
+    CHECK_JAVA_EXCEPTION(env, "set reuse chunk of JDBCScanContext failed")
+
     return Status::OK();
 }
 
@@ -141,8 +142,14 @@ Status JDBCScanner::_init_jdbc_scanner() {
     // init jmethod
     _scanner_has_next = env->GetMethodID(_jdbc_scanner_cls->clazz(), "hasNext", "()Z");
     DCHECK(_scanner_has_next != nullptr);
-    _scanner_get_next_chunk = env->GetMethodID(_jdbc_scanner_cls->clazz(), "getNextChunk", "()Ljava/util/List;");
+    _scanner_get_next_chunk = env->GetMethodID(_jdbc_scanner_cls->clazz(), "getNextOffHeapChunk", "()J");
     DCHECK(_scanner_get_next_chunk != nullptr);
+    _scanner_get_scan_rows = env->GetMethodID(_jdbc_scanner_cls->clazz(), "getScanRows", "()J");
+    DCHECK(_scanner_get_scan_rows != nullptr);
+    _scanner_get_scan_bytes = env->GetMethodID(_jdbc_scanner_cls->clazz(), "getScanBytes", "()J");
+    DCHECK(_scanner_get_scan_bytes != nullptr);
+    _scanner_get_scan_time_ns = env->GetMethodID(_jdbc_scanner_cls->clazz(), "getScanTimeNs", "()J");
+    DCHECK(_scanner_get_scan_time_ns != nullptr);
     _scanner_close = env->GetMethodID(_jdbc_scanner_cls->clazz(), "close", "()V");
     DCHECK(_scanner_close != nullptr);
 
@@ -161,12 +168,23 @@ void JDBCScanner::_init_profile() {
     _profile.io_timer = ADD_TIMER(_runtime_profile, "IOTime");
     _profile.io_counter = ADD_COUNTER(_runtime_profile, "IOCounter", TUnit::UNIT);
     _profile.fill_chunk_timer = ADD_TIMER(_runtime_profile, "FillChunkTime");
+    _profile.bytes_read_counter = ADD_COUNTER(_runtime_profile, "BytesRead", TUnit::BYTES);
+    _profile.java_scan_timer = ADD_TIMER(_runtime_profile, "JavaScanTime");
+    _profile.rows_read_rate_counter = ADD_COUNTER(_runtime_profile, "RowsReadRate", TUnit::UNIT_PER_SECOND);
+    _profile.bytes_read_rate_counter = ADD_COUNTER(_runtime_profile, "BytesReadRate", TUnit::BYTES_PER_SECOND);
     _runtime_profile->add_info_string("Query", _scan_ctx.sql);
 }
 
 Status JDBCScanner::_precheck_data_type(const std::string& java_class, SlotDescriptor* slot_desc) {
     auto type = slot_desc->type().type;
-    if (java_class == "java.lang.Short") {
+    if (java_class == "java.lang.Byte") {
+        if (type != TYPE_TINYINT && type != TYPE_SMALLINT && type != TYPE_INT && type != TYPE_BIGINT) {
+            return Status::NotSupported(
+                    fmt::format("Type mismatches on column[{}], JDBC result type is Byte, please set the type to "
+                                "one of tinyint,smallint,int,bigint",
+                                slot_desc->col_name()));
+        }
+    } else if (java_class == "java.lang.Short") {
         if (type != TYPE_TINYINT && type != TYPE_SMALLINT && type != TYPE_INT && type != TYPE_BIGINT) {
             return Status::NotSupported(
                     fmt::format("Type mismatches on column[{}], JDBC result type is Short, please set the type to "
@@ -186,6 +204,12 @@ Status JDBCScanner::_precheck_data_type(const std::string& java_class, SlotDescr
                     "Type mismatches on column[{}], JDBC result type is String, please set the type to varchar or char",
                     slot_desc->col_name()));
         }
+    } else if (java_class == "[B") {
+        if (type != TYPE_CHAR && type != TYPE_VARCHAR) {
+            return Status::NotSupported(fmt::format(
+                    "Type mismatches on column[{}], JDBC result type is byte[], please set the type to varchar or char",
+                    slot_desc->col_name()));
+        }
     } else if (java_class == "java.lang.Long") {
         if (type != TYPE_BIGINT) {
             return Status::NotSupported(fmt::format(
@@ -235,6 +259,13 @@ Status JDBCScanner::_precheck_data_type(const std::string& java_class, SlotDescr
                     "Type mismatches on column[{}], JDBC result type is BigDecimal, please set the type to decimal",
                     slot_desc->col_name()));
         }
+    } else if (java_class == "java.math.BigInteger") {
+        if (type != TYPE_LARGEINT && type != TYPE_DECIMAL32 && type != TYPE_DECIMAL64 && type != TYPE_DECIMAL128) {
+            return Status::NotSupported(
+                    fmt::format("Type mismatches on column[{}], JDBC result type is BigInteger, please set the type "
+                                "to largeint or decimal",
+                                slot_desc->col_name()));
+        }
     } else {
         return Status::NotSupported(fmt::format("Type is not supported on column[{}], JDBC result type is [{}]",
                                                 slot_desc->col_name(), java_class));
@@ -267,23 +298,6 @@ Status JDBCScanner::_init_column_class_name() {
     return Status::OK();
 }
 
-Status JDBCScanner::_init_jdbc_util() {
-    auto* env = JVMFunctionHelper::getInstance().getEnv();
-
-    // init JDBCUtil method
-    auto jdbc_util_cls = env->FindClass(JDBC_UTIL_CLASS_NAME);
-    DCHECK(jdbc_util_cls != nullptr);
-    _jdbc_util_cls = std::make_unique<JVMClass>(env->NewGlobalRef(jdbc_util_cls));
-    LOCAL_REF_GUARD_ENV(env, jdbc_util_cls);
-
-    _util_format_date =
-            env->GetStaticMethodID(_jdbc_util_cls->clazz(), "formatDate", "(Ljava/sql/Date;)Ljava/lang/String;");
-    DCHECK(_util_format_date != nullptr);
-    _util_format_localdatetime = env->GetStaticMethodID(_jdbc_util_cls->clazz(), "formatLocalDatetime",
-                                                        "(Ljava/time/LocalDateTime;)Ljava/lang/String;");
-    DCHECK(_util_format_localdatetime != nullptr);
-    return Status::OK();
-}
 
 Status JDBCScanner::_has_next(bool* result) {
     auto* env = JVMFunctionHelper::getInstance().getEnv();
@@ -293,12 +307,30 @@ Status JDBCScanner::_has_next(bool* result) {
     return Status::OK();
 }
 
-Status JDBCScanner::_get_next_chunk(jobject* chunk) {
+Status JDBCScanner::_get_next_chunk(jlong* chunk_meta) {
     auto* env = JVMFunctionHelper::getInstance().getEnv();
     SCOPED_TIMER(_profile.io_timer);
     COUNTER_UPDATE(_profile.io_counter, 1);
-    *chunk = env->CallObjectMethod(_jdbc_scanner.handle(), _scanner_get_next_chunk);
-    CHECK_JAVA_EXCEPTION(env, "getNextChunk failed")
+    *chunk_meta = env->CallLongMethod(_jdbc_scanner.handle(), _scanner_get_next_chunk);
+    CHECK_JAVA_EXCEPTION(env, "getNextOffHeapChunk failed")
+    return Status::OK();
+}
+
+Status JDBCScanner::_update_scan_statistics() {
+    auto* env = JVMFunctionHelper::getInstance().getEnv();
+    jlong scan_rows = env->CallLongMethod(_jdbc_scanner.handle(), _scanner_get_scan_rows);
+    CHECK_JAVA_EXCEPTION(env, "getScanRows failed")
+    jlong scan_bytes = env->CallLongMethod(_jdbc_scanner.handle(), _scanner_get_scan_bytes);
+    CHECK_JAVA_EXCEPTION(env, "getScanBytes failed")
+    jlong scan_time_ns = env->CallLongMethod(_jdbc_scanner.handle(), _scanner_get_scan_time_ns);
+    CHECK_JAVA_EXCEPTION(env, "getScanTimeNs failed")
+
+    COUNTER_SET(_profile.bytes_read_counter, scan_bytes);
+    COUNTER_SET(_profile.java_scan_timer, scan_time_ns);
+    if (scan_time_ns > 0) {
+        COUNTER_SET(_profile.rows_read_rate_counter, static_cast<int64_t>(scan_rows * 1e9 / scan_time_ns));
+        COUNTER_SET(_profile.bytes_read_rate_counter, static_cast<int64_t>(scan_bytes * 1e9 / scan_time_ns));
+    }
     return Status::OK();
 }
 
@@ -307,13 +339,17 @@ Status JDBCScanner::_close_jdbc_scanner() {
     if (_jdbc_scanner.handle() == nullptr) {
         return Status::OK();
     }
+    // the statistics are still exported if they can't be read
+    Status status = _update_scan_statistics();
+    if (!status.ok()) {
+        LOG(WARNING) << "update JDBC scan statistics failed: " << status;
+    }
     env->CallVoidMethod(_jdbc_scanner.handle(), _scanner_close);
     CHECK_JAVA_EXCEPTION(env, "close JDBCScanner failed")
 
     _jdbc_scanner.clear();
     _jdbc_scan_context.clear();
     _jdbc_bridge.clear();
-    _jdbc_util_cls.reset();
     _jdbc_scanner_cls.reset();
     _jdbc_bridge_cls.reset();
     return Status::OK();
@@ -338,46 +374,23 @@ void JDBCScanner::_append_data(Column* column, CppType& value) {
     }
 }
 
-template <>
-Status JDBCScanner::_append_value_from_result<std::string>(jobject jval,
-                                                           std::function<std::string(jobject)> get_value_func,
-                                                           SlotDescriptor* slot_desc, Column* column) {
-    PROCESS_NULL_VALUE(jval, column)
-
-    std::string cpp_val = get_value_func(jval);
-    int max_len = slot_desc->type().len;
-    if (cpp_val.size() > max_len) {
+Status JDBCScanner::_append_null(SlotDescriptor* slot_desc, Column* column) {
+    if (!column->is_nullable()) {
         return Status::DataQualityError(
-                fmt::format("Value length exceeds limit on column[{}], max length is [{}], value is [{}]",
-                            slot_desc->col_name(), max_len, cpp_val));
-    }
-    switch (slot_desc->type().type) {
-    case TYPE_CHAR:
-    case TYPE_VARCHAR: {
-        Slice val(cpp_val);
-        _append_data<TYPE_VARCHAR, Slice>(column, val);
-        break;
-    }
-    default: {
-        DCHECK(false) << "unreachable path, unknown type:" << slot_desc->type().type;
-        return Status::InternalError(fmt::format("unknown type {}", slot_desc->type().type));
-    }
+                fmt::format("Unexpected NULL value occurs on NOT NULL column[{}]", slot_desc->col_name()));
     }
+    column->append_nulls(1);
     return Status::OK();
 }
 
 template <typename CppType>
-Status JDBCScanner::_append_value_from_result(jobject jval, std::function<CppType(jobject)> get_value_func,
-                                              SlotDescriptor* slot_desc, Column* column) {
-    PROCESS_NULL_VALUE(jval, column)
-
+Status JDBCScanner::_append_value(CppType cpp_val, SlotDescriptor* slot_desc, Column* column) {
 #define CHECK_DATA_OVERFLOW(val, min_val, max_val)                                                                  \
     if (val > max_val || val < min_val) {                                                                           \
         return Status::DataQualityError(                                                                            \
                 fmt::format("Data out of range on column[{}], invalid value is [{}]", slot_desc->col_name(), val)); \
     }
 
-    CppType cpp_val = get_value_func(jval);
     switch (slot_desc->type().type) {
     case TYPE_INT: {
         CHECK_DATA_OVERFLOW(cpp_val, INT_MIN, INT_MAX)
@@ -419,176 +432,140 @@ Status JDBCScanner::_append_value_from_result(jobject jval, std::function<CppTyp
     return Status::OK();
 }
 
-Status JDBCScanner::_fill_chunk(jobject jchunk, ChunkPtr* chunk) {
+template <PrimitiveType type, typename CppType>
+Status JDBCScanner::_append_decimal_value(const Slice& value, SlotDescriptor* slot_desc, Column* column) {
+    CppType cpp_val;
+    if (DecimalV3Cast::from_string<CppType>(&cpp_val, slot_desc->type().precision, slot_desc->type().scale,
+                                            value.data, value.size)) {
+        return Status::DataQualityError(fmt::format("Invalid value occurs in column[{}], value is [{}]",
+                                                    slot_desc->col_name(), value.to_string()));
+    }
+    _append_data<type, CppType>(column, cpp_val);
+    return Status::OK();
+}
+
+Status JDBCScanner::_append_string_value(const std::string& java_class, const Slice& value, SlotDescriptor* slot_desc,
+                                         Column* column) {
+    if (java_class == "java.lang.String" || java_class == "[B") {
+        int max_len = slot_desc->type().len;
+        if (value.size > max_len) {
+            return Status::DataQualityError(
+                    fmt::format("Value length exceeds limit on column[{}], max length is [{}], value is [{}]",
+                                slot_desc->col_name(), max_len, value.to_string()));
+        }
+        Slice val(value);
+        _append_data<TYPE_VARCHAR, Slice>(column, val);
+    } else if (java_class == "java.sql.Date") {
+        DateValue dv;
+        if (!dv.from_string(value.data, value.size)) {
+            return Status::DataQualityError(fmt::format("Invalid date value occurs on column[{}], value is [{}]",
+                                                        slot_desc->col_name(), value.to_string()));
+        }
+        _append_data<TYPE_DATE, DateValue>(column, dv);
+    } else if (java_class == "java.sql.Timestamp" || java_class == "java.time.LocalDateTime") {
+        TimestampValue tsv;
+        if (!tsv.from_datetime_format_str(value.data, value.size, "%Y-%m-%d %H:%i:%s")) {
+            return Status::DataQualityError(fmt::format("Invalid datetime value occurs on column[{}], value is [{}]",
+                                                        slot_desc->col_name(), value.to_string()));
+        }
+        _append_data<TYPE_DATETIME, TimestampValue>(column, tsv);
+    } else if (java_class == "java.math.BigDecimal" || java_class == "java.math.BigInteger") {
+        switch (slot_desc->type().type) {
+        case TYPE_LARGEINT: {
+            StringParser::ParseResult parse_result;
+            auto cpp_val = StringParser::string_to_int<__int128>(value.data, value.size, &parse_result);
+            if (parse_result != StringParser::PARSE_SUCCESS) {
+                return Status::DataQualityError(fmt::format("Invalid value occurs in column[{}], value is [{}]",
+                                                            slot_desc->col_name(), value.to_string()));
+            }
+            _append_data<TYPE_LARGEINT, __int128>(column, cpp_val);
+            break;
+        }
+        case TYPE_DECIMAL32:
+            return _append_decimal_value<TYPE_DECIMAL32, int32_t>(value, slot_desc, column);
+        case TYPE_DECIMAL64:
+            return _append_decimal_value<TYPE_DECIMAL64, int64_t>(value, slot_desc, column);
+        case TYPE_DECIMAL128:
+            return _append_decimal_value<TYPE_DECIMAL128, int128_t>(value, slot_desc, column);
+        default:
+            DCHECK(false) << "unreachable path";
+            return Status::InternalError("unreachable path");
+        }
+    } else {
+        return Status::InternalError(fmt::format("not support type {}", java_class));
+    }
+    return Status::OK();
+}
+
+// The types of the off-heap columns are decided by the class names of the result columns, see
+// com.starrocks.jni.connector.TypeMapping#jdbcTypeMappings
+bool JDBCScanner::_is_variable_length(const std::string& java_class) {
+    return java_class == "java.lang.String" || java_class == "[B" || java_class == "java.sql.Date" ||
+           java_class == "java.sql.Timestamp" || java_class == "java.time.LocalDateTime" ||
+           java_class == "java.math.BigDecimal" || java_class == "java.math.BigInteger";
+}
+
+// The layout of the chunk meta is described in com.starrocks.jni.connector.OffHeapTable,
+// the off-heap memory is valid until the next chunk is fetched
+Status JDBCScanner::_fill_chunk(jlong chunk_meta, ChunkPtr* chunk) {
     SCOPED_TIMER(_profile.fill_chunk_timer);
-    auto& helper = JVMFunctionHelper::getInstance();
-    auto* env = helper.getEnv();
-    jobject first_column = helper.list_get(jchunk, 0);
-    int num_rows = helper.list_size(first_column);
-    LOCAL_REF_GUARD_ENV(env, first_column);
+    const auto* meta = reinterpret_cast<const int64_t*>(chunk_meta);
+    int meta_index = 0;
+    int num_rows = static_cast<int>(meta[meta_index++]);
 
     COUNTER_UPDATE(_profile.rows_read_counter, num_rows);
     for (size_t col_idx = 0; col_idx < _slot_descs.size(); col_idx++) {
         SlotDescriptor* slot_desc = _slot_descs[col_idx];
-        ColumnPtr& column = (*chunk)->get_column_by_slot_id(slot_desc->id());
+        Column* column = (*chunk)->get_column_by_slot_id(slot_desc->id()).get();
         const auto& column_class = _column_class_name[col_idx];
+        const auto* nulls = reinterpret_cast<const uint8_t*>(meta[meta_index++]);
+
+        if (_is_variable_length(column_class)) {
+            const auto* offsets = reinterpret_cast<const int32_t*>(meta[meta_index++]);
+            const auto* data = reinterpret_cast<const char*>(meta[meta_index++]);
+            for (int i = 0; i < num_rows; i++) {
+                if (nulls[i]) {
+                    RETURN_IF_ERROR(_append_null(slot_desc, column));
+                } else {
+                    Slice value(data + offsets[i], offsets[i + 1] - offsets[i]);
+                    RETURN_IF_ERROR(_append_string_value(column_class, value, slot_desc, column));
+                }
+            }
+            continue;
+        }
 
-        jobject jcolumn = helper.list_get(jchunk, col_idx);
-        LOCAL_REF_GUARD_ENV(env, jcolumn);
-
-#define FILL_COLUMN(get_value_func, cpp_type)                                                         \
-    {                                                                                                 \
-        auto func = std::bind(&JVMFunctionHelper::get_value_func, &helper, std::placeholders::_1);    \
-        for (int i = 0; i < num_rows; i++) {                                                          \
-            auto ele = helper.list_get(jcolumn, i);                                                   \
-            LOCAL_REF_GUARD_ENV(env, ele);                                                            \
-            RETURN_IF_ERROR(_append_value_from_result<cpp_type>(ele, func, slot_desc, column.get())); \
-        }                                                                                             \
+        const auto* data = reinterpret_cast<const void*>(meta[meta_index++]);
+#define FILL_COLUMN(cpp_type)                                                             \
+    {                                                                                     \
+        const auto* values = reinterpret_cast<const cpp_type*>(data);                     \
+        for (int i = 0; i < num_rows; i++) {                                              \
+            if (nulls[i]) {                                                               \
+                RETURN_IF_ERROR(_append_null(slot_desc, column));                         \
+            } else {                                                                      \
+                RETURN_IF_ERROR(_append_value<cpp_type>(values[i], slot_desc, column));   \
+            }                                                                             \
+        }                                                                                 \
     }
-        if (column_class == "java.lang.Short") {
-            FILL_COLUMN(valint16_t, int16_t);
+        if (column_class == "java.lang.Byte") {
+            FILL_COLUMN(int8_t);
+        } else if (column_class == "java.lang.Short") {
+            FILL_COLUMN(int16_t);
         } else if (column_class == "java.lang.Integer") {
-            FILL_COLUMN(valint32_t, int32_t);
-        } else if (column_class == "java.lang.String") {
-            FILL_COLUMN(to_string, std::string);
+            FILL_COLUMN(int32_t);
         } else if (column_class == "java.lang.Long") {
-            FILL_COLUMN(valint64_t, int64_t);
+            FILL_COLUMN(int64_t);
         } else if (column_class == "java.lang.Boolean") {
-            FILL_COLUMN(valuint8_t, uint8_t);
+            FILL_COLUMN(uint8_t);
         } else if (column_class == "java.lang.Float") {
-            FILL_COLUMN(valfloat, float)
+            FILL_COLUMN(float);
         } else if (column_class == "java.lang.Double") {
-            FILL_COLUMN(valdouble, double);
-        } else if (column_class == "java.sql.Timestamp") {
-            DCHECK(slot_desc->type().type == TYPE_DATETIME);
-            for (int i = 0; i < num_rows; i++) {
-                auto ele = helper.list_get(jcolumn, i);
-                LOCAL_REF_GUARD_ENV(env, ele);
-                RETURN_IF_ERROR(_append_datetime_val(env, ele, slot_desc, column.get()));
-            }
-        } else if (column_class == "java.sql.Date") {
-            DCHECK(slot_desc->type().type == TYPE_DATE);
-            for (int i = 0; i < num_rows; i++) {
-                auto ele = helper.list_get(jcolumn, i);
-                LOCAL_REF_GUARD_ENV(env, ele);
-                RETURN_IF_ERROR(_append_date_val(env, ele, slot_desc, column.get()));
-            }
-        } else if (column_class == "java.time.LocalDateTime") {
-            DCHECK(slot_desc->type().type == TYPE_DATETIME);
-            for (int i = 0; i < num_rows; i++) {
-                auto ele = helper.list_get(jcolumn, i);
-                LOCAL_REF_GUARD_ENV(env, ele);
-                RETURN_IF_ERROR(_append_localdatetime_val(env, ele, slot_desc, column.get()));
-            }
-        } else if (column_class == "java.math.BigDecimal") {
-            for (int i = 0; i < num_rows; i++) {
-                auto ele = helper.list_get(jcolumn, i);
-                LOCAL_REF_GUARD_ENV(env, ele);
-                RETURN_IF_ERROR(_append_decimal_val(env, ele, slot_desc, column.get()));
-            }
+            FILL_COLUMN(double);
         } else {
             return Status::InternalError(fmt::format("not support type {}", column_class));
         }
+#undef FILL_COLUMN
     }
     return Status::OK();
 }
 
-Status JDBCScanner::_append_datetime_val(JNIEnv* env, jobject jval, SlotDescriptor* slot_desc, Column* column) {
-    PROCESS_NULL_VALUE(jval, column)
-    std::string origin_str = JVMFunctionHelper::getInstance().to_string(jval);
-    std::string datetime_str = origin_str.substr(0, origin_str.find('.'));
-    TimestampValue tsv;
-    if (!tsv.from_datetime_format_str(datetime_str.c_str(), datetime_str.size(), "%Y-%m-%d %H:%i:%s")) {
-        return Status::DataQualityError(fmt::format("Invalid datetime value occurs on column[{}], value is [{}]",
-                                                    slot_desc->col_name(), origin_str));
-    }
-    _append_data<TYPE_DATETIME, TimestampValue>(column, tsv);
-    return Status::OK();
-}
-
-Status JDBCScanner::_append_localdatetime_val(JNIEnv* env, jobject jval, SlotDescriptor* slot_desc, Column* column) {
-    PROCESS_NULL_VALUE(jval, column)
-
-    std::string localdatetime_str = _get_localdatetime_string(env, jval);
-    TimestampValue tsv;
-    if (!tsv.from_datetime_format_str(localdatetime_str.c_str(), localdatetime_str.size(), "%Y-%m-%d %H:%i:%s")) {
-        return Status::DataQualityError(fmt::format("Invalid datetime value occurs on column[{}], value is [{}]",
-                                                    slot_desc->col_name(), localdatetime_str));
-    }
-    _append_data<TYPE_DATETIME, TimestampValue>(column, tsv);
-    return Status::OK();
-}
-
-Status JDBCScanner::_append_date_val(JNIEnv* env, jobject jval, SlotDescriptor* slot_desc, Column* column) {
-    PROCESS_NULL_VALUE(jval, column)
-    std::string date_str = _get_date_string(env, jval);
-    DateValue dv;
-    if (!dv.from_string(date_str.c_str(), date_str.size())) {
-        return Status::DataQualityError(
-                fmt::format("Invalid date value occurs on column[{}], value is [{}]", slot_desc->col_name(), date_str));
-    }
-    _append_data<TYPE_DATE, DateValue>(column, dv);
-    return Status::OK();
-}
-
-std::string JDBCScanner::_get_date_string(JNIEnv* env, jobject jval) {
-    jstring date_str = (jstring)env->CallStaticObjectMethod(_jdbc_util_cls->clazz(), _util_format_date, jval);
-    std::string result = JVMFunctionHelper::getInstance().to_string(date_str);
-    LOCAL_REF_GUARD_ENV(env, date_str);
-    return result;
-}
-
-std::string JDBCScanner::_get_localdatetime_string(JNIEnv* env, jobject jval) {
-    jstring datetime_str =
-            (jstring)env->CallStaticObjectMethod(_jdbc_util_cls->clazz(), _util_format_localdatetime, jval);
-    std::string result = JVMFunctionHelper::getInstance().to_string(datetime_str);
-    LOCAL_REF_GUARD_ENV(env, datetime_str);
-    return result;
-}
-
-Status JDBCScanner::_append_decimal_val(JNIEnv* env, jobject jval, SlotDescriptor* slot_desc, Column* column) {
-    PROCESS_NULL_VALUE(jval, column)
-
-    auto type = slot_desc->type().type;
-    int precision = slot_desc->type().precision;
-    int scale = slot_desc->type().scale;
-
-    std::string decimal_str = JVMFunctionHelper::getInstance().to_string(jval);
-    switch (type) {
-    case TYPE_DECIMAL32: {
-        int32_t cpp_val;
-        if (DecimalV3Cast::from_string<int32_t>(&cpp_val, precision, scale, decimal_str.data(), decimal_str.size())) {
-            return Status::DataQualityError(fmt::format("Invalid value occurs in column[{}], value is [{}]",
-                                                        slot_desc->col_name(), decimal_str));
-        }
-        _append_data<TYPE_DECIMAL32, int32_t>(column, cpp_val);
-        break;
-    }
-    case TYPE_DECIMAL64: {
-        int64_t cpp_val;
-        if (DecimalV3Cast::from_string<int64_t>(&cpp_val, precision, scale, decimal_str.data(), decimal_str.size())) {
-            return Status::DataQualityError(fmt::format("Invalid value occurs in column[{}], value is [{}]",
-                                                        slot_desc->col_name(), decimal_str));
-        }
-        _append_data<TYPE_DECIMAL64, int64_t>(column, cpp_val);
-        break;
-    }
-    case TYPE_DECIMAL128: {
-        int128_t cpp_val;
-        if (DecimalV3Cast::from_string<int128_t>(&cpp_val, precision, scale, decimal_str.data(), decimal_str.size())) {
-            return Status::DataQualityError(fmt::format("Invalid value occurs in column[{}], value is [{}]",
-                                                        slot_desc->col_name(), decimal_str));
-        }
-        _append_data<TYPE_DECIMAL128, int128_t>(column, cpp_val);
-        break;
-    }
-    default: {
-        DCHECK(false) << "unreachable path";
-        return Status::InternalError("unreachable path");
-    }
-    }
-
-    return Status::OK();
-}
-
 } // namespace starrocks::vectorized
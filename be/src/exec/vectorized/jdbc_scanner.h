@@ -29,6 +29,11 @@ struct JDBCScannerProfile {
     RuntimeProfile::Counter* io_timer = nullptr;
     RuntimeProfile::Counter* io_counter = nullptr;
     RuntimeProfile::Counter* fill_chunk_timer = nullptr;
+    // the statistics of the java scanner, which are updated when the scanner is closed
+    RuntimeProfile::Counter* bytes_read_counter = nullptr;
+    RuntimeProfile::Counter* java_scan_timer = nullptr;
+    RuntimeProfile::Counter* rows_read_rate_counter = nullptr;
+    RuntimeProfile::Counter* bytes_read_rate_counter = nullptr;
 };
 
 class JDBCScanner {
@@ -60,34 +65,31 @@ private:
 
     Status _init_column_class_name();
 
-    Status _init_jdbc_util();
-
     Status _has_next(bool* result);
 
-    Status _get_next_chunk(jobject* chunk);
+    Status _get_next_chunk(jlong* chunk_meta);
+
+    Status _fill_chunk(jlong chunk_meta, ChunkPtr* chunk);
 
-    Status _fill_chunk(jobject jchunk, ChunkPtr* chunk);
+    Status _update_scan_statistics();
 
     Status _close_jdbc_scanner();
 
     template <PrimitiveType type, typename CppType>
     void _append_data(Column* column, CppType& value);
 
-    template <typename CppType>
-    Status _append_value_from_result(jobject jval, std::function<CppType(jobject)> get_value_func,
-                                     SlotDescriptor* slot_desc, Column* column);
-
-    Status _append_datetime_val(JNIEnv* env, jobject jval, SlotDescriptor* slot_desc, Column* column);
+    Status _append_null(SlotDescriptor* slot_desc, Column* column);
 
-    Status _append_localdatetime_val(JNIEnv* env, jobject jval, SlotDescriptor* slot_desc, Column* column);
-
-    Status _append_date_val(JNIEnv* env, jobject jval, SlotDescriptor* slot_desc, Column* column);
+    template <typename CppType>
+    Status _append_value(CppType cpp_val, SlotDescriptor* slot_desc, Column* column);
 
-    Status _append_decimal_val(JNIEnv* env, jobject jval, SlotDescriptor* slot_desc, Column* column);
+    template <PrimitiveType type, typename CppType>
+    Status _append_decimal_value(const Slice& value, SlotDescriptor* slot_desc, Column* column);
 
-    std::string _get_date_string(JNIEnv* env, jobject jval);
+    Status _append_string_value(const std::string& java_class, const Slice& value, SlotDescriptor* slot_desc,
+                                Column* column);
 
-    std::string _get_localdatetime_string(JNIEnv* env, jobject jval);
+    static bool _is_variable_length(const std::string& java_class);
 
     JDBCScanContext _scan_ctx;
     // result tuple desc
@@ -99,14 +101,13 @@ private:
 
     std::unique_ptr<JVMClass> _jdbc_bridge_cls;
     std::unique_ptr<JVMClass> _jdbc_scanner_cls;
-    std::unique_ptr<JVMClass> _jdbc_util_cls;
 
     jmethodID _scanner_has_next;
     jmethodID _scanner_get_next_chunk;
     jmethodID _scanner_close;
-    // JDBCUtil method
-    jmethodID _util_format_date;
-    jmethodID _util_format_localdatetime;
+    jmethodID _scanner_get_scan_rows;
+    jmethodID _scanner_get_scan_bytes;
+    jmethodID _scanner_get_scan_time_ns;
 
     // _jdbc_bridge and _jdbc_scan_context are only used for cross-function passing
 
@@ -120,6 +121,5 @@ private:
     static constexpr const char* JDBC_BRIDGE_CLASS_NAME = "com/starrocks/jdbcbridge/JDBCBridge";
     static constexpr const char* JDBC_SCAN_CONTEXT_CLASS_NAME = "com/starrocks/jdbcbridge/JDBCScanContext";
     static constexpr const char* JDBC_SCANNER_CLASS_NAME = "com/starrocks/jdbcbridge/JDBCScanner";
-    static constexpr const char* JDBC_UTIL_CLASS_NAME = "com/starrocks/jdbcbridge/JDBCUtil";
 };
 } // namespace starrocks::vectorized
\ No newline at end of file
@@ -12,6 +12,7 @@
 #include <variant>
 #include <vector>
 
+#include "column/binary_column.h"
 #include "column/chunk.h"
 #include "column/column.h"
 #include "column/column_builder.h"
@@ -48,6 +49,9 @@ struct UDFFunctionCallHelper {
 
     // Now we don't support primitive type function
     ColumnPtr call(FunctionContext* ctx, Columns& columns, size_t size) {
+        if (fn_desc->native_call_stub) {
+            return call_native(ctx, columns, size);
+        }
         auto& helper = JVMFunctionHelper::getInstance();
         JNIEnv* env = helper.getEnv();
         std::vector<DirectByteBuffer> buffers;
@@ -81,6 +85,48 @@ struct UDFFunctionCallHelper {
         return result_cols;
     }
 
+    // the native call stub reads the input columns and writes the result column by their addresses,
+    // see CallStubGenerator in udf-extensions
+    ColumnPtr call_native(FunctionContext* ctx, Columns& columns, size_t size) {
+        std::vector<jlong> addrs;
+        for (int i = 0; i < columns.size(); ++i) {
+            if (columns[i]->only_null()) {
+                auto null_column = ColumnHelper::create_column(TypeDescriptor(ctx->get_arg_type(i)->type), true);
+                null_column->append_nulls(size);
+                columns[i] = std::move(null_column);
+            } else if (columns[i]->is_constant()) {
+                columns[i] = ColumnHelper::unpack_and_duplicate_const_column(size, columns[i]);
+            }
+
+            const Column* data_column = columns[i].get();
+            jlong null_addr = 0;
+            if (data_column->is_nullable()) {
+                const auto* nullable_column = down_cast<const NullableColumn*>(data_column);
+                null_addr = reinterpret_cast<jlong>(nullable_column->immutable_null_column_data().data());
+                data_column = nullable_column->data_column().get();
+            }
+            addrs.emplace_back(null_addr);
+            if (data_column->is_binary()) {
+                const auto* binary_column = down_cast<const BinaryColumn*>(data_column);
+                addrs.emplace_back(reinterpret_cast<jlong>(binary_column->get_offset().data()));
+                addrs.emplace_back(reinterpret_cast<jlong>(binary_column->get_bytes().data()));
+            } else {
+                addrs.emplace_back(reinterpret_cast<jlong>(data_column->raw_data()));
+            }
+        }
+
+        TypeDescriptor type_desc(call_desc->method_desc[0].type);
+        auto res = ColumnHelper::create_column(type_desc, true);
+        res->resize(size);
+        auto* nullable_res = down_cast<NullableColumn*>(res.get());
+        addrs.emplace_back(reinterpret_cast<jlong>(nullable_res->null_column_data().data()));
+        addrs.emplace_back(reinterpret_cast<jlong>(nullable_res->mutable_data_column()->mutable_raw_data()));
+
+        fn_desc->call_stub->batch_evaluate_native(size, addrs);
+        nullable_res->update_has_null();
+        return res;
+    }
+
     ColumnPtr get_boxed_result(FunctionContext* ctx, jobject result, size_t num_rows) {
         if (result == nullptr) {
             return ColumnHelper::create_const_null_column(num_rows);
@@ -215,9 +261,17 @@ Status JavaFunctionCallExpr::open(RuntimeState* state, ExprContext* context,
         auto udf_clazz = _func_desc->udf_class.clazz();
         auto update_method = _func_desc->evaluate->method.handle();
 
+        // prefer the native stub, which doesn't convert the columns to boxed arrays,
+        // and fall back to the boxed one if the types of evaluate are not supported
         ASSIGN_OR_RETURN(auto update_stub_clazz,
                          _func_desc->udf_classloader->genCallStub(stub_clazz, udf_clazz, update_method,
-                                                                  ClassLoader::BATCH_EVALUATE));
+                                                                  ClassLoader::NATIVE_BATCH_EVALUATE));
+        _func_desc->native_call_stub = update_stub_clazz.clazz() != nullptr;
+        if (!_func_desc->native_call_stub) {
+            ASSIGN_OR_RETURN(update_stub_clazz,
+                             _func_desc->udf_classloader->genCallStub(stub_clazz, udf_clazz, update_method,
+                                                                      ClassLoader::BATCH_EVALUATE));
+        }
         ASSIGN_OR_RETURN(auto method,
                          _func_desc->analyzer->get_method_object(update_stub_clazz.clazz(), stub_method_name));
         auto function_ctx = context->fn_context(_fn_context_index);
@@ -691,6 +691,10 @@ Status ClassAnalyzer::get_method_desc(const std::string& sign, std::vector<Metho
 #define ADD_PRIM_METHOD_TYPE_DESC(STR, TYPE) \
     } else if (sign[i] == STR) {             \
       desc->emplace_back(MethodTypeDescriptor{TYPE, false});
+
+#define ADD_PRIM_ARRAY_METHOD_TYPE_DESC(STR, TYPE) \
+    } else if (sign[i] == STR) {                   \
+      desc->emplace_back(MethodTypeDescriptor{TYPE, false, true});
 // clang-format on
 
 Status ClassAnalyzer::get_udaf_method_desc(const std::string& sign, std::vector<MethodTypeDescriptor>* desc) {
@@ -698,6 +702,24 @@ Status ClassAnalyzer::get_udaf_method_desc(const std::string& sign, std::vector<
         if (sign[i] == '(' || sign[i] == ')') {
             continue;
         }
+        if (sign[i] == '[' && i + 1 < sign.size() && sign[i + 1] != 'L' && sign[i + 1] != '[') {
+            // primitive array, used by the scalar UDF processing the whole batch in one call
+            i++;
+            if (false) {
+                // clang-format off
+            ADD_PRIM_ARRAY_METHOD_TYPE_DESC('Z', TYPE_BOOLEAN)
+            ADD_PRIM_ARRAY_METHOD_TYPE_DESC('B', TYPE_TINYINT)
+            ADD_PRIM_ARRAY_METHOD_TYPE_DESC('S', TYPE_SMALLINT)
+            ADD_PRIM_ARRAY_METHOD_TYPE_DESC('I', TYPE_INT)
+            ADD_PRIM_ARRAY_METHOD_TYPE_DESC('J', TYPE_BIGINT)
+            ADD_PRIM_ARRAY_METHOD_TYPE_DESC('F', TYPE_FLOAT)
+            ADD_PRIM_ARRAY_METHOD_TYPE_DESC('D', TYPE_DOUBLE)
+                // clang-format on
+            } else {
+                desc->emplace_back(MethodTypeDescriptor{INVALID_TYPE, false, true});
+            }
+            continue;
+        }
         if (sign[i] == '[') {
             while (sign[i] != ';') {
                 i++;
@@ -812,6 +834,18 @@ jobject BatchEvaluateStub::batch_evaluate(int num_rows, jobject* input, int cols
     return res;
 }
 
+void BatchEvaluateStub::batch_evaluate_native(int num_rows, const std::vector<jlong>& addrs) {
+    jvalue jni_inputs[2 + addrs.size()];
+    jni_inputs[0].i = num_rows;
+    jni_inputs[1].l = _caller;
+    for (int i = 0; i < addrs.size(); ++i) {
+        jni_inputs[2 + i].j = addrs[i];
+    }
+    auto* env = JVMFunctionHelper::getInstance().getEnv();
+    env->CallStaticVoidMethodA(_stub_clazz.clazz(), env->FromReflectedMethod(_stub_method.handle()), jni_inputs);
+    CHECK_UDF_CALL_EXCEPTION(env, this->_ctx);
+}
+
 void UDAFFunction::update(jvalue* val) {
     auto [env, helper] = JVMFunctionHelper::getInstanceWithEnv();
     jmethodID update = _ctx->update->get_method_id();
@@ -323,6 +323,8 @@ public:
 
     FunctionContext* ctx() { return _ctx; }
     jobject batch_evaluate(int num_rows, jobject* input, int cols);
+    // call the native stub with the addresses of the input columns and the result column
+    void batch_evaluate_native(int num_rows, const std::vector<jlong>& addrs);
 
 private:
     FunctionContext* _ctx;
@@ -361,6 +363,9 @@ class ClassLoader {
 public:
     static const inline int BATCH_SINGLE_UPDATE = 1;
     static const inline int BATCH_EVALUATE = 2;
+    // the stub reads the input columns and writes the result column directly,
+    // the generated class is null if the types of method are not supported
+    static const inline int NATIVE_BATCH_EVALUATE = 4;
     // Handle
     ClassLoader(std::string path) : _path(std::move(path)) {}
     ~ClassLoader();
@@ -416,6 +421,8 @@ struct JavaUDFContext {
     std::unique_ptr<ClassLoader> udf_classloader;
     std::unique_ptr<ClassAnalyzer> analyzer;
     std::unique_ptr<BatchEvaluateStub> call_stub;
+    // whether call_stub is generated by NATIVE_BATCH_EVALUATE
+    bool native_call_stub = false;
 
     JVMClass udf_class = nullptr;
     JavaGlobalRef udf_handle = nullptr;
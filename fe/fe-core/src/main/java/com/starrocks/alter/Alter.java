@@ -773,6 +773,9 @@ public class Alter {
         // log here
         BatchModifyPartitionsInfo info = new BatchModifyPartitionsInfo(modifyPartitionInfos);
         GlobalStateMgr.getCurrentState().getEditLog().logBatchModifyPartition(info);
+        if (newReplicationNum != (short) -1) {
+            GlobalStateMgr.getCurrentState().getTabletChecker().markTableDirty(db.getId(), olapTable.getId());
+        }
     }
 
     public void replayModifyPartition(ModifyPartitionInfo info) {
@@ -490,6 +490,8 @@ public class RollupJobV2 extends AlterJobV2 implements GsonPostProcessable {
         this.finishedTimeMs = System.currentTimeMillis();
 
         GlobalStateMgr.getCurrentState().getEditLog().logAlterJob(this);
+        // the tablets of the new indexes become visible to tablet checker
+        GlobalStateMgr.getCurrentState().getTabletChecker().markTableDirty(dbId, tableId);
         LOG.info("rollup job finished: {}", jobId);
         this.span.end();
     }
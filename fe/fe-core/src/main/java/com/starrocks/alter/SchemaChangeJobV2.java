@@ -556,6 +556,8 @@ public class SchemaChangeJobV2 extends AlterJobV2 {
         this.finishedTimeMs = System.currentTimeMillis();
 
         GlobalStateMgr.getCurrentState().getEditLog().logAlterJob(this);
+        // the tablets of the new indexes become visible to tablet checker
+        GlobalStateMgr.getCurrentState().getTabletChecker().markTableDirty(dbId, tableId);
         LOG.info("schema change job finished: {}", jobId);
         this.span.end();
     }
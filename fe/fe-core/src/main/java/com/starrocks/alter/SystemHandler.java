@@ -140,6 +140,7 @@ public class SystemHandler extends AlterHandler {
             for (Backend backend : decommissionBackends) {
                 backend.setDecommissioned(true);
                 GlobalStateMgr.getCurrentState().getEditLog().logBackendStateChange(backend);
+                GlobalStateMgr.getCurrentState().getTabletChecker().markBackendDirty(backend.getId());
                 LOG.info("set backend {} to decommission", backend.getId());
             }
 
@@ -106,6 +106,19 @@ public class CreateFunctionStmt extends DdlStmt {
                     .put(PrimitiveType.VARCHAR, String.class)
                     .build();
 
+    // the scalar UDF can process the whole batch in one call with primitive array arguments and result,
+    // e.g. int[] evaluate(int[] a, long[] b), null is returned if any argument is null
+    private static final ImmutableMap<PrimitiveType, Class> PrimitiveTypeToJavaArrayType =
+            new ImmutableMap.Builder<PrimitiveType, Class>()
+                    .put(PrimitiveType.BOOLEAN, boolean[].class)
+                    .put(PrimitiveType.TINYINT, byte[].class)
+                    .put(PrimitiveType.SMALLINT, short[].class)
+                    .put(PrimitiveType.INT, int[].class)
+                    .put(PrimitiveType.FLOAT, float[].class)
+                    .put(PrimitiveType.DOUBLE, double[].class)
+                    .put(PrimitiveType.BIGINT, long[].class)
+                    .build();
+
     private static class UDFInternalClass {
         public Class clazz = null;
         public Map<String, Method> methods = null;
@@ -192,13 +205,18 @@ public class CreateFunctionStmt extends DdlStmt {
 
         private void checkUdfType(Method method, Type expType, Class ptype, String pname)
                 throws AnalysisException {
+            checkUdfType(method, expType, ptype, pname, PrimitiveTypeToJavaClassType);
+        }
+
+        private void checkUdfType(Method method, Type expType, Class ptype, String pname,
+                                  ImmutableMap<PrimitiveType, Class> javaTypes) throws AnalysisException {
             if (!(expType instanceof ScalarType)) {
                 throw new AnalysisException(
                         String.format("UDF class '%s' method '%s' does not support non-scalar type '%s'",
                                 clazz.getCanonicalName(), method.getName(), expType));
             }
             ScalarType scalarType = (ScalarType) expType;
-            Class cls = PrimitiveTypeToJavaClassType.get(scalarType.getPrimitiveType());
+            Class cls = javaTypes.get(scalarType.getPrimitiveType());
             if (cls == null) {
                 throw new AnalysisException(
                         String.format("UDF class '%s' method '%s' does not support type '%s'",
@@ -353,10 +371,14 @@ public class CreateFunctionStmt extends DdlStmt {
             Method method = mainClass.getMethod(EVAL_METHOD_NAME, true);
             mainClass.checkMethodNonStaticAndPublic(method);
             mainClass.checkArgumentCount(method, argsDef.getArgTypes().length);
-            mainClass.checkReturnUdfType(method, returnType.getType());
+            // RETURN_TYPE[] evaluate(TYPE[]...) for primitive types
+            ImmutableMap<PrimitiveType, Class> javaTypes = method.getReturnType().isArray() ?
+                    PrimitiveTypeToJavaArrayType : PrimitiveTypeToJavaClassType;
+            mainClass.checkUdfType(method, returnType.getType(), method.getReturnType(), RETURN_FIELD_NAME,
+                    javaTypes);
             for (int i = 0; i < method.getParameters().length; i++) {
                 Parameter p = method.getParameters()[i];
-                mainClass.checkUdfType(method, argsDef.getArgTypes()[i], p.getType(), p.getName());
+                mainClass.checkUdfType(method, argsDef.getArgTypes()[i], p.getType(), p.getName(), javaTypes);
             }
         }
     }
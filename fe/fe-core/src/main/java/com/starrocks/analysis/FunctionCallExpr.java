@@ -450,6 +450,18 @@ public class FunctionCallExpr extends Expr {
         return FunctionSet.nonDeterministicFunctions.contains(fnName.getFunction().toLowerCase());
     }
 
+    /**
+     * Whether two executions of the function with the same arguments may return different results,
+     * including the current time functions which are folded by optimizer at the time of planning.
+     */
+    public boolean isNondeterministic() {
+        String name = fnName.getFunction().toLowerCase();
+        if (isNondeterministicBuiltinFnName() || FunctionSet.currentTimeFunctions.contains(name)) {
+            return true;
+        }
+        return name.equals(FunctionSet.UNIX_TIMESTAMP) && getChildren().isEmpty();
+    }
+
     @Override
     public int hashCode() {
         int result = super.hashCode();
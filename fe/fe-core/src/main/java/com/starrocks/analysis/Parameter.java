@@ -0,0 +1,91 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.analysis;
+
+import com.google.common.base.Preconditions;
+import com.starrocks.common.AnalysisException;
+import com.starrocks.sql.ast.AstVisitor;
+import com.starrocks.sql.common.ErrorType;
+import com.starrocks.sql.common.StarRocksPlannerException;
+import com.starrocks.thrift.TExprNode;
+
+import java.util.Objects;
+
+/**
+ * Parameter: the placeholder '?' of a prepared statement, the value is bound before every execution.
+ * The analyzer treats an unbound parameter as NULL, so a prepared statement can be analyzed at prepare time.
+ */
+public class Parameter extends Expr {
+    // the position of '?' in the sql, a parameter is bound by the order of positions
+    private final int position;
+    // shared by the copies of the parameter made by the analyzer, so the analyzed statement can be bound
+    // to new values
+    private final Binding binding;
+
+    public Parameter(int position) {
+        this.position = position;
+        this.binding = new Binding();
+    }
+
+    protected Parameter(Parameter other) {
+        super(other);
+        this.position = other.position;
+        this.binding = other.binding;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public LiteralExpr getValue() {
+        return binding.value;
+    }
+
+    public void setValue(LiteralExpr value) {
+        binding.value = value;
+    }
+
+    @Override
+    protected void analyzeImpl(Analyzer analyzer) throws AnalysisException {
+        Preconditions.checkState(false, "unreachable");
+    }
+
+    @Override
+    protected String toSqlImpl() {
+        LiteralExpr value = binding.value;
+        return value == null ? "?" : value.toSqlImpl();
+    }
+
+    @Override
+    protected void toThrift(TExprNode msg) {
+        throw new StarRocksPlannerException("not support", ErrorType.INTERNAL_ERROR);
+    }
+
+    @Override
+    public Expr clone() {
+        return new Parameter(this);
+    }
+
+    @Override
+    public <R, C> R accept(AstVisitor<R, C> visitor, C context) {
+        return visitor.visitParameter(this, context);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        Parameter that = (Parameter) o;
+        return position == that.position;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), position);
+    }
+
+    private static class Binding {
+        private LiteralExpr value;
+    }
+}
@@ -21,6 +21,8 @@
 
 package com.starrocks.catalog;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -29,6 +31,7 @@ import com.google.common.collect.Maps;
 import com.starrocks.analysis.ArithmeticExpr;
 import com.starrocks.analysis.FunctionName;
 import com.starrocks.builtins.VectorizedBuiltinFunctions;
+import com.starrocks.common.Config;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -37,7 +40,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class FunctionSet {
@@ -430,6 +436,18 @@ public class FunctionSet {
      */
     private final Map<String, List<Function>> vectorizedFunctions;
 
+    // The overloads of each function for the calls with a given number of arguments, i.e. the fixed-arity
+    // overloads with the same number of arguments and the variadic ones with no more fixed arguments, in the
+    // order they are added. Built lazily, and the entry of a function is dropped when an overload is added.
+    private final Map<String, Map<Integer, List<Function>>> functionsByArity = new ConcurrentHashMap<>();
+
+    // The function matched for the signature of a function call in each compare mode, the matched
+    // function is the declared one, before deducing the types of a polymorphic function.
+    // The signatures not used recently are evicted, and the cache is cleared when a function is added.
+    private final Cache<MatchKey, Optional<Function>> matchCache = Caffeine.newBuilder()
+            .maximumSize(Config.function_match_cache_max_size)
+            .build();
+
     // This contains the nullable functions, which cannot return NULL result directly for the NULL parameter.
     // This does not contain any user defined functions. All UDFs handle null values by themselves.
     private final ImmutableSet<String> notAlwaysNullResultWithNullParamFunctions =
@@ -478,6 +496,20 @@ public class FunctionSet {
                     .add(SLEEP)
                     .build();
 
+    // The result depends on the time of execution, they are folded by optimizer when the query is planned
+    public static final Set<String> currentTimeFunctions =
+            ImmutableSet.<String>builder()
+                    .add(NOW)
+                    .add(CURRENT_TIMESTAMP)
+                    .add(CURDATE)
+                    .add("current_date")
+                    .add(CURTIME)
+                    .add(CURRENT_TIME)
+                    .add(UTC_TIMESTAMP)
+                    .add("localtime")
+                    .add("localtimestamp")
+                    .build();
+
     public static final Set<String> onlyAnalyticUsedFunctions = ImmutableSet.<String>builder()
             .add(FunctionSet.DENSE_RANK)
             .add(FunctionSet.RANK)
@@ -560,7 +592,55 @@ public class FunctionSet {
     }
 
     public Function getFunction(Function desc, Function.CompareMode mode) {
+        if (!Config.enable_function_match_cache || !isCacheable(desc.getArgs())) {
+            Function fn = matchFunction(desc, mode);
+            return fn == null ? null : checkPolymorphicFunction(fn, desc.getArgs());
+        }
+
+        MatchKey key = new MatchKey(desc.functionName(), desc.getArgs(), desc.hasVarArgs(), mode);
+        Optional<Function> fn = matchCache.getIfPresent(key);
+        if (fn == null) {
+            fn = Optional.ofNullable(matchFunction(desc, mode));
+            matchCache.put(key, fn);
+        }
+        return fn.map(f -> checkPolymorphicFunction(f, desc.getArgs())).orElse(null);
+    }
+
+    // the types without equals() and hashCode() can't be the key of match cache
+    private static boolean isCacheable(Type[] argTypes) {
+        for (Type type : argTypes) {
+            Type t = type;
+            while (t.isArrayType()) {
+                t = ((ArrayType) t).getItemType();
+            }
+            if (!(t instanceof ScalarType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long getMatchCacheSize() {
+        matchCache.cleanUp();
+        return matchCache.estimatedSize();
+    }
+
+    // Only the overloads of the same arity as desc can be matched, the variadic desc of a function to be
+    // added is compared with all the overloads
+    private List<Function> getCandidateFunctions(Function desc) {
         List<Function> fns = vectorizedFunctions.get(desc.functionName());
+        if (fns == null || desc.hasVarArgs()) {
+            return fns;
+        }
+        int numArgs = desc.getNumArgs();
+        return functionsByArity.computeIfAbsent(desc.functionName(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(numArgs, k -> fns.stream()
+                        .filter(f -> f.hasVarArgs() ? f.getNumArgs() <= numArgs : f.getNumArgs() == numArgs)
+                        .collect(Collectors.toList()));
+    }
+
+    private Function matchFunction(Function desc, Function.CompareMode mode) {
+        List<Function> fns = getCandidateFunctions(desc);
         if (fns == null) {
             return null;
         }
@@ -568,7 +648,7 @@ public class FunctionSet {
         // First check for identical
         for (Function f : fns) {
             if (f.compare(desc, Function.CompareMode.IS_IDENTICAL)) {
-                return checkPolymorphicFunction(f, desc.getArgs());
+                return f;
             }
         }
         if (mode == Function.CompareMode.IS_IDENTICAL) {
@@ -578,7 +658,7 @@ public class FunctionSet {
         // Next check for indistinguishable
         for (Function f : fns) {
             if (f.compare(desc, Function.CompareMode.IS_INDISTINGUISHABLE)) {
-                return checkPolymorphicFunction(f, desc.getArgs());
+                return f;
             }
         }
         if (mode == Function.CompareMode.IS_INDISTINGUISHABLE) {
@@ -588,7 +668,7 @@ public class FunctionSet {
         // Next check for strict supertypes
         for (Function f : fns) {
             if (f.compare(desc, Function.CompareMode.IS_SUPERTYPE_OF) && isCastMatchAllowed(desc, f)) {
-                return checkPolymorphicFunction(f, desc.getArgs());
+                return f;
             }
         }
         if (mode == Function.CompareMode.IS_SUPERTYPE_OF) {
@@ -598,7 +678,7 @@ public class FunctionSet {
         // Finally check for non-strict supertypes
         for (Function f : fns) {
             if (f.compare(desc, Function.CompareMode.IS_NONSTRICT_SUPERTYPE_OF) && isCastMatchAllowed(desc, f)) {
-                return checkPolymorphicFunction(f, desc.getArgs());
+                return f;
             }
         }
         return null;
@@ -612,6 +692,8 @@ public class FunctionSet {
         fn.setIsNullable(!alwaysReturnNonNullableFunctions.contains(fn.functionName()));
         List<Function> fns = vectorizedFunctions.computeIfAbsent(fn.functionName(), k -> Lists.newArrayList());
         fns.add(fn);
+        functionsByArity.remove(fn.functionName());
+        matchCache.invalidateAll();
     }
 
     // for vectorized engine
@@ -630,10 +712,12 @@ public class FunctionSet {
         fn.setIsNullable(!alwaysReturnNonNullableFunctions.contains(fn.functionName()));
         List<Function> fns = vectorizedFunctions.computeIfAbsent(fn.functionName(), k -> Lists.newArrayList());
         fns.add(fn);
+        functionsByArity.remove(fn.functionName());
+        matchCache.invalidateAll();
     }
 
     private Function findVectorizedFunction(Function desc) {
-        List<Function> fns = vectorizedFunctions.get(desc.functionName());
+        List<Function> fns = getCandidateFunctions(desc);
 
         if (fns == null) {
             return null;
@@ -1215,6 +1299,59 @@ public class FunctionSet {
         return null;
     }
 
+    private static class MatchKey {
+        private final String name;
+        private final Type[] argTypes;
+        private final boolean hasVarArgs;
+        private final Function.CompareMode mode;
+
+        MatchKey(String name, Type[] argTypes, boolean hasVarArgs, Function.CompareMode mode) {
+            this.name = name;
+            // copied, the arg types of desc may be changed after the lookup
+            this.argTypes = new Type[argTypes.length];
+            for (int i = 0; i < argTypes.length; i++) {
+                this.argTypes[i] = normalize(argTypes[i]);
+            }
+            this.hasVarArgs = hasVarArgs;
+            this.mode = mode;
+        }
+
+        // The functions are matched regardless of the length of string types, which is compared by equals()
+        // but not hashed, so the signatures of different lengths share a key instead of a hash bucket.
+        private static Type normalize(Type type) {
+            if (type.isArrayType()) {
+                Type itemType = ((ArrayType) type).getItemType();
+                Type normalized = normalize(itemType);
+                return normalized == itemType ? type : new ArrayType(normalized);
+            }
+            if (type.isVarchar()) {
+                return Type.VARCHAR;
+            }
+            if (type.isChar()) {
+                return Type.CHAR;
+            }
+            return type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MatchKey)) {
+                return false;
+            }
+            MatchKey other = (MatchKey) o;
+            return hasVarArgs == other.hasVarArgs && mode == other.mode && name.equals(other.name)
+                    && Arrays.equals(argTypes, other.argTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, Arrays.hashCode(argTypes), hasVarArgs, mode);
+        }
+    }
+
     Type getSuperType(Type t1, Type t2) {
         if (t1.matchesType(t2)) {
             return t1;
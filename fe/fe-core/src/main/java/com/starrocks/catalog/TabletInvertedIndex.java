@@ -23,13 +23,12 @@ package com.starrocks.catalog;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Table;
 import com.starrocks.catalog.Replica.ReplicaState;
 import com.starrocks.common.Pair;
+import com.starrocks.common.util.LongObjectHashMap;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.system.Backend;
 import com.starrocks.thrift.TPartitionVersionInfo;
@@ -49,14 +48,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.stream.Collectors;
 
 /*
  * this class stores a inverted index
  * key is tablet id. value is the related ids of this tablet
  * Checkpoint thread is no need to modify this inverted index, because this inverted index will not be wrote
  * into images, all meta data are in globalStateMgr, and the inverted index will be rebuild when FE restart.
+ *
+ * The index is sharded by tablet id, and every shard is protected by its own lock. So the tablet report of one
+ * backend, which walks all the tablets of the backend, only blocks the updates of one shard at a time.
  */
 public class TabletInvertedIndex {
     private static final Logger LOG = LogManager.getLogger(TabletInvertedIndex.class);
@@ -66,37 +68,93 @@ public class TabletInvertedIndex {
     public static final TabletMeta NOT_EXIST_TABLET_META = new TabletMeta(NOT_EXIST_VALUE, NOT_EXIST_VALUE,
             NOT_EXIST_VALUE, NOT_EXIST_VALUE, NOT_EXIST_VALUE, TStorageMedium.HDD);
 
-    private ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private static final int DEFAULT_SHARD_NUM = 64;
+    private static final int REPLICA_NUM_PER_TABLET = 3;
 
-    // tablet id -> tablet meta
-    private Map<Long, TabletMeta> tabletMetaMap = Maps.newHashMap();
+    private static class Shard {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
-    // replica id -> tablet id
-    private Map<Long, Long> replicaToTabletMap = Maps.newHashMap();
+        // tablet id -> tablet meta
+        private final LongObjectHashMap<TabletMeta> tabletMetaMap = new LongObjectHashMap<>();
 
-    // tablet id -> (backend id -> replica)
-    private Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
-    // backing replica table, for visiting backend replicas faster.
-    // backend id -> (tablet id -> replica)
-    private Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
+        // tablet id -> (backend id -> replica)
+        private final LongObjectHashMap<LongObjectHashMap<Replica>> replicaMetaTable = new LongObjectHashMap<>();
+        // backing replica table, for visiting backend replicas faster.
+        // backend id -> (tablet id -> replica)
+        private final LongObjectHashMap<LongObjectHashMap<Replica>> backingReplicaMetaTable =
+                new LongObjectHashMap<>();
 
-    public TabletInvertedIndex() {
+        private static final LongObjectHashMap<Replica> EMPTY_REPLICAS = new LongObjectHashMap<>(0);
+
+        private LongObjectHashMap<Replica> replicasOfBackend(long backendId) {
+            return backingReplicaMetaTable.getOrDefault(backendId, EMPTY_REPLICAS);
+        }
+
+        private void putReplica(long tabletId, long backendId, Replica replica) {
+            LongObjectHashMap<Replica> replicas = replicaMetaTable.get(tabletId);
+            if (replicas == null) {
+                replicas = new LongObjectHashMap<>(REPLICA_NUM_PER_TABLET);
+                replicaMetaTable.put(tabletId, replicas);
+            }
+            replicas.put(backendId, replica);
+            LongObjectHashMap<Replica> backendReplicas = backingReplicaMetaTable.get(backendId);
+            if (backendReplicas == null) {
+                backendReplicas = new LongObjectHashMap<>();
+                backingReplicaMetaTable.put(backendId, backendReplicas);
+            }
+            backendReplicas.put(tabletId, replica);
+        }
+
+        private void removeBackingReplica(long backendId, long tabletId) {
+            LongObjectHashMap<Replica> backendReplicas = backingReplicaMetaTable.get(backendId);
+            if (backendReplicas != null) {
+                backendReplicas.remove(tabletId);
+                if (backendReplicas.isEmpty()) {
+                    backingReplicaMetaTable.remove(backendId);
+                }
+            }
+        }
+
+        private void readLock() {
+            this.lock.readLock().lock();
+        }
+
+        private void readUnlock() {
+            this.lock.readLock().unlock();
+        }
+
+        private void writeLock() {
+            this.lock.writeLock().lock();
+        }
+
+        private void writeUnlock() {
+            this.lock.writeLock().unlock();
+        }
     }
 
-    private void readLock() {
-        this.lock.readLock().lock();
+    private final Shard[] shards;
+
+    // replica id -> tablet id, updated with the lock of the tablet's shard held
+    private final Map<Long, Long> replicaToTabletMap = new ConcurrentHashMap<>();
+
+    public TabletInvertedIndex() {
+        this(DEFAULT_SHARD_NUM);
     }
 
-    private void readUnlock() {
-        this.lock.readLock().unlock();
+    public TabletInvertedIndex(int shardNum) {
+        Preconditions.checkArgument(shardNum > 0);
+        shards = new Shard[shardNum];
+        for (int i = 0; i < shardNum; i++) {
+            shards[i] = new Shard();
+        }
     }
 
-    private void writeLock() {
-        this.lock.writeLock().lock();
+    private int getShardIndex(long tabletId) {
+        return (int) Math.floorMod(tabletId, (long) shards.length);
     }
 
-    private void writeUnlock() {
-        this.lock.writeLock().unlock();
+    private Shard getShard(long tabletId) {
+        return shards[getShardIndex(tabletId)];
     }
 
     public void tabletReport(long backendId, Map<Long, TTablet> backendTablets,
@@ -111,6 +169,29 @@ public class TabletInvertedIndex {
                              ListMultimap<Long, Long> transactionsToClear,
                              ListMultimap<Long, Long> tabletRecoveryMap,
                              Set<Pair<Long, Integer>> tabletWithoutPartitionId) {
+        tabletReport(backendId, backendTablets, false, storageMediumMap, tabletSyncMap, tabletDeleteFromMeta,
+                foundTabletsWithValidSchema, foundTabletsWithInvalidSchema, tabletMigrationMap,
+                transactionsToPublish, transactionsToCommitTime, transactionsToClear, tabletRecoveryMap,
+                tabletWithoutPartitionId);
+    }
+
+    /**
+     * Diff the reported tablets with the replicas of the backend in meta.
+     * If the report is incremental, backendTablets only contains the tablets changed since the last report,
+     * so only these tablets are checked, and the replicas not reported are not added to tabletDeleteFromMeta.
+     */
+    public void tabletReport(long backendId, Map<Long, TTablet> backendTablets, boolean isIncremental,
+                             final HashMap<Long, TStorageMedium> storageMediumMap,
+                             ListMultimap<Long, Long> tabletSyncMap,
+                             ListMultimap<Long, Long> tabletDeleteFromMeta,
+                             Set<Long> foundTabletsWithValidSchema,
+                             Map<Long, TTabletInfo> foundTabletsWithInvalidSchema,
+                             ListMultimap<TStorageMedium, Long> tabletMigrationMap,
+                             Map<Long, ListMultimap<Long, TPartitionVersionInfo>> transactionsToPublish,
+                             Map<Long, Long> transactionsToCommitTime,
+                             ListMultimap<Long, Long> transactionsToClear,
+                             ListMultimap<Long, Long> tabletRecoveryMap,
+                             Set<Pair<Long, Integer>> tabletWithoutPartitionId) {
 
         for (TTablet backendTablet : backendTablets.values()) {
             for (TTabletInfo tabletInfo : backendTablet.tablet_infos) {
@@ -126,15 +207,45 @@ public class TabletInvertedIndex {
             backendStorageTypeCnt = be.getAvailableBackendStorageTypeCnt();
         }
 
-        readLock();
+        // shard index -> reported tablet ids, only used by incremental report
+        List<List<Long>> reportedTabletIds = null;
+        if (isIncremental) {
+            reportedTabletIds = new ArrayList<>(shards.length);
+            for (int i = 0; i < shards.length; i++) {
+                reportedTabletIds.add(Lists.newArrayList());
+            }
+            for (Long tabletId : backendTablets.keySet()) {
+                reportedTabletIds.get(getShardIndex(tabletId)).add(tabletId);
+            }
+        }
+
         long start = System.currentTimeMillis();
-        try {
-            LOG.info("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
+        LOG.info("begin to do tablet diff with backend[{}]. num: {}, incremental: {}", backendId,
+                backendTablets.size(), isIncremental);
+        for (int shardIndex = 0; shardIndex < shards.length; shardIndex++) {
+            Shard shard = shards[shardIndex];
+            if (reportedTabletIds != null && reportedTabletIds.get(shardIndex).isEmpty()) {
+                continue;
+            }
+            shard.readLock();
+            try {
+                LongObjectHashMap<TabletMeta> tabletMetaMap = shard.tabletMetaMap;
+                LongObjectHashMap<Replica> replicaMetaWithBackend = shard.replicasOfBackend(backendId);
+                if (reportedTabletIds != null) {
+                    // only visit the replicas of reported tablets, instead of all the replicas of this backend
+                    LongObjectHashMap<Replica> reportedReplicas =
+                            new LongObjectHashMap<>(reportedTabletIds.get(shardIndex).size());
+                    for (Long tabletId : reportedTabletIds.get(shardIndex)) {
+                        Replica replica = replicaMetaWithBackend.get(tabletId);
+                        if (replica != null) {
+                            reportedReplicas.put(tabletId, replica);
+                        }
+                    }
+                    replicaMetaWithBackend = reportedReplicas;
+                }
                 // traverse replicas in meta with this backend
-                for (Map.Entry<Long, Replica> entry : replicaMetaWithBackend.entrySet()) {
-                    long tabletId = entry.getKey();
+                for (LongObjectHashMap.Cursor<Replica> entry = replicaMetaWithBackend.cursor(); entry.advance(); ) {
+                    long tabletId = entry.key();
                     Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
                     TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
 
@@ -144,7 +255,7 @@ public class TabletInvertedIndex {
 
                     if (backendTablets.containsKey(tabletId)) {
                         TTablet backendTablet = backendTablets.get(tabletId);
-                        Replica replica = entry.getValue();
+                        Replica replica = entry.value();
                         for (TTabletInfo backendTabletInfo : backendTablet.getTablet_infos()) {
                             if (tabletMeta.containsSchemaHash(backendTabletInfo.getSchema_hash())) {
                                 foundTabletsWithValidSchema.add(tabletId);
@@ -159,6 +270,7 @@ public class TabletInvertedIndex {
                                 if (backendTabletInfo.isSetPath_hash() &&
                                         replica.getPathHash() != backendTabletInfo.getPath_hash()) {
                                     replica.setPathHash(backendTabletInfo.getPath_hash());
+                                    GlobalStateMgr.getCurrentState().getTabletChecker().markTabletDirty(tabletId);
                                 }
 
                                 if (backendTabletInfo.isSetSchema_hash() && replica.getState() == ReplicaState.NORMAL
@@ -269,9 +381,9 @@ public class TabletInvertedIndex {
                         tabletDeleteFromMeta.put(tabletMeta.getDbId(), tabletId);
                     }
                 } // end for replicaMetaWithBackend
+            } finally {
+                shard.readUnlock();
             }
-        } finally {
-            readUnlock();
         }
 
         long end = System.currentTimeMillis();
@@ -283,34 +395,31 @@ public class TabletInvertedIndex {
     }
 
     public Long getTabletIdByReplica(long replicaId) {
-        readLock();
-        try {
-            return replicaToTabletMap.get(replicaId);
-        } finally {
-            readUnlock();
-        }
+        return replicaToTabletMap.get(replicaId);
     }
 
     public TabletMeta getTabletMeta(long tabletId) {
-        readLock();
+        Shard shard = getShard(tabletId);
+        shard.readLock();
         try {
-            return tabletMetaMap.get(tabletId);
+            return shard.tabletMetaMap.get(tabletId);
         } finally {
-            readUnlock();
+            shard.readUnlock();
         }
     }
 
     public List<TabletMeta> getTabletMetaList(List<Long> tabletIdList) {
         List<TabletMeta> tabletMetaList = new ArrayList<>(tabletIdList.size());
-        readLock();
-        try {
-            for (Long tabletId : tabletIdList) {
-                tabletMetaList.add(tabletMetaMap.getOrDefault(tabletId, NOT_EXIST_TABLET_META));
+        for (Long tabletId : tabletIdList) {
+            Shard shard = getShard(tabletId);
+            shard.readLock();
+            try {
+                tabletMetaList.add(shard.tabletMetaMap.getOrDefault(tabletId, NOT_EXIST_TABLET_META));
+            } finally {
+                shard.readUnlock();
             }
-            return tabletMetaList;
-        } finally {
-            readUnlock();
         }
+        return tabletMetaList;
     }
 
     private boolean needSync(Replica replicaInFe, TTabletInfo backendTabletInfo) {
@@ -394,13 +503,14 @@ public class TabletInvertedIndex {
         if (GlobalStateMgr.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        Shard shard = getShard(tabletId);
+        shard.writeLock();
         try {
-            tabletMetaMap.putIfAbsent(tabletId, tabletMeta);
+            shard.tabletMetaMap.putIfAbsent(tabletId, tabletMeta);
 
             LOG.debug("add tablet: {}", tabletId);
         } finally {
-            writeUnlock();
+            shard.writeUnlock();
         }
     }
 
@@ -408,23 +518,21 @@ public class TabletInvertedIndex {
         if (GlobalStateMgr.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        Shard shard = getShard(tabletId);
+        shard.writeLock();
         try {
-            Map<Long, Replica> replicas = replicaMetaTable.rowMap().remove(tabletId);
+            LongObjectHashMap<Replica> replicas = shard.replicaMetaTable.remove(tabletId);
             if (replicas != null) {
-                for (Replica replica : replicas.values()) {
-                    replicaToTabletMap.remove(replica.getId());
-                }
-
-                for (long backendId : replicas.keySet()) {
-                    backingReplicaMetaTable.remove(backendId, tabletId);
+                for (LongObjectHashMap.Cursor<Replica> entry = replicas.cursor(); entry.advance(); ) {
+                    replicaToTabletMap.remove(entry.value().getId());
+                    shard.removeBackingReplica(entry.key(), tabletId);
                 }
             }
-            tabletMetaMap.remove(tabletId);
+            shard.tabletMetaMap.remove(tabletId);
 
             LOG.debug("delete tablet: {}", tabletId);
         } finally {
-            writeUnlock();
+            shard.writeUnlock();
         }
     }
 
@@ -432,16 +540,16 @@ public class TabletInvertedIndex {
         if (GlobalStateMgr.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        Shard shard = getShard(tabletId);
+        shard.writeLock();
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            replicaMetaTable.put(tabletId, replica.getBackendId(), replica);
+            Preconditions.checkState(shard.tabletMetaMap.containsKey(tabletId));
+            shard.putReplica(tabletId, replica.getBackendId(), replica);
             replicaToTabletMap.put(replica.getId(), tabletId);
-            backingReplicaMetaTable.put(replica.getBackendId(), tabletId, replica);
             LOG.debug("add replica {} of tablet {} in backend {}",
                     replica.getId(), tabletId, replica.getBackendId());
         } finally {
-            writeUnlock();
+            shard.writeUnlock();
         }
     }
 
@@ -449,14 +557,18 @@ public class TabletInvertedIndex {
         if (GlobalStateMgr.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        Shard shard = getShard(tabletId);
+        shard.writeLock();
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            if (replicaMetaTable.containsRow(tabletId)) {
-                Replica replica = replicaMetaTable.remove(tabletId, backendId);
+            Preconditions.checkState(shard.tabletMetaMap.containsKey(tabletId));
+            LongObjectHashMap<Replica> replicas = shard.replicaMetaTable.get(tabletId);
+            if (replicas != null) {
+                Replica replica = replicas.remove(backendId);
+                if (replicas.isEmpty()) {
+                    shard.replicaMetaTable.remove(tabletId);
+                }
                 replicaToTabletMap.remove(replica.getId());
-                replicaMetaTable.remove(tabletId, backendId);
-                backingReplicaMetaTable.remove(backendId, tabletId);
+                shard.removeBackingReplica(backendId, tabletId);
                 LOG.debug("delete replica {} of tablet {} in backend {}",
                         replica.getId(), tabletId, backendId);
             } else {
@@ -465,29 +577,33 @@ public class TabletInvertedIndex {
                 LOG.error("tablet[{}] contains no replica in inverted index", tabletId);
             }
         } finally {
-            writeUnlock();
+            shard.writeUnlock();
         }
     }
 
     public Replica getReplica(long tabletId, long backendId) {
-        readLock();
+        Shard shard = getShard(tabletId);
+        shard.readLock();
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId), tabletId);
-            return replicaMetaTable.get(tabletId, backendId);
+            Preconditions.checkState(shard.tabletMetaMap.containsKey(tabletId), tabletId);
+            LongObjectHashMap<Replica> replicas = shard.replicaMetaTable.get(tabletId);
+            return replicas == null ? null : replicas.get(backendId);
         } finally {
-            readUnlock();
+            shard.readUnlock();
         }
     }
 
     public List<Replica> getReplicasByTabletId(long tabletId) {
-        readLock();
+        Shard shard = getShard(tabletId);
+        shard.readLock();
         try {
-            if (replicaMetaTable.containsRow(tabletId)) {
-                return Lists.newArrayList(replicaMetaTable.row(tabletId).values());
+            LongObjectHashMap<Replica> replicas = shard.replicaMetaTable.get(tabletId);
+            if (replicas != null) {
+                return replicas.values();
             }
             return Lists.newArrayList();
         } finally {
-            readUnlock();
+            shard.readUnlock();
         }
     }
 
@@ -496,98 +612,103 @@ public class TabletInvertedIndex {
      *
      * @param tabletIds tablet_id list
      * @param backendId backendid
-     * @return list of replica or null if backend not found
+     * @return list of replica
      */
     public List<Replica> getReplicasOnBackendByTabletIds(List<Long> tabletIds, long backendId) {
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                List<Replica> replicas = Lists.newArrayList();
-                for (long tabletId : tabletIds) {
-                    replicas.add(replicaMetaWithBackend.get(tabletId));
-                }
-                return replicas;
+        List<Replica> replicas = Lists.newArrayList();
+        for (long tabletId : tabletIds) {
+            Shard shard = getShard(tabletId);
+            shard.readLock();
+            try {
+                replicas.add(shard.replicasOfBackend(backendId).get(tabletId));
+            } finally {
+                shard.readUnlock();
             }
-            return null;
-        } finally {
-            readUnlock();
         }
+        return replicas;
     }
 
     public List<Long> getTabletIdsByBackendId(long backendId) {
         List<Long> tabletIds = Lists.newArrayList();
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                tabletIds.addAll(replicaMetaWithBackend.keySet());
+        for (Shard shard : shards) {
+            shard.readLock();
+            try {
+                tabletIds.addAll(shard.replicasOfBackend(backendId).keys());
+            } finally {
+                shard.readUnlock();
             }
-        } finally {
-            readUnlock();
         }
         return tabletIds;
     }
 
     public List<Long> getTabletIdsByBackendIdAndStorageMedium(long backendId, TStorageMedium storageMedium) {
         List<Long> tabletIds = Lists.newArrayList();
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                tabletIds = replicaMetaWithBackend.keySet().stream().filter(
-                        id -> tabletMetaMap.get(id).getStorageMedium() == storageMedium).collect(Collectors.toList());
+        for (Shard shard : shards) {
+            shard.readLock();
+            try {
+                for (LongObjectHashMap.Cursor<Replica> entry = shard.replicasOfBackend(backendId).cursor();
+                        entry.advance(); ) {
+                    long tabletId = entry.key();
+                    if (shard.tabletMetaMap.get(tabletId).getStorageMedium() == storageMedium) {
+                        tabletIds.add(tabletId);
+                    }
+                }
+            } finally {
+                shard.readUnlock();
             }
-        } finally {
-            readUnlock();
         }
         return tabletIds;
     }
 
     public long getTabletNumByBackendId(long backendId) {
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                return replicaMetaWithBackend.size();
+        long tabletNum = 0;
+        for (Shard shard : shards) {
+            shard.readLock();
+            try {
+                tabletNum += shard.replicasOfBackend(backendId).size();
+            } finally {
+                shard.readUnlock();
             }
-        } finally {
-            readUnlock();
         }
-        return 0;
+        return tabletNum;
     }
 
     public long getTabletNumByBackendIdAndPathHash(long backendId, long pathHash) {
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                return replicaMetaWithBackend.values().stream().filter(r -> r.getPathHash() == pathHash).count();
+        long tabletNum = 0;
+        for (Shard shard : shards) {
+            shard.readLock();
+            try {
+                for (LongObjectHashMap.Cursor<Replica> entry = shard.replicasOfBackend(backendId).cursor();
+                        entry.advance(); ) {
+                    if (entry.value().getPathHash() == pathHash) {
+                        tabletNum++;
+                    }
+                }
+            } finally {
+                shard.readUnlock();
             }
-        } finally {
-            readUnlock();
         }
-        return 0;
+        return tabletNum;
     }
 
     public Map<TStorageMedium, Long> getReplicaNumByBeIdAndStorageMedium(long backendId) {
         Map<TStorageMedium, Long> replicaNumMap = Maps.newHashMap();
         long hddNum = 0;
         long ssdNum = 0;
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                for (long tabletId : replicaMetaWithBackend.keySet()) {
-                    if (tabletMetaMap.get(tabletId).getStorageMedium() == TStorageMedium.HDD) {
+        for (Shard shard : shards) {
+            shard.readLock();
+            try {
+                for (LongObjectHashMap.Cursor<Replica> entry = shard.replicasOfBackend(backendId).cursor();
+                        entry.advance(); ) {
+                    if (shard.tabletMetaMap.get(entry.key()).getStorageMedium() == TStorageMedium.HDD) {
                         hddNum++;
                     } else {
                         ssdNum++;
                     }
                 }
+            } finally {
+                shard.readUnlock();
             }
-        } finally {
-            readUnlock();
         }
         replicaNumMap.put(TStorageMedium.HDD, hddNum);
         replicaNumMap.put(TStorageMedium.SSD, ssdNum);
@@ -596,15 +717,16 @@ public class TabletInvertedIndex {
 
     // just for test
     public void clear() {
-        writeLock();
-        try {
-            tabletMetaMap.clear();
-            replicaToTabletMap.clear();
-            replicaMetaTable.clear();
-            backingReplicaMetaTable.clear();
-        } finally {
-            writeUnlock();
+        for (Shard shard : shards) {
+            shard.writeLock();
+            try {
+                shard.tabletMetaMap.clear();
+                shard.replicaMetaTable.clear();
+                shard.backingReplicaMetaTable.clear();
+            } finally {
+                shard.writeUnlock();
+            }
         }
+        replicaToTabletMap.clear();
     }
 }
-
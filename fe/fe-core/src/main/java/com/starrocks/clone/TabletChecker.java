@@ -22,8 +22,11 @@
 package com.starrocks.clone;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Table.Cell;
 import com.starrocks.catalog.Database;
@@ -31,12 +34,15 @@ import com.starrocks.catalog.LocalTablet;
 import com.starrocks.catalog.LocalTablet.TabletStatus;
 import com.starrocks.catalog.MaterializedIndex;
 import com.starrocks.catalog.MaterializedIndex.IndexExtState;
+import com.starrocks.catalog.MaterializedIndex.IndexState;
 import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.Partition.PartitionState;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Table.TableType;
 import com.starrocks.catalog.Tablet;
+import com.starrocks.catalog.TabletInvertedIndex;
+import com.starrocks.catalog.TabletMeta;
 import com.starrocks.clone.TabletScheduler.AddResult;
 import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
@@ -49,10 +55,15 @@ import com.starrocks.system.SystemInfoService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /*
@@ -71,6 +82,15 @@ public class TabletChecker extends LeaderDaemon {
     // priority of replicas of partitions in this table will be set to VERY_HIGH if not healthy
     private com.google.common.collect.Table<Long, Long, Set<PrioPart>> prios = HashBasedTable.create();
 
+    // Only the tablets changed since the last check are checked if Config.tablet_checker_enable_dirty_tracking is
+    // true, and all tablets are checked every Config.tablet_checker_full_check_interval_seconds as a backstop.
+    private final Set<Long> dirtyTabletIds = Sets.newConcurrentHashSet();
+    // all the tablets on these backends are checked
+    private final Set<Long> dirtyBackendIds = Sets.newConcurrentHashSet();
+    // (db id, table id), all the tablets of these tables are checked
+    private final Set<Pair<Long, Long>> dirtyTables = Sets.newConcurrentHashSet();
+    private long lastFullCheckTime = 0;
+
     // represent a partition which need to be repaired preferentially
     public static class PrioPart {
         public long partId;
@@ -179,29 +199,54 @@ public class TabletChecker extends LeaderDaemon {
             return;
         }
 
-        checkAllTablets();
+        long cpuStart = getCurrentThreadCpuTimeNs();
+        long now = System.currentTimeMillis();
+        if (!Config.tablet_checker_enable_dirty_tracking
+                || now - lastFullCheckTime >= Config.tablet_checker_full_check_interval_seconds * 1000L) {
+            // the changes during the full check are checked in the next round
+            dirtyTabletIds.clear();
+            dirtyBackendIds.clear();
+            dirtyTables.clear();
+            // if the tablet scheduler is full, the rest tablets are checked by the full check of the next round
+            if (checkAllTablets()) {
+                lastFullCheckTime = now;
+            }
+            stat.counterTabletFullCheckRound.incrementAndGet();
+        } else {
+            checkTabletsOnlyInPrios();
+            checkDirtyTablets();
+        }
 
         removePriosIfNecessary();
 
+        stat.counterTabletCheckCpuTimeMs.addAndGet(
+                TimeUnit.NANOSECONDS.toMillis(getCurrentThreadCpuTimeNs() - cpuStart));
         stat.counterTabletCheckRound.incrementAndGet();
         LOG.info(stat.incrementalBrief());
     }
 
+    private static long getCurrentThreadCpuTimeNs() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!threadMXBean.isCurrentThreadCpuTimeSupported()) {
+            return 0;
+        }
+        return threadMXBean.getCurrentThreadCpuTime();
+    }
+
     /**
      * Check the manually repaired table/partition first,
      * so that they can be scheduled for repair at first place.
      */
-    private void checkAllTablets() {
-        checkTabletsOnlyInPrios();
-        checkTabletsNotInPrios();
+    private boolean checkAllTablets() {
+        return checkTabletsOnlyInPrios() && checkTabletsNotInPrios();
     }
 
-    private void checkTabletsOnlyInPrios() {
-        doCheck(true);
+    private boolean checkTabletsOnlyInPrios() {
+        return doCheck(true);
     }
 
-    private void checkTabletsNotInPrios() {
-        doCheck(false);
+    private boolean checkTabletsNotInPrios() {
+        return doCheck(false);
     }
 
     /**
@@ -226,13 +271,31 @@ public class TabletChecker extends LeaderDaemon {
         }
     }
 
-    private void doCheck(boolean checkInPrios) {
-        long start = System.currentTimeMillis();
+    // the counters of one check
+    private static class CheckStat {
         long totalTabletNum = 0;
         long unhealthyTabletNum = 0;
         long addToSchedulerTabletNum = 0;
         long tabletInScheduler = 0;
         long tabletNotReady = 0;
+        long lockHoldNs = 0;
+    }
+
+    private enum CheckResult {
+        HEALTHY,
+        // being scheduled by the tablet scheduler
+        IN_SCHEDULER,
+        // not healthy, whether added to the tablet scheduler or not
+        UNHEALTHY,
+        // the tablet scheduler is full, stop checking
+        LIMIT_EXCEED
+    }
+
+    // return false if the check is stopped because the tablet scheduler is full
+    private boolean doCheck(boolean checkInPrios) {
+        long start = System.currentTimeMillis();
+        CheckStat checkStat = new CheckStat();
+        boolean finished = true;
 
         List<Long> dbIds = globalStateMgr.getDbIdsIncludeRecycleBin();
         OUT:
@@ -247,14 +310,11 @@ public class TabletChecker extends LeaderDaemon {
             }
 
             db.readLock();
+            long lockStart = System.nanoTime();
             try {
                 List<Long> aliveBeIdsInCluster = infoService.getBackendIds(true);
                 for (Table table : globalStateMgr.getTablesIncludeRecycleBin(db)) {
-                    if (!table.needSchedule(false)) {
-                        continue;
-                    }
-                    if (table.isLakeTable()) {
-                        // replicas are managed by StarOS and cloud storage.
+                    if (!needCheck(table)) {
                         continue;
                     }
 
@@ -265,110 +325,355 @@ public class TabletChecker extends LeaderDaemon {
 
                     OlapTable olapTbl = (OlapTable) table;
                     for (Partition partition : globalStateMgr.getAllPartitionsIncludeRecycleBin(olapTbl)) {
-                        if (partition.getState() != PartitionState.NORMAL) {
-                            // when alter job is in FINISHING state, partition state will be set to NORMAL,
-                            // and we can schedule the tablets in it.
-                            continue;
-                        }
-
-                        short replicaNum = globalStateMgr.getReplicationNumIncludeRecycleBin(olapTbl.getPartitionInfo(),
-                                partition.getId());
-                        if (replicaNum == (short) -1) {
-                            continue;
-                        }
-
                         boolean isPartitionInPrios = isPartitionInPrios(dbId, table.getId(), partition.getId());
-                        boolean prioPartIsHealthy = true;
                         if ((checkInPrios && !isPartitionInPrios) || (!checkInPrios && isPartitionInPrios)) {
                             continue;
                         }
-
-                        /*
-                         * Tablet in SHADOW index can not be repaired of balanced
-                         */
-                        for (MaterializedIndex idx : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
-                            for (Tablet tablet : idx.getTablets()) {
-                                LocalTablet localTablet = (LocalTablet) tablet;
-                                totalTabletNum++;
-
-                                if (tabletScheduler.containsTablet(tablet.getId())) {
-                                    tabletInScheduler++;
-                                    continue;
-                                }
-
-                                Pair<TabletStatus, TabletSchedCtx.Priority> statusWithPrio =
-                                        localTablet.getHealthStatusWithPriority(
-                                                infoService,
-                                                partition.getVisibleVersion(),
-                                                replicaNum,
-                                                aliveBeIdsInCluster);
-
-                                if (statusWithPrio.first == TabletStatus.HEALTHY) {
-                                    // Only set last status check time when status is healthy.
-                                    localTablet.setLastStatusCheckTime(start);
-                                    continue;
-                                } else if (isPartitionInPrios) {
-                                    statusWithPrio.second = TabletSchedCtx.Priority.VERY_HIGH;
-                                    prioPartIsHealthy = false;
-                                }
-
-                                unhealthyTabletNum++;
-
-                                if (!localTablet.readyToBeRepaired(statusWithPrio.first, statusWithPrio.second)) {
-                                    tabletNotReady++;
-                                    continue;
-                                }
-
-                                TabletSchedCtx tabletCtx = new TabletSchedCtx(
-                                        TabletSchedCtx.Type.REPAIR,
-                                        db.getId(), olapTbl.getId(),
-                                        partition.getId(), idx.getId(), tablet.getId(),
-                                        System.currentTimeMillis());
-                                // the tablet status will be set again when being scheduled
-                                tabletCtx.setTabletStatus(statusWithPrio.first);
-                                tabletCtx.setOrigPriority(statusWithPrio.second);
-                                tabletCtx.setTablet(localTablet);
-                                if (!tryChooseSrcBeforeSchedule(tabletCtx)) {
-                                    continue;
-                                }
-
-                                AddResult res = tabletScheduler.addTablet(tabletCtx, false /* not force */);
-                                if (res == AddResult.LIMIT_EXCEED) {
-                                    LOG.info("number of scheduling tablets in tablet scheduler"
-                                            + " exceed to limit. stop tablet checker");
-                                    break OUT;
-                                } else if (res == AddResult.ADDED) {
-                                    addToSchedulerTabletNum++;
-                                }
-                            }
-                        } // indices
-
-                        if (prioPartIsHealthy && isPartitionInPrios) {
-                            // if all replicas in this partition are healthy, remove this partition from
-                            // priorities.
-                            LOG.debug("partition is healthy, remove from prios: {}-{}-{}",
-                                    db.getId(), olapTbl.getId(), partition.getId());
-                            removePrios(new RepairTabletInfo(db.getId(),
-                                    olapTbl.getId(), Lists.newArrayList(partition.getId())));
+                        if (checkPartition(db, olapTbl, partition, isPartitionInPrios, aliveBeIdsInCluster,
+                                start, checkStat, null) == CheckResult.LIMIT_EXCEED) {
+                            finished = false;
+                            break OUT;
                         }
                     } // partitions
                 } // tables
             } finally {
+                checkStat.lockHoldNs += System.nanoTime() - lockStart;
                 db.readUnlock();
             }
         } // end for dbs
 
         long cost = System.currentTimeMillis() - start;
-
-        stat.counterTabletCheckCostMs.addAndGet(cost);
-        stat.counterTabletChecked.addAndGet(totalTabletNum);
-        stat.counterUnhealthyTabletNum.addAndGet(unhealthyTabletNum);
-        stat.counterTabletAddToBeScheduled.addAndGet(addToSchedulerTabletNum);
+        updateStat(checkStat, cost);
 
         LOG.info("finished to check tablets. checkInPrios: {}, " +
                         "unhealthy/total/added/in_sched/not_ready: {}/{}/{}/{}/{}, cost: {} ms",
-                checkInPrios, unhealthyTabletNum, totalTabletNum, addToSchedulerTabletNum,
-                tabletInScheduler, tabletNotReady, cost);
+                checkInPrios, checkStat.unhealthyTabletNum, checkStat.totalTabletNum,
+                checkStat.addToSchedulerTabletNum, checkStat.tabletInScheduler, checkStat.tabletNotReady, cost);
+        return finished;
+    }
+
+    private static boolean needCheck(Table table) {
+        // replicas of lake table are managed by StarOS and cloud storage.
+        return table.needSchedule(false) && !table.isLakeTable();
+    }
+
+    /**
+     * Check the visible tablets of the partition, or only the given tablets if {@code tabletMetas} is not null.
+     * The given tablets not healthy yet are marked dirty again to be checked in the next round, except the ones
+     * being scheduled, which are marked dirty when the tablet scheduler releases them.
+     */
+    private CheckResult checkPartition(Database db, OlapTable olapTbl, Partition partition,
+                                       boolean isPartitionInPrios, List<Long> aliveBeIdsInCluster, long start,
+                                       CheckStat checkStat, Collection<TabletMeta> tabletMetas) {
+        if (partition.getState() != PartitionState.NORMAL) {
+            // when alter job is in FINISHING state, partition state will be set to NORMAL,
+            // and we can schedule the tablets in it.
+            return CheckResult.UNHEALTHY;
+        }
+
+        short replicaNum = globalStateMgr.getReplicationNumIncludeRecycleBin(olapTbl.getPartitionInfo(),
+                partition.getId());
+        if (replicaNum == (short) -1) {
+            return CheckResult.HEALTHY;
+        }
+
+        boolean prioPartIsHealthy = true;
+        if (tabletMetas == null) {
+            /*
+             * Tablet in SHADOW index can not be repaired of balanced
+             */
+            for (MaterializedIndex idx : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
+                for (Tablet tablet : idx.getTablets()) {
+                    CheckResult result = checkTablet(db, olapTbl, partition, idx, (LocalTablet) tablet, replicaNum,
+                            isPartitionInPrios, aliveBeIdsInCluster, start, checkStat);
+                    if (result == CheckResult.LIMIT_EXCEED) {
+                        return result;
+                    } else if (result == CheckResult.UNHEALTHY && isPartitionInPrios) {
+                        prioPartIsHealthy = false;
+                    }
+                }
+            } // indices
+        } else {
+            CheckResult partitionResult = CheckResult.HEALTHY;
+            for (TabletMeta tabletMeta : tabletMetas) {
+                MaterializedIndex idx = partition.getIndex(tabletMeta.getIndexId());
+                if (idx == null || idx.getState() == IndexState.SHADOW) {
+                    continue;
+                }
+                Tablet tablet = idx.getTablet(tabletMeta.getTabletId());
+                if (tablet == null) {
+                    continue;
+                }
+                CheckResult result = checkTablet(db, olapTbl, partition, idx, (LocalTablet) tablet, replicaNum,
+                        isPartitionInPrios, aliveBeIdsInCluster, start, checkStat);
+                if (result == CheckResult.LIMIT_EXCEED) {
+                    return result;
+                } else if (result == CheckResult.UNHEALTHY) {
+                    // check it again in next round until it's healthy
+                    dirtyTabletIds.add(tabletMeta.getTabletId());
+                    partitionResult = CheckResult.UNHEALTHY;
+                }
+            }
+            // the partitions in prios are removed from prios by the full check of them
+            return partitionResult;
+        }
+
+        if (prioPartIsHealthy && isPartitionInPrios) {
+            // if all replicas in this partition are healthy, remove this partition from
+            // priorities.
+            LOG.debug("partition is healthy, remove from prios: {}-{}-{}",
+                    db.getId(), olapTbl.getId(), partition.getId());
+            removePrios(new RepairTabletInfo(db.getId(),
+                    olapTbl.getId(), Lists.newArrayList(partition.getId())));
+        }
+        return prioPartIsHealthy ? CheckResult.HEALTHY : CheckResult.UNHEALTHY;
+    }
+
+    private CheckResult checkTablet(Database db, OlapTable olapTbl, Partition partition, MaterializedIndex idx,
+                                    LocalTablet localTablet, short replicaNum, boolean isPartitionInPrios,
+                                    List<Long> aliveBeIdsInCluster, long start, CheckStat checkStat) {
+        checkStat.totalTabletNum++;
+
+        if (tabletScheduler.containsTablet(localTablet.getId())) {
+            checkStat.tabletInScheduler++;
+            return CheckResult.IN_SCHEDULER;
+        }
+
+        Pair<TabletStatus, TabletSchedCtx.Priority> statusWithPrio =
+                localTablet.getHealthStatusWithPriority(
+                        infoService,
+                        partition.getVisibleVersion(),
+                        replicaNum,
+                        aliveBeIdsInCluster);
+
+        if (statusWithPrio.first == TabletStatus.HEALTHY) {
+            // Only set last status check time when status is healthy.
+            localTablet.setLastStatusCheckTime(start);
+            return CheckResult.HEALTHY;
+        } else if (isPartitionInPrios) {
+            statusWithPrio.second = TabletSchedCtx.Priority.VERY_HIGH;
+        }
+
+        checkStat.unhealthyTabletNum++;
+
+        if (!localTablet.readyToBeRepaired(statusWithPrio.first, statusWithPrio.second)) {
+            checkStat.tabletNotReady++;
+            return CheckResult.UNHEALTHY;
+        }
+
+        TabletSchedCtx tabletCtx = new TabletSchedCtx(
+                TabletSchedCtx.Type.REPAIR,
+                db.getId(), olapTbl.getId(),
+                partition.getId(), idx.getId(), localTablet.getId(),
+                System.currentTimeMillis());
+        // the tablet status will be set again when being scheduled
+        tabletCtx.setTabletStatus(statusWithPrio.first);
+        tabletCtx.setOrigPriority(statusWithPrio.second);
+        tabletCtx.setTablet(localTablet);
+        if (!tryChooseSrcBeforeSchedule(tabletCtx)) {
+            return CheckResult.UNHEALTHY;
+        }
+
+        AddResult res = tabletScheduler.addTablet(tabletCtx, false /* not force */);
+        if (res == AddResult.LIMIT_EXCEED) {
+            LOG.info("number of scheduling tablets in tablet scheduler"
+                    + " exceed to limit. stop tablet checker");
+            return CheckResult.LIMIT_EXCEED;
+        } else if (res == AddResult.ADDED) {
+            checkStat.addToSchedulerTabletNum++;
+        }
+        return CheckResult.UNHEALTHY;
+    }
+
+    /*
+     * Check the tablets marked dirty since the last check, and the tablets on the dirty backends and of the
+     * dirty tables. The tablets not healthy yet are checked again in the next round.
+     */
+    private void checkDirtyTablets() {
+        long start = System.currentTimeMillis();
+        CheckStat checkStat = new CheckStat();
+
+        Set<Long> tabletIds = drain(dirtyTabletIds);
+        TabletInvertedIndex invertedIndex = GlobalStateMgr.getCurrentInvertedIndex();
+        for (long backendId : drain(dirtyBackendIds)) {
+            tabletIds.addAll(invertedIndex.getTabletIdsByBackendId(backendId));
+        }
+        Set<Pair<Long, Long>> tables = drain(dirtyTables);
+
+        // db id -> table id -> partition id -> tablets, the partitions of the dirty tables are checked entirely
+        Map<Long, Map<Long, ListMultimap<Long, TabletMeta>>> dbToTablets = Maps.newHashMap();
+        for (Pair<Long, Long> table : tables) {
+            dbToTablets.computeIfAbsent(table.first, k -> Maps.newHashMap()).put(table.second, null);
+        }
+        for (long tabletId : tabletIds) {
+            TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+            if (tabletMeta == null || tabletMeta.isLakeTablet()) {
+                // dropped
+                continue;
+            }
+            Map<Long, ListMultimap<Long, TabletMeta>> tblToTablets =
+                    dbToTablets.computeIfAbsent(tabletMeta.getDbId(), k -> Maps.newHashMap());
+            if (tblToTablets.containsKey(tabletMeta.getTableId()) && tblToTablets.get(tabletMeta.getTableId()) == null) {
+                // the whole table is checked
+                continue;
+            }
+            tblToTablets.computeIfAbsent(tabletMeta.getTableId(), k -> ArrayListMultimap.create())
+                    .put(tabletMeta.getPartitionId(), tabletMeta);
+        }
+
+        boolean limitExceeded = false;
+        for (Map.Entry<Long, Map<Long, ListMultimap<Long, TabletMeta>>> dbEntry : dbToTablets.entrySet()) {
+            long dbId = dbEntry.getKey();
+            if (limitExceeded) {
+                // keep them to the next round
+                requeue(dbId, dbEntry.getValue());
+                continue;
+            }
+            Database db = globalStateMgr.getDbIncludeRecycleBin(dbId);
+            if (db == null || db.isInfoSchemaDb()) {
+                continue;
+            }
+
+            db.readLock();
+            long lockStart = System.nanoTime();
+            try {
+                List<Long> aliveBeIdsInCluster = infoService.getBackendIds(true);
+                for (Map.Entry<Long, ListMultimap<Long, TabletMeta>> tblEntry : dbEntry.getValue().entrySet()) {
+                    Table table = globalStateMgr.getTableIncludeRecycleBin(db, tblEntry.getKey());
+                    // the tables in prios are checked by checkTabletsOnlyInPrios()
+                    if (table == null || !needCheck(table) || isTableInPrios(dbId, table.getId())) {
+                        continue;
+                    }
+                    if (limitExceeded) {
+                        requeue(dbId, table.getId(), tblEntry.getValue());
+                        continue;
+                    }
+
+                    OlapTable olapTbl = (OlapTable) table;
+                    ListMultimap<Long, TabletMeta> partToTablets = tblEntry.getValue();
+                    Collection<Partition> partitions = partToTablets == null ?
+                            globalStateMgr.getAllPartitionsIncludeRecycleBin(olapTbl) :
+                            partToTablets.keySet().stream()
+                                    .map(partId -> globalStateMgr.getPartitionIncludeRecycleBin(olapTbl, partId))
+                                    .filter(Objects::nonNull)
+                                    .collect(Collectors.toList());
+                    for (Partition partition : partitions) {
+                        List<TabletMeta> tabletMetas = partToTablets == null ?
+                                getTabletMetas(partition, invertedIndex) : partToTablets.get(partition.getId());
+                        CheckResult result = checkPartition(db, olapTbl, partition, false, aliveBeIdsInCluster,
+                                start, checkStat, tabletMetas);
+                        if (result == CheckResult.LIMIT_EXCEED) {
+                            limitExceeded = true;
+                            requeue(dbId, table.getId(), null);
+                            break;
+                        } else if (result == CheckResult.UNHEALTHY && partition.getState() != PartitionState.NORMAL) {
+                            // check it after the alter job finished
+                            tabletMetas.forEach(tabletMeta -> dirtyTabletIds.add(tabletMeta.getTabletId()));
+                        }
+                    }
+                }
+            } finally {
+                checkStat.lockHoldNs += System.nanoTime() - lockStart;
+                db.readUnlock();
+            }
+        }
+
+        long cost = System.currentTimeMillis() - start;
+        updateStat(checkStat, cost);
+
+        LOG.info("finished to check dirty tablets. dirty tablets/tables: {}/{}, " +
+                        "unhealthy/total/added/in_sched/not_ready: {}/{}/{}/{}/{}, cost: {} ms",
+                tabletIds.size(), tables.size(), checkStat.unhealthyTabletNum, checkStat.totalTabletNum,
+                checkStat.addToSchedulerTabletNum, checkStat.tabletInScheduler, checkStat.tabletNotReady, cost);
+    }
+
+    private static List<TabletMeta> getTabletMetas(Partition partition, TabletInvertedIndex invertedIndex) {
+        List<TabletMeta> tabletMetas = Lists.newArrayList();
+        for (MaterializedIndex idx : partition.getMaterializedIndices(IndexExtState.VISIBLE)) {
+            for (Tablet tablet : idx.getTablets()) {
+                TabletMeta tabletMeta = invertedIndex.getTabletMeta(tablet.getId());
+                if (tabletMeta != null) {
+                    tabletMetas.add(tabletMeta);
+                }
+            }
+        }
+        return tabletMetas;
+    }
+
+    private void requeue(long dbId, Map<Long, ListMultimap<Long, TabletMeta>> tblToTablets) {
+        for (Map.Entry<Long, ListMultimap<Long, TabletMeta>> tblEntry : tblToTablets.entrySet()) {
+            requeue(dbId, tblEntry.getKey(), tblEntry.getValue());
+        }
+    }
+
+    private void requeue(long dbId, long tableId, ListMultimap<Long, TabletMeta> partToTablets) {
+        if (partToTablets == null) {
+            dirtyTables.add(Pair.create(dbId, tableId));
+        } else {
+            partToTablets.values().forEach(tabletMeta -> dirtyTabletIds.add(tabletMeta.getTabletId()));
+        }
+    }
+
+    private static <T> Set<T> drain(Set<T> dirtySet) {
+        Set<T> drained = Sets.newHashSet();
+        Iterator<T> iter = dirtySet.iterator();
+        while (iter.hasNext()) {
+            drained.add(iter.next());
+            iter.remove();
+        }
+        return drained;
+    }
+
+    private void updateStat(CheckStat checkStat, long costMs) {
+        stat.counterTabletCheckCostMs.addAndGet(costMs);
+        stat.counterTabletCheckLockHoldMs.addAndGet(TimeUnit.NANOSECONDS.toMillis(checkStat.lockHoldNs));
+        stat.counterTabletChecked.addAndGet(checkStat.totalTabletNum);
+        stat.counterUnhealthyTabletNum.addAndGet(checkStat.unhealthyTabletNum);
+        stat.counterTabletAddToBeScheduled.addAndGet(checkStat.addToSchedulerTabletNum);
+    }
+
+    private static boolean isDirtyTrackingEnabled() {
+        return Config.tablet_checker_enable_dirty_tracking && GlobalStateMgr.getCurrentState().isLeader();
+    }
+
+    /**
+     * Mark the tablets to be checked in the next round, e.g. the replicas of them are changed by the reports
+     * of backends, by the failure of loading, or by the tablet scheduler.
+     */
+    public void markTabletsDirty(Collection<Long> tabletIds) {
+        if (isDirtyTrackingEnabled() && !tabletIds.isEmpty()) {
+            dirtyTabletIds.addAll(tabletIds);
+        }
+    }
+
+    public void markTabletDirty(long tabletId) {
+        if (isDirtyTrackingEnabled()) {
+            dirtyTabletIds.add(tabletId);
+        }
+    }
+
+    /**
+     * Mark all the tablets on the backend to be checked in the next round, e.g. the backend is dead, alive again,
+     * decommissioned or dropped, or the disks of it are changed.
+     */
+    public void markBackendDirty(long backendId) {
+        if (isDirtyTrackingEnabled()) {
+            dirtyBackendIds.add(backendId);
+        }
+    }
+
+    /**
+     * Mark all the tablets of the table to be checked in the next round, e.g. the replication num is changed,
+     * the table or partition is recovered, or an alter job is finished.
+     */
+    public void markTableDirty(long dbId, long tableId) {
+        if (isDirtyTrackingEnabled()) {
+            dirtyTables.add(Pair.create(dbId, tableId));
+        }
+    }
+
+    public long getDirtyTabletNum() {
+        return dirtyTabletIds.size();
     }
 
     private boolean isTableInPrios(long dbId, long tblId) {
@@ -216,6 +216,10 @@ public class TabletSchedCtx implements Comparable<TabletSchedCtx> {
     private Replica decommissionedReplica;
     private ReplicaState decommissionedReplicaPreviousState;
 
+    // The catalog changes decided while being scheduled under the db read lock, which are applied later by
+    // TabletScheduler under the db write lock. null if the changes are applied at once.
+    private List<Runnable> pendingCatalogChanges = null;
+
     public TabletSchedCtx(Type type, long dbId, long tblId, long partId,
                           long idxId, long tabletId, long createTime) {
         this.type = type;
@@ -296,6 +300,28 @@ public class TabletSchedCtx implements Comparable<TabletSchedCtx> {
         this.state = state;
     }
 
+    public void beginCollectCatalogChanges() {
+        pendingCatalogChanges = Lists.newArrayList();
+    }
+
+    public List<Runnable> endCollectCatalogChanges() {
+        List<Runnable> changes = pendingCatalogChanges;
+        pendingCatalogChanges = null;
+        return changes;
+    }
+
+    /**
+     * Apply the change of catalog at once, or collect it if being scheduled under the db read lock.
+     * The db write lock should be held if the change is applied at once.
+     */
+    public void changeCatalog(Runnable change) {
+        if (pendingCatalogChanges != null) {
+            pendingCatalogChanges.add(change);
+        } else {
+            change.run();
+        }
+    }
+
     public void setTabletStatus(TabletStatus tabletStatus) {
         this.tabletStatus = tabletStatus;
     }
@@ -678,20 +704,19 @@ public class TabletSchedCtx implements Comparable<TabletSchedCtx> {
             AgentTaskQueue.removeTask(cloneTask.getBackendId(), TTaskType.CLONE, cloneTask.getSignature());
 
             // clear all CLONE replicas
-            Database db = GlobalStateMgr.getCurrentState().getDbIncludeRecycleBin(dbId);
-            if (db != null) {
-                db.writeLock();
-                try {
-                    List<Replica> cloneReplicas = Lists.newArrayList();
-                    tablet.getImmutableReplicas().stream().filter(r -> r.getState() == ReplicaState.CLONE).forEach(
-                            cloneReplicas::add);
-
-                    for (Replica cloneReplica : cloneReplicas) {
-                        tablet.deleteReplica(cloneReplica);
+            LocalTablet cloneTablet = tablet;
+            if (pendingCatalogChanges != null) {
+                // being scheduled under the db read lock
+                changeCatalog(() -> deleteCloneReplicas(cloneTablet));
+            } else {
+                Database db = GlobalStateMgr.getCurrentState().getDbIncludeRecycleBin(dbId);
+                if (db != null) {
+                    db.writeLock();
+                    try {
+                        deleteCloneReplicas(cloneTablet);
+                    } finally {
+                        db.writeUnlock();
                     }
-
-                } finally {
-                    db.writeUnlock();
                 }
             }
         }
@@ -699,6 +724,16 @@ public class TabletSchedCtx implements Comparable<TabletSchedCtx> {
         reset(reserveTablet);
     }
 
+    private static void deleteCloneReplicas(LocalTablet tablet) {
+        List<Replica> cloneReplicas = Lists.newArrayList();
+        tablet.getImmutableReplicas().stream().filter(r -> r.getState() == ReplicaState.CLONE).forEach(
+                cloneReplicas::add);
+
+        for (Replica cloneReplica : cloneReplicas) {
+            tablet.deleteReplica(cloneReplica);
+        }
+    }
+
     // reset to save memory after state is done
     private void reset(boolean reserveTablet) {
         /*
@@ -741,7 +776,7 @@ public class TabletSchedCtx implements Comparable<TabletSchedCtx> {
         tablet.deleteReplicaByBackendId(replica.getBackendId());
     }
 
-    // database lock should be held.
+    // database lock should be held, the clone replica is added by changeCatalog().
     public CloneTask createCloneReplicaAndTask() throws SchedException {
         Backend srcBe = infoService.getBackend(srcReplica.getBackendId());
         if (srcBe == null) {
@@ -788,7 +823,8 @@ public class TabletSchedCtx implements Comparable<TabletSchedCtx> {
                     -1 /* last success version */);
 
             // addReplica() method will add this replica to tablet inverted index too.
-            tablet.addReplica(cloneReplica);
+            LocalTablet cloneTablet = tablet;
+            changeCatalog(() -> cloneTablet.addReplica(cloneReplica));
         } else if (tabletStatus == TabletStatus.VERSION_INCOMPLETE) {
             Preconditions.checkState(type == Type.REPAIR, type);
             // double check
@@ -839,7 +875,8 @@ public class TabletSchedCtx implements Comparable<TabletSchedCtx> {
                 new Replica(tablet.getSingleReplica().getId(), destBackendId, ReplicaState.NORMAL, visibleVersion,
                         indexMeta.getSchemaHash());
         // addReplica() method will add this replica to tablet inverted index too.
-        tablet.addReplica(emptyReplica);
+        LocalTablet recoverTablet = tablet;
+        changeCatalog(() -> recoverTablet.addReplica(emptyReplica));
 
         state = State.RUNNING;
         return createReplicaTask;
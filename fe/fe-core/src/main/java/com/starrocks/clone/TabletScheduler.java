@@ -51,6 +51,7 @@ import com.starrocks.clone.TabletSchedCtx.Type;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.Config;
 import com.starrocks.common.Pair;
+import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.common.util.LeaderDaemon;
 import com.starrocks.persist.ReplicaPersistInfo;
 import com.starrocks.server.GlobalStateMgr;
@@ -67,11 +68,17 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -105,6 +112,10 @@ public class TabletScheduler extends LeaderDaemon {
     private static final int MAX_SLOT_PER_PATH = 64;
     private static final int MIN_SLOT_PER_PATH = 2;
 
+    // the db lock is released after holding it for this long, even if there are tablets of the db left
+    private static final long MAX_DB_LOCK_HOLD_NS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int SCHEDULE_QUEUE_SIZE = 256;
+
     /*
      * Tablet is added to pendingTablets as well it's id in allTabletIds.
      * TabletScheduler will take tablet from pendingTablets but will not remove it's id from allTabletIds when
@@ -138,6 +149,7 @@ public class TabletScheduler extends LeaderDaemon {
     private ColocateTableIndex colocateTableIndex;
     private TabletSchedulerStat stat;
     private Rebalancer rebalancer;
+    private ThreadPoolExecutor scheduleExecutor;
 
     // result of adding a tablet to pendingTablets
     public enum AddResult {
@@ -468,65 +480,40 @@ public class TabletScheduler extends LeaderDaemon {
             LOG.debug("get {} tablets to schedule", currentBatch.size());
         }
 
+        // The tablets are sharded by their destination backends to the schedule threads, so the slots of a
+        // backend are mostly taken by one thread, see PathSlot.
+        List<List<TabletSchedCtx>> shards = shardByDestBackend(currentBatch,
+                Math.max(Config.tablet_sched_schedule_thread_num, 1));
+        long succeededBefore = stat.counterTabletScheduledSucceeded.get();
+
+        // the tasks of all shards are sent in one batch, one rpc for each backend
         AgentBatchTask batchTask = new AgentBatchTask();
-        for (TabletSchedCtx tabletCtx : currentBatch) {
-            try {
-                // reset errMsg for new scheduler round
-                tabletCtx.setErrMsg(null);
-                scheduleTablet(tabletCtx, batchTask);
-            } catch (SchedException e) {
-                tabletCtx.increaseFailedSchedCounter();
-                tabletCtx.setErrMsg(e.getMessage());
-
-                if (e.getStatus() == Status.SCHEDULE_FAILED) {
-                    LOG.debug("scheduling for tablet[{}] failed, type: {}, reason: {}",
-                            tabletCtx.getTabletId(), tabletCtx.getType().name(), e.getMessage());
-                    if (tabletCtx.getType() == Type.BALANCE) {
-                        // if balance is disabled, remove this tablet
-                        if (Config.tablet_sched_disable_balance) {
-                            finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED,
-                                    "disable balance and " + e.getMessage());
-                        } else {
-                            // remove the balance task if it fails to be scheduled many times
-                            if (tabletCtx.getFailedSchedCounter() > 10) {
-                                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED,
-                                        "schedule failed too many times and " + e.getMessage());
-                            } else {
-                                // we must release resource it current hold, and be scheduled again
-                                tabletCtx.releaseResource(this);
-                                // adjust priority to avoid some higher priority always be the first in pendingTablets
-                                stat.counterTabletScheduledFailed.incrementAndGet();
-                                dynamicAdjustPrioAndAddBackToPendingTablets(tabletCtx, e.getMessage());
-                            }
-                        }
-                    } else {
-                        // we must release resource it current hold, and be scheduled again
-                        tabletCtx.releaseResource(this);
-                        // adjust priority to avoid some higher priority always be the first in pendingTablets
-                        stat.counterTabletScheduledFailed.incrementAndGet();
-                        dynamicAdjustPrioAndAddBackToPendingTablets(tabletCtx, e.getMessage());
+        if (shards.size() <= 1) {
+            for (List<TabletSchedCtx> shard : shards) {
+                scheduleShard(shard, batchTask);
+            }
+        } else {
+            List<Future<AgentBatchTask>> futures = Lists.newArrayListWithCapacity(shards.size());
+            for (List<TabletSchedCtx> shard : shards) {
+                futures.add(getScheduleExecutor().submit(() -> {
+                    AgentBatchTask shardBatchTask = new AgentBatchTask();
+                    scheduleShard(shard, shardBatchTask);
+                    return shardBatchTask;
+                }));
+            }
+            for (Future<AgentBatchTask> future : futures) {
+                try {
+                    for (AgentTask task : future.get().getAllTasks()) {
+                        batchTask.addTask(task);
                     }
-                } else if (e.getStatus() == Status.FINISHED) {
-                    // schedule redundant tablet will throw this exception
-                    stat.counterTabletScheduledSucceeded.incrementAndGet();
-                    finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.FINISHED, e.getMessage());
-                } else {
-                    Preconditions.checkState(e.getStatus() == Status.UNRECOVERABLE, e.getStatus());
-                    // discard
-                    stat.counterTabletScheduledDiscard.incrementAndGet();
-                    finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED, e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    LOG.warn("interrupted while waiting for scheduling tablets", e);
+                } catch (ExecutionException e) {
+                    // scheduleShard() handles the exceptions of every tablet
+                    LOG.warn("failed to schedule tablets", e);
                 }
-                continue;
-            } catch (Exception e) {
-                LOG.warn("got unexpected exception, discard this schedule. tablet: {}",
-                        tabletCtx.getTabletId(), e);
-                stat.counterTabletScheduledFailed.incrementAndGet();
-                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.UNEXPECTED, e.getMessage());
             }
-
-            Preconditions.checkState(tabletCtx.getState() == TabletSchedCtx.State.RUNNING);
-            stat.counterTabletScheduledSucceeded.incrementAndGet();
-            addToRunningTablets(tabletCtx);
         }
 
         // must send task after adding tablet info to runningTablets.
@@ -538,10 +525,262 @@ public class TabletScheduler extends LeaderDaemon {
         }
 
         // send task immediately
-        AgentTaskExecutor.submit(batchTask);
+        if (batchTask.getTaskNum() > 0) {
+            AgentTaskExecutor.submit(batchTask);
+        }
 
         long cost = System.currentTimeMillis() - start;
         stat.counterTabletScheduleCostMs.addAndGet(cost);
+        if (!currentBatch.isEmpty()) {
+            // only the tablets scheduled successfully are counted, not the attempts
+            long succeeded = stat.counterTabletScheduledSucceeded.get() - succeededBefore;
+            stat.tabletScheduledPerSecond.set(succeeded * 1000L / Math.max(cost, 1));
+        }
+    }
+
+    private ThreadPoolExecutor getScheduleExecutor() {
+        if (scheduleExecutor == null) {
+            scheduleExecutor = ThreadPoolManager.newDaemonFixedThreadPool(
+                    Math.max(Config.tablet_sched_schedule_thread_num, 1), SCHEDULE_QUEUE_SIZE,
+                    "tablet-scheduler", true);
+        }
+        return scheduleExecutor;
+    }
+
+    /**
+     * Split the tablets into at most shardNum shards, the tablets with the same destination backend are in the same
+     * shard. The destination of a balance tablet is chosen by the rebalancer before being scheduled, and the one
+     * of a repair tablet is chosen while being scheduled, so the tablets without destination are added to the
+     * smallest shard. The order of the tablets in every shard is kept.
+     */
+    @VisibleForTesting
+    static List<List<TabletSchedCtx>> shardByDestBackend(List<TabletSchedCtx> tablets, int shardNum) {
+        List<List<TabletSchedCtx>> shards = Lists.newArrayList();
+        for (int i = 0; i < Math.min(shardNum, tablets.size()); i++) {
+            shards.add(Lists.newArrayList());
+        }
+        for (TabletSchedCtx tabletCtx : tablets) {
+            int idx = 0;
+            if (tabletCtx.getDestBackendId() != -1) {
+                idx = Math.floorMod(Long.hashCode(tabletCtx.getDestBackendId()), shards.size());
+            } else {
+                for (int i = 1; i < shards.size(); i++) {
+                    if (shards.get(i).size() < shards.get(idx).size()) {
+                        idx = i;
+                    }
+                }
+            }
+            shards.get(idx).add(tabletCtx);
+        }
+        shards.removeIf(List::isEmpty);
+        return shards;
+    }
+
+    private void scheduleShard(List<TabletSchedCtx> shard, AgentBatchTask batchTask) {
+        Map<Long, List<TabletSchedCtx>> dbToTablets = shard.stream().collect(
+                Collectors.groupingBy(TabletSchedCtx::getDbId, LinkedHashMap::new, Collectors.toList()));
+        for (List<TabletSchedCtx> dbTablets : dbToTablets.values()) {
+            int start = 0;
+            while (start < dbTablets.size()) {
+                List<TabletSchedCtx> tablets = dbTablets.subList(start, dbTablets.size());
+                Exception[] errors = new Exception[tablets.size()];
+                int scheduledNum = scheduleTablets(tablets, errors, batchTask);
+                // handle the results out of db lock, the tablet ctx may be released and take db lock again
+                for (int i = 0; i < scheduledNum; i++) {
+                    handleScheduleResult(tablets.get(i), errors[i]);
+                }
+                start += scheduledNum;
+            }
+        }
+    }
+
+    /**
+     * Try to schedule the tablets of the same database. The health check and the decision of every tablet, which
+     * take most of the time, run under the db read lock, so the schedule threads don't block each other. The
+     * catalog changes decided, e.g. adding the clone replica or deleting a redundant replica, are applied under
+     * the db write lock afterwards, only if the replicas of the tablet are not changed in between. The read lock
+     * is released after holding it for MAX_DB_LOCK_HOLD_NS, not to block loads too long. The exception of
+     * scheduling every tablet is set to errors, null if it's scheduled successfully.
+     * Return the number of tablets scheduled, which is at least 1.
+     */
+    private int scheduleTablets(List<TabletSchedCtx> tablets, Exception[] errors, AgentBatchTask batchTask) {
+        Database db = globalStateMgr.getDbIncludeRecycleBin(tablets.get(0).getDbId());
+        if (db == null) {
+            for (int i = 0; i < tablets.size(); i++) {
+                beginScheduleTablet(tablets.get(i));
+                errors[i] = new SchedException(Status.UNRECOVERABLE, "db does not exist");
+            }
+            return tablets.size();
+        }
+
+        List<ScheduledTablet> scheduledTablets = Lists.newArrayList();
+        boolean hasCatalogChanges = false;
+        db.readLock();
+        long lockStart = System.nanoTime();
+        try {
+            do {
+                TabletSchedCtx tabletCtx = tablets.get(scheduledTablets.size());
+                ScheduledTablet scheduled = new ScheduledTablet();
+                tabletCtx.beginCollectCatalogChanges();
+                try {
+                    // reset errMsg for new scheduler round
+                    tabletCtx.setErrMsg(null);
+                    beginScheduleTablet(tabletCtx);
+                    scheduleTablet(db, tabletCtx, scheduled.tasks);
+                } catch (Exception e) {
+                    errors[scheduledTablets.size()] = e;
+                } finally {
+                    scheduled.catalogChanges = tabletCtx.endCollectCatalogChanges();
+                }
+                if (!scheduled.catalogChanges.isEmpty()) {
+                    hasCatalogChanges = true;
+                    scheduled.tablet = tabletCtx.getTablet();
+                    if (scheduled.tablet != null) {
+                        scheduled.replicas = Lists.newArrayList(scheduled.tablet.getImmutableReplicas());
+                    }
+                }
+                scheduledTablets.add(scheduled);
+            } while (scheduledTablets.size() < tablets.size() && System.nanoTime() - lockStart < MAX_DB_LOCK_HOLD_NS);
+        } finally {
+            db.readUnlock();
+        }
+
+        if (hasCatalogChanges) {
+            db.writeLock();
+            long writeLockStart = System.nanoTime();
+            try {
+                for (int i = 0; i < scheduledTablets.size(); i++) {
+                    ScheduledTablet scheduled = scheduledTablets.get(i);
+                    if (scheduled.catalogChanges.isEmpty()) {
+                        continue;
+                    }
+                    TabletSchedCtx tabletCtx = tablets.get(i);
+                    if (isTabletChanged(db, tabletCtx, scheduled.tablet, scheduled.replicas)) {
+                        // the decision may be wrong now, schedule it again
+                        tabletCtx.setState(TabletSchedCtx.State.PENDING);
+                        errors[i] = new SchedException(Status.SCHEDULE_FAILED,
+                                "tablet is changed while being scheduled");
+                        scheduled.tasks = null;
+                        continue;
+                    }
+                    scheduled.catalogChanges.forEach(Runnable::run);
+                }
+            } finally {
+                db.writeUnlock();
+                stat.counterTabletScheduleWriteLockHoldMs.addAndGet(
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - writeLockStart));
+            }
+        }
+
+        for (ScheduledTablet scheduled : scheduledTablets) {
+            if (scheduled.tasks != null) {
+                for (AgentTask task : scheduled.tasks.getAllTasks()) {
+                    batchTask.addTask(task);
+                }
+            }
+        }
+        return scheduledTablets.size();
+    }
+
+    // the decision of scheduling a tablet under the db read lock
+    private static class ScheduledTablet {
+        private AgentBatchTask tasks = new AgentBatchTask();
+        private List<Runnable> catalogChanges;
+        // the tablet and its replicas when the decision is made
+        private LocalTablet tablet;
+        private List<Replica> replicas;
+    }
+
+    /**
+     * Whether the tablet is dropped or its replicas are changed since the decision is made,
+     * the caller should hold the write lock of db.
+     */
+    private boolean isTabletChanged(Database db, TabletSchedCtx tabletCtx, LocalTablet tablet,
+                                    List<Replica> replicas) {
+        if (tablet == null) {
+            return true;
+        }
+        OlapTable tbl = (OlapTable) globalStateMgr.getTableIncludeRecycleBin(db, tabletCtx.getTblId());
+        Partition partition = tbl == null ? null :
+                globalStateMgr.getPartitionIncludeRecycleBin(tbl, tabletCtx.getPartitionId());
+        MaterializedIndex idx = partition == null ? null : partition.getIndex(tabletCtx.getIndexId());
+        if (idx == null || idx.getTablet(tabletCtx.getTabletId()) != tablet) {
+            return true;
+        }
+        List<Replica> currentReplicas = tablet.getImmutableReplicas();
+        if (currentReplicas.size() != replicas.size()) {
+            return true;
+        }
+        for (int i = 0; i < replicas.size(); i++) {
+            if (currentReplicas.get(i) != replicas.get(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * After handle, the tablet info should be
+     * 1. in runningTablets with state RUNNING, if being scheduled success.
+     * 2. or in schedHistory with state CANCELLING, if some unrecoverable error happens.
+     * 3. or in pendingTablets with state PENDING, if failed to be scheduled.
+     */
+    private void handleScheduleResult(TabletSchedCtx tabletCtx, Exception error) {
+        if (error instanceof SchedException) {
+            SchedException e = (SchedException) error;
+            tabletCtx.increaseFailedSchedCounter();
+            tabletCtx.setErrMsg(e.getMessage());
+
+            if (e.getStatus() == Status.SCHEDULE_FAILED) {
+                LOG.debug("scheduling for tablet[{}] failed, type: {}, reason: {}",
+                        tabletCtx.getTabletId(), tabletCtx.getType().name(), e.getMessage());
+                if (tabletCtx.getType() == Type.BALANCE) {
+                    // if balance is disabled, remove this tablet
+                    if (Config.tablet_sched_disable_balance) {
+                        finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED,
+                                "disable balance and " + e.getMessage());
+                    } else {
+                        // remove the balance task if it fails to be scheduled many times
+                        if (tabletCtx.getFailedSchedCounter() > 10) {
+                            finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED,
+                                    "schedule failed too many times and " + e.getMessage());
+                        } else {
+                            // we must release resource it current hold, and be scheduled again
+                            tabletCtx.releaseResource(this);
+                            // adjust priority to avoid some higher priority always be the first in pendingTablets
+                            stat.counterTabletScheduledFailed.incrementAndGet();
+                            dynamicAdjustPrioAndAddBackToPendingTablets(tabletCtx, e.getMessage());
+                        }
+                    }
+                } else {
+                    // we must release resource it current hold, and be scheduled again
+                    tabletCtx.releaseResource(this);
+                    // adjust priority to avoid some higher priority always be the first in pendingTablets
+                    stat.counterTabletScheduledFailed.incrementAndGet();
+                    dynamicAdjustPrioAndAddBackToPendingTablets(tabletCtx, e.getMessage());
+                }
+            } else if (e.getStatus() == Status.FINISHED) {
+                // schedule redundant tablet will throw this exception
+                stat.counterTabletScheduledSucceeded.incrementAndGet();
+                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.FINISHED, e.getMessage());
+            } else {
+                Preconditions.checkState(e.getStatus() == Status.UNRECOVERABLE, e.getStatus());
+                // discard
+                stat.counterTabletScheduledDiscard.incrementAndGet();
+                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED, e.getMessage());
+            }
+            return;
+        } else if (error != null) {
+            LOG.warn("got unexpected exception, discard this schedule. tablet: {}",
+                    tabletCtx.getTabletId(), error);
+            stat.counterTabletScheduledFailed.incrementAndGet();
+            finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.UNEXPECTED, error.getMessage());
+            return;
+        }
+
+        Preconditions.checkState(tabletCtx.getState() == TabletSchedCtx.State.RUNNING);
+        stat.counterTabletScheduledSucceeded.incrementAndGet();
+        addToRunningTablets(tabletCtx);
     }
 
     private synchronized void addToRunningTablets(TabletSchedCtx tabletCtx) {
@@ -557,134 +796,128 @@ public class TabletScheduler extends LeaderDaemon {
         return runningTablets.remove(tabletId);
     }
 
-    /**
-     * Try to schedule a single tablet.
-     */
-    private void scheduleTablet(TabletSchedCtx tabletCtx, AgentBatchTask batchTask) throws SchedException {
+    private void beginScheduleTablet(TabletSchedCtx tabletCtx) {
         LOG.debug("schedule tablet: {}, type: {}, status: {}", tabletCtx.getTabletId(), tabletCtx.getType(),
                 tabletCtx.getTabletStatus());
         long currentTime = System.currentTimeMillis();
         tabletCtx.setLastSchedTime(currentTime);
         tabletCtx.setLastVisitedTime(currentTime);
         stat.counterTabletScheduled.incrementAndGet();
+    }
 
-        // check this tablet again
-        Database db = globalStateMgr.getDbIncludeRecycleBin(tabletCtx.getDbId());
-        if (db == null) {
-            throw new SchedException(Status.UNRECOVERABLE, "db does not exist");
+    /**
+     * Try to schedule a single tablet, the caller should hold the read lock of db,
+     * and the catalog is changed by TabletSchedCtx.changeCatalog().
+     */
+    private void scheduleTablet(Database db, TabletSchedCtx tabletCtx, AgentBatchTask batchTask)
+            throws SchedException {
+        long currentTime = System.currentTimeMillis();
+        Pair<TabletStatus, TabletSchedCtx.Priority> statusPair;
+        OlapTable tbl = (OlapTable) globalStateMgr.getTableIncludeRecycleBin(db, tabletCtx.getTblId());
+        if (tbl == null) {
+            throw new SchedException(Status.UNRECOVERABLE, "tbl does not exist");
+        }
+        if (tbl.isLakeTable()) {
+            throw new SchedException(Status.UNRECOVERABLE, "tablet is managed externally");
         }
 
-        Pair<TabletStatus, TabletSchedCtx.Priority> statusPair;
-        db.writeLock();
-        try {
-            OlapTable tbl = (OlapTable) globalStateMgr.getTableIncludeRecycleBin(db, tabletCtx.getTblId());
-            if (tbl == null) {
-                throw new SchedException(Status.UNRECOVERABLE, "tbl does not exist");
-            }
-            if (tbl.isLakeTable()) {
-                throw new SchedException(Status.UNRECOVERABLE, "tablet is managed externally");
-            }
+        boolean isColocateTable = colocateTableIndex.isColocateTable(tbl.getId());
 
-            boolean isColocateTable = colocateTableIndex.isColocateTable(tbl.getId());
+        OlapTableState tableState = tbl.getState();
 
-            OlapTableState tableState = tbl.getState();
+        Partition partition = globalStateMgr.getPartitionIncludeRecycleBin(tbl, tabletCtx.getPartitionId());
+        if (partition == null) {
+            throw new SchedException(Status.UNRECOVERABLE, "partition does not exist");
+        }
 
-            Partition partition = globalStateMgr.getPartitionIncludeRecycleBin(tbl, tabletCtx.getPartitionId());
-            if (partition == null) {
-                throw new SchedException(Status.UNRECOVERABLE, "partition does not exist");
-            }
+        short replicaNum =
+                globalStateMgr.getReplicationNumIncludeRecycleBin(tbl.getPartitionInfo(), partition.getId());
+        if (replicaNum == (short) -1) {
+            throw new SchedException(Status.UNRECOVERABLE, "invalid replication number");
+        }
 
-            short replicaNum =
-                    globalStateMgr.getReplicationNumIncludeRecycleBin(tbl.getPartitionInfo(), partition.getId());
-            if (replicaNum == (short) -1) {
-                throw new SchedException(Status.UNRECOVERABLE, "invalid replication number");
-            }
+        DataProperty dataProperty =
+                globalStateMgr.getDataPropertyIncludeRecycleBin(tbl.getPartitionInfo(), partition.getId());
+        if (dataProperty == null) {
+            throw new SchedException(Status.UNRECOVERABLE, "partition data property not exist");
+        }
 
-            DataProperty dataProperty =
-                    globalStateMgr.getDataPropertyIncludeRecycleBin(tbl.getPartitionInfo(), partition.getId());
-            if (dataProperty == null) {
-                throw new SchedException(Status.UNRECOVERABLE, "partition data property not exist");
-            }
+        MaterializedIndex idx = partition.getIndex(tabletCtx.getIndexId());
+        if (idx == null) {
+            throw new SchedException(Status.UNRECOVERABLE, "index does not exist");
+        }
 
-            MaterializedIndex idx = partition.getIndex(tabletCtx.getIndexId());
-            if (idx == null) {
-                throw new SchedException(Status.UNRECOVERABLE, "index does not exist");
-            }
+        LocalTablet tablet = (LocalTablet) idx.getTablet(tabletCtx.getTabletId());
+        Preconditions.checkNotNull(tablet);
 
-            LocalTablet tablet = (LocalTablet) idx.getTablet(tabletCtx.getTabletId());
-            Preconditions.checkNotNull(tablet);
+        if (isColocateTable) {
+            GroupId groupId = colocateTableIndex.getGroup(tbl.getId());
+            if (groupId == null) {
+                throw new SchedException(Status.UNRECOVERABLE, "colocate group does not exist");
+            }
 
-            if (isColocateTable) {
-                GroupId groupId = colocateTableIndex.getGroup(tbl.getId());
-                if (groupId == null) {
-                    throw new SchedException(Status.UNRECOVERABLE, "colocate group does not exist");
-                }
+            int tabletOrderIdx = tabletCtx.getTabletOrderIdx();
+            if (tabletOrderIdx == -1) {
+                tabletOrderIdx = idx.getTabletOrderIdx(tablet.getId());
+            }
+            Preconditions.checkState(tabletOrderIdx != -1);
 
-                int tabletOrderIdx = tabletCtx.getTabletOrderIdx();
-                if (tabletOrderIdx == -1) {
-                    tabletOrderIdx = idx.getTabletOrderIdx(tablet.getId());
-                }
-                Preconditions.checkState(tabletOrderIdx != -1);
-
-                Set<Long> backendsSet = colocateTableIndex.getTabletBackendsByGroup(groupId, tabletOrderIdx);
-                TabletStatus st = tablet.getColocateHealthStatus(
-                        partition.getVisibleVersion(),
-                        replicaNum,
-                        backendsSet);
-                statusPair = Pair.create(st, Priority.HIGH);
-                tabletCtx.setColocateGroupBackendIds(backendsSet);
-            } else {
-                List<Long> aliveBeIdsInCluster = infoService.getBackendIds(true);
-                statusPair = tablet.getHealthStatusWithPriority(
-                        infoService,
-                        partition.getVisibleVersion(),
-                        replicaNum,
-                        aliveBeIdsInCluster);
-            }
-
-            if (tabletCtx.getType() == TabletSchedCtx.Type.BALANCE && tableState != OlapTableState.NORMAL) {
-                // If table is under ALTER process, do not allow to do balance.
-                throw new SchedException(Status.UNRECOVERABLE, "table's state is not NORMAL");
-            }
-
-            if (statusPair.first != TabletStatus.VERSION_INCOMPLETE
-                    && (partition.getState() != PartitionState.NORMAL || tableState != OlapTableState.NORMAL)
-                    && tableState != OlapTableState.WAITING_STABLE) {
-                // If table is under ALTER process(before FINISHING), do not allow to add or delete replica.
-                // VERSION_INCOMPLETE will repair the replica in place, which is allowed.
-                // The WAITING_STABLE state is an exception. This state indicates that the table is
-                // executing an alter job, but the alter job is in a PENDING state and is waiting for
-                // the table to become stable. In this case, we allow the tablet repair to proceed.
-                throw new SchedException(Status.UNRECOVERABLE,
-                        "table is in alter process, but tablet status is " + statusPair.first.name());
-            }
-
-            tabletCtx.setTabletStatus(statusPair.first);
-            if (statusPair.first == TabletStatus.HEALTHY && tabletCtx.getType() == TabletSchedCtx.Type.REPAIR) {
-                throw new SchedException(Status.UNRECOVERABLE, "tablet is healthy");
-            } else if (statusPair.first != TabletStatus.HEALTHY
-                    && tabletCtx.getType() == TabletSchedCtx.Type.BALANCE) {
-                // we select an unhealthy tablet to do balance, which is not right.
-                // so here we change it to a REPAIR task, and also reset its priority
-                tabletCtx.releaseResource(this);
-                tabletCtx.setType(TabletSchedCtx.Type.REPAIR);
-                tabletCtx.setOrigPriority(statusPair.second);
-                tabletCtx.setLastSchedTime(currentTime);
-                tabletCtx.setLastVisitedTime(currentTime);
-            }
-
-            // we do not concern priority here.
-            // once we take the tablet out of priority queue, priority is meaningless.
-            tabletCtx.setTablet(tablet);
-            tabletCtx.setVersionInfo(partition.getVisibleVersion(),
-                    partition.getCommittedVersion());
-            tabletCtx.setSchemaHash(tbl.getSchemaHashByIndexId(idx.getId()));
-            tabletCtx.setStorageMedium(dataProperty.getStorageMedium());
-
-            handleTabletByTypeAndStatus(statusPair.first, tabletCtx, batchTask);
-        } finally {
-            db.writeUnlock();
-        }
+            Set<Long> backendsSet = colocateTableIndex.getTabletBackendsByGroup(groupId, tabletOrderIdx);
+            TabletStatus st = tablet.getColocateHealthStatus(
+                    partition.getVisibleVersion(),
+                    replicaNum,
+                    backendsSet);
+            statusPair = Pair.create(st, Priority.HIGH);
+            tabletCtx.setColocateGroupBackendIds(backendsSet);
+        } else {
+            List<Long> aliveBeIdsInCluster = infoService.getBackendIds(true);
+            statusPair = tablet.getHealthStatusWithPriority(
+                    infoService,
+                    partition.getVisibleVersion(),
+                    replicaNum,
+                    aliveBeIdsInCluster);
+        }
+
+        if (tabletCtx.getType() == TabletSchedCtx.Type.BALANCE && tableState != OlapTableState.NORMAL) {
+            // If table is under ALTER process, do not allow to do balance.
+            throw new SchedException(Status.UNRECOVERABLE, "table's state is not NORMAL");
+        }
+
+        if (statusPair.first != TabletStatus.VERSION_INCOMPLETE
+                && (partition.getState() != PartitionState.NORMAL || tableState != OlapTableState.NORMAL)
+                && tableState != OlapTableState.WAITING_STABLE) {
+            // If table is under ALTER process(before FINISHING), do not allow to add or delete replica.
+            // VERSION_INCOMPLETE will repair the replica in place, which is allowed.
+            // The WAITING_STABLE state is an exception. This state indicates that the table is
+            // executing an alter job, but the alter job is in a PENDING state and is waiting for
+            // the table to become stable. In this case, we allow the tablet repair to proceed.
+            throw new SchedException(Status.UNRECOVERABLE,
+                    "table is in alter process, but tablet status is " + statusPair.first.name());
+        }
+
+        tabletCtx.setTabletStatus(statusPair.first);
+        if (statusPair.first == TabletStatus.HEALTHY && tabletCtx.getType() == TabletSchedCtx.Type.REPAIR) {
+            throw new SchedException(Status.UNRECOVERABLE, "tablet is healthy");
+        } else if (statusPair.first != TabletStatus.HEALTHY
+                && tabletCtx.getType() == TabletSchedCtx.Type.BALANCE) {
+            // we select an unhealthy tablet to do balance, which is not right.
+            // so here we change it to a REPAIR task, and also reset its priority
+            tabletCtx.releaseResource(this);
+            tabletCtx.setType(TabletSchedCtx.Type.REPAIR);
+            tabletCtx.setOrigPriority(statusPair.second);
+            tabletCtx.setLastSchedTime(currentTime);
+            tabletCtx.setLastVisitedTime(currentTime);
+        }
+
+        // we do not concern priority here.
+        // once we take the tablet out of priority queue, priority is meaningless.
+        tabletCtx.setTablet(tablet);
+        tabletCtx.setVersionInfo(partition.getVisibleVersion(),
+                partition.getCommittedVersion());
+        tabletCtx.setSchemaHash(tbl.getSchemaHashByIndexId(idx.getId()));
+        tabletCtx.setStorageMedium(dataProperty.getStorageMedium());
+
+        handleTabletByTypeAndStatus(statusPair.first, tabletCtx, batchTask);
     }
 
     @VisibleForTesting
@@ -1066,10 +1299,12 @@ public class TabletScheduler extends LeaderDaemon {
         if (!force && replica.getState().canLoad() && replica.getWatermarkTxnId() == -1) {
             long nextTxnId =
                     GlobalStateMgr.getCurrentGlobalTransactionMgr().getTransactionIDGenerator().getNextTransactionId();
-            replica.setWatermarkTxnId(nextTxnId);
-            tabletCtx.resetDecommissionedReplicaState();
-            tabletCtx.setDecommissionedReplica(replica);
-            replica.setState(ReplicaState.DECOMMISSION);
+            tabletCtx.changeCatalog(() -> {
+                replica.setWatermarkTxnId(nextTxnId);
+                tabletCtx.resetDecommissionedReplicaState();
+                tabletCtx.setDecommissionedReplica(replica);
+                replica.setState(ReplicaState.DECOMMISSION);
+            });
             // set priority to normal because it may wait for a long time. Remain it as VERY_HIGH may block other task.
             tabletCtx.setOrigPriority(Priority.NORMAL);
             LOG.info("decommission tablet:" + tabletCtx.getTabletId() + " type:" + tabletCtx.getType() + " replica:" +
@@ -1089,32 +1324,34 @@ public class TabletScheduler extends LeaderDaemon {
             }
         }
 
-        String replicaInfos = tabletCtx.getTablet().getReplicaInfos();
-        // delete this replica from globalStateMgr.
-        // it will also delete replica from tablet inverted index.
-        tabletCtx.deleteReplica(replica);
+        tabletCtx.changeCatalog(() -> {
+            String replicaInfos = tabletCtx.getTablet().getReplicaInfos();
+            // delete this replica from globalStateMgr.
+            // it will also delete replica from tablet inverted index.
+            tabletCtx.deleteReplica(replica);
 
-        if (force) {
-            // send the delete replica task.
-            // also this may not be necessary, but delete it will make things simpler.
-            // NOTICE: only delete the replica from meta may not work. sometimes we can depends on tablet report
-            // to delete these replicas, but in FORCE_REDUNDANT case, replica may be added to meta again in report
-            // process.
-            sendDeleteReplicaTask(replica.getBackendId(), tabletCtx.getTabletId(), tabletCtx.getSchemaHash());
-        }
+            if (force) {
+                // send the delete replica task.
+                // also this may not be necessary, but delete it will make things simpler.
+                // NOTICE: only delete the replica from meta may not work. sometimes we can depends on tablet report
+                // to delete these replicas, but in FORCE_REDUNDANT case, replica may be added to meta again in
+                // report process.
+                sendDeleteReplicaTask(replica.getBackendId(), tabletCtx.getTabletId(), tabletCtx.getSchemaHash());
+            }
 
-        // write edit log
-        ReplicaPersistInfo info = ReplicaPersistInfo.createForDelete(tabletCtx.getDbId(),
-                tabletCtx.getTblId(),
-                tabletCtx.getPartitionId(),
-                tabletCtx.getIndexId(),
-                tabletCtx.getTabletId(),
-                replica.getBackendId());
+            // write edit log
+            ReplicaPersistInfo info = ReplicaPersistInfo.createForDelete(tabletCtx.getDbId(),
+                    tabletCtx.getTblId(),
+                    tabletCtx.getPartitionId(),
+                    tabletCtx.getIndexId(),
+                    tabletCtx.getTabletId(),
+                    replica.getBackendId());
 
-        GlobalStateMgr.getCurrentState().getEditLog().logDeleteReplica(info);
+            GlobalStateMgr.getCurrentState().getEditLog().logDeleteReplica(info);
 
-        LOG.info("delete replica. tablet id: {}, backend id: {}. reason: {}, force: {} replicas: {}",
-                tabletCtx.getTabletId(), replica.getBackendId(), reason, force, replicaInfos);
+            LOG.info("delete replica. tablet id: {}, backend id: {}. reason: {}, force: {} replicas: {}",
+                    tabletCtx.getTabletId(), replica.getBackendId(), reason, force, replicaInfos);
+        });
     }
 
     private void sendDeleteReplicaTask(long backendId, long tabletId, int schemaHash) {
@@ -1319,6 +1556,9 @@ public class TabletScheduler extends LeaderDaemon {
         tabletCtx.resetDecommissionedReplicaState();
         tabletCtx.releaseResource(this);
         tabletCtx.setFinishedTime(System.currentTimeMillis());
+        // the replicas may be added, deleted or left in clone state whether the task is finished or not,
+        // let tablet checker check the tablet again
+        globalStateMgr.getTabletChecker().markTabletDirty(tabletCtx.getTabletId());
     }
 
     private synchronized void removeTabletCtx(TabletSchedCtx tabletCtx, String reason) {
@@ -1524,15 +1764,30 @@ public class TabletScheduler extends LeaderDaemon {
      * PathSlot keeps track of slot num per path of a Backend.
      * Each path on a Backend has several slot.
      * If a path's available slot num become 0, no task should be assigned to this path.
+     * <p>
+     * The slots are changed under the lock of PathSlot, i.e. one lock for every backend. The total available
+     * slot num is also kept in an atomic counter, so it can be read without the lock.
      */
     public static class PathSlot {
         // path hash -> slot num
         private Map<Long, Slot> pathSlots = Maps.newConcurrentMap();
+        // sum of the available slot num of all paths, changed with the available slot num of every path
+        private final AtomicInteger totalAvailSlotNum = new AtomicInteger(0);
 
         public PathSlot(List<Long> paths, int initSlotNum) {
             for (Long pathHash : paths) {
                 pathSlots.put(pathHash, new Slot(initSlotNum));
             }
+            updateTotalAvailSlotNum();
+        }
+
+        // recompute the total after changing the paths or the slot num of all paths
+        private void updateTotalAvailSlotNum() {
+            int total = 0;
+            for (Slot slot : pathSlots.values()) {
+                total += slot.available;
+            }
+            totalAvailSlotNum.set(total);
         }
 
         // update the path
@@ -1546,6 +1801,7 @@ public class TabletScheduler extends LeaderDaemon {
                     pathSlots.put(pathHash, new Slot(currentSlotPerPathConfig));
                 }
             }
+            updateTotalAvailSlotNum();
         }
 
         // Update the total slots num of every storage path on a specified BE based on new configuration.
@@ -1561,6 +1817,7 @@ public class TabletScheduler extends LeaderDaemon {
                 slot.rectify();
                 LOG.debug("Update path {} slots num to {}", pathHash, slot.total);
             }
+            updateTotalAvailSlotNum();
         }
 
         /**
@@ -1590,11 +1847,11 @@ public class TabletScheduler extends LeaderDaemon {
             if (slot == null) {
                 return -1;
             }
-            slot.rectify();
             if (slot.available <= 0) {
                 return -1;
             }
             slot.available--;
+            totalAvailSlotNum.decrementAndGet();
             return pathHash;
         }
 
@@ -1603,16 +1860,18 @@ public class TabletScheduler extends LeaderDaemon {
             if (slot == null) {
                 return;
             }
+            int available = slot.available;
             slot.available++;
             slot.rectify();
+            totalAvailSlotNum.addAndGet(slot.available - available);
         }
 
+        // the slot is always rectified after being changed, so it's only read here
         public synchronized int peekSlot(long pathHash) {
             Slot slot = pathSlots.get(pathHash);
             if (slot == null) {
                 return -1;
             }
-            slot.rectify();
             return slot.available;
         }
 
@@ -1621,16 +1880,12 @@ public class TabletScheduler extends LeaderDaemon {
             if (slot == null) {
                 return -1;
             }
-            slot.rectify();
             return slot.total;
         }
 
-        public synchronized int getTotalAvailSlotNum() {
-            int total = 0;
-            for (Slot slot : pathSlots.values()) {
-                total += slot.available;
-            }
-            return total;
+        // lock free, called for every backend when taking the tablets to schedule
+        public int getTotalAvailSlotNum() {
+            return totalAvailSlotNum.get();
         }
 
         /**
@@ -1657,7 +1912,6 @@ public class TabletScheduler extends LeaderDaemon {
         public synchronized List<List<String>> getSlotInfo(long beId) {
             List<List<String>> results = Lists.newArrayList();
             pathSlots.forEach((key, value) -> {
-                value.rectify();
                 List<String> result = Lists.newArrayList();
                 result.add(String.valueOf(beId));
                 result.add(String.valueOf(key));
@@ -1728,6 +1982,7 @@ public class TabletScheduler extends LeaderDaemon {
             this.total = total;
             this.available = total;
             this.balanceSlot = BALANCE_SLOT_NUM_FOR_PATH;
+            rectify();
         }
 
         public void rectify() {
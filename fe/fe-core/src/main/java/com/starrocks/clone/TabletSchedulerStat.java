@@ -52,6 +52,12 @@ public class TabletSchedulerStat {
     public AtomicLong counterTabletCheckRound = new AtomicLong(0L);
     @StatField("cost of tablet check(ms)")
     public AtomicLong counterTabletCheckCostMs = new AtomicLong(0L);
+    @StatField("num of full tablet check round")
+    public AtomicLong counterTabletFullCheckRound = new AtomicLong(0L);
+    @StatField("cpu time of tablet check(ms)")
+    public AtomicLong counterTabletCheckCpuTimeMs = new AtomicLong(0L);
+    @StatField("db lock hold time of tablet check(ms)")
+    public AtomicLong counterTabletCheckLockHoldMs = new AtomicLong(0L);
     @StatField("num of tablet checked in tablet checker")
     public AtomicLong counterTabletChecked = new AtomicLong(0L);
     @StatField("num of unhealthy tablet checked in tablet checker")
@@ -66,6 +72,10 @@ public class TabletSchedulerStat {
     public AtomicLong counterTabletScheduleRound = new AtomicLong(0L);
     @StatField("cost of tablet schedule(ms)")
     public AtomicLong counterTabletScheduleCostMs = new AtomicLong(0L);
+    @StatField("num of tablet scheduled successfully per second in last round")
+    public AtomicLong tabletScheduledPerSecond = new AtomicLong(0L);
+    @StatField("time of holding db write lock to apply the schedule decisions(ms)")
+    public AtomicLong counterTabletScheduleWriteLockHoldMs = new AtomicLong(0L);
     @StatField("num of tablet being scheduled")
     public AtomicLong counterTabletScheduled = new AtomicLong(0L);
     @StatField("num of tablet being scheduled succeeded")
@@ -616,10 +616,26 @@ public class Config extends ConfigBase {
 
     /**
      * minimal intervals between two publish version action
+     * The publish version daemon is also woken up when a transaction is committed or
+     * a publish version task is finished, so this is only the interval of checking the timeout and retry.
      */
     @ConfField
     public static int publish_version_interval_ms = 10;
 
+    /**
+     * The number of threads to publish the transactions, the transactions of different databases
+     * are published in parallel.
+     */
+    @ConfField
+    public static int publish_version_worker_num = 8;
+
+    /**
+     * The wait time of the transaction lock is recorded for one in every N acquisitions,
+     * so the lock of a busy database and the replay are not slowed down by the metric. 0 disables it.
+     */
+    @ConfField(mutable = true)
+    public static int txn_lock_wait_time_sample_interval = 100;
+
     /**
      * The thrift server max worker threads
      */
@@ -905,6 +921,20 @@ public class Config extends ConfigBase {
     @ConfField
     public static int max_connection_scheduler_threads_num = 4096;
 
+    /**
+     * Maximal number of server-side prepared statements kept by one connection,
+     * every prepared statement holds its parse tree until it is closed.
+     */
+    @ConfField(mutable = true)
+    public static int max_prepared_stmt_count_per_connection = 1024;
+
+    /**
+     * Maximal memory in bytes of the server-side prepared statements kept by one connection, which is
+     * estimated by the length of sql and the number of tokens held by the parse tree and the analyzed statement.
+     */
+    @ConfField(mutable = true)
+    public static long max_prepared_stmt_memory_bytes_per_connection = 64L * 1024L * 1024L;
+
     /**
      * Used to limit element num of InPredicate in delete statement.
      */
@@ -920,6 +950,19 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static boolean enable_udf = false;
 
+    /**
+     * Cache the builtin function matched for the argument types of a function call,
+     * to avoid checking all the overloads of the function in analysis.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_function_match_cache = true;
+
+    /**
+     * The max number of signatures in the function match cache, the ones not used recently are evicted.
+     */
+    @ConfField
+    public static long function_match_cache_max_size = 100000;
+
     @ConfField(mutable = true)
     public static boolean enable_decimal_v3 = true;
 
@@ -1032,6 +1075,13 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, aliases = {"schedule_slot_num_per_path"})
     public static int tablet_sched_slot_num_per_path = 2;
 
+    /**
+     * The number of threads to schedule tablets in tablet scheduler.
+     * The tablets of different destination backends are scheduled in parallel.
+     */
+    @ConfField
+    public static int tablet_sched_schedule_thread_num = 4;
+
     // if the number of scheduled tablets in TabletScheduler exceed max_scheduling_tablets
     // skip checking.
     @ConfField(mutable = true, aliases = {"max_scheduling_tablets"})
@@ -1116,10 +1166,34 @@ public class Config extends ConfigBase {
     @ConfField
     public static int tablet_sched_checker_interval_seconds = 20;
 
+    /**
+     * If true, tablet checker only checks the tablets changed since the last round, such as the tablets
+     * with replicas changed by reports or loads, the tablets on the backends whose liveness changed or
+     * being decommissioned, and the tablets of the tables altered or recovered.
+     * All tablets are still checked every tablet_checker_full_check_interval_seconds.
+     */
+    @ConfField(mutable = true)
+    public static boolean tablet_checker_enable_dirty_tracking = true;
+
+    /**
+     * The interval of checking all tablets when tablet_checker_enable_dirty_tracking is true,
+     * as a backstop of the changes not tracked.
+     */
+    @ConfField(mutable = true)
+    public static long tablet_checker_full_check_interval_seconds = 600;
+
     @Deprecated
     @ConfField(mutable = true)
     public static int report_queue_size = 100;
 
+    /**
+     * Backend can send incremental tablet reports which only contain the changed tablets, but the replicas
+     * missing in backend can only be found by a full report. If the last full tablet report of a backend is
+     * older than this interval, FE asks the backend to send a full report. Set to 0 to disable incremental reports.
+     */
+    @ConfField(mutable = true)
+    public static long tablet_full_report_interval_second = 3600;
+
     /**
      * If set to true, metric collector will be run as a daemon timer to collect metrics at fix interval
      */
@@ -1215,6 +1289,13 @@ public class Config extends ConfigBase {
     @ConfField
     public static boolean enable_auth_check = true;
 
+    /**
+     * Cache the privileges resolved for each user on the checked databases and tables,
+     * the cache is cleared on every change of the privileges.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_auth_priv_cache = true;
+
     /**
      * ldap server host for authentication_ldap_simple
      */
@@ -1445,6 +1526,13 @@ public class Config extends ConfigBase {
     @ConfField
     public static int hive_meta_load_concurrency = 4;
 
+    /**
+     * The max number of partitions got from hive metastore in one rpc when loading the partitions of a table
+     * into the cache, the batches are loaded in parallel.
+     */
+    @ConfField(mutable = true)
+    public static int hive_meta_load_partition_batch_size = 500;
+
     @ConfField
     public static long hive_meta_cache_refresh_interval_s = 3600L * 2L;
 
@@ -1500,6 +1588,20 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long hive_max_split_size = 64L * 1024L * 1024L;
 
+    /**
+     * number of threads to create the scan ranges of hive, hudi and iceberg tables and
+     * to decode the file statistics of iceberg tables during planning, shared by all queries
+     */
+    @ConfField
+    public static int remote_scan_planning_thread_num = 16;
+
+    /**
+     * number of files handled by one task of the scan planning threads,
+     * the files of a table are planned in the calling thread if they are fewer than it
+     */
+    @ConfField(mutable = true)
+    public static int remote_scan_planning_batch_size = 1024;
+
     /**
      * size of iceberg worker pool
      */
@@ -1512,6 +1614,34 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long iceberg_worker_num_threads = 64;
 
+    /**
+     * capacity of the memory cache of iceberg metadata files, such as manifest lists and manifests,
+     * shared by all iceberg catalogs and tables
+     */
+    @ConfField
+    public static long iceberg_metadata_memory_cache_capacity = 512L * 1024L * 1024L;
+
+    /**
+     * iceberg metadata files larger than it are not cached
+     */
+    @ConfField
+    public static long iceberg_metadata_cache_max_entry_size = 8L * 1024L * 1024L;
+
+    /**
+     * whether to cache iceberg metadata files in the local disk too, which are kept across fe restarts
+     */
+    @ConfField
+    public static boolean enable_iceberg_metadata_disk_cache = false;
+
+    @ConfField
+    public static String iceberg_metadata_cache_disk_path = StarRocksFE.STARROCKS_HOME_DIR + "/caches/iceberg";
+
+    /**
+     * capacity of the disk cache of iceberg metadata files, the least recently used files are evicted when full
+     */
+    @ConfField
+    public static long iceberg_metadata_disk_cache_capacity = 2048L * 1024L * 1024L;
+
     /**
      * fe will call es api to get es index shard info every es_state_sync_interval_secs
      */
@@ -1566,6 +1696,20 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static boolean enable_collect_query_detail_info = false;
 
+    /**
+     * The capacity of query detail queue, rounded up to the power of 2.
+     * The oldest query details are evicted when the queue is full.
+     */
+    @ConfField
+    public static int query_detail_queue_capacity = 262144;
+
+    /**
+     * The max estimated memory of query details in query detail queue,
+     * the oldest query details are evicted when exceeded
+     */
+    @ConfField(mutable = true)
+    public static long query_detail_queue_max_bytes = 128L * 1024L * 1024L;
+
     /**
      * Min lag of routine load job to show in metrics
      * Only show the routine load job whose lag is larger than min_routine_load_lag_for_metrics
@@ -1671,6 +1815,14 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int metadata_journal_max_batch_cnt = 100;
 
+    /**
+     * The maximum time in milliseconds to wait for more journals before committing a batch.
+     * Only takes effect when the previous batch has more than one journal, so that concurrent
+     * writers share one commit. 0 means commit as soon as the queue is empty.
+     **/
+    @ConfField(mutable = true)
+    public static int metadata_journal_max_batch_wait_ms = 0;
+
     /**
      * Fqdn function switch,
      * this switch will be deleted after release the fqdn func
@@ -1695,4 +1847,56 @@ public class Config extends ConfigBase {
 
     @ConfField(mutable = true)
     public static boolean enable_new_publish_mechanism = false;
+
+    /**
+     * The thread number of the fork-join pool used by the parallel optimizer task scheduler,
+     * 0 means the number of available processors.
+     */
+    @ConfField
+    public static int cbo_parallel_task_scheduler_thread_num = 0;
+
+    /**
+     * The memory limit of plan cache, plans are evicted when the estimated memory exceeds it
+     */
+    @ConfField
+    public static long plan_cache_max_memory_bytes = 64L * 1024L * 1024L;
+
+    /**
+     * The plan in plan cache expires after this seconds, so the plan will use the latest statistics
+     */
+    @ConfField
+    public static long plan_cache_expire_seconds = 300;
+
+    /**
+     * Whether to reuse the plan of stream load with the same table and load parameters. Only the txn id,
+     * the load id and the tablet locations are filled for every request when the plan is cached.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_stream_load_plan_cache = true;
+
+    /**
+     * The max number of plans in stream load plan cache
+     */
+    @ConfField
+    public static long stream_load_plan_cache_max_size = 1024;
+
+    /**
+     * The plan in stream load plan cache expires after this seconds if it's not accessed
+     */
+    @ConfField
+    public static long stream_load_plan_cache_expire_seconds = 3600;
+
+    /**
+     * The number of threads to serialize image sections in parallel when saving image,
+     * the image format is the same as serial saving. 1 means saving image sequentially.
+     */
+    @ConfField(mutable = true)
+    public static int image_save_parallelism = 1;
+
+    /**
+     * The max bytes of the compressed query profiles retained in memory,
+     * the oldest profiles are removed when exceeded
+     */
+    @ConfField(mutable = true)
+    public static long profile_info_reserved_max_bytes = 256L * 1024L * 1024L;
 }
@@ -34,6 +34,9 @@ public class Daemon extends Thread {
 
     private MetaContext metaContext = null;
 
+    private final Object wakeupLock = new Object();
+    private boolean wakeupRequested = false;
+
     {
         setDaemon(true);
     }
@@ -97,6 +100,16 @@ public class Daemon extends Thread {
         this.intervalMs = intervalMs;
     }
 
+    /**
+     * Run the next cycle without waiting for the interval, the wakeups before the next cycle are merged.
+     */
+    public void wakeup() {
+        synchronized (wakeupLock) {
+            wakeupRequested = true;
+            wakeupLock.notifyAll();
+        }
+    }
+
     /**
      * implement in child
      */
@@ -118,7 +131,12 @@ public class Daemon extends Thread {
             }
 
             try {
-                Thread.sleep(intervalMs);
+                synchronized (wakeupLock) {
+                    if (!wakeupRequested && intervalMs > 0) {
+                        wakeupLock.wait(intervalMs);
+                    }
+                    wakeupRequested = false;
+                }
             } catch (InterruptedException e) {
                 LOG.error("InterruptedException: ", e);
             }
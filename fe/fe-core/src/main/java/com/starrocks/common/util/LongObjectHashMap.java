@@ -0,0 +1,229 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.common.util;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A hash map from primitive long to object, which is open addressed with linear probing.
+ * <p>
+ * Compared with HashMap&lt;Long, V&gt;, there is no boxed key and no entry object for every mapping, so it's used
+ * by the indexes holding millions of ids, e.g. {@link com.starrocks.catalog.TabletInvertedIndex}.
+ * Null values are not allowed. It's not thread safe.
+ */
+public class LongObjectHashMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private long[] keys;
+    // null means the slot is free
+    private Object[] values;
+    private int size;
+    // resize when size exceeds threshold
+    private int threshold;
+    private int mask;
+
+    public LongObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        Preconditions.checkArgument(expectedSize >= 0);
+        allocate(tableSizeFor((int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR)));
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        return Math.min(Math.max(n, 2), 1 << 30);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = Math.min((int) (capacity * LOAD_FACTOR), capacity - 1);
+    }
+
+    // spread the ids, which are usually allocated sequentially
+    private int slotOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private int find(long key) {
+        for (int slot = slotOf(key); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = find(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    public V getOrDefault(long key, V defaultValue) {
+        V value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Return the previous value of the key, or null if there was no mapping for the key
+     */
+    public V put(long key, V value) {
+        return put(key, value, false);
+    }
+
+    /**
+     * Return the current value of the key, or null if the value is put
+     */
+    public V putIfAbsent(long key, V value) {
+        return put(key, value, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V put(long key, V value, boolean onlyIfAbsent) {
+        Preconditions.checkNotNull(value);
+        int slot = slotOf(key);
+        for (; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                if (!onlyIfAbsent) {
+                    values[slot] = value;
+                }
+                return previous;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Return the removed value, or null if there was no mapping for the key
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        values[slot] = null;
+        size--;
+        // shift the following entries of the probe sequence back, so there is no tombstone
+        int free = slot;
+        for (int next = (slot + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            int home = slotOf(keys[next]);
+            // move the entry if its home slot is not in (free, next]
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                values[next] = null;
+                free = next;
+            }
+        }
+        return previous;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slotOf(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    public List<Long> keys() {
+        List<Long> result = new ArrayList<>(size);
+        for (Cursor<V> cursor = cursor(); cursor.advance(); ) {
+            result.add(cursor.key());
+        }
+        return result;
+    }
+
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        for (Cursor<V> cursor = cursor(); cursor.advance(); ) {
+            result.add(cursor.value());
+        }
+        return result;
+    }
+
+    /**
+     * Iterate the mappings without allocating an entry for each of them, the map must not be modified
+     * during the iteration:
+     * <pre>
+     *     for (LongObjectHashMap.Cursor&lt;V&gt; cursor = map.cursor(); cursor.advance(); ) {
+     *         long key = cursor.key();
+     *         V value = cursor.value();
+     *     }
+     * </pre>
+     */
+    public Cursor<V> cursor() {
+        return new Cursor<>(this);
+    }
+
+    public static class Cursor<V> {
+        private final LongObjectHashMap<V> map;
+        private int slot = -1;
+
+        private Cursor(LongObjectHashMap<V> map) {
+            this.map = map;
+        }
+
+        public boolean advance() {
+            Object[] values = map.values;
+            while (++slot < values.length) {
+                if (values[slot] != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public long key() {
+            return map.keys[slot];
+        }
+
+        @SuppressWarnings("unchecked")
+        public V value() {
+            return (V) map.values[slot];
+        }
+    }
+}
@@ -24,20 +24,27 @@ package com.starrocks.common.util;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.starrocks.common.Config;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 /*
  * if you want to visit the atrribute(such as queryID,defaultDb)
@@ -47,6 +54,8 @@ import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
  * why the element in the finished profile arary is not RuntimeProfile,
  * the purpose is let coordinator can destruct earlier(the fragment profile is in Coordinator)
  *
+ * The profile content is kept deflated and only inflated when it's requested, the retained profiles
+ * are bounded by both count and compressed bytes.
  */
 public class ProfileManager {
     private static final Logger LOG = LogManager.getLogger(ProfileManager.class);
@@ -70,18 +79,24 @@ public class ProfileManager {
             Arrays.asList(QUERY_ID, USER, DEFAULT_DB, SQL_STATEMENT, QUERY_TYPE,
                     START_TIME, END_TIME, TOTAL_TIME, QUERY_STATE));
 
-    private class ProfileElement {
+    private static class ProfileElement {
         public Map<String, String> infoStrings = Maps.newHashMap();
-        public String profileContent;
+        // deflated profile content
+        public byte[] compressedContent;
+
+        public long getRetainedBytes() {
+            return compressedContent.length;
+        }
     }
 
-    // only protect profileDeque; profileMap is concurrent, no need to protect
-    private ReentrantReadWriteLock lock;
-    private ReadLock readLock;
-    private WriteLock writeLock;
+    // only serialize the writers, readers access profileDeque and profileMap without lock
+    private final ReentrantLock writeLock;
 
-    private Deque<ProfileElement> profileDeque;
-    private Map<String, ProfileElement> profileMap; // from QueryId to RuntimeProfile
+    private final Deque<ProfileElement> profileDeque;
+    // the size of profileDeque, ConcurrentLinkedDeque.size() traverses all elements. Guarded by writeLock.
+    private int profileDequeSize;
+    private final Map<String, ProfileElement> profileMap; // from QueryId to RuntimeProfile
+    private final AtomicLong retainedBytes;
 
     public static ProfileManager getInstance() {
         if (INSTANCE == null) {
@@ -91,20 +106,19 @@ public class ProfileManager {
     }
 
     private ProfileManager() {
-        lock = new ReentrantReadWriteLock(true);
-        readLock = lock.readLock();
-        writeLock = lock.writeLock();
-        profileDeque = new LinkedList<ProfileElement>();
-        profileMap = new ConcurrentHashMap<String, ProfileElement>();
+        writeLock = new ReentrantLock();
+        profileDeque = new ConcurrentLinkedDeque<>();
+        profileMap = new ConcurrentHashMap<>();
+        retainedBytes = new AtomicLong(0);
     }
 
-    public ProfileElement createElement(RuntimeProfile profile) {
+    private ProfileElement createElement(RuntimeProfile profile, String profileContent) {
         ProfileElement element = new ProfileElement();
         RuntimeProfile summaryProfile = profile.getChildList().get(0).first;
         for (String header : PROFILE_HEADERS) {
             element.infoStrings.put(header, summaryProfile.getInfoString(header));
         }
-        element.profileContent = profile.toString();
+        element.compressedContent = compress(profileContent);
         return element;
     }
 
@@ -113,7 +127,8 @@ public class ProfileManager {
             return "";
         }
 
-        ProfileElement element = createElement(profile);
+        String profileContent = profile.toString();
+        ProfileElement element = createElement(profile, profileContent);
         String queryId = element.infoStrings.get(ProfileManager.QUERY_ID);
         // check when push in, which can ensure every element in the list has QUERY_ID column,
         // so there is no need to check when remove element from list.
@@ -122,53 +137,83 @@ public class ProfileManager {
                     + "may be forget to insert 'QUERY_ID' column into infoStrings");
         }
 
-        profileMap.put(queryId, element);
         writeLock.lock();
         try {
-            if (profileDeque.size() >= ARRAY_SIZE) {
-                profileMap.remove(profileDeque.getFirst().infoStrings.get(QUERY_ID));
-                profileDeque.removeFirst();
-            }
+            profileMap.put(queryId, element);
             profileDeque.addLast(element);
+            profileDequeSize++;
+            retainedBytes.addAndGet(element.getRetainedBytes());
+            // keep the latest profile even if it exceeds the limit of bytes
+            while (profileDequeSize > 1 && (profileDequeSize > ARRAY_SIZE ||
+                    retainedBytes.get() > Config.profile_info_reserved_max_bytes)) {
+                ProfileElement removed = profileDeque.removeFirst();
+                profileDequeSize--;
+                profileMap.remove(removed.infoStrings.get(QUERY_ID), removed);
+                retainedBytes.addAndGet(-removed.getRetainedBytes());
+            }
         } finally {
             writeLock.unlock();
         }
 
-        return element.profileContent;
+        return profileContent;
     }
 
     public List<List<String>> getAllQueries() {
         List<List<String>> result = Lists.newArrayList();
-        readLock.lock();
-        try {
-            Iterator reverse = profileDeque.descendingIterator();
-            while (reverse.hasNext()) {
-                ProfileElement element = (ProfileElement) reverse.next();
-                Map<String, String> infoStrings = element.infoStrings;
-
-                List<String> row = Lists.newArrayList();
-                for (String str : PROFILE_HEADERS) {
-                    row.add(infoStrings.get(str));
-                }
-                result.add(row);
+        Iterator<ProfileElement> reverse = profileDeque.descendingIterator();
+        while (reverse.hasNext()) {
+            ProfileElement element = reverse.next();
+            Map<String, String> infoStrings = element.infoStrings;
+
+            List<String> row = Lists.newArrayList();
+            for (String str : PROFILE_HEADERS) {
+                row.add(infoStrings.get(str));
             }
-        } finally {
-            readLock.unlock();
+            result.add(row);
         }
         return result;
     }
 
     public String getProfile(String queryID) {
-        readLock.lock();
-        try {
-            ProfileElement element = profileMap.get(queryID);
-            if (element == null) {
-                return null;
-            }
+        ProfileElement element = profileMap.get(queryID);
+        if (element == null) {
+            return null;
+        }
 
-            return element.profileContent;
-        } finally {
-            readLock.unlock();
+        return decompress(element.compressedContent);
+    }
+
+    public long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    public int getProfileNum() {
+        return profileMap.size();
+    }
+
+    private static byte[] compress(String content) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DeflaterOutputStream dos = new DeflaterOutputStream(bos)) {
+            dos.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // never happens for ByteArrayOutputStream
+            throw new IllegalStateException(e);
+        }
+        return bos.toByteArray();
+    }
+
+    private static String decompress(byte[] compressedContent) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(compressedContent.length * 8);
+        byte[] buffer = new byte[8192];
+        try (InputStream is = new InflaterInputStream(new ByteArrayInputStream(compressedContent))) {
+            int len;
+            while ((len = is.read(buffer)) != -1) {
+                bos.write(buffer, 0, len);
+            }
+        } catch (IOException e) {
+            LOG.warn("failed to decompress profile", e);
+            return null;
         }
+        return new String(bos.toByteArray(), StandardCharsets.UTF_8);
     }
 }
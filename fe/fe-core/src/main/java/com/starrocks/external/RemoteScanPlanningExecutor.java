@@ -0,0 +1,103 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.external;
+
+import com.google.common.collect.Lists;
+import com.starrocks.common.Config;
+import com.starrocks.common.ThreadPoolManager;
+import com.starrocks.common.UserException;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * RemoteScanPlanningExecutor runs the per file work of planning the scans of external tables, such as creating
+ * scan ranges and decoding file statistics, on a thread pool shared by all queries.
+ * <p>
+ * The files are split into batches of {@link Config#remote_scan_planning_batch_size}, and the results are
+ * returned in the order of the files, so the plan is the same as planning in a single thread.
+ */
+public class RemoteScanPlanningExecutor {
+    private static final int QUEUE_SIZE = 4096;
+
+    private static volatile ThreadPoolExecutor executor;
+
+    private static ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            synchronized (RemoteScanPlanningExecutor.class) {
+                if (executor == null) {
+                    executor = ThreadPoolManager.newDaemonFixedThreadPool(Config.remote_scan_planning_thread_num,
+                            QUEUE_SIZE, "remote-scan-planning", true);
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Split the items into batches of at least {@link Config#remote_scan_planning_batch_size} files,
+     * an item may contain several files, e.g. a partition.
+     */
+    public static <T> List<List<T>> splitIntoBatches(List<T> items, ToIntFunction<T> fileNum) {
+        int batchSize = Math.max(Config.remote_scan_planning_batch_size, 1);
+        List<List<T>> batches = Lists.newArrayList();
+        List<T> batch = Lists.newArrayList();
+        int batchFileNum = 0;
+        for (T item : items) {
+            batch.add(item);
+            batchFileNum += fileNum.applyAsInt(item);
+            if (batchFileNum >= batchSize) {
+                batches.add(batch);
+                batch = Lists.newArrayList();
+                batchFileNum = 0;
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * Apply the function to every batch in parallel, and return the results in the order of the batches.
+     * The only batch is handled in the calling thread.
+     */
+    public static <T, R> List<R> map(List<T> batches, Function<T, R> function) throws UserException {
+        List<R> results = Lists.newArrayListWithCapacity(batches.size());
+        if (batches.size() <= 1 || Config.remote_scan_planning_thread_num <= 1) {
+            for (T batch : batches) {
+                results.add(function.apply(batch));
+            }
+            return results;
+        }
+
+        ThreadPoolExecutor pool = getExecutor();
+        List<Future<R>> futures = Lists.newArrayListWithCapacity(batches.size());
+        try {
+            for (T batch : batches) {
+                futures.add(pool.submit(() -> function.apply(batch)));
+            }
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new UserException("failed to plan the scan: " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UserException("interrupted while planning the scan", e);
+        } finally {
+            for (Future<R> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+}
@@ -12,6 +12,7 @@ import com.starrocks.common.UserException;
 import com.starrocks.external.hive.HdfsFileBlockDesc;
 import com.starrocks.external.hive.HdfsFileDesc;
 import com.starrocks.external.hive.HivePartition;
+import com.starrocks.sql.PlannerProfile;
 import com.starrocks.sql.common.ErrorType;
 import com.starrocks.sql.common.StarRocksPlannerException;
 import com.starrocks.sql.plan.HDFSScanNodePredicates;
@@ -32,26 +33,26 @@ public class RemoteScanRangeLocations {
 
     private final List<TScanRangeLocations> result = new ArrayList<>();
 
-    private void addScanRangeLocations(long partitionId, HivePartition partition, HdfsFileDesc fileDesc,
-                                       HdfsFileBlockDesc blockDesc
-    ) {
+    private static void addScanRangeLocations(long partitionId, HivePartition partition, HdfsFileDesc fileDesc,
+                                              HdfsFileBlockDesc blockDesc, List<TScanRangeLocations> output) {
         // NOTE: Config.hive_max_split_size should be extracted to a local variable,
         // because it may be changed before calling 'splitScanRangeLocations'
         // and after needSplit has been calculated.
         long splitSize = Config.hive_max_split_size;
         boolean needSplit = fileDesc.isSplittable() && blockDesc.getLength() > splitSize;
         if (needSplit) {
-            splitScanRangeLocations(partitionId, partition, fileDesc, blockDesc, splitSize);
+            splitScanRangeLocations(partitionId, partition, fileDesc, blockDesc, splitSize, output);
         } else {
             createScanRangeLocationsForSplit(partitionId, partition, fileDesc, blockDesc, blockDesc.getOffset(),
-                    blockDesc.getLength());
+                    blockDesc.getLength(), output);
         }
     }
 
-    private void splitScanRangeLocations(long partitionId, HivePartition partition,
-                                         HdfsFileDesc fileDesc,
-                                         HdfsFileBlockDesc blockDesc,
-                                         long splitSize) {
+    private static void splitScanRangeLocations(long partitionId, HivePartition partition,
+                                                HdfsFileDesc fileDesc,
+                                                HdfsFileBlockDesc blockDesc,
+                                                long splitSize,
+                                                List<TScanRangeLocations> output) {
         long remainingBytes = blockDesc.getLength();
         long length = blockDesc.getLength();
         long offset = blockDesc.getOffset();
@@ -59,29 +60,30 @@ public class RemoteScanRangeLocations {
             if (remainingBytes <= splitSize) {
                 createScanRangeLocationsForSplit(partitionId, partition, fileDesc,
                         blockDesc, offset + length - remainingBytes,
-                        remainingBytes);
+                        remainingBytes, output);
                 remainingBytes = 0;
             } else if (remainingBytes <= 2 * splitSize) {
                 long mid = (remainingBytes + 1) / 2;
                 createScanRangeLocationsForSplit(partitionId, partition, fileDesc,
-                        blockDesc, offset + length - remainingBytes, mid);
+                        blockDesc, offset + length - remainingBytes, mid, output);
                 createScanRangeLocationsForSplit(partitionId, partition, fileDesc,
                         blockDesc, offset + length - remainingBytes + mid,
-                        remainingBytes - mid);
+                        remainingBytes - mid, output);
                 remainingBytes = 0;
             } else {
                 createScanRangeLocationsForSplit(partitionId, partition, fileDesc,
                         blockDesc, offset + length - remainingBytes,
-                        splitSize);
+                        splitSize, output);
                 remainingBytes -= splitSize;
             }
         } while (remainingBytes > 0);
     }
 
-    private void createScanRangeLocationsForSplit(long partitionId, HivePartition partition,
-                                                  HdfsFileDesc fileDesc,
-                                                  HdfsFileBlockDesc blockDesc,
-                                                  long offset, long length) {
+    private static void createScanRangeLocationsForSplit(long partitionId, HivePartition partition,
+                                                         HdfsFileDesc fileDesc,
+                                                         HdfsFileBlockDesc blockDesc,
+                                                         long offset, long length,
+                                                         List<TScanRangeLocations> output) {
         TScanRangeLocations scanRangeLocations = new TScanRangeLocations();
 
         THdfsScanRange hdfsScanRange = new THdfsScanRange();
@@ -108,7 +110,7 @@ public class RemoteScanRangeLocations {
             scanRangeLocations.addToLocations(scanRangeLocation);
         }
 
-        result.add(scanRangeLocations);
+        output.add(scanRangeLocations);
     }
 
     public void setupScanRangeLocations(DescriptorTable descTbl, Table table,
@@ -129,22 +131,49 @@ public class RemoteScanRangeLocations {
         }
         List<HivePartition> partitions = hiveMetaStoreTable.getPartitions(partitionKeys);
 
+        List<Integer> partitionIndexes = Lists.newArrayListWithCapacity(partitions.size());
+        int fileNum = 0;
         for (int i = 0; i < partitions.size(); i++) {
             descTbl.addReferencedPartitions(table, partitionInfos.get(i));
-            for (HdfsFileDesc fileDesc : partitions.get(i).getFiles()) {
-                if (fileDesc.getLength() == 0) {
-                    continue;
-                }
-                for (HdfsFileBlockDesc blockDesc : fileDesc.getBlockDescs()) {
-                    addScanRangeLocations(partitionInfos.get(i).getId(), partitions.get(i), fileDesc, blockDesc);
-                    LOG.debug("Add scan range success. partition: {}, file: {}, block: {}-{}",
-                            partitions.get(i).getFullPath(), fileDesc.getFileName(), blockDesc.getOffset(),
-                            blockDesc.getLength());
-                }
+            partitionIndexes.add(i);
+            fileNum += partitions.get(i).getFiles().size();
+        }
+        // the scan ranges of the partitions are created in parallel, and concatenated in the order of partitions
+        List<List<Integer>> batches = RemoteScanPlanningExecutor.splitIntoBatches(partitionIndexes,
+                i -> partitions.get(i).getFiles().size());
+        List<List<TScanRangeLocations>> batchResults = RemoteScanPlanningExecutor.map(batches, batch -> {
+            List<TScanRangeLocations> output = new ArrayList<>();
+            for (int i : batch) {
+                addPartitionScanRangeLocations(partitionInfos.get(i).getId(), partitions.get(i), output);
+            }
+            return output;
+        });
+        for (List<TScanRangeLocations> batchResult : batchResults) {
+            result.addAll(batchResult);
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        String profilePrefix = "ScanRange." + table.getName() + ".";
+        PlannerProfile.addCounter(profilePrefix + "planTimeMs", elapsed);
+        PlannerProfile.addCounter(profilePrefix + "fileNum", fileNum);
+        PlannerProfile.addCounter(profilePrefix + "scanRangeNum", result.size());
+        LOG.debug("Get {} scan range locations of {} files cost: {} ms",
+                getScanRangeLocationsSize(), fileNum, elapsed);
+    }
+
+    private static void addPartitionScanRangeLocations(long partitionId, HivePartition partition,
+                                                       List<TScanRangeLocations> output) {
+        for (HdfsFileDesc fileDesc : partition.getFiles()) {
+            if (fileDesc.getLength() == 0) {
+                continue;
+            }
+            for (HdfsFileBlockDesc blockDesc : fileDesc.getBlockDescs()) {
+                addScanRangeLocations(partitionId, partition, fileDesc, blockDesc, output);
+                LOG.debug("Add scan range success. partition: {}, file: {}, block: {}-{}",
+                        partition.getFullPath(), fileDesc.getFileName(), blockDesc.getOffset(),
+                        blockDesc.getLength());
             }
         }
-        LOG.debug("Get {} scan range locations cost: {} ms",
-                getScanRangeLocationsSize(), (System.currentTimeMillis() - start));
     }
 
     public List<TScanRangeLocations> getScanRangeLocations(long maxScanRangeLength) {
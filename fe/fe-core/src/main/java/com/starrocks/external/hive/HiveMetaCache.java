@@ -4,10 +4,15 @@ package com.starrocks.external.hive;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.HiveMetaStoreTableInfo;
@@ -20,16 +25,22 @@ import com.starrocks.common.DdlException;
 import com.starrocks.external.HiveMetaStoreTableUtils;
 import com.starrocks.external.ObjectStorageUtils;
 import com.starrocks.server.GlobalStateMgr;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 import java.util.stream.Collectors;
 
 import static com.google.common.cache.CacheLoader.asyncReloading;
@@ -46,6 +57,8 @@ public class HiveMetaCache {
     private static final long MAX_NAMES_CACHE_SIZE = 0L;
     private final HiveMetaClient client;
     private final String resourceName;
+    // get the batches of partitions and list the files of partitions in parallel
+    private final Executor partitionLoadExecutor;
 
 
     // HivePartitionKeysKey => ImmutableMap<PartitionKey -> PartitionId>
@@ -76,8 +89,14 @@ public class HiveMetaCache {
     }
 
     public HiveMetaCache(HiveMetaClient hiveMetaClient, Executor executor, String resourceName) {
+        this(hiveMetaClient, executor, resourceName, executor);
+    }
+
+    public HiveMetaCache(HiveMetaClient hiveMetaClient, Executor executor, String resourceName,
+                         Executor partitionLoadExecutor) {
         this.client = hiveMetaClient;
         this.resourceName = resourceName;
+        this.partitionLoadExecutor = partitionLoadExecutor;
         init(executor);
     }
 
@@ -88,6 +107,12 @@ public class HiveMetaCache {
                     public ImmutableMap<PartitionKey, Long> load(HivePartitionKeysKey key) throws Exception {
                         return loadPartitionKeys(key);
                     }
+
+                    @Override
+                    public ListenableFuture<ImmutableMap<PartitionKey, Long>> reload(
+                            HivePartitionKeysKey key, ImmutableMap<PartitionKey, Long> oldValue) throws Exception {
+                        return Futures.immediateFuture(reloadPartitionKeys(key, oldValue));
+                    }
                 }, executor));
 
         partitionsCache = newCacheBuilder(MAX_PARTITION_CACHE_SIZE)
@@ -96,6 +121,12 @@ public class HiveMetaCache {
                     public HivePartition load(HivePartitionKey key) throws Exception {
                         return loadPartition(key);
                     }
+
+                    @Override
+                    public Map<HivePartitionKey, HivePartition> loadAll(Iterable<? extends HivePartitionKey> keys)
+                            throws Exception {
+                        return loadPartitions(keys);
+                    }
                 }, executor));
 
         tableStatsCache = newCacheBuilder(MAX_TABLE_CACHE_SIZE)
@@ -112,6 +143,12 @@ public class HiveMetaCache {
                     public HivePartitionStats load(HivePartitionKey key) throws Exception {
                         return loadPartitionStats(key);
                     }
+
+                    @Override
+                    public Map<HivePartitionKey, HivePartitionStats> loadAll(
+                            Iterable<? extends HivePartitionKey> keys) throws Exception {
+                        return loadPartitionsStats(keys);
+                    }
                 }, executor));
 
         tableColumnStatsCache = newCacheBuilder(MAX_TABLE_CACHE_SIZE)
@@ -156,16 +193,18 @@ public class HiveMetaCache {
     }
 
     /**
-     * Currently we only support either refreshAfterWrite or automatic refresh by events.
+     * The entry older than the refresh interval is still returned while it's reloaded asynchronously, so the
+     * queries don't wait for the metastore until it expires. With the automatic refresh by events, the entries
+     * are updated by events as well, and a reload finished after the update by event is discarded.
      */
     private static CacheBuilder<Object, Object> newCacheBuilder(long maximumSize) {
         CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
         cacheBuilder.expireAfterWrite(Config.hive_meta_cache_ttl_s, SECONDS);
-        if (!Config.enable_hms_events_incremental_sync &&
-                Config.hive_meta_cache_ttl_s > Config.hive_meta_cache_refresh_interval_s) {
+        if (Config.hive_meta_cache_ttl_s > Config.hive_meta_cache_refresh_interval_s) {
             cacheBuilder.refreshAfterWrite(Config.hive_meta_cache_refresh_interval_s, SECONDS);
         }
         cacheBuilder.maximumSize(maximumSize);
+        cacheBuilder.recordStats();
         return cacheBuilder;
     }
 
@@ -177,6 +216,20 @@ public class HiveMetaCache {
         return ImmutableMap.copyOf(partitionKeys);
     }
 
+    // keep the ids of existing partitions, which may be referred by the plans being executed
+    private ImmutableMap<PartitionKey, Long> reloadPartitionKeys(HivePartitionKeysKey key,
+                                                                 ImmutableMap<PartitionKey, Long> oldValue)
+            throws DdlException {
+        Map<PartitionKey, Long> partitionKeys = Maps.newHashMap(loadPartitionKeys(key));
+        for (Map.Entry<PartitionKey, Long> entry : partitionKeys.entrySet()) {
+            Long oldId = oldValue.get(entry.getKey());
+            if (oldId != null) {
+                entry.setValue(oldId);
+            }
+        }
+        return ImmutableMap.copyOf(partitionKeys);
+    }
+
     private HivePartition loadPartition(HivePartitionKey key) throws DdlException {
         if (key.getTableType() == Table.TableType.HUDI) {
             return client.getHudiPartition(key.getDatabaseName(), key.getTableName(), key.getPartitionValues());
@@ -185,6 +238,149 @@ public class HiveMetaCache {
         }
     }
 
+    private Map<HivePartitionKey, HivePartition> loadPartitions(Iterable<? extends HivePartitionKey> keys)
+            throws Exception {
+        List<HivePartitionKey> keyList = Lists.newArrayList(keys);
+        return buildPartitions(keyList, getPartitionsByValues(keyList));
+    }
+
+    /**
+     * Build the partitions from the partitions got from metastore, the files of every partition are listed in
+     * parallel. The partitions not got from metastore are loaded one by one.
+     */
+    private Map<HivePartitionKey, HivePartition> buildPartitions(List<HivePartitionKey> keys,
+                                                                 Map<HivePartitionKey, Partition> hmsPartitions)
+            throws Exception {
+        List<Callable<HivePartition>> tasks = Lists.newArrayListWithCapacity(keys.size());
+        for (HivePartitionKey key : keys) {
+            Partition hmsPartition = hmsPartitions.get(key);
+            tasks.add(hmsPartition == null ? () -> loadPartition(key) :
+                    () -> client.buildHivePartition(hmsPartition.getSd()));
+        }
+        List<HivePartition> partitions = runInParallel(tasks);
+        Map<HivePartitionKey, HivePartition> result = Maps.newHashMapWithExpectedSize(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            result.put(keys.get(i), partitions.get(i));
+        }
+        return result;
+    }
+
+    private Map<HivePartitionKey, HivePartitionStats> loadPartitionsStats(Iterable<? extends HivePartitionKey> keys)
+            throws Exception {
+        List<HivePartitionKey> keyList = Lists.newArrayList(keys);
+        Map<HivePartitionKey, Partition> hmsPartitions = getPartitionsByValues(keyList);
+
+        // the partitions not in cache are built from the partitions got above and put into cache,
+        // so they are not got from metastore again
+        Map<HivePartitionKey, HivePartition> partitions = Maps.newHashMap(partitionsCache.getAllPresent(keyList));
+        List<HivePartitionKey> missingKeys = keyList.stream().filter(key -> !partitions.containsKey(key))
+                .collect(Collectors.toList());
+        if (!missingKeys.isEmpty()) {
+            Map<HivePartitionKey, HivePartition> loadedPartitions = buildPartitions(missingKeys, hmsPartitions);
+            partitionsCache.putAll(loadedPartitions);
+            partitions.putAll(loadedPartitions);
+        }
+
+        List<Callable<HivePartitionStats>> tasks = Lists.newArrayListWithCapacity(keyList.size());
+        for (HivePartitionKey key : keyList) {
+            Partition hmsPartition = hmsPartitions.get(key);
+            tasks.add(hmsPartition == null ?
+                    () -> client.getPartitionStats(key.getDatabaseName(), key.getTableName(), key.getPartitionValues()) :
+                    () -> new HivePartitionStats(Utils.getRowCount(hmsPartition.getParameters())));
+        }
+        List<HivePartitionStats> partitionsStats = runInParallel(tasks);
+        Map<HivePartitionKey, HivePartitionStats> result = Maps.newHashMapWithExpectedSize(keyList.size());
+        for (int i = 0; i < keyList.size(); i++) {
+            HivePartitionStats stats = partitionsStats.get(i);
+            long totalFileBytes = 0;
+            for (HdfsFileDesc fileDesc : partitions.get(keyList.get(i)).getFiles()) {
+                totalFileBytes += fileDesc.getLength();
+            }
+            stats.setTotalFileBytes(totalFileBytes);
+            result.put(keyList.get(i), stats);
+        }
+        return result;
+    }
+
+    // the partitions of hudi table and the partition of unpartitioned table are got one by one
+    private static boolean isBatchLoadSupported(HivePartitionKey key) {
+        return key.getTableType() != Table.TableType.HUDI && !key.getPartitionValues().isEmpty();
+    }
+
+    /**
+     * Get the partitions from metastore by their values. The keys are split by table into batches of at most
+     * {@link Config#hive_meta_load_partition_batch_size} keys, every batch is got in one rpc and the batches are
+     * got in parallel. The keys not supporting batch loading and the partitions which don't exist are not in
+     * the result.
+     */
+    private Map<HivePartitionKey, Partition> getPartitionsByValues(List<HivePartitionKey> keys) throws Exception {
+        Map<List<Object>, List<HivePartitionKey>> tableToKeys = new LinkedHashMap<>();
+        for (HivePartitionKey key : keys) {
+            if (isBatchLoadSupported(key)) {
+                tableToKeys.computeIfAbsent(
+                        Arrays.asList(key.getDatabaseName(), key.getTableName(), key.getTableType()),
+                        k -> Lists.newArrayList()).add(key);
+            }
+        }
+
+        int batchSize = Math.max(Config.hive_meta_load_partition_batch_size, 1);
+        List<Callable<Map<List<String>, Partition>>> tasks = Lists.newArrayList();
+        List<List<HivePartitionKey>> batches = Lists.newArrayList();
+        for (List<HivePartitionKey> tableKeys : tableToKeys.values()) {
+            HivePartitionKey first = tableKeys.get(0);
+            // the partition column names are got once for all batches of the table
+            List<String> partColumnNames = client.getTable(first.getDatabaseName(), first.getTableName())
+                    .getPartitionKeys().stream().map(FieldSchema::getName).collect(Collectors.toList());
+            for (List<HivePartitionKey> batch : Lists.partition(tableKeys, batchSize)) {
+                List<List<String>> partValuesList = batch.stream().map(HivePartitionKey::getPartitionValues)
+                        .collect(Collectors.toList());
+                tasks.add(() -> client.getPartitionsByValues(first.getDatabaseName(), first.getTableName(),
+                        partColumnNames, partValuesList));
+                batches.add(batch);
+            }
+        }
+
+        List<Map<List<String>, Partition>> batchResults = runInParallel(tasks);
+        Map<HivePartitionKey, Partition> result = Maps.newHashMapWithExpectedSize(keys.size());
+        for (int i = 0; i < batches.size(); i++) {
+            Map<List<String>, Partition> hmsPartitions = batchResults.get(i);
+            for (HivePartitionKey key : batches.get(i)) {
+                Partition hmsPartition = hmsPartitions.get(key.getPartitionValues());
+                if (hmsPartition != null) {
+                    result.put(key, hmsPartition);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Run the tasks on the partition load executor and return their results in order, the only task is run in
+     * the current thread. The tasks must not wait for other tasks on the executor.
+     */
+    private <V> List<V> runInParallel(List<Callable<V>> tasks) throws Exception {
+        List<V> results = Lists.newArrayListWithCapacity(tasks.size());
+        if (tasks.size() == 1) {
+            results.add(tasks.get(0).call());
+            return results;
+        }
+        List<FutureTask<V>> futures = Lists.newArrayListWithCapacity(tasks.size());
+        for (Callable<V> task : tasks) {
+            FutureTask<V> future = new FutureTask<>(task);
+            partitionLoadExecutor.execute(future);
+            futures.add(future);
+        }
+        for (FutureTask<V> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof Exception ? (Exception) cause : e;
+            }
+        }
+        return results;
+    }
+
     private HiveTableStats loadTableStats(HiveTableKey key) throws DdlException {
         return client.getTableStats(key.getDatabaseName(), key.getTableName());
     }
@@ -244,6 +440,18 @@ public class HiveMetaCache {
         }
     }
 
+    public List<HivePartition> getPartitions(HiveMetaStoreTableInfo hmsTable,
+                                             List<PartitionKey> partitionKeys) throws DdlException {
+        List<HivePartitionKey> keys = getHivePartitionKeys(hmsTable, partitionKeys);
+        try {
+            ImmutableMap<HivePartitionKey, HivePartition> partitions = partitionsCache.getAll(keys);
+            return keys.stream().map(partitions::get).collect(Collectors.toList());
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            LOG.warn("get table {}.{} partition meta info failed.", hmsTable.getDb(), hmsTable.getTable(), e);
+            throw new DdlException("get partition detail failed: " + e.getMessage());
+        }
+    }
+
     public HiveTableStats getTableStats(String dbName, String tableName) throws DdlException {
         try {
             return tableStatsCache.get(new HiveTableKey(dbName, tableName));
@@ -265,6 +473,29 @@ public class HiveMetaCache {
         }
     }
 
+    public List<HivePartitionStats> getPartitionsStats(HiveMetaStoreTableInfo hmsTable,
+                                                       List<PartitionKey> partitionKeys) throws DdlException {
+        List<HivePartitionKey> keys = getHivePartitionKeys(hmsTable, partitionKeys);
+        try {
+            ImmutableMap<HivePartitionKey, HivePartitionStats> partitionsStats = partitionStatsCache.getAll(keys);
+            return keys.stream().map(partitionsStats::get).collect(Collectors.toList());
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            LOG.warn("get table {}.{} partition stats meta info failed.", hmsTable.getDb(), hmsTable.getTable(), e);
+            throw new DdlException("get table partition stats failed: " + e.getMessage());
+        }
+    }
+
+    private static List<HivePartitionKey> getHivePartitionKeys(HiveMetaStoreTableInfo hmsTable,
+                                                               List<PartitionKey> partitionKeys) {
+        boolean isHudiTable = hmsTable.getTableType() == Table.TableType.HUDI;
+        List<HivePartitionKey> keys = Lists.newArrayListWithCapacity(partitionKeys.size());
+        for (PartitionKey partitionKey : partitionKeys) {
+            keys.add(new HivePartitionKey(hmsTable.getDb(), hmsTable.getTable(), hmsTable.getTableType(),
+                    Utils.getPartitionValues(partitionKey, isHudiTable)));
+        }
+        return keys;
+    }
+
     // NOTE: always using all column names in HiveTable as request param, this will get the best cache effect.
     // set all partitions keys to partitionKeys param, if table is partition table
     public ImmutableMap<String, HiveColumnStats> getTableLevelColumnStats(HiveMetaStoreTableInfo hmsTable)
@@ -544,4 +775,17 @@ public class HiveMetaCache {
     public String getResourceName() {
         return resourceName;
     }
+
+    // cache name => stats, for metrics
+    public Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> cacheStats = new LinkedHashMap<>();
+        cacheStats.put("partition_keys", partitionKeysCache.stats());
+        cacheStats.put("partition", partitionsCache.stats());
+        cacheStats.put("table_stats", tableStatsCache.stats());
+        cacheStats.put("partition_stats", partitionStatsCache.stats());
+        cacheStats.put("table_column_stats", tableColumnStatsCache.stats());
+        cacheStats.put("table", tableCache.stats());
+        cacheStats.put("database", databaseCache.stats());
+        return cacheStats;
+    }
 }
\ No newline at end of file
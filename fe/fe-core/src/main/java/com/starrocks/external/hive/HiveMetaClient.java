@@ -257,16 +257,7 @@ public class HiveMetaClient {
                 Table table = client.hiveClient.getTable(dbName, tableName);
                 sd = table.getSd();
             }
-            HdfsFileFormat format = HdfsFileFormat.fromHdfsInputFormatClass(sd.getInputFormat());
-            if (format == null) {
-                throw new DdlException("unsupported file format [" + sd.getInputFormat() + "]");
-            }
-
-            String path = ObjectStorageUtils.formatObjectStoragePath(sd.getLocation());
-            List<HdfsFileDesc> fileDescs = getHdfsFileDescs(path,
-                    ObjectStorageUtils.isObjectStorage(path) || HdfsFileFormat.isSplittable(sd.getInputFormat()),
-                    sd);
-            return new HivePartition(format, ImmutableList.copyOf(fileDescs), path);
+            return buildHivePartition(sd);
         } catch (NoSuchObjectException e) {
             throw new DdlException("get hive partition meta data failed: "
                     + "partition not exists, partValues: "
@@ -277,6 +268,56 @@ public class HiveMetaClient {
         }
     }
 
+    /**
+     * Build the partition with the files under the location of storage descriptor.
+     */
+    public HivePartition buildHivePartition(StorageDescriptor sd) throws Exception {
+        HdfsFileFormat format = HdfsFileFormat.fromHdfsInputFormatClass(sd.getInputFormat());
+        if (format == null) {
+            throw new DdlException("unsupported file format [" + sd.getInputFormat() + "]");
+        }
+
+        String path = ObjectStorageUtils.formatObjectStoragePath(sd.getLocation());
+        List<HdfsFileDesc> fileDescs = getHdfsFileDescs(path,
+                ObjectStorageUtils.isObjectStorage(path) || HdfsFileFormat.isSplittable(sd.getInputFormat()),
+                sd);
+        return new HivePartition(format, ImmutableList.copyOf(fileDescs), path);
+    }
+
+    /**
+     * Get the partitions by their values in one rpc of metastore.
+     *
+     * @param partColumnNames the partition column names of the table, which make the partition names with the values
+     * @return partition values => partition, the partitions which don't exist are not in the result
+     */
+    public Map<List<String>, Partition> getPartitionsByValues(String dbName, String tableName,
+                                                              List<String> partColumnNames,
+                                                              List<List<String>> partValuesList)
+            throws DdlException {
+        List<String> partNames = Lists.newArrayListWithCapacity(partValuesList.size());
+        List<Partition> partitions;
+        try (AutoCloseClient client = getClient()) {
+            for (List<String> partValues : partValuesList) {
+                partNames.add(FileUtils.makePartName(partColumnNames, partValues));
+            }
+            partitions = client.hiveClient.getPartitionsByNames(dbName, tableName, partNames);
+        } catch (TTransportException te) {
+            if (partNames.size() < 2) {
+                LOG.warn("get partitions by names failed", te);
+                throw new DdlException("get partitions from hive metastore failed: " + te.getMessage());
+            }
+            partitions = getPartitionsWithRetry(dbName, tableName, partNames, 1);
+        } catch (Exception e) {
+            LOG.warn("get partitions by names failed", e);
+            throw new DdlException("get partitions from hive metastore failed: " + e.getMessage());
+        }
+        Map<List<String>, Partition> result = Maps.newHashMapWithExpectedSize(partitions.size());
+        for (Partition partition : partitions) {
+            result.put(partition.getValues(), partition);
+        }
+        return result;
+    }
+
     public HivePartition getHudiPartition(String dbName, String tableName, List<String> partitionValues)
             throws DdlException {
         try (AutoCloseClient client = getClient()) {
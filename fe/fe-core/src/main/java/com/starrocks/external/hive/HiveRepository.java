@@ -29,7 +29,6 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -121,7 +120,7 @@ public class HiveRepository {
                 return hiveMetaCache;
             }
 
-            hiveMetaCache = new HiveMetaCache(metaClient, executor, resourceName);
+            hiveMetaCache = new HiveMetaCache(metaClient, executor, resourceName, partitionDaemonExecutor);
             metaCaches.put(resourceName, hiveMetaCache);
             return hiveMetaCache;
         } finally {
@@ -129,6 +128,15 @@ public class HiveRepository {
         }
     }
 
+    public List<HiveMetaCache> getMetaCaches() {
+        metaCachesLock.readLock().lock();
+        try {
+            return Lists.newArrayList(metaCaches.values());
+        } finally {
+            metaCachesLock.readLock().unlock();
+        }
+    }
+
     public Table getTable(String resourceName, String dbName, String tableName) throws DdlException {
         HiveMetaClient client = getClient(resourceName);
         return client.getTable(dbName, tableName);
@@ -142,22 +150,7 @@ public class HiveRepository {
     public List<HivePartition> getPartitions(HiveMetaStoreTableInfo hmsTable, List<PartitionKey> partitionKeys)
             throws DdlException {
         HiveMetaCache metaCache = getMetaCache(hmsTable.getResourceName());
-        List<Future<HivePartition>> futures = Lists.newArrayList();
-        for (PartitionKey partitionKey : partitionKeys) {
-            Future<HivePartition> future = partitionDaemonExecutor
-                    .submit(() -> metaCache.getPartition(hmsTable, partitionKey));
-            futures.add(future);
-        }
-        List<HivePartition> result = Lists.newArrayList();
-        for (Future<HivePartition> future : futures) {
-            try {
-                result.add(future.get());
-            } catch (InterruptedException | ExecutionException e) {
-                LOG.warn("get table {}.{} partition meta info failed.", hmsTable.getDb(), hmsTable.getTable(), e);
-                throw new DdlException(e.getMessage());
-            }
-        }
-        return result;
+        return metaCache.getPartitions(hmsTable, partitionKeys);
     }
 
     public HiveTableStats getTableStats(String resourceName, String dbName, String tableName) throws DdlException {
@@ -168,22 +161,7 @@ public class HiveRepository {
     public List<HivePartitionStats> getPartitionsStats(HiveMetaStoreTableInfo hmsTable,
                                                        List<PartitionKey> partitionKeys) throws DdlException {
         HiveMetaCache metaCache = getMetaCache(hmsTable.getResourceName());
-        List<Future<HivePartitionStats>> futures = Lists.newArrayList();
-        for (PartitionKey partitionKey : partitionKeys) {
-            Future<HivePartitionStats> future = partitionDaemonExecutor.
-                    submit(() -> metaCache.getPartitionStats(hmsTable, partitionKey));
-            futures.add(future);
-        }
-        List<HivePartitionStats> result = Lists.newArrayList();
-        for (Future<HivePartitionStats> future : futures) {
-            try {
-                result.add(future.get());
-            } catch (InterruptedException | ExecutionException e) {
-                LOG.warn("get table {}.{} partition stats meta info failed.", hmsTable.getDb(), hmsTable.getTable(), e);
-                throw new DdlException(e.getMessage());
-            }
-        }
-        return result;
+        return metaCache.getPartitionsStats(hmsTable, partitionKeys);
     }
 
     public ImmutableMap<String, HiveColumnStats> getTableLevelColumnStats(HiveMetaStoreTableInfo hmsTable)
@@ -4,7 +4,10 @@ package com.starrocks.external.iceberg.cost;
 
 import com.google.common.collect.ImmutableList;
 import com.starrocks.catalog.Column;
+import com.starrocks.common.UserException;
+import com.starrocks.external.RemoteScanPlanningExecutor;
 import com.starrocks.external.iceberg.IcebergUtil;
+import com.starrocks.external.iceberg.StarRocksIcebergException;
 import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
 import com.starrocks.sql.optimizer.statistics.ColumnStatistic;
 import com.starrocks.sql.optimizer.statistics.Statistics;
@@ -217,7 +220,7 @@ public class IcebergTableStatisticCalculator {
         TableScan tableScan = IcebergUtil.getTableScan(icebergTable,
                 snapshot.get(), icebergPredicates);
 
-        IcebergFileStats icebergFileStats = null;
+        List<DataFile> dataFiles = new ArrayList<>();
         try (CloseableIterable<FileScanTask> fileScanTasks = tableScan.planFiles()) {
             for (FileScanTask fileScanTask : fileScanTasks) {
                 DataFile dataFile = fileScanTask.file();
@@ -225,6 +228,30 @@ public class IcebergTableStatisticCalculator {
                 if (dataFile.recordCount() == 0) {
                     continue;
                 }
+                dataFiles.add(dataFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // decode the bounds of the files in parallel, and merge them in the order of the files
+        List<List<FileBounds>> decodedBatches;
+        try {
+            decodedBatches = RemoteScanPlanningExecutor.map(
+                    RemoteScanPlanningExecutor.splitIntoBatches(dataFiles, dataFile -> 1),
+                    batch -> batch.stream().map(dataFile -> new FileBounds(
+                            IcebergFileStats.toMap(idToTypeMapping, dataFile.lowerBounds()),
+                            IcebergFileStats.toMap(idToTypeMapping, dataFile.upperBounds())))
+                            .collect(Collectors.toList()));
+        } catch (UserException e) {
+            throw new StarRocksIcebergException("failed to get statistics of " + icebergTable.name(), e);
+        }
+
+        IcebergFileStats icebergFileStats = null;
+        int fileIndex = 0;
+        for (List<FileBounds> decodedBatch : decodedBatches) {
+            for (FileBounds bounds : decodedBatch) {
+                DataFile dataFile = dataFiles.get(fileIndex++);
                 if (icebergFileStats == null) {
                     icebergFileStats = new IcebergFileStats(
                             idToTypeMapping,
@@ -232,28 +259,36 @@ public class IcebergTableStatisticCalculator {
                             dataFile.partition(),
                             dataFile.recordCount(),
                             dataFile.fileSizeInBytes(),
-                            IcebergFileStats.toMap(idToTypeMapping, dataFile.lowerBounds()),
-                            IcebergFileStats.toMap(idToTypeMapping, dataFile.upperBounds()),
+                            bounds.lowerBounds,
+                            bounds.upperBounds,
                             dataFile.nullValueCounts(),
                             dataFile.columnSizes());
                 } else {
                     icebergFileStats.incrementFileCount();
                     icebergFileStats.incrementRecordCount(dataFile.recordCount());
                     icebergFileStats.incrementSize(dataFile.fileSizeInBytes());
-                    updateSummaryMin(icebergFileStats, partitionFields, IcebergFileStats.toMap(idToTypeMapping,
-                            dataFile.lowerBounds()), dataFile.nullValueCounts(), dataFile.recordCount());
-                    updateSummaryMax(icebergFileStats, partitionFields, IcebergFileStats.toMap(idToTypeMapping,
-                            dataFile.upperBounds()), dataFile.nullValueCounts(), dataFile.recordCount());
+                    updateSummaryMin(icebergFileStats, partitionFields, bounds.lowerBounds,
+                            dataFile.nullValueCounts(), dataFile.recordCount());
+                    updateSummaryMax(icebergFileStats, partitionFields, bounds.upperBounds,
+                            dataFile.nullValueCounts(), dataFile.recordCount());
                     icebergFileStats.updateNullCount(dataFile.nullValueCounts());
                     updateColumnSizes(icebergFileStats, dataFile.columnSizes());
                 }
             }
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
         }
         return icebergFileStats;
     }
 
+    private static class FileBounds {
+        private final Map<Integer, Object> lowerBounds;
+        private final Map<Integer, Object> upperBounds;
+
+        private FileBounds(Map<Integer, Object> lowerBounds, Map<Integer, Object> upperBounds) {
+            this.lowerBounds = lowerBounds;
+            this.upperBounds = upperBounds;
+        }
+    }
+
     private ColumnStatistic generateColumnStatistic(IcebergFileStats icebergFileStats,
                                                     int fieldId,
                                                     double recordCount,
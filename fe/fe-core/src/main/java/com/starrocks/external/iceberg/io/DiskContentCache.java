@@ -0,0 +1,203 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.external.iceberg.io;
+
+import com.google.common.hash.Hashing;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DiskContentCache keeps the contents of iceberg metadata files in a local directory, so they survive FE restarts.
+ * <p>
+ * A file is keyed on its path and length, the metadata files of iceberg are never rewritten in place, the length
+ * only guards against a different file written to the same path. The least recently used files are evicted once
+ * the total size exceeds the capacity. The access order is rebuilt from the modification time of the cached files
+ * when FE restarts.
+ */
+public class DiskContentCache {
+    private static final Logger LOG = LogManager.getLogger(DiskContentCache.class);
+    private static final String TMP_FILE_SUFFIX = ".tmp";
+
+    private final Path cacheDir;
+    private final long capacityBytes;
+
+    // cache file name -> file length, in access order
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0;
+    private final AtomicLong tmpFileId = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public DiskContentCache(String cacheDir, long capacityBytes) throws IOException {
+        this.cacheDir = new File(cacheDir).toPath();
+        this.capacityBytes = capacityBytes;
+        Files.createDirectories(this.cacheDir);
+        loadEntries();
+    }
+
+    private void loadEntries() {
+        File[] files = cacheDir.toFile().listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (!file.isFile()) {
+                continue;
+            }
+            if (file.getName().endsWith(TMP_FILE_SUFFIX)) {
+                // left by an interrupted write
+                file.delete();
+                continue;
+            }
+            entries.put(file.getName(), file.length());
+            totalBytes += file.length();
+        }
+        evict();
+        LOG.info("load {} iceberg metadata files of {} bytes from disk cache {}", entries.size(), totalBytes, cacheDir);
+    }
+
+    private static String fileName(String path, long length) {
+        return Hashing.sha256().hashString(path, StandardCharsets.UTF_8).toString() + "_" + length;
+    }
+
+    /**
+     * Get the content of the file, return null if it's not cached.
+     */
+    public byte[] get(String path, long length) {
+        String name = fileName(path, length);
+        synchronized (this) {
+            // get() updates the access order
+            if (entries.get(name) == null) {
+                missCount.increment();
+                return null;
+            }
+        }
+        Path file = cacheDir.resolve(name);
+        try {
+            byte[] content = Files.readAllBytes(file);
+            if (content.length == length) {
+                // the access order is kept by the modification time across restarts
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                hitCount.increment();
+                return content;
+            }
+            LOG.warn("length of iceberg metadata cache file {} is {}, expected {}", file, content.length, length);
+        } catch (NoSuchFileException e) {
+            // evicted by another thread
+        } catch (IOException e) {
+            LOG.warn("failed to read iceberg metadata cache file {}", file, e);
+        }
+        remove(name);
+        missCount.increment();
+        return null;
+    }
+
+    public void put(String path, long length, List<ByteBuffer> buffers) {
+        if (length > capacityBytes) {
+            return;
+        }
+        String name = fileName(path, length);
+        synchronized (this) {
+            if (entries.containsKey(name)) {
+                return;
+            }
+        }
+        Path tmpFile = cacheDir.resolve(name + "." + tmpFileId.incrementAndGet() + TMP_FILE_SUFFIX);
+        try {
+            try (OutputStream out = Files.newOutputStream(tmpFile)) {
+                for (ByteBuffer buffer : buffers) {
+                    ByteBuffer content = buffer.duplicate();
+                    out.write(content.array(), content.arrayOffset() + content.position(), content.remaining());
+                }
+            }
+            Files.move(tmpFile, cacheDir.resolve(name), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOG.warn("failed to write iceberg metadata cache file of {}", path, e);
+            try {
+                Files.deleteIfExists(tmpFile);
+            } catch (IOException ignored) {
+                // ignore
+            }
+            return;
+        }
+        synchronized (this) {
+            Long oldLength = entries.put(name, length);
+            if (oldLength != null) {
+                totalBytes -= oldLength;
+            }
+            totalBytes += length;
+            evict();
+        }
+    }
+
+    public void invalidate(String path, long length) {
+        remove(fileName(path, length));
+    }
+
+    private synchronized void remove(String name) {
+        Long length = entries.remove(name);
+        if (length == null) {
+            return;
+        }
+        totalBytes -= length;
+        deleteFile(name);
+    }
+
+    private synchronized void evict() {
+        Iterator<Map.Entry<String, Long>> iter = entries.entrySet().iterator();
+        while (totalBytes > capacityBytes && iter.hasNext()) {
+            Map.Entry<String, Long> entry = iter.next();
+            iter.remove();
+            totalBytes -= entry.getValue();
+            deleteFile(entry.getKey());
+        }
+    }
+
+    private void deleteFile(String name) {
+        try {
+            Files.deleteIfExists(cacheDir.resolve(name));
+        } catch (IOException e) {
+            LOG.warn("failed to delete iceberg metadata cache file {}", name, e);
+        }
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public double hitRate() {
+        long hit = hitCount.sum();
+        long total = hit + missCount.sum();
+        return total == 0 ? 1.0 : (double) hit / total;
+    }
+}
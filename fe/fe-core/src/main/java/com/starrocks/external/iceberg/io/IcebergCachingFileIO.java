@@ -24,6 +24,7 @@ package com.starrocks.external.iceberg.io;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.Weigher;
+import com.starrocks.common.Config;
 import org.apache.iceberg.exceptions.NotFoundException;
 import org.apache.iceberg.exceptions.RuntimeIOException;
 import org.apache.iceberg.io.FileIO;
@@ -32,7 +33,6 @@ import org.apache.iceberg.io.OutputFile;
 import org.apache.iceberg.io.SeekableInputStream;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
-import org.apache.iceberg.util.PropertyUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -45,15 +45,21 @@ import java.util.function.Function;
 
 /**
  * Implementation of FileIO that adds metadata content caching features.
+ * <p>
+ * The contents are cached in memory first, and then in the local disk if
+ * {@link Config#enable_iceberg_metadata_disk_cache} is set. The cache is shared by all the iceberg catalogs
+ * and tables, so the metadata files are not downloaded again for a new snapshot or after FE restarts.
  */
 public class IcebergCachingFileIO implements FileIO {
     private static final Logger LOG = LogManager.getLogger(IcebergCachingFileIO.class);
     private static final int BUFFER_CHUNK_SIZE = 4 * 1024 * 1024; // 4MB
-    private static final long DEFAULT_FILEIO_CACHE_MAX_CONTENT_LENGTH = 8 * 1024 * 1024;
-    private static final long DEFAULT_FILEIO_CACHE_MAX_TOTAL_BYTES = 128 * 1024 * 1024;
 
+    // the capacity of the shared cache is set by Config.iceberg_metadata_memory_cache_capacity,
+    // kept for the tables created with this property
     public static final String FILEIO_CACHE_MAX_TOTAL_BYTES = "fileIO.cache.max-total-bytes";
 
+    private static volatile ContentCache sharedContentCache;
+
     private ContentCache fileContentCache;
     private FileIO wrappedIO;
 
@@ -63,9 +69,36 @@ public class IcebergCachingFileIO implements FileIO {
 
     @Override
     public void initialize(Map<String, String> properties) {
-        long maxTotalBytes = PropertyUtil.propertyAsLong(properties, FILEIO_CACHE_MAX_TOTAL_BYTES,
-                                                        DEFAULT_FILEIO_CACHE_MAX_TOTAL_BYTES);
-        this.fileContentCache = new ContentCache(DEFAULT_FILEIO_CACHE_MAX_CONTENT_LENGTH, maxTotalBytes);
+        this.fileContentCache = getSharedContentCache();
+    }
+
+    public static ContentCache getSharedContentCache() {
+        if (sharedContentCache == null) {
+            synchronized (IcebergCachingFileIO.class) {
+                if (sharedContentCache == null) {
+                    DiskContentCache diskCache = null;
+                    if (Config.enable_iceberg_metadata_disk_cache) {
+                        try {
+                            diskCache = new DiskContentCache(Config.iceberg_metadata_cache_disk_path,
+                                    Config.iceberg_metadata_disk_cache_capacity);
+                        } catch (IOException e) {
+                            LOG.warn("failed to create iceberg metadata disk cache in {}, only cache in memory",
+                                    Config.iceberg_metadata_cache_disk_path, e);
+                        }
+                    }
+                    sharedContentCache = new ContentCache(Config.iceberg_metadata_cache_max_entry_size,
+                            Config.iceberg_metadata_memory_cache_capacity, diskCache);
+                }
+            }
+        }
+        return sharedContentCache;
+    }
+
+    /**
+     * Return null if no iceberg metadata file has been read, used by the metrics to not create the cache.
+     */
+    public static ContentCache getSharedContentCacheIfCreated() {
+        return sharedContentCache;
     }
 
     @Override
@@ -85,7 +118,7 @@ public class IcebergCachingFileIO implements FileIO {
         fileContentCache.invalidate(path);
     }
 
-    private static class CacheEntry {
+    static class CacheEntry {
         private final long length;
         private final List<ByteBuffer> buffers;
 
@@ -95,14 +128,22 @@ public class IcebergCachingFileIO implements FileIO {
         }
     }
 
+    /**
+     * The memory cache is keyed on the file path, a metadata file of iceberg is never rewritten.
+     * The disk cache is only read on a miss of the memory cache, and is keyed on both the path and the length,
+     * since it's kept across restarts.
+     */
     public static class ContentCache {
         private final long maxTotalBytes;
         private final long maxContentLength;
         private final Cache<String, CacheEntry> cache;
+        // null if disk cache is disabled
+        private final DiskContentCache diskCache;
 
-        private ContentCache(long maxContentLength, long maxTotalBytes) {
+        ContentCache(long maxContentLength, long maxTotalBytes, DiskContentCache diskCache) {
             this.maxTotalBytes = maxTotalBytes;
             this.maxContentLength = maxContentLength;
+            this.diskCache = diskCache;
 
             Caffeine<Object, Object> builder = Caffeine.newBuilder();
             this.cache = builder.maximumWeight(maxTotalBytes)
@@ -118,8 +159,20 @@ public class IcebergCachingFileIO implements FileIO {
             return maxContentLength;
         }
 
-        public CacheEntry get(String key, Function<String, CacheEntry> mappingFunction) {
-            return cache.get(key, mappingFunction);
+        public CacheEntry get(String key, long length, Function<String, CacheEntry> mappingFunction) {
+            return cache.get(key, k -> {
+                if (diskCache != null) {
+                    byte[] content = diskCache.get(k, length);
+                    if (content != null) {
+                        return new CacheEntry(content.length, Lists.newArrayList(ByteBuffer.wrap(content)));
+                    }
+                }
+                CacheEntry entry = mappingFunction.apply(k);
+                if (diskCache != null && entry != null && entry.length == length) {
+                    diskCache.put(k, length, entry.buffers);
+                }
+                return entry;
+            });
         }
 
         public CacheEntry getIfPresent(String location) {
@@ -127,7 +180,27 @@ public class IcebergCachingFileIO implements FileIO {
         }
 
         public void invalidate(String key) {
+            CacheEntry entry = cache.getIfPresent(key);
             cache.invalidate(key);
+            if (diskCache != null && entry != null) {
+                diskCache.invalidate(key, entry.length);
+            }
+        }
+
+        public double memoryHitRate() {
+            return cache.stats().hitRate();
+        }
+
+        public long memoryBytes() {
+            return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+        }
+
+        public double diskHitRate() {
+            return diskCache == null ? 0 : diskCache.hitRate();
+        }
+
+        public long diskBytes() {
+            return diskCache == null ? 0 : diskCache.getTotalBytes();
         }
     }
 
@@ -150,8 +223,9 @@ public class IcebergCachingFileIO implements FileIO {
         public SeekableInputStream newStream() {
             try {
                 // read-through cache if file length is less than or equal to maximum length allowed to cache.
-                if (getLength() <= contentCache.maxContentLength()) {
-                    return cachedStream();
+                long fileLength = getLength();
+                if (fileLength <= contentCache.maxContentLength()) {
+                    return cachedStream(fileLength);
                 }
 
                 // fallback to non-caching input stream.
@@ -174,9 +248,8 @@ public class IcebergCachingFileIO implements FileIO {
             return buf != null || wrappedInputFile.exists();
         }
 
-        private CacheEntry newCacheEntry() {
+        private CacheEntry newCacheEntry(long fileLength) {
             try {
-                long fileLength = getLength();
                 long totalBytesToRead = fileLength;
                 SeekableInputStream stream = wrappedInputFile.newStream();
                 List<ByteBuffer> buffers = Lists.newArrayList();
@@ -205,9 +278,9 @@ public class IcebergCachingFileIO implements FileIO {
             }
         }
 
-        private SeekableInputStream cachedStream() throws IOException {
+        private SeekableInputStream cachedStream(long fileLength) throws IOException {
             try {
-                CacheEntry entry = contentCache.get(location(), k -> newCacheEntry());
+                CacheEntry entry = contentCache.get(location(), fileLength, k -> newCacheEntry(fileLength));
                 Preconditions.checkNotNull(entry, "CacheEntry should not be null when there is no RuntimeException occurs");
                 return ByteBufferInputStream.wrap(entry.buffers);
             } catch (RuntimeIOException ex) {
@@ -31,7 +31,7 @@ import com.starrocks.qe.QueryDetailQueue;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
 
-import java.util.List;
+import java.util.Iterator;
 
 public class QueryDetailAction extends RestBaseAction {
 
@@ -52,10 +52,20 @@ public class QueryDetailAction extends RestBaseAction {
             return;
         }
         long eventTime = Long.parseLong(eventTimeStr.trim());
-        List<QueryDetail> queryDetails = QueryDetailQueue.getQueryDetailsAfterTime(eventTime);
+        // write the query details with cursor, without copying them into a list
+        Iterator<QueryDetail> cursor = QueryDetailQueue.getCursorAfterTime(eventTime);
         Gson gson = new Gson();
-        String jsonString = gson.toJson(queryDetails);
-        response.getContent().append(jsonString);
+        StringBuilder content = response.getContent();
+        content.append('[');
+        boolean first = true;
+        while (cursor.hasNext()) {
+            if (!first) {
+                content.append(',');
+            }
+            gson.toJson(cursor.next(), content);
+            first = false;
+        }
+        content.append(']');
         sendResult(request, response);
     }
 }
@@ -3,8 +3,12 @@
 package com.starrocks.journal;
 
 import com.starrocks.common.io.DataOutputBuffer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -12,6 +16,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 public class JournalTask implements Future<Boolean> {
+    private static final Logger LOG = LogManager.getLogger(JournalTask.class);
+
     // serialized JournalEntity
     private DataOutputBuffer buffer;
     // write result
@@ -21,10 +27,15 @@ public class JournalTask implements Future<Boolean> {
     protected CountDownLatch latch;
     // JournalWrite will commit immediately if received a log with betterCommitBeforeTime > now
     protected long betterCommitBeforeTime;
+    // used to measure how long the log waits in queue before JournalWriter takes it
+    private final long submitTimeNano;
+    // run when the log is committed, before the waiters are notified. null after the task is done
+    private List<Runnable> successCallbacks = new ArrayList<>();
 
     public JournalTask(DataOutputBuffer buffer, long maxWaitIntervalMs) {
         this.buffer = buffer;
         this.latch = new CountDownLatch(1);
+        this.submitTimeNano = System.nanoTime();
         if (maxWaitIntervalMs > 0) {
             this.betterCommitBeforeTime = System.currentTimeMillis() + maxWaitIntervalMs;
         } else {
@@ -33,19 +44,59 @@ public class JournalTask implements Future<Boolean> {
     }
 
     public void markSucceed() {
-        isSucceed = true;
+        List<Runnable> callbacks;
+        synchronized (this) {
+            isSucceed = true;
+            callbacks = successCallbacks;
+            successCallbacks = null;
+        }
+        for (Runnable callback : callbacks) {
+            runCallback(callback);
+        }
         latch.countDown();
     }
 
     public void markAbort() {
-        isSucceed = false;
+        synchronized (this) {
+            isSucceed = false;
+            successCallbacks = null;
+        }
         latch.countDown();
     }
 
+    /**
+     * Run the callback after the log is committed, it's run by JournalWriter, or by the caller at once if the
+     * log has been committed. It's never run if the log fails to be committed.
+     */
+    public void addSuccessCallback(Runnable callback) {
+        synchronized (this) {
+            if (successCallbacks != null) {
+                successCallbacks.add(callback);
+                return;
+            }
+            if (!isSucceed) {
+                return;
+            }
+        }
+        runCallback(callback);
+    }
+
+    private static void runCallback(Runnable callback) {
+        try {
+            callback.run();
+        } catch (Exception e) {
+            LOG.warn("failed to run the callback of committed journal", e);
+        }
+    }
+
     public long getBetterCommitBeforeTime() {
         return betterCommitBeforeTime;
     }
 
+    public long getSubmitTimeNano() {
+        return submitTimeNano;
+    }
+
     public long estimatedSizeByte() {
         // journal id + buffer
         return Long.SIZE / 8 + buffer.getLength();
@@ -13,12 +13,16 @@ import org.mortbay.log.Log;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An independent thread to write journals by batch asynchronously.
  * Each thread that needs to write a log can put the log in a blocking queue, while JournalWriter constantly gets as
  * many logs as possible from the queue and write them all in one batch.
  * After committing, JournalWriter will notify the caller thread for consistency.
+ * <p>
+ * If metadata_journal_max_batch_wait_ms is set, JournalWriter waits a little for the next log when the queue
+ * is drained but the previous batch had more than one log, so concurrent writers share one commit.
  */
 public class JournalWriter {
     public static final Logger LOG = LogManager.getLogger(JournalWriter.class);
@@ -41,6 +45,12 @@ public class JournalWriter {
     private long startTimeNano;
     // batch size in bytes
     private long uncommittedEstimatedBytes;
+    // time spent on committing the batch
+    private long commitCostNano;
+    // journal polled while waiting for more logs to group commit
+    private JournalTask nextJournal;
+    // number of journals of the previous batch, group commit is only worth waiting for under concurrent writes
+    private int lastBatchSize = 0;
 
     public JournalWriter(Journal journal, BlockingQueue<JournalTask> journalQueue) {
         this.journal = journal;
@@ -93,7 +103,12 @@ public class JournalWriter {
                     break;
                 }
 
-                currentJournal = journalQueue.take();
+                if (nextJournal != null) {
+                    currentJournal = nextJournal;
+                    nextJournal = null;
+                } else {
+                    currentJournal = journalQueue.take();
+                }
             }
         } catch (JournalException e) {
             // abort current task
@@ -102,7 +117,9 @@ public class JournalWriter {
         } finally {
             try {
                 // commit
+                long commitStartNano = System.nanoTime();
                 journal.batchWriteCommit();
+                commitCostNano = System.nanoTime() - commitStartNano;
                 LOG.debug("batch write commit success, from {} - {}", nextVisibleJournalId, nextJournalId);
                 nextVisibleJournalId = nextJournalId;
                 markCurrentBatchSucceed();
@@ -127,6 +144,8 @@ public class JournalWriter {
     private void initBatch() {
         startTimeNano = System.nanoTime();
         uncommittedEstimatedBytes = 0;
+        commitCostNano = 0;
+        lastBatchSize = currentBatchTasks.size();
         currentBatchTasks.clear();
     }
 
@@ -156,10 +175,10 @@ public class JournalWriter {
         System.exit(-1);
     }
 
-    private boolean shouldCommitNow() {
+    private boolean shouldCommitNow() throws InterruptedException {
         // 1. check if is an emergency journal
         if (currentJournal.getBetterCommitBeforeTime() > 0) {
-            long delayMillis = (System.nanoTime() - currentJournal.getBetterCommitBeforeTime()) / 1000000;
+            long delayMillis = System.currentTimeMillis() - currentJournal.getBetterCommitBeforeTime();
             if (delayMillis >= 0) {
                 LOG.warn("journal expect commit before {} is delayed {} mills, will commit now",
                         currentJournal.getBetterCommitBeforeTime(), delayMillis);
@@ -183,7 +202,24 @@ public class JournalWriter {
         }
 
         // 4. no more journal in queue
-        return journalQueue.peek() == null;
+        if (journalQueue.peek() != null) {
+            return false;
+        }
+
+        // 5. wait for more journals to group commit if there are concurrent writers
+        long waitNano = getGroupCommitWaitNano();
+        if (waitNano <= 0) {
+            return true;
+        }
+        nextJournal = journalQueue.poll(waitNano, TimeUnit.NANOSECONDS);
+        return nextJournal == null;
+    }
+
+    private long getGroupCommitWaitNano() {
+        if (Config.metadata_journal_max_batch_wait_ms <= 0 || lastBatchSize <= 1) {
+            return 0;
+        }
+        return Config.metadata_journal_max_batch_wait_ms * 1000000L - (System.nanoTime() - startTimeNano);
     }
 
     /**
@@ -195,10 +231,14 @@ public class JournalWriter {
             MetricRepo.HISTO_JOURNAL_WRITE_LATENCY.update((System.nanoTime() - startTimeNano) / 1000000);
             MetricRepo.HISTO_JOURNAL_WRITE_BATCH.update(currentBatchTasks.size());
             MetricRepo.HISTO_JOURNAL_WRITE_BYTES.update(uncommittedEstimatedBytes);
+            MetricRepo.HISTO_JOURNAL_COMMIT_LATENCY.update(commitCostNano / 1000000);
             MetricRepo.GAUGE_STACKED_JOURNAL_NUM.setValue((long) journalQueue.size());
 
             for (JournalTask e : currentBatchTasks) {
                 MetricRepo.COUNTER_EDIT_LOG_SIZE_BYTES.increase(e.estimatedSizeByte());
+                // journals submitted after the batch started are appended without waiting in queue
+                long queueWaitNano = Math.max(0, startTimeNano - e.getSubmitTimeNano());
+                MetricRepo.HISTO_JOURNAL_QUEUE_WAIT_LATENCY.update(queueWaitNano / 1000000);
             }
         }
         if (journalQueue.size() > Config.metadata_journal_max_batch_cnt) {
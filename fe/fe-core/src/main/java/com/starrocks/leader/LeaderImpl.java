@@ -317,6 +317,7 @@ public class LeaderImpl {
                              * So we set replica back to good.
                              */
                             replica.setBad(false);
+                            GlobalStateMgr.getCurrentState().getTabletChecker().markTabletDirty(tabletId);
                             LOG.info(
                                     "finish recover create replica task. set replica to good. tablet {}, replica {}, backend {}",
                                     tabletId, task.getBackendId(), replica.getId());
@@ -570,6 +571,8 @@ public class LeaderImpl {
         if (txnState != null) {
             txnState.updatePublishTaskFinishTime();
         }
+        // the transaction may be finished now
+        GlobalStateMgr.getCurrentState().getPublishVersionDaemon().wakeup();
 
         if (request.getTask_status().getStatus_code() != TStatusCode.OK) {
             // not remove the task from queue and be will retry
@@ -41,6 +41,7 @@ import com.starrocks.catalog.Replica;
 import com.starrocks.catalog.Replica.ReplicaState;
 import com.starrocks.catalog.TabletInvertedIndex;
 import com.starrocks.catalog.TabletMeta;
+import com.starrocks.clone.TabletChecker;
 import com.starrocks.clone.TabletSchedCtx;
 import com.starrocks.common.Config;
 import com.starrocks.common.FeConstants;
@@ -91,12 +92,15 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 public class ReportHandler extends Daemon {
     public enum ReportType {
@@ -113,6 +117,11 @@ public class ReportHandler extends Daemon {
 
     private Map<ReportType, Map<Long, ReportTask>> pendingTaskMap = Maps.newHashMap();
 
+    // backend id -> generation of the latest tablet report handled
+    private final Map<Long, Long> tabletReportGenerations = Maps.newConcurrentMap();
+    // backend id -> (generation, handle time) of the latest full tablet report handled
+    private final Map<Long, Pair<Long, Long>> fullTabletReports = Maps.newConcurrentMap();
+
     public ReportHandler() {
         GaugeMetric<Long> gaugeQueueSize = new GaugeMetric<Long>(
                 "report_queue_size", MetricUnit.NOUNIT, "report queue size") {
@@ -152,6 +161,8 @@ public class ReportHandler extends Daemon {
         Map<Long, TTablet> tablets = null;
         List<TWorkGroup> activeWorkGroups = null;
         long reportVersion = -1;
+        long tabletReportGeneration = -1;
+        long baseTabletReportGeneration = -1;
 
         ReportType reportType = ReportType.UNKNOWN_REPORT;
         if (request.isSetTasks()) {
@@ -178,6 +189,12 @@ public class ReportHandler extends Daemon {
             tablets = request.getTablets();
             reportVersion = request.getReport_version();
             reportType = ReportType.TABLET_REPORT;
+            if (request.isSetTablet_report_generation()) {
+                tabletReportGeneration = request.getTablet_report_generation();
+            }
+            if (request.isSetBase_tablet_report_generation()) {
+                baseTabletReportGeneration = request.getBase_tablet_report_generation();
+            }
         } else if (request.isSetTablet_list()) {
             if (reportType != ReportType.UNKNOWN_REPORT) {
                 buildErrorResult(tStatus,
@@ -188,6 +205,12 @@ public class ReportHandler extends Daemon {
             tablets = buildTabletMap(request.getTablet_list());
             reportVersion = request.getReport_version();
             reportType = ReportType.TABLET_REPORT;
+            if (request.isSetTablet_report_generation()) {
+                tabletReportGeneration = request.getTablet_report_generation();
+            }
+            if (request.isSetBase_tablet_report_generation()) {
+                baseTabletReportGeneration = request.getBase_tablet_report_generation();
+            }
         }
 
         if (request.isSetTablet_max_compaction_score()) {
@@ -206,9 +229,10 @@ public class ReportHandler extends Daemon {
         List<TWorkGroupOp> workGroupOps =
                 GlobalStateMgr.getCurrentState().getResourceGroupMgr().getResourceGroupsNeedToDeliver(beId);
         result.setWorkgroup_ops(workGroupOps);
+        result.setTablet_report_generation(getAckedTabletReportGeneration(beId));
 
-        ReportTask reportTask =
-                new ReportTask(beId, reportType, tasks, disks, tablets, reportVersion, activeWorkGroups);
+        ReportTask reportTask = new ReportTask(beId, reportType, tasks, disks, tablets, reportVersion,
+                tabletReportGeneration, baseTabletReportGeneration, activeWorkGroups);
         try {
             putToQueue(reportTask);
         } catch (Exception e) {
@@ -227,6 +251,49 @@ public class ReportHandler extends Daemon {
         return result;
     }
 
+    /**
+     * The generation which backend can send the incremental tablet report based on,
+     * -1 if a full tablet report is expected.
+     */
+    private long getAckedTabletReportGeneration(long beId) {
+        Long generation = tabletReportGenerations.get(beId);
+        Pair<Long, Long> fullReport = fullTabletReports.get(beId);
+        if (generation == null || fullReport == null || Config.tablet_full_report_interval_second <= 0) {
+            return -1;
+        }
+        if (System.currentTimeMillis() - fullReport.second > Config.tablet_full_report_interval_second * 1000L) {
+            return -1;
+        }
+        return generation;
+    }
+
+    /**
+     * An incremental tablet report is valid only if it's based on a generation handled after the latest
+     * full report, otherwise some changes may be missed, and it should be skipped.
+     */
+    private boolean isValidIncrementalTabletReport(long beId, long generation, long baseGeneration) {
+        Long handledGeneration = tabletReportGenerations.get(beId);
+        Pair<Long, Long> fullReport = fullTabletReports.get(beId);
+        if (handledGeneration == null || fullReport == null) {
+            return false;
+        }
+        return baseGeneration >= fullReport.first && baseGeneration <= handledGeneration
+                && generation > handledGeneration;
+    }
+
+    private void updateTabletReportGeneration(long beId, long generation, boolean isIncremental) {
+        if (generation < 0) {
+            // backend doesn't support incremental tablet report
+            tabletReportGenerations.remove(beId);
+            fullTabletReports.remove(beId);
+            return;
+        }
+        tabletReportGenerations.put(beId, generation);
+        if (!isIncremental) {
+            fullTabletReports.put(beId, new Pair<>(generation, System.currentTimeMillis()));
+        }
+    }
+
     private void buildErrorResult(TStatus tStatus, String msg) {
         tStatus.setStatus_code(TStatusCode.INTERNAL_ERROR);
         List<String> errorMsgs = Lists.newArrayList();
@@ -270,11 +337,15 @@ public class ReportHandler extends Daemon {
         private Map<String, TDisk> disks;
         private Map<Long, TTablet> tablets;
         private long reportVersion;
+        private long tabletReportGeneration;
+        // -1 means full tablet report
+        private long baseTabletReportGeneration;
         private List<TWorkGroup> activeWorkGroups;
 
         public ReportTask(long beId, ReportType type, Map<TTaskType, Set<Long>> tasks,
                           Map<String, TDisk> disks,
                           Map<Long, TTablet> tablets, long reportVersion,
+                          long tabletReportGeneration, long baseTabletReportGeneration,
                           List<TWorkGroup> activeWorkGroups) {
             this.beId = beId;
             this.type = type;
@@ -282,6 +353,8 @@ public class ReportHandler extends Daemon {
             this.disks = disks;
             this.tablets = tablets;
             this.reportVersion = reportVersion;
+            this.tabletReportGeneration = tabletReportGeneration;
+            this.baseTabletReportGeneration = baseTabletReportGeneration;
             this.activeWorkGroups = activeWorkGroups;
         }
 
@@ -294,7 +367,18 @@ public class ReportHandler extends Daemon {
                 ReportHandler.diskReport(beId, disks);
             }
             if (tablets != null) {
-                ReportHandler.tabletReport(beId, tablets, reportVersion);
+                boolean isIncremental = baseTabletReportGeneration >= 0;
+                if (isIncremental && !isValidIncrementalTabletReport(beId, tabletReportGeneration,
+                        baseTabletReportGeneration)) {
+                    LOG.info("skip incremental tablet report from backend[{}], generation: {}, base generation: {}" +
+                                    ", request a full tablet report",
+                            beId, tabletReportGeneration, baseTabletReportGeneration);
+                    // forget the handled generations, so the backend is acked -1 and sends a full report next time
+                    updateTabletReportGeneration(beId, -1, false);
+                } else {
+                    ReportHandler.tabletReport(beId, tablets, reportVersion, isIncremental);
+                    updateTabletReportGeneration(beId, tabletReportGeneration, isIncremental);
+                }
             }
             if (activeWorkGroups != null) {
                 ReportHandler.workgroupReport(beId, activeWorkGroups);
@@ -302,10 +386,12 @@ public class ReportHandler extends Daemon {
         }
     }
 
-    private static void tabletReport(long backendId, Map<Long, TTablet> backendTablets, long backendReportVersion) {
+    private static void tabletReport(long backendId, Map<Long, TTablet> backendTablets, long backendReportVersion,
+                                     boolean isIncremental) {
         long start = System.currentTimeMillis();
-        LOG.info("backend[{}] reports {} tablet(s). report version: {}",
-                backendId, backendTablets.size(), backendReportVersion);
+        long cpuStart = getCurrentThreadCpuTimeNs();
+        LOG.info("backend[{}] reports {} tablet(s). report version: {}, incremental: {}",
+                backendId, backendTablets.size(), backendReportVersion, isIncremental);
 
         // storage medium map
         HashMap<Long, TStorageMedium> storageMediumMap =
@@ -333,7 +419,8 @@ public class ReportHandler extends Daemon {
         Set<Pair<Long, Integer>> tabletWithoutPartitionId = Sets.newHashSet();
 
         // 1. do the diff. find out (intersection) / (be - meta) / (meta - be)
-        GlobalStateMgr.getCurrentInvertedIndex().tabletReport(backendId, backendTablets, storageMediumMap,
+        GlobalStateMgr.getCurrentInvertedIndex().tabletReport(backendId, backendTablets, isIncremental,
+                storageMediumMap,
                 tabletSyncMap,
                 tabletDeleteFromMeta,
                 foundTabletsWithValidSchema,
@@ -350,7 +437,10 @@ public class ReportHandler extends Daemon {
 
         // 3. delete (meta - be)
         // BE will automatically drop defective tablets. these tablets should also be dropped in globalStateMgr
-        deleteFromMeta(tabletDeleteFromMeta, backendId, backendReportVersion);
+        // incremental report doesn't contain the unchanged tablets, (meta - be) is only checked by full report
+        if (!isIncremental) {
+            deleteFromMeta(tabletDeleteFromMeta, backendId, backendReportVersion);
+        }
 
         // 4. handle (be - meta)
         deleteFromBackend(backendTablets, foundTabletsWithValidSchema, foundTabletsWithInvalidSchema, backendId);
@@ -376,6 +466,14 @@ public class ReportHandler extends Daemon {
         // 11. send set tablet enable persistent index to be
         handleSetTabletEnablePersistentIndex(backendId, backendTablets);
 
+        // 12. the replicas of these tablets may be changed, let tablet checker check them
+        TabletChecker tabletChecker = GlobalStateMgr.getCurrentState().getTabletChecker();
+        tabletChecker.markTabletsDirty(tabletSyncMap.values());
+        if (!isIncremental) {
+            tabletChecker.markTabletsDirty(tabletDeleteFromMeta.values());
+        }
+        tabletChecker.markTabletsDirty(tabletRecoveryMap.values());
+
         final SystemInfoService currentSystemInfo = GlobalStateMgr.getCurrentSystemInfo();
         Backend reportBackend = currentSystemInfo.getBackend(backendId);
         if (reportBackend != null) {
@@ -384,7 +482,16 @@ public class ReportHandler extends Daemon {
         }
 
         long end = System.currentTimeMillis();
-        LOG.info("tablet report from backend[{}] cost: {} ms", backendId, (end - start));
+        LOG.info("{} tablet report from backend[{}] cost: {} ms, cpu: {} ms", isIncremental ? "incremental" : "full",
+                backendId, (end - start), TimeUnit.NANOSECONDS.toMillis(getCurrentThreadCpuTimeNs() - cpuStart));
+    }
+
+    private static long getCurrentThreadCpuTimeNs() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!threadMXBean.isCurrentThreadCpuTimeSupported()) {
+            return 0;
+        }
+        return threadMXBean.getCurrentThreadCpuTime();
     }
 
     private static void taskReport(long backendId, Map<TTaskType, Set<Long>> runningTasks) {
@@ -721,6 +828,7 @@ public class ReportHandler extends Daemon {
                                         tabletsInfo.addReplicaInfo(replicaPersistInfo);
                                         GlobalStateMgr.getCurrentState().getEditLog()
                                                 .logBackendTabletsInfo(tabletsInfo);
+                                        GlobalStateMgr.getCurrentState().getTabletChecker().markTabletDirty(tabletId);
                                     }
                                 }
                             }
@@ -1257,6 +1365,7 @@ public class ReportHandler extends Daemon {
                         dataSize, rowCount, ReplicaState.NORMAL,
                         lastFailedVersion, version);
                 tablet.addReplica(replica);
+                GlobalStateMgr.getCurrentState().getTabletChecker().markTabletDirty(tabletId);
 
                 // write edit log
                 ReplicaPersistInfo info = ReplicaPersistInfo.createForAdd(dbId, tableId, partitionId, indexId,
@@ -26,6 +26,7 @@ import com.starrocks.qe.QueryDetailQueue;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.TimerTask;
 
@@ -89,17 +90,16 @@ public class MetricCalculator extends TimerTask {
         MetricRepo.GAUGE_MAX_TABLET_COMPACTION_SCORE.setValue(maxCompactionScore);
 
         // query latency
-        List<QueryDetail> queryList = QueryDetailQueue.getQueryDetailsAfterTime(lastQueryEventTime);
+        Iterator<QueryDetail> queryCursor = QueryDetailQueue.getCursorAfterTime(lastQueryEventTime);
         List<Long> latencyList = new ArrayList<>();
         double latencySum = 0L;
-        for (QueryDetail queryDetail : queryList) {
+        while (queryCursor.hasNext()) {
+            QueryDetail queryDetail = queryCursor.next();
             if (queryDetail.isQuery() && queryDetail.getState() == QueryDetail.QueryMemState.FINISHED) {
                 latencyList.add(queryDetail.getLatency());
                 latencySum += queryDetail.getLatency();
             }
-        }
-        if (queryList.size() > 0) {
-            lastQueryEventTime = queryList.get(queryList.size() - 1).getEventTime();
+            lastQueryEventTime = queryDetail.getEventTime();
         }
         if (latencyList.size() > 0) {
             MetricRepo.GAUGE_QUERY_LATENCY_MEAN.setValue(latencySum / latencyList.size());
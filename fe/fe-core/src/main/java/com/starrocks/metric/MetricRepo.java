@@ -23,6 +23,7 @@ package com.starrocks.metric;
 
 import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 import com.starrocks.alter.Alter;
@@ -35,6 +36,10 @@ import com.starrocks.common.DdlException;
 import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.common.UserException;
 import com.starrocks.common.util.KafkaUtil;
+import com.starrocks.common.util.ProfileManager;
+import com.starrocks.external.hive.HiveMetaCache;
+import com.starrocks.external.hive.HiveRepository;
+import com.starrocks.external.iceberg.io.IcebergCachingFileIO;
 import com.starrocks.load.EtlJobType;
 import com.starrocks.load.loadv2.JobState;
 import com.starrocks.load.loadv2.LoadManager;
@@ -50,6 +55,7 @@ import com.starrocks.proto.PKafkaOffsetProxyRequest;
 import com.starrocks.proto.PKafkaOffsetProxyResult;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.service.ExecuteEnv;
+import com.starrocks.sql.plan.PlanCache;
 import com.starrocks.system.Backend;
 import com.starrocks.system.SystemInfoService;
 import org.apache.logging.log4j.LogManager;
@@ -96,12 +102,21 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_RECEIVED_BYTES;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_ERROR_ROWS;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_PAUSED;
+    public static LongCounterMetric COUNTER_PLAN_CACHE_HIT;
+    public static LongCounterMetric COUNTER_PLAN_CACHE_MISS;
+    public static LongCounterMetric COUNTER_STREAM_LOAD_PLAN_CACHE_HIT;
+    public static LongCounterMetric COUNTER_STREAM_LOAD_PLAN_CACHE_MISS;
 
     public static Histogram HISTO_QUERY_LATENCY;
     public static Histogram HISTO_EDIT_LOG_WRITE_LATENCY;
+    public static Histogram HISTO_STREAM_LOAD_PLAN_LATENCY;
     public static Histogram HISTO_JOURNAL_WRITE_LATENCY;
     public static Histogram HISTO_JOURNAL_WRITE_BATCH;
     public static Histogram HISTO_JOURNAL_WRITE_BYTES;
+    public static Histogram HISTO_JOURNAL_COMMIT_LATENCY;
+    public static Histogram HISTO_JOURNAL_QUEUE_WAIT_LATENCY;
+    public static Histogram HISTO_QUERY_RESULT_ROWS_PER_SECOND;
+    public static Histogram HISTO_QUERY_RESULT_BYTES_PER_SECOND;
 
     // following metrics will be updated by metric calculator
     public static GaugeMetricImpl<Double> GAUGE_QUERY_PER_SECOND;
@@ -229,6 +244,44 @@ public final class MetricRepo {
         };
         STARROCKS_METRIC_REGISTER.addMetric(scheduledTabletNum);
 
+        GaugeMetric<Long> tabletCheckerCpuTime = new GaugeMetric<Long>(
+                "tablet_checker_cpu_time_ms", MetricUnit.MILLISECONDS, "cpu time of tablet checker") {
+            @Override
+            public Long getValue() {
+                if (!GlobalStateMgr.getCurrentState().isLeader()) {
+                    return 0L;
+                }
+                return GlobalStateMgr.getCurrentState().getTabletScheduler().getStat()
+                        .counterTabletCheckCpuTimeMs.get();
+            }
+        };
+        STARROCKS_METRIC_REGISTER.addMetric(tabletCheckerCpuTime);
+
+        GaugeMetric<Long> tabletCheckerLockHoldTime = new GaugeMetric<Long>(
+                "tablet_checker_lock_hold_time_ms", MetricUnit.MILLISECONDS, "db lock hold time of tablet checker") {
+            @Override
+            public Long getValue() {
+                if (!GlobalStateMgr.getCurrentState().isLeader()) {
+                    return 0L;
+                }
+                return GlobalStateMgr.getCurrentState().getTabletScheduler().getStat()
+                        .counterTabletCheckLockHoldMs.get();
+            }
+        };
+        STARROCKS_METRIC_REGISTER.addMetric(tabletCheckerLockHoldTime);
+
+        GaugeMetric<Long> tabletCheckerDirtyTabletNum = new GaugeMetric<Long>(
+                "tablet_checker_dirty_tablet_num", MetricUnit.NOUNIT, "number of dirty tablets to be checked") {
+            @Override
+            public Long getValue() {
+                if (!GlobalStateMgr.getCurrentState().isLeader()) {
+                    return 0L;
+                }
+                return GlobalStateMgr.getCurrentState().getTabletChecker().getDirtyTabletNum();
+            }
+        };
+        STARROCKS_METRIC_REGISTER.addMetric(tabletCheckerDirtyTabletNum);
+
         // routine load jobs
         RoutineLoadManager routineLoadManger = GlobalStateMgr.getCurrentState().getRoutineLoadManager();
         for (RoutineLoadJob.JobState state : RoutineLoadJob.JobState.values()) {
@@ -368,16 +421,92 @@ public final class MetricRepo {
                 "total error rows of routine load");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_ROUTINE_LOAD_ERROR_ROWS);
 
+        COUNTER_PLAN_CACHE_HIT =
+                new LongCounterMetric("plan_cache_hit", MetricUnit.REQUESTS, "counter of plan cache hit");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_PLAN_CACHE_HIT);
+        COUNTER_PLAN_CACHE_MISS =
+                new LongCounterMetric("plan_cache_miss", MetricUnit.REQUESTS, "counter of plan cache miss");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_PLAN_CACHE_MISS);
+        GaugeMetric<Long> planCacheBytes = new GaugeMetric<Long>("plan_cache_bytes", MetricUnit.BYTES,
+                "estimated memory of plan cache") {
+            @Override
+            public Long getValue() {
+                return PlanCache.getInstance().getEstimatedBytes();
+            }
+        };
+        STARROCKS_METRIC_REGISTER.addMetric(planCacheBytes);
+        COUNTER_STREAM_LOAD_PLAN_CACHE_HIT = new LongCounterMetric("stream_load_plan_cache_hit",
+                MetricUnit.REQUESTS, "counter of stream load plan cache hit");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_STREAM_LOAD_PLAN_CACHE_HIT);
+        COUNTER_STREAM_LOAD_PLAN_CACHE_MISS = new LongCounterMetric("stream_load_plan_cache_miss",
+                MetricUnit.REQUESTS, "counter of stream load plan cache miss");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_STREAM_LOAD_PLAN_CACHE_MISS);
+        GaugeMetric<Long> profileRetainedBytes = new GaugeMetric<Long>("profile_retained_bytes", MetricUnit.BYTES,
+                "compressed bytes of the retained query profiles") {
+            @Override
+            public Long getValue() {
+                return ProfileManager.getInstance().getRetainedBytes();
+            }
+        };
+        STARROCKS_METRIC_REGISTER.addMetric(profileRetainedBytes);
+        GaugeMetric<Long> profileRetainedNum = new GaugeMetric<Long>("profile_retained_num", MetricUnit.NOUNIT,
+                "number of the retained query profiles") {
+            @Override
+            public Long getValue() {
+                return (long) ProfileManager.getInstance().getProfileNum();
+            }
+        };
+        STARROCKS_METRIC_REGISTER.addMetric(profileRetainedNum);
+        for (String tier : new String[] {"memory", "disk"}) {
+            boolean isMemory = tier.equals("memory");
+            GaugeMetric<Double> hitRate = new GaugeMetric<Double>("iceberg_metadata_cache_hit_rate",
+                    MetricUnit.PERCENT, "hit rate of iceberg metadata cache") {
+                @Override
+                public Double getValue() {
+                    IcebergCachingFileIO.ContentCache cache = IcebergCachingFileIO.getSharedContentCacheIfCreated();
+                    if (cache == null) {
+                        return 0.0;
+                    }
+                    return isMemory ? cache.memoryHitRate() : cache.diskHitRate();
+                }
+            };
+            hitRate.addLabel(new MetricLabel("tier", tier));
+            STARROCKS_METRIC_REGISTER.addMetric(hitRate);
+            GaugeMetric<Long> cacheBytes = new GaugeMetric<Long>("iceberg_metadata_cache_bytes", MetricUnit.BYTES,
+                    "bytes of iceberg metadata cache") {
+                @Override
+                public Long getValue() {
+                    IcebergCachingFileIO.ContentCache cache = IcebergCachingFileIO.getSharedContentCacheIfCreated();
+                    if (cache == null) {
+                        return 0L;
+                    }
+                    return isMemory ? cache.memoryBytes() : cache.diskBytes();
+                }
+            };
+            cacheBytes.addLabel(new MetricLabel("tier", tier));
+            STARROCKS_METRIC_REGISTER.addMetric(cacheBytes);
+        }
+
         // 3. histogram
         HISTO_QUERY_LATENCY = METRIC_REGISTER.histogram(MetricRegistry.name("query", "latency", "ms"));
+        HISTO_QUERY_RESULT_ROWS_PER_SECOND =
+                METRIC_REGISTER.histogram(MetricRegistry.name("query", "result", "rows", "per", "second"));
+        HISTO_QUERY_RESULT_BYTES_PER_SECOND =
+                METRIC_REGISTER.histogram(MetricRegistry.name("query", "result", "bytes", "per", "second"));
         HISTO_EDIT_LOG_WRITE_LATENCY =
                 METRIC_REGISTER.histogram(MetricRegistry.name("editlog", "write", "latency", "ms"));
+        HISTO_STREAM_LOAD_PLAN_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("stream_load", "plan", "latency", "ms"));
         HISTO_JOURNAL_WRITE_LATENCY =
                 METRIC_REGISTER.histogram(MetricRegistry.name("journal", "write", "latency", "ms"));
         HISTO_JOURNAL_WRITE_BATCH =
                 METRIC_REGISTER.histogram(MetricRegistry.name("journal", "write", "batch"));
         HISTO_JOURNAL_WRITE_BYTES =
                 METRIC_REGISTER.histogram(MetricRegistry.name("journal", "write", "bytes"));
+        HISTO_JOURNAL_COMMIT_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("journal", "commit", "latency", "ms"));
+        HISTO_JOURNAL_QUEUE_WAIT_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("journal", "queue", "wait", "latency", "ms"));
 
         // init system metrics
         initSystemMetrics();
@@ -521,6 +650,8 @@ public final class MetricRepo {
             collectRoutineLoadProcessMetrics(visitor);
         }
 
+        collectHiveMetaCacheMetrics(visitor);
+
         // node info
         visitor.getNodeInfo();
         return visitor.build();
@@ -561,6 +692,39 @@ public final class MetricRepo {
         }
     }
 
+    // collect the stats of hive meta caches, labeled by catalog and cache
+    private static void collectHiveMetaCacheMetrics(MetricVisitor visitor) {
+        HiveRepository hiveRepository = GlobalStateMgr.getCurrentState().getHiveRepository();
+        if (hiveRepository == null) {
+            return;
+        }
+        for (HiveMetaCache metaCache : hiveRepository.getMetaCaches()) {
+            String catalog = String.valueOf(metaCache.getResourceName());
+            for (Map.Entry<String, CacheStats> entry : metaCache.getCacheStats().entrySet()) {
+                CacheStats stats = entry.getValue();
+                visitHiveMetaCacheMetric(visitor, "hive_meta_cache_hit", MetricUnit.REQUESTS,
+                        "counter of hive meta cache hit", catalog, entry.getKey(), stats.hitCount());
+                visitHiveMetaCacheMetric(visitor, "hive_meta_cache_miss", MetricUnit.REQUESTS,
+                        "counter of hive meta cache miss", catalog, entry.getKey(), stats.missCount());
+                visitHiveMetaCacheMetric(visitor, "hive_meta_cache_load_fail", MetricUnit.REQUESTS,
+                        "counter of hive meta cache load failures", catalog, entry.getKey(),
+                        stats.loadExceptionCount());
+                visitHiveMetaCacheMetric(visitor, "hive_meta_cache_load_latency", MetricUnit.MILLISECONDS,
+                        "average latency of loading hive meta cache from metastore", catalog, entry.getKey(),
+                        TimeUnit.NANOSECONDS.toMillis((long) stats.averageLoadPenalty()));
+            }
+        }
+    }
+
+    private static void visitHiveMetaCacheMetric(MetricVisitor visitor, String name, MetricUnit unit,
+                                                 String description, String catalog, String cache, long value) {
+        GaugeMetricImpl<Long> metric = new GaugeMetricImpl<>(name, unit, description);
+        metric.addLabel(new MetricLabel("catalog", catalog));
+        metric.addLabel(new MetricLabel("cache", cache));
+        metric.setValue(value);
+        visitor.visit(metric);
+    }
+
     private static void collectRoutineLoadProcessMetrics(MetricVisitor visitor) {
         List<RoutineLoadJob> jobs = GlobalStateMgr.getCurrentState().getRoutineLoadManager().getRoutineLoadJobByState(
                 Sets.newHashSet(RoutineLoadJob.JobState.NEED_SCHEDULE, RoutineLoadJob.JobState.RUNNING));
@@ -641,5 +805,9 @@ public final class MetricRepo {
         init();
         STARROCKS_METRIC_REGISTER.addMetric(metric);
     }
+
+    public static void removeMetric(Metric<?> metric) {
+        STARROCKS_METRIC_REGISTER.removeMetric(metric);
+    }
 }
 
@@ -0,0 +1,94 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.metric;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.starrocks.catalog.Database;
+import com.starrocks.server.GlobalStateMgr;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The metrics of transactions for every database.
+ */
+public class TransactionMetricMgr {
+    private static final Logger LOG = LogManager.getLogger(TransactionMetricMgr.class);
+
+    private static final String TXN_PUBLISH_LATENCY = "txn_publish_latency";
+    private static final String TXN_LOCK_WAIT_TIME = "txn_lock_wait_time";
+    private static final ConcurrentHashMap<Long, DbTransactionMetrics> DB_METRICS_MAP = new ConcurrentHashMap<>();
+
+    //starrocks_fe_txn_publish_latency, the latency from commit to visible
+    public static void updatePublishLatency(long dbId, long latencyMs) {
+        if (!MetricRepo.isInit) {
+            return;
+        }
+        getDbMetrics(dbId).publishLatency.update(latencyMs);
+    }
+
+    //starrocks_fe_txn_lock_wait_time, the sampled time waiting for the transaction lock of database
+    public static void updateLockWaitTime(long dbId, long waitTimeUs) {
+        if (!MetricRepo.isInit) {
+            return;
+        }
+        getDbMetrics(dbId).lockWaitTime.update(waitTimeUs);
+    }
+
+    // Called when the database is dropped, the metrics are added again if it's recovered
+    public static void removeDbMetrics(long dbId) {
+        DbTransactionMetrics metrics = DB_METRICS_MAP.remove(dbId);
+        if (metrics != null) {
+            metrics.metrics.forEach(MetricRepo::removeMetric);
+            LOG.info("Remove transaction metrics of db {}", dbId);
+        }
+    }
+
+    private static DbTransactionMetrics getDbMetrics(long dbId) {
+        DbTransactionMetrics metrics = DB_METRICS_MAP.get(dbId);
+        if (metrics == null) {
+            metrics = DB_METRICS_MAP.computeIfAbsent(dbId, DbTransactionMetrics::new);
+        }
+        return metrics;
+    }
+
+    private static final class DbTransactionMetrics {
+        private final Histogram publishLatency = new Histogram(new ExponentiallyDecayingReservoir());
+        private final Histogram lockWaitTime = new Histogram(new ExponentiallyDecayingReservoir());
+        private final List<Metric<?>> metrics = new ArrayList<>();
+
+        private DbTransactionMetrics(long dbId) {
+            Database db = GlobalStateMgr.getCurrentState().getDb(dbId);
+            String dbName = db == null ? String.valueOf(dbId) : db.getOriginName();
+            addQuantileMetrics(TXN_PUBLISH_LATENCY, Metric.MetricUnit.MILLISECONDS,
+                    "the latency from commit to visible of transactions", dbName, publishLatency);
+            addQuantileMetrics(TXN_LOCK_WAIT_TIME, Metric.MetricUnit.MICROSECONDS,
+                    "the sampled time waiting for the transaction lock", dbName, lockWaitTime);
+            LOG.info("Add transaction metrics, db name is {}", dbName);
+        }
+
+        private void addQuantileMetrics(String name, Metric.MetricUnit unit, String description,
+                                               String dbName, Histogram histogram) {
+            addQuantileMetric(name, unit, description, dbName, histogram, "50_quantile", 0.5);
+            addQuantileMetric(name, unit, description, dbName, histogram, "99_quantile", 0.99);
+        }
+
+        private void addQuantileMetric(String name, Metric.MetricUnit unit, String description,
+                                              String dbName, Histogram histogram, String type, double quantile) {
+            GaugeMetric<Double> metric = new GaugeMetric<Double>(name, unit, type + " of " + description) {
+                @Override
+                public Double getValue() {
+                    return histogram.getSnapshot().getValue(quantile);
+                }
+            };
+            metric.addLabel(new MetricLabel("db", dbName));
+            metric.addLabel(new MetricLabel("type", type));
+            MetricRepo.addMetric(metric);
+            metrics.add(metric);
+        }
+    }
+}
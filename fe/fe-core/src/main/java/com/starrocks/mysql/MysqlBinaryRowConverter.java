@@ -0,0 +1,163 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.mysql;
+
+import com.starrocks.catalog.Type;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Convert the result rows of text protocol sent by backends to the binary protocol of prepared statements.
+ * <p>
+ * Text row: a length encoded string of every column, 0xFB for NULL.
+ * Binary row: header 0x00, null bitmap with an offset of 2 bits, and values of non-null columns
+ * encoded by the column types sent in the column definitions.
+ */
+public class MysqlBinaryRowConverter {
+    private static final int NULL_VALUE = 0xFB;
+
+    private final MysqlColType[] colTypes;
+    private final MysqlSerializer serializer = MysqlSerializer.newInstance();
+
+    public MysqlBinaryRowConverter(List<Type> types) {
+        colTypes = new MysqlColType[types.size()];
+        for (int i = 0; i < types.size(); i++) {
+            colTypes[i] = types.get(i).getMysqlResultType();
+        }
+    }
+
+    public ByteBuffer convert(ByteBuffer textRow) {
+        int numCols = colTypes.length;
+        byte[] nullBitmap = new byte[(numCols + 9) / 8];
+        String[] values = new String[numCols];
+        for (int i = 0; i < numCols; i++) {
+            if ((textRow.get(textRow.position()) & 0xFF) == NULL_VALUE) {
+                textRow.get();
+                int bit = i + 2;
+                nullBitmap[bit / 8] |= (byte) (1 << (bit % 8));
+            } else {
+                values[i] = new String(MysqlProto.readLenEncodedString(textRow), StandardCharsets.UTF_8);
+            }
+        }
+
+        serializer.reset();
+        serializer.writeInt1(0x00);
+        serializer.writeBytes(nullBitmap);
+        for (int i = 0; i < numCols; i++) {
+            if (values[i] != null) {
+                writeValue(colTypes[i], values[i]);
+            }
+        }
+        return serializer.toByteBuffer();
+    }
+
+    private void writeValue(MysqlColType type, String value) {
+        switch (type) {
+            case MYSQL_TYPE_TINY:
+                if (value.equalsIgnoreCase("true")) {
+                    serializer.writeInt1(1);
+                } else if (value.equalsIgnoreCase("false")) {
+                    serializer.writeInt1(0);
+                } else {
+                    serializer.writeInt1(Integer.parseInt(value));
+                }
+                break;
+            case MYSQL_TYPE_SHORT:
+                serializer.writeInt2(Integer.parseInt(value));
+                break;
+            case MYSQL_TYPE_LONG:
+                serializer.writeInt4(Integer.parseInt(value));
+                break;
+            case MYSQL_TYPE_LONGLONG:
+                serializer.writeInt8(Long.parseLong(value));
+                break;
+            case MYSQL_TYPE_FLOAT:
+                serializer.writeInt4(Float.floatToIntBits(parseFloat(value)));
+                break;
+            case MYSQL_TYPE_DOUBLE:
+                serializer.writeInt8(Double.doubleToLongBits(parseDouble(value)));
+                break;
+            case MYSQL_TYPE_DATE:
+                writeDate(value);
+                break;
+            case MYSQL_TYPE_DATETIME:
+                writeDateTime(value);
+                break;
+            case MYSQL_TYPE_TIME:
+                writeTime(value);
+                break;
+            default:
+                serializer.writeLenEncodedString(value);
+                break;
+        }
+    }
+
+    private static float parseFloat(String value) {
+        return (float) parseDouble(value);
+    }
+
+    private static double parseDouble(String value) {
+        switch (value.toLowerCase()) {
+            case "inf":
+                return Double.POSITIVE_INFINITY;
+            case "-inf":
+                return Double.NEGATIVE_INFINITY;
+            case "nan":
+                return Double.NaN;
+            default:
+                return Double.parseDouble(value);
+        }
+    }
+
+    // yyyy-MM-dd
+    private void writeDate(String value) {
+        serializer.writeInt1(4);
+        serializer.writeInt2(Integer.parseInt(value.substring(0, 4)));
+        serializer.writeInt1(Integer.parseInt(value.substring(5, 7)));
+        serializer.writeInt1(Integer.parseInt(value.substring(8, 10)));
+    }
+
+    // yyyy-MM-dd HH:mm:ss[.SSSSSS]
+    private void writeDateTime(String value) {
+        int microsecond = value.length() > 20 ? parseMicrosecond(value.substring(20)) : 0;
+        serializer.writeInt1(microsecond == 0 ? 7 : 11);
+        serializer.writeInt2(Integer.parseInt(value.substring(0, 4)));
+        serializer.writeInt1(Integer.parseInt(value.substring(5, 7)));
+        serializer.writeInt1(Integer.parseInt(value.substring(8, 10)));
+        serializer.writeInt1(Integer.parseInt(value.substring(11, 13)));
+        serializer.writeInt1(Integer.parseInt(value.substring(14, 16)));
+        serializer.writeInt1(Integer.parseInt(value.substring(17, 19)));
+        if (microsecond != 0) {
+            serializer.writeInt4(microsecond);
+        }
+    }
+
+    // [-]HH:mm:ss[.SSSSSS], the hours may be larger than 24
+    private void writeTime(String value) {
+        boolean negative = value.startsWith("-");
+        String time = negative ? value.substring(1) : value;
+        int dot = time.indexOf('.');
+        int microsecond = dot < 0 ? 0 : parseMicrosecond(time.substring(dot + 1));
+        String[] parts = (dot < 0 ? time : time.substring(0, dot)).split(":");
+        long hours = Long.parseLong(parts[0]);
+        serializer.writeInt1(microsecond == 0 ? 8 : 12);
+        serializer.writeInt1(negative ? 1 : 0);
+        serializer.writeInt4((int) (hours / 24));
+        serializer.writeInt1((int) (hours % 24));
+        serializer.writeInt1(Integer.parseInt(parts[1]));
+        serializer.writeInt1(Integer.parseInt(parts[2]));
+        if (microsecond != 0) {
+            serializer.writeInt4(microsecond);
+        }
+    }
+
+    private static int parseMicrosecond(String fraction) {
+        StringBuilder sb = new StringBuilder(fraction);
+        while (sb.length() < 6) {
+            sb.append('0');
+        }
+        return Integer.parseInt(sb.substring(0, 6));
+    }
+}
@@ -196,7 +196,6 @@ public class MysqlChannel {
             throw new IOException("Write mysql packet failed.[write=" + writeLen
                     + ", needToWrite=" + bufLen + "]");
         }
-        channel.write(buffer);
         isSend = true;
     }
 
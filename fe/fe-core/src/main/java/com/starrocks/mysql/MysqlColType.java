@@ -21,6 +21,10 @@
 
 package com.starrocks.mysql;
 
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+
 // MySQL column type
 // TYPE codes are defined in the file 'mysql/include/mysql_com.h' enum enum_field_types
 // which is also demostrated in 
@@ -57,6 +61,14 @@ public enum MysqlColType {
     MYSQL_TYPE_STRING(254, "STRING"),
     MYSQL_TYPE_GEOMETRY(255, "GEOMETRY");
 
+    private static final Map<Integer, MysqlColType> CODE_MAP = Maps.newHashMap();
+
+    static {
+        for (MysqlColType type : values()) {
+            CODE_MAP.put(type.code, type);
+        }
+    }
+
     private MysqlColType(int code, String desc) {
         this.code = code;
         this.desc = desc;
@@ -70,6 +82,10 @@ public enum MysqlColType {
         return code;
     }
 
+    public static MysqlColType fromCode(int code) {
+        return CODE_MAP.get(code);
+    }
+
     @Override
     public String toString() {
         return desc;
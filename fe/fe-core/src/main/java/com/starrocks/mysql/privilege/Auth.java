@@ -98,6 +98,8 @@ public class Auth implements Writable {
 
     private ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
     private Class<?> authClazz = null;
+    // replaced on every change of the priv tables, see PrivCache
+    private volatile PrivCache privCache = new PrivCache();
 
     private void readLock() {
         lock.readLock().lock();
@@ -112,9 +114,19 @@ public class Auth implements Writable {
     }
 
     private void writeUnlock() {
+        // the priv tables may be changed, the new privileges are resolved again after the write lock is released
+        privCache = new PrivCache();
         lock.writeLock().unlock();
     }
 
+    // return null if the privilege cache is disabled
+    private PrivCache.UserPrivs getCachedUserPrivs(UserIdentity currentUser) {
+        if (!Config.enable_auth_priv_cache || currentUser == null) {
+            return null;
+        }
+        return privCache.getUserPrivs(currentUser);
+    }
+
     public enum PrivLevel {
         GLOBAL, DATABASE, TABLE, RESOURCE
     }
@@ -377,6 +389,14 @@ public class Auth implements Writable {
      * if so, the database should be visible to this user.
      */
     private boolean checkTblWithDb(UserIdentity currentUser, String db) {
+        PrivCache.UserPrivs cachedPrivs = getCachedUserPrivs(currentUser);
+        if (cachedPrivs != null) {
+            return cachedPrivs.hasTblPrivsOfDb(db, k -> loadTblWithDb(currentUser, k));
+        }
+        return loadTblWithDb(currentUser, db);
+    }
+
+    private boolean loadTblWithDb(UserIdentity currentUser, String db) {
         readLock();
         try {
             return tablePrivTable.hasPrivsOfDb(currentUser, db);
@@ -502,58 +522,90 @@ public class Auth implements Writable {
     }
 
     private boolean checkGlobalInternal(UserIdentity currentUser, PrivPredicate wanted, PrivBitSet savedPrivs) {
+        PrivCache.UserPrivs cachedPrivs = getCachedUserPrivs(currentUser);
+        if (cachedPrivs != null) {
+            savedPrivs.or(cachedPrivs.getGlobalPrivs(() -> loadGlobalPrivs(currentUser)));
+        } else {
+            savedPrivs.or(loadGlobalPrivs(currentUser));
+        }
+        return Privilege.satisfy(savedPrivs, wanted);
+    }
+
+    private boolean checkDbInternal(UserIdentity currentUser, String db, PrivPredicate wanted,
+                                    PrivBitSet savedPrivs) {
+        PrivCache.UserPrivs cachedPrivs = getCachedUserPrivs(currentUser);
+        if (cachedPrivs != null && db != null) {
+            savedPrivs.or(cachedPrivs.getDbPrivs(db, k -> loadDbPrivs(currentUser, k)));
+        } else {
+            savedPrivs.or(loadDbPrivs(currentUser, db));
+        }
+        return Privilege.satisfy(savedPrivs, wanted);
+    }
+
+    private boolean checkTblInternal(UserIdentity currentUser, String db, String tbl,
+                                     PrivPredicate wanted, PrivBitSet savedPrivs) {
+        PrivCache.UserPrivs cachedPrivs = getCachedUserPrivs(currentUser);
+        if (cachedPrivs != null && db != null && tbl != null) {
+            savedPrivs.or(cachedPrivs.getTblPrivs(db, tbl, k -> loadTblPrivs(currentUser, db, k)));
+        } else {
+            savedPrivs.or(loadTblPrivs(currentUser, db, tbl));
+        }
+        return Privilege.satisfy(savedPrivs, wanted);
+    }
+
+    private boolean checkResourceInternal(UserIdentity currentUser, String resourceName,
+                                          PrivPredicate wanted, PrivBitSet savedPrivs) {
+        PrivCache.UserPrivs cachedPrivs = getCachedUserPrivs(currentUser);
+        if (cachedPrivs != null && resourceName != null) {
+            savedPrivs.or(cachedPrivs.getResourcePrivs(resourceName, k -> loadResourcePrivs(currentUser, k)));
+        } else {
+            savedPrivs.or(loadResourcePrivs(currentUser, resourceName));
+        }
+        return Privilege.satisfy(savedPrivs, wanted);
+    }
+
+    private PrivBitSet loadGlobalPrivs(UserIdentity currentUser) {
+        PrivBitSet privs = PrivBitSet.of();
         readLock();
         try {
-            userPrivTable.getPrivs(currentUser, savedPrivs);
-            if (Privilege.satisfy(savedPrivs, wanted)) {
-                return true;
-            }
-            return false;
+            userPrivTable.getPrivs(currentUser, privs);
         } finally {
             readUnlock();
         }
+        return privs;
     }
 
-    private boolean checkDbInternal(UserIdentity currentUser, String db, PrivPredicate wanted,
-                                    PrivBitSet savedPrivs) {
+    private PrivBitSet loadDbPrivs(UserIdentity currentUser, String db) {
+        PrivBitSet privs = PrivBitSet.of();
         readLock();
         try {
-            dbPrivTable.getPrivs(currentUser, db, savedPrivs);
-            if (Privilege.satisfy(savedPrivs, wanted)) {
-                return true;
-            }
+            dbPrivTable.getPrivs(currentUser, db, privs);
         } finally {
             readUnlock();
         }
-        return false;
+        return privs;
     }
 
-    private boolean checkTblInternal(UserIdentity currentUser, String db, String tbl,
-                                     PrivPredicate wanted, PrivBitSet savedPrivs) {
+    private PrivBitSet loadTblPrivs(UserIdentity currentUser, String db, String tbl) {
+        PrivBitSet privs = PrivBitSet.of();
         readLock();
         try {
-            tablePrivTable.getPrivs(currentUser, db, tbl, savedPrivs);
-            if (Privilege.satisfy(savedPrivs, wanted)) {
-                return true;
-            }
-            return false;
+            tablePrivTable.getPrivs(currentUser, db, tbl, privs);
         } finally {
             readUnlock();
         }
+        return privs;
     }
 
-    private boolean checkResourceInternal(UserIdentity currentUser, String resourceName,
-                                          PrivPredicate wanted, PrivBitSet savedPrivs) {
+    private PrivBitSet loadResourcePrivs(UserIdentity currentUser, String resourceName) {
+        PrivBitSet privs = PrivBitSet.of();
         readLock();
         try {
-            resourcePrivTable.getPrivs(currentUser, resourceName, savedPrivs);
-            if (Privilege.satisfy(savedPrivs, wanted)) {
-                return true;
-            }
-            return false;
+            resourcePrivTable.getPrivs(currentUser, resourceName, privs);
         } finally {
             readUnlock();
         }
+        return privs;
     }
 
     // for test only
@@ -562,6 +614,7 @@ public class Auth implements Writable {
         dbPrivTable.clear();
         tablePrivTable.clear();
         resourcePrivTable.clear();
+        privCache = new PrivCache();
     }
 
     // create user
@@ -1702,6 +1755,7 @@ public class Auth implements Writable {
             resourcePrivTable = (ResourcePrivTable) PrivTable.read(in);
         }
         propertyMgr = UserPropertyMgr.read(in);
+        privCache = new PrivCache();
 
         if (userPrivTable.isEmpty()) {
             // init root and admin user
@@ -0,0 +1,100 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.mysql.privilege;
+
+import com.starrocks.analysis.UserIdentity;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * PrivCache keeps the privileges resolved from the priv tables for every user identity, so checking the privileges
+ * of a user on the same database or table again is a hash lookup, without matching the patterns of all the priv
+ * entries of the user under the lock of {@link Auth}.
+ * <p>
+ * The privileges of a database or table are resolved on the first check, the patterns in priv entries can not be
+ * expanded to all the databases and tables in advance. The cached privileges are never changed. Auth replaces the
+ * whole cache with an empty one on every change of the priv tables, before releasing its write lock. The entries
+ * are resolved under the read lock of Auth, so a stale entry can only be put into a cache which has been replaced.
+ */
+public class PrivCache {
+    // stop caching the privileges of a user if too many databases and tables are checked,
+    // e.g. the user accesses all the tables of a large cluster.
+    private static final int MAX_ENTRY_NUM_PER_USER = 100000;
+
+    private final Map<UserIdentity, UserPrivs> userPrivs = new ConcurrentHashMap<>();
+
+    public UserPrivs getUserPrivs(UserIdentity currentUser) {
+        return userPrivs.computeIfAbsent(currentUser, k -> new UserPrivs());
+    }
+
+    /**
+     * The privileges of a user identity, the privileges of a level don't include the ones of higher levels,
+     * e.g. the db privileges don't include the global privileges, same as the priv tables.
+     */
+    public static class UserPrivs {
+        private volatile PrivBitSet globalPrivs;
+        private final Map<String, PrivBitSet> dbPrivs = new ConcurrentHashMap<>();
+        // db -> tbl -> privs
+        private final Map<String, Map<String, PrivBitSet>> tblPrivs = new ConcurrentHashMap<>();
+        // db -> has privileges of any table in db
+        private final Map<String, Boolean> hasTblPrivsOfDb = new ConcurrentHashMap<>();
+        private final Map<String, PrivBitSet> resourcePrivs = new ConcurrentHashMap<>();
+        private volatile int entryNum = 0;
+
+        public PrivBitSet getGlobalPrivs(Supplier<PrivBitSet> loader) {
+            PrivBitSet privs = globalPrivs;
+            if (privs == null) {
+                privs = loader.get();
+                globalPrivs = privs;
+            }
+            return privs;
+        }
+
+        public PrivBitSet getDbPrivs(String db, Function<String, PrivBitSet> loader) {
+            return get(dbPrivs, db, loader);
+        }
+
+        public PrivBitSet getTblPrivs(String db, String tbl, Function<String, PrivBitSet> loader) {
+            Map<String, PrivBitSet> privsOfDb = tblPrivs.get(db);
+            if (privsOfDb == null) {
+                if (entryNum >= MAX_ENTRY_NUM_PER_USER) {
+                    return loader.apply(tbl);
+                }
+                privsOfDb = tblPrivs.computeIfAbsent(db, k -> new ConcurrentHashMap<>());
+            }
+            return get(privsOfDb, tbl, loader);
+        }
+
+        public boolean hasTblPrivsOfDb(String db, Function<String, Boolean> loader) {
+            Boolean hasPrivs = hasTblPrivsOfDb.get(db);
+            if (hasPrivs == null) {
+                hasPrivs = loader.apply(db);
+                if (entryNum < MAX_ENTRY_NUM_PER_USER) {
+                    hasTblPrivsOfDb.put(db, hasPrivs);
+                    entryNum++;
+                }
+            }
+            return hasPrivs;
+        }
+
+        public PrivBitSet getResourcePrivs(String resourceName, Function<String, PrivBitSet> loader) {
+            return get(resourcePrivs, resourceName, loader);
+        }
+
+        private PrivBitSet get(Map<String, PrivBitSet> cache, String key, Function<String, PrivBitSet> loader) {
+            PrivBitSet privs = cache.get(key);
+            if (privs == null) {
+                privs = loader.apply(key);
+                if (entryNum < MAX_ENTRY_NUM_PER_USER) {
+                    cache.put(key, privs);
+                    // not accurate under concurrent updates, it's only a soft limit
+                    entryNum++;
+                }
+            }
+            return privs;
+        }
+    }
+}
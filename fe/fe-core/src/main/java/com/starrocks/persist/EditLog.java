@@ -69,6 +69,7 @@ import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.server.LocalMetastore;
 import com.starrocks.staros.StarMgrJournal;
 import com.starrocks.staros.StarMgrServer;
+import com.starrocks.sql.plan.PlanCache;
 import com.starrocks.statistic.AnalyzeJob;
 import com.starrocks.statistic.AnalyzeStatus;
 import com.starrocks.statistic.BasicStatsMeta;
@@ -880,6 +881,7 @@ public class EditLog {
                     }
                 }
             }
+            PlanCache.getInstance().onJournal(opCode, journal.getData());
         } catch (Exception e) {
             LOG.error("Operation Type {}", opCode, e);
             System.exit(-1);
@@ -895,15 +897,28 @@ public class EditLog {
         boolean result = waitInfinity(task);
         // for now if journal writer fails, it will exit directly, so this function should always return true.
         assert (result == true);
+        PlanCache.getInstance().onJournal(op, writable);
         if (MetricRepo.isInit) {
             MetricRepo.HISTO_EDIT_LOG_WRITE_LATENCY.update((System.nanoTime() - start) / 1000000);
         }
     }
 
+    /**
+     * submit log to queue and return once it's enqueued, without waiting for JournalWriter to commit it.
+     * The caller can wait on the returned future when it needs the log to be durable.
+     * The log is lost if the leader exits before it's committed, so don't reply to the client depending on it.
+     */
+    protected Future<Boolean> logEditWithoutWait(short op, Writable writable) {
+        JournalTask task = submitLog(op, writable, -1);
+        // like logEdit, the plans are invalidated only when the log is durable
+        task.addSuccessCallback(() -> PlanCache.getInstance().onJournal(op, writable));
+        return task;
+    }
+
     /**
      * submit log in queue and return immediately
      */
-    private Future<Boolean> submitLog(short op, Writable writable, long maxWaitIntervalMs) {
+    private JournalTask submitLog(short op, Writable writable, long maxWaitIntervalMs) {
         DataOutputBuffer buffer = new DataOutputBuffer(OUTPUT_BUFFER_INIT_SIZE);
 
         // 1. serialized
@@ -0,0 +1,52 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.persist;
+
+import com.google.common.io.CountingInputStream;
+import com.starrocks.common.DdlException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * ImageLoader reads the image sections in order with a large buffer, and reports the
+ * cost, bytes and heap usage of every section.
+ */
+public class ImageLoader implements AutoCloseable {
+    private static final Logger LOG = LogManager.getLogger(ImageLoader.class);
+
+    public interface SectionLoader {
+        long load(DataInputStream dis, long checksum) throws IOException, DdlException;
+    }
+
+    private final CountingInputStream cis;
+    private final DataInputStream dis;
+
+    public ImageLoader(File file) throws IOException {
+        this.cis = new CountingInputStream(new BufferedInputStream(new FileInputStream(file), ImageWriter.BUFFER_SIZE));
+        this.dis = new DataInputStream(cis);
+    }
+
+    public DataInputStream getInputStream() {
+        return dis;
+    }
+
+    public long load(String name, SectionLoader loader, long checksum) throws IOException, DdlException {
+        long start = System.currentTimeMillis();
+        long startBytes = cis.getCount();
+        checksum = loader.load(dis, checksum);
+        LOG.info("load image section {}, bytes: {}, cost: {} ms, heap used: {} bytes", name,
+                cis.getCount() - startBytes, System.currentTimeMillis() - start, ImageWriter.getHeapUsed());
+        return checksum;
+    }
+
+    @Override
+    public void close() throws IOException {
+        dis.close();
+    }
+}
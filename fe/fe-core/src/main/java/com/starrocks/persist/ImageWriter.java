@@ -0,0 +1,209 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.persist;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.CountingOutputStream;
+import com.starrocks.common.ThreadPoolManager;
+import com.starrocks.meta.MetaContext;
+import com.starrocks.server.GlobalStateMgr;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * ImageWriter writes the image sections in order, the image format is the same as the
+ * sequential writing.
+ * <p>
+ * The checksum of image is the xor of all the values, so every section can be serialized
+ * independently with 0 as the initial checksum. When parallelism is greater than 1, the
+ * sections are serialized concurrently into their own temporary files, and then appended to
+ * image file by file channel in order.
+ */
+public class ImageWriter {
+    private static final Logger LOG = LogManager.getLogger(ImageWriter.class);
+
+    public static final int BUFFER_SIZE = 1024 * 1024;
+
+    public interface SectionSaver {
+        long save(DataOutputStream dos, long checksum) throws IOException;
+    }
+
+    private static class Section {
+        private final String name;
+        // null means the section only writes the current checksum
+        private final SectionSaver saver;
+        private long checksum;
+        private long bytes;
+        private long costMs;
+        private long heapUsed;
+        private File tmpFile;
+
+        Section(String name, SectionSaver saver) {
+            this.name = name;
+            this.saver = saver;
+        }
+
+        boolean isChecksum() {
+            return saver == null;
+        }
+    }
+
+    private final List<Section> sections = Lists.newArrayList();
+
+    public ImageWriter addSection(String name, SectionSaver saver) {
+        sections.add(new Section(name, saver));
+        return this;
+    }
+
+    public ImageWriter addChecksum() {
+        sections.add(new Section("checksum", null));
+        return this;
+    }
+
+    /**
+     * Write all the sections to file, return the final checksum
+     */
+    public long write(File file, int parallelism) throws IOException {
+        long checksum;
+        if (parallelism <= 1) {
+            checksum = writeSequentially(file);
+        } else {
+            checksum = writeInParallel(file, parallelism);
+        }
+        for (Section section : sections) {
+            if (!section.isChecksum()) {
+                LOG.info("save image section {}, bytes: {}, cost: {} ms, heap used: {} bytes", section.name,
+                        section.bytes, section.costMs, section.heapUsed);
+            }
+        }
+        return checksum;
+    }
+
+    private long writeSequentially(File file) throws IOException {
+        long checksum = 0;
+        try (CountingOutputStream cos = new CountingOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+                DataOutputStream dos = new DataOutputStream(cos)) {
+            for (Section section : sections) {
+                if (section.isChecksum()) {
+                    dos.writeLong(checksum);
+                    continue;
+                }
+                long start = System.currentTimeMillis();
+                long startBytes = cos.getCount();
+                checksum = section.saver.save(dos, checksum);
+                dos.flush();
+                section.costMs = System.currentTimeMillis() - start;
+                section.bytes = cos.getCount() - startBytes;
+                section.heapUsed = getHeapUsed();
+            }
+        }
+        return checksum;
+    }
+
+    private long writeInParallel(File file, int parallelism) throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        boolean isCheckpoint = GlobalStateMgr.isCheckpointThread();
+        MetaContext metaContext = MetaContext.get();
+        ThreadPoolExecutor executor = ThreadPoolManager.newDaemonFixedThreadPool(parallelism, sections.size(),
+                "image-writer", false);
+        try {
+            List<Future<?>> futures = Lists.newArrayList();
+            for (int i = 0; i < sections.size(); i++) {
+                Section section = sections.get(i);
+                if (section.isChecksum()) {
+                    continue;
+                }
+                section.tmpFile = new File(dir, file.getName() + ".part." + i);
+                futures.add(executor.submit(() -> {
+                    saveSection(section, isCheckpoint, metaContext);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new IOException("failed to save image section", e);
+                }
+            }
+
+            long checksum = 0;
+            try (FileChannel out = new FileOutputStream(file).getChannel()) {
+                ByteBuffer checksumBuffer = ByteBuffer.allocate(Long.BYTES);
+                for (Section section : sections) {
+                    if (section.isChecksum()) {
+                        checksumBuffer.clear();
+                        checksumBuffer.putLong(checksum);
+                        checksumBuffer.flip();
+                        while (checksumBuffer.hasRemaining()) {
+                            out.write(checksumBuffer);
+                        }
+                        continue;
+                    }
+                    checksum ^= section.checksum;
+                    try (FileChannel in = new FileInputStream(section.tmpFile).getChannel()) {
+                        long position = 0;
+                        long size = in.size();
+                        while (position < size) {
+                            position += in.transferTo(position, size - position, out);
+                        }
+                    }
+                }
+                out.force(true);
+            }
+            return checksum;
+        } finally {
+            executor.shutdownNow();
+            for (Section section : sections) {
+                if (section.tmpFile != null && section.tmpFile.exists() && !section.tmpFile.delete()) {
+                    LOG.warn("failed to delete tmp image file {}", section.tmpFile.getAbsolutePath());
+                }
+            }
+        }
+    }
+
+    private void saveSection(Section section, boolean isCheckpoint, MetaContext metaContext) throws IOException {
+        // the section must be saved from the checkpoint catalog if called by checkpoint thread
+        long threadId = Thread.currentThread().getId();
+        if (isCheckpoint) {
+            GlobalStateMgr.addCheckpointWorkerThread(threadId);
+        }
+        if (metaContext != null) {
+            metaContext.setThreadLocalInfo();
+        }
+        try (CountingOutputStream cos = new CountingOutputStream(
+                new BufferedOutputStream(new FileOutputStream(section.tmpFile), BUFFER_SIZE));
+                DataOutputStream dos = new DataOutputStream(cos)) {
+            long start = System.currentTimeMillis();
+            section.checksum = section.saver.save(dos, 0);
+            dos.flush();
+            section.costMs = System.currentTimeMillis() - start;
+            section.bytes = cos.getCount();
+            section.heapUsed = getHeapUsed();
+        } finally {
+            if (isCheckpoint) {
+                GlobalStateMgr.removeCheckpointWorkerThread(threadId);
+            }
+            MetaContext.remove();
+        }
+    }
+
+    static long getHeapUsed() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -14,9 +14,11 @@ import com.starrocks.catalog.IcebergTable;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.UserException;
 import com.starrocks.external.PredicateUtils;
+import com.starrocks.external.RemoteScanPlanningExecutor;
 import com.starrocks.external.iceberg.ExpressionConverter;
 import com.starrocks.external.iceberg.IcebergUtil;
 import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.sql.PlannerProfile;
 import com.starrocks.system.ComputeNode;
 import com.starrocks.thrift.TExplainLevel;
 import com.starrocks.thrift.THdfsScanNode;
@@ -34,9 +36,11 @@ import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.exceptions.ValidationException;
 import org.apache.iceberg.expressions.Binder;
 import org.apache.iceberg.expressions.Expression;
+import org.apache.iceberg.io.CloseableIterable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -155,37 +159,64 @@ public class IcebergScanNode extends ScanNode {
             return;
         }
         preProcessConjuncts();
-        for (CombinedScanTask combinedScanTask : IcebergUtil.getTableScan(
-                srIcebergTable.getIcebergTable(), snapshot.get(),
-                icebergPredicates).planTasks()) {
-            for (FileScanTask task : combinedScanTask.files()) {
-                DataFile file = task.file();
-                LOG.debug("Scan with file " + file.path() + ", file record count " + file.recordCount());
-                if (file.fileSizeInBytes() == 0) {
-                    continue;
-                }
+        long start = System.currentTimeMillis();
+        // the manifests are read in parallel by iceberg, and the scan ranges of the files are created in parallel
+        List<FileScanTask> fileScanTasks = new ArrayList<>();
+        try (CloseableIterable<CombinedScanTask> combinedScanTasks = IcebergUtil.getTableScan(
+                srIcebergTable.getIcebergTable(), snapshot.get(), icebergPredicates).planTasks()) {
+            for (CombinedScanTask combinedScanTask : combinedScanTasks) {
+                fileScanTasks.addAll(combinedScanTask.files());
+            }
+        } catch (IOException e) {
+            throw new UserException("failed to plan the scan of iceberg table " + srIcebergTable.getTable(), e);
+        }
+        long listTime = System.currentTimeMillis() - start;
+
+        List<List<FileScanTask>> batches = RemoteScanPlanningExecutor.splitIntoBatches(fileScanTasks, task -> 1);
+        for (List<TScanRangeLocations> batchResult : RemoteScanPlanningExecutor.map(batches,
+                IcebergScanNode::createScanRangeLocations)) {
+            result.addAll(batchResult);
+        }
+
+        String profilePrefix = "ScanRange." + srIcebergTable.getTable() + ".";
+        PlannerProfile.addCounter(profilePrefix + "listFileTimeMs", listTime);
+        PlannerProfile.addCounter(profilePrefix + "planTimeMs", System.currentTimeMillis() - start);
+        // a file split into several tasks is counted once
+        PlannerProfile.addCounter(profilePrefix + "fileNum",
+                fileScanTasks.stream().filter(task -> task.start() == 0).count());
+        PlannerProfile.addCounter(profilePrefix + "scanRangeNum", result.size());
+    }
 
-                TScanRangeLocations scanRangeLocations = new TScanRangeLocations();
-
-                THdfsScanRange hdfsScanRange = new THdfsScanRange();
-                hdfsScanRange.setFull_path(file.path().toString());
-                hdfsScanRange.setOffset(task.start());
-                hdfsScanRange.setLength(task.length());
-                // For iceberg table we do not need partition id
-                hdfsScanRange.setPartition_id(-1);
-                hdfsScanRange.setFile_length(file.fileSizeInBytes());
-                hdfsScanRange.setFile_format(IcebergUtil.getHdfsFileFormat(file.format()).toThrift());
-                TScanRange scanRange = new TScanRange();
-                scanRange.setHdfs_scan_range(hdfsScanRange);
-                scanRangeLocations.setScan_range(scanRange);
-
-                // TODO: get hdfs block location information for scheduling, use iceberg meta cache
-                TScanRangeLocation scanRangeLocation = new TScanRangeLocation(new TNetworkAddress("-1", -1));
-                scanRangeLocations.addToLocations(scanRangeLocation);
-
-                result.add(scanRangeLocations);
+    private static List<TScanRangeLocations> createScanRangeLocations(List<FileScanTask> tasks) {
+        List<TScanRangeLocations> output = new ArrayList<>(tasks.size());
+        for (FileScanTask task : tasks) {
+            DataFile file = task.file();
+            LOG.debug("Scan with file " + file.path() + ", file record count " + file.recordCount());
+            if (file.fileSizeInBytes() == 0) {
+                continue;
             }
+
+            TScanRangeLocations scanRangeLocations = new TScanRangeLocations();
+
+            THdfsScanRange hdfsScanRange = new THdfsScanRange();
+            hdfsScanRange.setFull_path(file.path().toString());
+            hdfsScanRange.setOffset(task.start());
+            hdfsScanRange.setLength(task.length());
+            // For iceberg table we do not need partition id
+            hdfsScanRange.setPartition_id(-1);
+            hdfsScanRange.setFile_length(file.fileSizeInBytes());
+            hdfsScanRange.setFile_format(IcebergUtil.getHdfsFileFormat(file.format()).toThrift());
+            TScanRange scanRange = new TScanRange();
+            scanRange.setHdfs_scan_range(hdfsScanRange);
+            scanRangeLocations.setScan_range(scanRange);
+
+            // TODO: get hdfs block location information for scheduling, use iceberg meta cache
+            TScanRangeLocation scanRangeLocation = new TScanRangeLocation(new TNetworkAddress("-1", -1));
+            scanRangeLocations.addToLocations(scanRangeLocation);
+
+            output.add(scanRangeLocations);
         }
+        return output;
     }
 
     @Override
@@ -318,7 +318,7 @@ public class OlapTableSink extends DataSink {
         return partitionParam;
     }
 
-    private TOlapTableLocationParam createLocation(OlapTable table) throws UserException {
+    TOlapTableLocationParam createLocation(OlapTable table) throws UserException {
         TOlapTableLocationParam locationParam = new TOlapTableLocationParam();
         // BE id -> path hash
         Multimap<Long, Long> allBePathsMap = HashMultimap.create();
@@ -360,7 +360,7 @@ public class OlapTableSink extends DataSink {
         return locationParam;
     }
 
-    private TNodesInfo createStarrocksNodesInfo() {
+    TNodesInfo createStarrocksNodesInfo() {
         TNodesInfo nodesInfo = new TNodesInfo();
         SystemInfoService systemInfoService = GlobalStateMgr.getCurrentState().getOrCreateSystemInfo(clusterId);
         for (Long id : systemInfoService.getBackendIds(false)) {
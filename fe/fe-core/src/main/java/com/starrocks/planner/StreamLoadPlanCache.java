@@ -0,0 +1,209 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.planner;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.Lists;
+import com.starrocks.catalog.Column;
+import com.starrocks.catalog.MaterializedIndex;
+import com.starrocks.catalog.MaterializedIndexMeta;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Partition;
+import com.starrocks.common.Config;
+import com.starrocks.common.UserException;
+import com.starrocks.metric.MetricRepo;
+import com.starrocks.sql.optimizer.statistics.IDictManager;
+import com.starrocks.thrift.TBrokerRangeDesc;
+import com.starrocks.thrift.TExecPlanFragmentParams;
+import com.starrocks.thrift.TOlapTableSink;
+import com.starrocks.thrift.TPlanFragmentExecParams;
+import com.starrocks.thrift.TQueryGlobals;
+import com.starrocks.thrift.TScanRange;
+import com.starrocks.thrift.TScanRangeParams;
+import com.starrocks.thrift.TStreamLoadPutRequest;
+import com.starrocks.thrift.TUniqueId;
+import com.starrocks.transaction.TransactionState;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StreamLoadPlanCache caches the plan of stream load as a template, so the micro-batch loads into the same
+ * table with the same parameters don't need to run {@link StreamLoadPlanner} for every request.
+ * <p>
+ * The key is the put request without the fields of the request itself, e.g. the txn id, the load id and
+ * the auth info. The template is reused only if the signature of the table, which consists of the schema
+ * version of every index and the ids of partitions and indexes, is not changed since it's planned, so the
+ * template is invalidated by schema change, rollup and partition DDL. The tablet locations and the backends
+ * are computed for every request, because the replicas may be changed without changing the signature.
+ * <p>
+ * The plan with global dicts of low cardinality columns is not cached, because the dicts may be updated
+ * at any time.
+ */
+public class StreamLoadPlanCache {
+    private static final StreamLoadPlanCache INSTANCE = new StreamLoadPlanCache();
+
+    private final Cache<TStreamLoadPutRequest, CachedPlan> cache = Caffeine.newBuilder()
+            .maximumSize(Config.stream_load_plan_cache_max_size)
+            .expireAfterAccess(Config.stream_load_plan_cache_expire_seconds, TimeUnit.SECONDS)
+            .build();
+
+    public static StreamLoadPlanCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the cached plan filled with the ids and tablet locations of this request, return null if missed.
+     * Must be called with the read lock of database.
+     */
+    public TExecPlanFragmentParams getPlan(TStreamLoadPutRequest request, OlapTable table,
+                                           TransactionState txnState) throws UserException {
+        TStreamLoadPutRequest key = buildKey(request);
+        CachedPlan cachedPlan = cache.getIfPresent(key);
+        if (cachedPlan != null && !cachedPlan.signature.equals(buildSignature(table))) {
+            cache.invalidate(key);
+            cachedPlan = null;
+        }
+        if (cachedPlan == null || hasGlobalDict(table)) {
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_STREAM_LOAD_PLAN_CACHE_MISS.increase(1L);
+            }
+            return null;
+        }
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_STREAM_LOAD_PLAN_CACHE_HIT.increase(1L);
+        }
+        return cachedPlan.buildPlan(request, table, txnState);
+    }
+
+    /**
+     * Cache the plan created by {@link StreamLoadPlanner}. Must be called with the read lock of database,
+     * which is held since the planning started.
+     */
+    public void putPlan(TStreamLoadPutRequest request, OlapTable table, List<Long> partitionIds,
+                        TExecPlanFragmentParams plan) {
+        if (plan.getFragment().isSetLoad_global_dicts() && !plan.getFragment().getLoad_global_dicts().isEmpty()) {
+            return;
+        }
+        TExecPlanFragmentParams template = plan.deepCopy();
+        TOlapTableSink sink = template.getFragment().getOutput_sink().getOlap_table_sink();
+        sink.unsetLocation();
+        sink.unsetNodes_info();
+        cache.put(buildKey(request), new CachedPlan(buildSignature(table), partitionIds, template));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static TStreamLoadPutRequest buildKey(TStreamLoadPutRequest request) {
+        TStreamLoadPutRequest key = request.deepCopy();
+        key.unsetUser();
+        key.unsetPasswd();
+        key.unsetUser_ip();
+        key.unsetLoadId();
+        key.unsetTxnId();
+        key.unsetAuth_code();
+        key.unsetThrift_rpc_timeout_ms();
+        return key;
+    }
+
+    private static List<Object> buildSignature(OlapTable table) {
+        List<Object> signature = Lists.newArrayList();
+        signature.add(table.getId());
+        signature.add(table.getState());
+        for (Column column : table.getFullSchema()) {
+            signature.add(column.getName());
+        }
+        for (Map.Entry<Long, MaterializedIndexMeta> entry : table.getIndexIdToMeta().entrySet()) {
+            signature.add(entry.getKey());
+            signature.add(entry.getValue().getSchemaVersion());
+            signature.add(entry.getValue().getSchemaHash());
+        }
+        for (Partition partition : table.getAllPartitions()) {
+            signature.add(partition.getId());
+            signature.add(table.getPartitionInfo().getReplicationNum(partition.getId()));
+            for (MaterializedIndex index : partition.getMaterializedIndices(MaterializedIndex.IndexExtState.ALL)) {
+                signature.add(index.getId());
+            }
+        }
+        return signature;
+    }
+
+    // same as the check in StreamLoadPlanner
+    private static boolean hasGlobalDict(OlapTable table) {
+        if (!Config.enable_dict_optimize_stream_load) {
+            return false;
+        }
+        for (Column column : table.getFullSchema()) {
+            if (column.getType().isVarchar() && IDictManager.getInstance().hasGlobalDict(table.getId(),
+                    column.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class CachedPlan {
+        private final List<Object> signature;
+        private final List<Long> partitionIds;
+        // the plan without tablet locations and backends
+        private final TExecPlanFragmentParams template;
+
+        CachedPlan(List<Object> signature, List<Long> partitionIds, TExecPlanFragmentParams template) {
+            this.signature = signature;
+            this.partitionIds = partitionIds;
+            this.template = template;
+        }
+
+        // fill the fields which are set by the load id and txn id in StreamLoadPlanner
+        TExecPlanFragmentParams buildPlan(TStreamLoadPutRequest request, OlapTable table,
+                                          TransactionState txnState) throws UserException {
+            TExecPlanFragmentParams plan = template.deepCopy();
+            TUniqueId loadId = request.getLoadId();
+
+            TPlanFragmentExecParams execParams = plan.getParams();
+            execParams.setQuery_id(loadId);
+            execParams.setFragment_instance_id(new TUniqueId(loadId.hi, loadId.lo + 1));
+            for (List<TScanRangeParams> scanRanges : execParams.getPer_node_scan_ranges().values()) {
+                for (TScanRangeParams scanRangeParams : scanRanges) {
+                    TScanRange scanRange = scanRangeParams.getScan_range();
+                    if (!scanRange.isSetBroker_scan_range()) {
+                        continue;
+                    }
+                    for (TBrokerRangeDesc rangeDesc : scanRange.getBroker_scan_range().getRanges()) {
+                        if (rangeDesc.isSetLoad_id()) {
+                            rangeDesc.setLoad_id(loadId);
+                        }
+                    }
+                }
+            }
+
+            TOlapTableSink sink = plan.getFragment().getOutput_sink().getOlap_table_sink();
+            sink.setLoad_id(loadId);
+            sink.setTxn_id(request.getTxnId());
+            if (txnState != null) {
+                sink.setTxn_trace_parent(txnState.getTraceParent());
+            } else {
+                sink.unsetTxn_trace_parent();
+            }
+            OlapTableSink olapTableSink = new OlapTableSink(table, null, partitionIds);
+            sink.setLocation(olapTableSink.createLocation(table));
+            sink.setNodes_info(olapTableSink.createStarrocksNodesInfo());
+
+            TQueryGlobals queryGlobals = plan.getQuery_globals();
+            Date now = new Date();
+            queryGlobals.setNow_string(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(now));
+            queryGlobals.setTimestamp_ms(now.getTime());
+            return plan;
+        }
+    }
+}
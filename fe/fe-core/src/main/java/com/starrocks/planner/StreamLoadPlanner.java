@@ -80,6 +80,7 @@ public class StreamLoadPlanner {
 
     private Analyzer analyzer;
     private DescriptorTable descTable;
+    private List<Long> partitionIds;
 
     public StreamLoadPlanner(Database db, OlapTable destTable, StreamLoadTask streamLoadTask) {
         this.db = db;
@@ -97,6 +98,11 @@ public class StreamLoadPlanner {
         return destTable;
     }
 
+    // can only be called after "plan()", or it will return null
+    public List<Long> getPartitionIds() {
+        return partitionIds;
+    }
+
     // create the plan. the plan's query id and load id are same, using the parameter 'loadId'
     public TExecPlanFragmentParams plan(TUniqueId loadId) throws UserException {
         boolean isPrimaryKey = destTable.getKeysType() == KeysType.PRIMARY_KEYS;
@@ -154,7 +160,7 @@ public class StreamLoadPlanner {
         descTable.computeMemLayout();
 
         // create dest sink
-        List<Long> partitionIds = getAllPartitionIds();
+        partitionIds = getAllPartitionIds();
         OlapTableSink olapTableSink = new OlapTableSink(destTable, tupleDesc, partitionIds);
         olapTableSink.init(loadId, streamLoadTask.getTxnId(), db.getId(), streamLoadTask.getTimeout());
         olapTableSink.complete();
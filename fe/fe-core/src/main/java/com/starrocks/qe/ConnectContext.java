@@ -41,6 +41,7 @@ import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.PlannerProfile;
 import com.starrocks.sql.optimizer.dump.DumpInfo;
 import com.starrocks.sql.optimizer.dump.QueryDumpInfo;
+import com.starrocks.sql.plan.PlanParameters;
 import com.starrocks.system.SystemInfoService;
 import com.starrocks.thrift.TUniqueId;
 import org.apache.logging.log4j.LogManager;
@@ -156,10 +157,19 @@ public class ConnectContext {
     // The related db ids for current sql
     protected Set<Long> currentSqlDbIds = Sets.newHashSet();
 
+    // The parameterized literals of the current query when it's planned or built from a cached generic plan
+    protected PlanParameters planParameters;
+
     protected PlannerProfile plannerProfile;
 
     protected ResourceGroup resourceGroup;
 
+    // server-side prepared statements of this connection, only accessed by the thread of the connection
+    protected Map<Integer, PrepareStmtContext> preparedStmts = new HashMap<>();
+    protected int nextPreparedStmtId = 1;
+    // the estimated memory of the prepared statements
+    protected long preparedStmtBytes = 0;
+
     public static ConnectContext get() {
         return threadLocalInfo.get();
     }
@@ -398,10 +408,44 @@ public class ConnectContext {
         this.executor = executor;
     }
 
+    public int getNextPreparedStmtId() {
+        return nextPreparedStmtId++;
+    }
+
+    public int getPreparedStmtCount() {
+        return preparedStmts.size();
+    }
+
+    public long getPreparedStmtBytes() {
+        return preparedStmtBytes;
+    }
+
+    public void addPreparedStmt(PrepareStmtContext preparedStmt) {
+        preparedStmts.put(preparedStmt.getId(), preparedStmt);
+        preparedStmtBytes += preparedStmt.estimateBytes();
+    }
+
+    public PrepareStmtContext getPreparedStmt(int id) {
+        return preparedStmts.get(id);
+    }
+
+    public void removePreparedStmt(int id) {
+        PrepareStmtContext preparedStmt = preparedStmts.remove(id);
+        if (preparedStmt != null) {
+            preparedStmtBytes -= preparedStmt.estimateBytes();
+        }
+    }
+
+    public void clearPreparedStmts() {
+        preparedStmts.clear();
+        preparedStmtBytes = 0;
+    }
+
     public void cleanup() {
         mysqlChannel.close();
         threadLocalInfo.remove();
         returnRows = 0;
+        clearPreparedStmts();
     }
 
     public boolean isKilled() {
@@ -477,6 +521,14 @@ public class ConnectContext {
         this.currentSqlDbIds = currentSqlDbIds;
     }
 
+    public PlanParameters getPlanParameters() {
+        return planParameters;
+    }
+
+    public void setPlanParameters(PlanParameters planParameters) {
+        this.planParameters = planParameters;
+    }
+
     public PlannerProfile getPlannerProfile() {
         return plannerProfile;
     }
@@ -23,6 +23,7 @@ package com.starrocks.qe;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.starrocks.analysis.Expr;
 import com.starrocks.analysis.KillStmt;
 import com.starrocks.analysis.QueryStmt;
 import com.starrocks.analysis.StatementBase;
@@ -31,6 +32,7 @@ import com.starrocks.catalog.Column;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.ResourceGroup;
 import com.starrocks.catalog.Table;
+import com.starrocks.catalog.Type;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.Config;
 import com.starrocks.common.ErrorCode;
@@ -43,6 +45,7 @@ import com.starrocks.metric.MetricRepo;
 import com.starrocks.metric.ResourceGroupMetricMgr;
 import com.starrocks.mysql.MysqlChannel;
 import com.starrocks.mysql.MysqlCommand;
+import com.starrocks.mysql.MysqlEofPacket;
 import com.starrocks.mysql.MysqlPacket;
 import com.starrocks.mysql.MysqlProto;
 import com.starrocks.mysql.MysqlSerializer;
@@ -51,9 +54,16 @@ import com.starrocks.plugin.AuditEvent.EventType;
 import com.starrocks.proto.PQueryStatistics;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.service.FrontendOptions;
+import com.starrocks.sql.analyzer.Analyzer;
+import com.starrocks.sql.analyzer.SemanticException;
+import com.starrocks.sql.ast.QueryRelation;
 import com.starrocks.sql.ast.QueryStatement;
 import com.starrocks.sql.common.SqlDigestBuilder;
+import com.starrocks.sql.common.StarRocksPlannerException;
+import com.starrocks.sql.parser.AstBuilder;
 import com.starrocks.sql.parser.ParsingException;
+import com.starrocks.sql.parser.SqlParser;
+import com.starrocks.sql.parser.StarRocksParser;
 import com.starrocks.thrift.TMasterOpRequest;
 import com.starrocks.thrift.TMasterOpResult;
 import com.starrocks.thrift.TQueryOptions;
@@ -69,6 +79,7 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Process one mysql connection, receive one pakcet, process, send one packet.
@@ -137,6 +148,8 @@ public class ConnectProcessor {
         ctx.getSerializer().setCapability(ctx.getCapability());
         // reset session variable
         ctx.resetSessionVariable();
+        // close prepared statements
+        ctx.clearPreparedStmts();
     }
 
     public void auditAfterExec(String origStmt, StatementBase parsedStmt, PQueryStatistics statistics) {
@@ -364,6 +377,185 @@ public class ConnectProcessor {
         addFinishedQueryDetail();
     }
 
+    // COM_STMT_PREPARE: parse and analyze the statement once, send the metadata of parameters and columns.
+    // Only query statements are supported, clients fall back to the text protocol for the others.
+    private void handleStmtPrepare() throws IOException {
+        String sql = new String(packetBuf.array(), 1, packetBuf.limit() - 1, StandardCharsets.UTF_8);
+        if (ctx.getPreparedStmtCount() >= Config.max_prepared_stmt_count_per_connection) {
+            setError(ErrorCode.ERR_MAX_PREPARED_STMT_COUNT_REACHED, Config.max_prepared_stmt_count_per_connection);
+            return;
+        }
+
+        long sqlMode = ctx.getSessionVariable().getSqlMode();
+        StarRocksParser.SingleStatementContext parseTree;
+        AstBuilder astBuilder = new AstBuilder(sqlMode);
+        StatementBase stmt;
+        try {
+            parseTree = SqlParser.parseSingleStatementTree(sql, sqlMode);
+            stmt = (StatementBase) astBuilder.visitSingleStatement(parseTree);
+        } catch (ParsingException e) {
+            ctx.getState().setError(e.getMessage());
+            return;
+        }
+        if (!(stmt instanceof QueryStatement) || stmt.isExplain()) {
+            setError(ErrorCode.ERR_UNSUPPORTED_PS);
+            return;
+        }
+
+        // the parameters are not bound, they are analyzed as NULL
+        stmt.setOrigStmt(new OriginStatement(sql, 0));
+        try {
+            Analyzer.analyze(stmt, ctx);
+        } catch (SemanticException | StarRocksPlannerException e) {
+            ctx.getState().setError(e.getMessage());
+            ctx.getState().setErrType(QueryState.ErrType.ANALYSIS_ERR);
+            return;
+        }
+        QueryRelation queryRelation = ((QueryStatement) stmt).getQueryRelation();
+        List<String> colNames = queryRelation.getColumnOutputNames();
+        List<Type> colTypes = queryRelation.getOutputExpression().stream()
+                .map(Expr::getOriginType).collect(Collectors.toList());
+        int numParams = astBuilder.getParameters().size();
+
+        PrepareStmtContext prepareStmt = new PrepareStmtContext(ctx.getNextPreparedStmtId(), sql, sqlMode,
+                parseTree, numParams, colNames, colTypes);
+        if (ctx.getPreparedStmtBytes() + prepareStmt.estimateBytes() >
+                Config.max_prepared_stmt_memory_bytes_per_connection) {
+            setError(ErrorCode.ERR_MAX_PREPARED_STMT_MEMORY_REACHED,
+                    Config.max_prepared_stmt_memory_bytes_per_connection);
+            return;
+        }
+        ctx.addPreparedStmt(prepareStmt);
+
+        // COM_STMT_PREPARE_OK
+        MysqlSerializer serializer = ctx.getSerializer();
+        MysqlChannel channel = ctx.getMysqlChannel();
+        serializer.reset();
+        serializer.writeInt1(0x00);
+        serializer.writeInt4(prepareStmt.getId());
+        serializer.writeInt2(colNames.size());
+        serializer.writeInt2(numParams);
+        // reserved
+        serializer.writeInt1(0x00);
+        // warning count
+        serializer.writeInt2(0);
+        channel.sendOnePacket(serializer.toByteBuffer());
+
+        if (numParams > 0) {
+            for (int i = 0; i < numParams; i++) {
+                serializer.reset();
+                serializer.writeField("?", Type.NULL);
+                channel.sendOnePacket(serializer.toByteBuffer());
+            }
+            sendEof(serializer, channel);
+        }
+        if (!colNames.isEmpty()) {
+            for (int i = 0; i < colNames.size(); i++) {
+                serializer.reset();
+                serializer.writeField(colNames.get(i), colTypes.get(i));
+                channel.sendOnePacket(serializer.toByteBuffer());
+            }
+            sendEof(serializer, channel);
+        }
+        channel.flush();
+        ctx.getState().setStateType(QueryState.MysqlStateType.NOOP);
+    }
+
+    // COM_STMT_EXECUTE: bind the parameters to the analyzed statement of the prepared one, and execute it
+    private void handleStmtExecute() {
+        MetricRepo.COUNTER_REQUEST_ALL.increase(1L);
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        PrepareStmtContext prepareStmt = ctx.getPreparedStmt(stmtId);
+        if (prepareStmt == null) {
+            setError(ErrorCode.ERR_UNKNOWN_STMT_HANDLER, stmtId, "mysqld_stmt_execute");
+            return;
+        }
+        // flags(1) and iteration count(4), cursors are not supported, the result is always sent at once
+        MysqlProto.readInt1(packetBuf);
+        MysqlProto.readInt4(packetBuf);
+
+        String originStmt = prepareStmt.getSql();
+        ctx.getAuditEventBuilder().reset();
+        ctx.getAuditEventBuilder()
+                .setTimestamp(System.currentTimeMillis())
+                .setClientIp(ctx.getMysqlChannel().getRemoteHostPortString())
+                .setUser(ctx.getQualifiedUser())
+                .setDb(ctx.getDatabase());
+        ctx.getPlannerProfile().reset();
+
+        try {
+            ctx.setQueryId(UUIDUtil.genUUID());
+            StatementBase parsedStmt = prepareStmt.bind(packetBuf, ctx);
+            addRunningQueryDetail(parsedStmt);
+
+            executor = new StmtExecutor(ctx, parsedStmt);
+            ctx.setExecutor(executor);
+            ctx.setIsLastStmt(true);
+            executor.execute();
+        } catch (IOException e) {
+            // Client failed.
+            LOG.warn("Process one prepared statement failed because IOException: ", e);
+            ctx.getState().setError("StarRocks process failed");
+        } catch (UserException e) {
+            LOG.warn("Process one prepared statement failed because.", e);
+            ctx.getState().setError(e.getMessage());
+            // set is as ANALYSIS_ERR so that it won't be treated as a query failure.
+            ctx.getState().setErrType(QueryState.ErrType.ANALYSIS_ERR);
+        } catch (Throwable e) {
+            LOG.warn("Process one prepared statement failed because unknown reason: ", e);
+            ctx.getState().setError("Unexpected exception: " + e.getMessage());
+        }
+
+        if (executor != null) {
+            auditAfterExec(originStmt, executor.getParsedStmt(), executor.getQueryStatisticsForAuditLog());
+        } else {
+            auditAfterExec(originStmt, null, null);
+        }
+        addFinishedQueryDetail();
+    }
+
+    // COM_STMT_CLOSE: deallocate the prepared statement, no response is sent
+    private void handleStmtClose() {
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        ctx.removePreparedStmt(stmtId);
+        ctx.getState().setStateType(QueryState.MysqlStateType.NOOP);
+    }
+
+    // COM_STMT_RESET: reset the data sent by COM_STMT_SEND_LONG_DATA
+    private void handleStmtReset() {
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        PrepareStmtContext prepareStmt = ctx.getPreparedStmt(stmtId);
+        if (prepareStmt == null) {
+            setError(ErrorCode.ERR_UNKNOWN_STMT_HANDLER, stmtId, "mysqld_stmt_reset");
+            return;
+        }
+        prepareStmt.setHasLongData(false);
+        ctx.getState().setOk();
+    }
+
+    // COM_STMT_SEND_LONG_DATA: not supported, the next COM_STMT_EXECUTE of the statement fails.
+    // No response is sent for this command.
+    private void handleStmtSendLongData() {
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        PrepareStmtContext prepareStmt = ctx.getPreparedStmt(stmtId);
+        if (prepareStmt != null) {
+            prepareStmt.setHasLongData(true);
+        }
+        ctx.getState().setStateType(QueryState.MysqlStateType.NOOP);
+    }
+
+    private void sendEof(MysqlSerializer serializer, MysqlChannel channel) throws IOException {
+        serializer.reset();
+        MysqlEofPacket eofPacket = new MysqlEofPacket(ctx.getState());
+        eofPacket.writeTo(serializer);
+        channel.sendOnePacket(serializer.toByteBuffer());
+    }
+
+    private void setError(ErrorCode errorCode, Object... args) {
+        ctx.getState().setError(errorCode.formatErrorMsg(args));
+        ctx.getState().setErrorCode(errorCode);
+    }
+
     // Get the column definitions of a table
     private void handleFieldList() throws IOException {
         // Already get command code.
@@ -444,6 +636,22 @@ public class ConnectProcessor {
             case COM_PING:
                 handlePing();
                 break;
+            case COM_STMT_PREPARE:
+                handleStmtPrepare();
+                break;
+            case COM_STMT_EXECUTE:
+                handleStmtExecute();
+                ctx.setStartTime();
+                break;
+            case COM_STMT_CLOSE:
+                handleStmtClose();
+                break;
+            case COM_STMT_RESET:
+                handleStmtReset();
+                break;
+            case COM_STMT_SEND_LONG_DATA:
+                handleStmtSendLongData();
+                break;
             default:
                 ctx.getState().setError("Unsupported command(" + command + ")");
                 LOG.warn("Unsupported command(" + command + ")");
@@ -514,8 +722,8 @@ public class ConnectProcessor {
         MysqlChannel channel = ctx.getMysqlChannel();
         channel.sendAndFlush(packet);
 
-        // only change lastQueryId when current command is COM_QUERY
-        if (ctx.getCommand() == MysqlCommand.COM_QUERY) {
+        // only change lastQueryId when current command is COM_QUERY or COM_STMT_EXECUTE
+        if (ctx.getCommand() == MysqlCommand.COM_QUERY || ctx.getCommand() == MysqlCommand.COM_STMT_EXECUTE) {
             ctx.setLastQueryId(ctx.queryId);
             ctx.setQueryId(null);
         }
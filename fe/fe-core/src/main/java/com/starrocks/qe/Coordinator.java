@@ -1257,6 +1257,13 @@ public class Coordinator {
         }
     }
 
+    // Called by the thread which fetches the results after the last getNext, whether it succeeds or not
+    public void closeReceiver() {
+        if (receiver != null) {
+            receiver.close();
+        }
+    }
+
     public RowBatch getNext() throws Exception {
         if (receiver == null) {
             throw new UserException("There is no receiver.");
@@ -0,0 +1,319 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.qe;
+
+import com.starrocks.analysis.BoolLiteral;
+import com.starrocks.analysis.DateLiteral;
+import com.starrocks.analysis.DecimalLiteral;
+import com.starrocks.analysis.Expr;
+import com.starrocks.analysis.FloatLiteral;
+import com.starrocks.analysis.IntLiteral;
+import com.starrocks.analysis.LargeIntLiteral;
+import com.starrocks.analysis.LiteralExpr;
+import com.starrocks.analysis.NullLiteral;
+import com.starrocks.analysis.Parameter;
+import com.starrocks.analysis.StringLiteral;
+import com.starrocks.catalog.Type;
+import com.starrocks.common.AnalysisException;
+import com.starrocks.mysql.MysqlColType;
+import com.starrocks.mysql.MysqlProto;
+import com.starrocks.sql.analyzer.Analyzer;
+import com.starrocks.sql.analyzer.SemanticException;
+import com.starrocks.sql.ast.QueryStatement;
+import com.starrocks.sql.common.StarRocksPlannerException;
+import com.starrocks.sql.parser.AstBuilder;
+import com.starrocks.sql.parser.StarRocksParser;
+import com.starrocks.sql.plan.PlanCache;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * A server-side prepared statement of a connection.
+ * <p>
+ * The sql is parsed only once at prepare time and the parse tree is kept. The parameters sent by
+ * COM_STMT_EXECUTE in the binary protocol are bound to the statement analyzed by the last execution, which is
+ * not analyzed again. The analysis depends on the types of the parameters, e.g. the matched functions and the
+ * implicit casts, and on the catalog, so a new statement is built from the tree and analyzed when they are
+ * changed, because the analyzer rewrites the statement in place.
+ * <p>
+ * The plan is shared by the executions through {@link PlanCache}, where the parameters are placeholders of a
+ * generic plan unless the partitions or tablets are pruned by them.
+ */
+public class PrepareStmtContext {
+    private static final int UNSIGNED_FLAG = 0x80;
+    // rough memory usage of one token with the nodes of the parse tree and the analyzed statement
+    private static final long ESTIMATED_TOKEN_BYTES = 512;
+
+    private final int id;
+    private final String sql;
+    private final long sqlMode;
+    private final StarRocksParser.SingleStatementContext parseTree;
+    private final int numParams;
+    private final List<String> colNames;
+    private final List<Type> colTypes;
+
+    // types of the parameters, the client only sends them when they are changed
+    private int[] paramTypes;
+    // COM_STMT_SEND_LONG_DATA is not supported, the next execution fails
+    private boolean hasLongData = false;
+
+    // the statement analyzed with the types of parameters in the catalog version
+    private QueryStatement analyzedStmt;
+    private List<Parameter> analyzedParams;
+    private List<Type> analyzedParamTypes;
+    private String analyzedDatabase;
+    private long analyzedCatalogVersion;
+
+    public PrepareStmtContext(int id, String sql, long sqlMode, StarRocksParser.SingleStatementContext parseTree,
+                              int numParams, List<String> colNames, List<Type> colTypes) {
+        this.id = id;
+        this.sql = sql;
+        this.sqlMode = sqlMode;
+        this.parseTree = parseTree;
+        this.numParams = numParams;
+        this.colNames = colNames;
+        this.colTypes = colTypes;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public int getNumParams() {
+        return numParams;
+    }
+
+    public List<String> getColNames() {
+        return colNames;
+    }
+
+    public List<Type> getColTypes() {
+        return colTypes;
+    }
+
+    public void setHasLongData(boolean hasLongData) {
+        this.hasLongData = hasLongData;
+    }
+
+    /**
+     * The memory held by the prepared statement until it's closed, the sql is kept by both the string and
+     * the char stream of the tokens
+     */
+    public long estimateBytes() {
+        long numTokens = 0;
+        if (parseTree.stop != null) {
+            numTokens = parseTree.stop.getTokenIndex() - parseTree.start.getTokenIndex() + 1;
+        }
+        return 4L * sql.length() + numTokens * ESTIMATED_TOKEN_BYTES;
+    }
+
+    /**
+     * Bind the parameters to the analyzed statement, the statement is built from the parse tree and analyzed
+     * again if the analysis of last execution can't be reused
+     *
+     * @param packet the COM_STMT_EXECUTE packet, positioned at the null bitmap of the parameters
+     */
+    public QueryStatement bind(ByteBuffer packet, ConnectContext session) throws AnalysisException {
+        if (hasLongData) {
+            hasLongData = false;
+            throw new AnalysisException("COM_STMT_SEND_LONG_DATA is not supported");
+        }
+
+        List<LiteralExpr> values = readValues(packet);
+        List<Type> types = values.stream().map(Expr::getType).collect(Collectors.toList());
+        long catalogVersion = PlanCache.getInstance().getCatalogVersion();
+        if (analyzedStmt != null && types.equals(analyzedParamTypes) && catalogVersion == analyzedCatalogVersion
+                && Objects.equals(session.getDatabase(), analyzedDatabase)) {
+            setValues(analyzedParams, values);
+            return analyzedStmt;
+        }
+
+        analyzedStmt = null;
+        AstBuilder builder = new AstBuilder(sqlMode);
+        QueryStatement stmt = (QueryStatement) builder.visitSingleStatement(parseTree);
+        List<Parameter> parameters = builder.getParameters();
+        setValues(parameters, values);
+        stmt.setOrigStmt(new OriginStatement(sql, 0));
+        try {
+            Analyzer.analyze(stmt, session);
+        } catch (SemanticException | StarRocksPlannerException e) {
+            throw new AnalysisException(e.getMessage());
+        }
+        stmt.setIsPrepared(true);
+
+        analyzedStmt = stmt;
+        analyzedParams = parameters;
+        analyzedParamTypes = types;
+        analyzedDatabase = session.getDatabase();
+        analyzedCatalogVersion = catalogVersion;
+        return stmt;
+    }
+
+    private static void setValues(List<Parameter> parameters, List<LiteralExpr> values) {
+        for (int i = 0; i < parameters.size(); i++) {
+            parameters.get(i).setValue(values.get(i));
+        }
+    }
+
+    private List<LiteralExpr> readValues(ByteBuffer packet) throws AnalysisException {
+        List<LiteralExpr> values = new ArrayList<>(numParams);
+        if (numParams == 0) {
+            return values;
+        }
+
+        byte[] nullBitmap = MysqlProto.readFixedString(packet, (numParams + 7) / 8);
+        int newParamsBound = MysqlProto.readInt1(packet);
+        if (newParamsBound == 1) {
+            paramTypes = new int[numParams];
+            for (int i = 0; i < numParams; i++) {
+                paramTypes[i] = MysqlProto.readInt2(packet);
+            }
+        } else if (paramTypes == null) {
+            throw new AnalysisException("No types of parameters are sent");
+        }
+
+        for (int i = 0; i < numParams; i++) {
+            if ((nullBitmap[i / 8] & (1 << (i % 8))) != 0) {
+                values.add(new NullLiteral());
+            } else {
+                values.add(readValue(packet, paramTypes[i]));
+            }
+        }
+        return values;
+    }
+
+    private static LiteralExpr readValue(ByteBuffer packet, int paramType) throws AnalysisException {
+        boolean unsigned = ((paramType >> 8) & UNSIGNED_FLAG) != 0;
+        MysqlColType type = MysqlColType.fromCode(paramType & 0xFF);
+        if (type == null) {
+            throw new AnalysisException("Unknown type of parameter: " + (paramType & 0xFF));
+        }
+
+        switch (type) {
+            case MYSQL_TYPE_NULL:
+                return new NullLiteral();
+            case MYSQL_TYPE_TINY: {
+                int value = MysqlProto.readInt1(packet);
+                return unsigned ? new IntLiteral(value, Type.SMALLINT) : new IntLiteral((byte) value, Type.TINYINT);
+            }
+            case MYSQL_TYPE_SHORT:
+            case MYSQL_TYPE_YEAR: {
+                int value = MysqlProto.readInt2(packet);
+                return unsigned ? new IntLiteral(value, Type.INT) : new IntLiteral((short) value, Type.SMALLINT);
+            }
+            case MYSQL_TYPE_LONG:
+            case MYSQL_TYPE_INT24: {
+                int value = MysqlProto.readInt4(packet);
+                return unsigned ? new IntLiteral(Integer.toUnsignedLong(value), Type.BIGINT) :
+                        new IntLiteral(value, Type.INT);
+            }
+            case MYSQL_TYPE_LONGLONG: {
+                long value = MysqlProto.readInt8(packet);
+                if (unsigned && value < 0) {
+                    return new LargeIntLiteral(Long.toUnsignedString(value));
+                }
+                return new IntLiteral(value, Type.BIGINT);
+            }
+            case MYSQL_TYPE_FLOAT:
+                return new FloatLiteral((double) Float.intBitsToFloat(MysqlProto.readInt4(packet)), Type.FLOAT);
+            case MYSQL_TYPE_DOUBLE:
+                return new FloatLiteral(Double.longBitsToDouble(MysqlProto.readInt8(packet)), Type.DOUBLE);
+            case MYSQL_TYPE_DATE:
+            case MYSQL_TYPE_DATETIME:
+            case MYSQL_TYPE_TIMESTAMP:
+                return readDate(packet, type == MysqlColType.MYSQL_TYPE_DATE);
+            case MYSQL_TYPE_TIME:
+                return new StringLiteral(readTime(packet));
+            case MYSQL_TYPE_DECIMAL:
+            case MYSQL_TYPE_NEWDECIMAL:
+                return new DecimalLiteral(new BigDecimal(readString(packet)));
+            case MYSQL_TYPE_BIT: {
+                byte[] bits = MysqlProto.readLenEncodedString(packet);
+                return new BoolLiteral(bits.length > 0 && bits[bits.length - 1] != 0);
+            }
+            case MYSQL_TYPE_VARCHAR:
+            case MYSQL_TYPE_VAR_STRING:
+            case MYSQL_TYPE_STRING:
+            case MYSQL_TYPE_ENUM:
+            case MYSQL_TYPE_SET:
+            case MYSQL_TYPE_TINY_BLOB:
+            case MYSQL_TYPE_MEDIUM_BLOB:
+            case MYSQL_TYPE_LONG_BLOB:
+            case MYSQL_TYPE_BLOB:
+                return new StringLiteral(readString(packet));
+            default:
+                throw new AnalysisException("Unsupported type of parameter: " + type);
+        }
+    }
+
+    private static String readString(ByteBuffer packet) {
+        return new String(MysqlProto.readLenEncodedString(packet), StandardCharsets.UTF_8);
+    }
+
+    // length(1) year(2) month(1) day(1) [hour(1) minute(1) second(1) [microsecond(4)]]
+    private static LiteralExpr readDate(ByteBuffer packet, boolean isDate) {
+        int length = MysqlProto.readInt1(packet);
+        int year = 0;
+        int month = 0;
+        int day = 0;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        if (length >= 4) {
+            year = MysqlProto.readInt2(packet);
+            month = MysqlProto.readInt1(packet);
+            day = MysqlProto.readInt1(packet);
+        }
+        if (length >= 7) {
+            hour = MysqlProto.readInt1(packet);
+            minute = MysqlProto.readInt1(packet);
+            second = MysqlProto.readInt1(packet);
+        }
+        if (length >= 11) {
+            // DATETIME of StarRocks has no microsecond
+            MysqlProto.readInt4(packet);
+        }
+        if (isDate) {
+            return new DateLiteral(year, month, day);
+        }
+        return new DateLiteral(year, month, day, hour, minute, second);
+    }
+
+    // length(1) [is_negative(1) days(4) hour(1) minute(1) second(1) [microsecond(4)]]
+    private static String readTime(ByteBuffer packet) {
+        int length = MysqlProto.readInt1(packet);
+        boolean negative = false;
+        long hours = 0;
+        int minute = 0;
+        int second = 0;
+        int microsecond = 0;
+        if (length >= 8) {
+            negative = MysqlProto.readInt1(packet) == 1;
+            hours = Integer.toUnsignedLong(MysqlProto.readInt4(packet)) * 24 + MysqlProto.readInt1(packet);
+            minute = MysqlProto.readInt1(packet);
+            second = MysqlProto.readInt1(packet);
+        }
+        if (length >= 12) {
+            microsecond = MysqlProto.readInt4(packet);
+        }
+        StringBuilder sb = new StringBuilder();
+        if (negative) {
+            sb.append('-');
+        }
+        sb.append(String.format("%02d:%02d:%02d", hours, minute, second));
+        if (microsecond != 0) {
+            sb.append(String.format(".%06d", microsecond));
+        }
+        return sb.toString();
+    }
+}
@@ -22,62 +22,263 @@
 package com.starrocks.qe;
 
 import com.google.common.collect.Lists;
+import com.starrocks.common.Config;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
 
 // Queue of QueryDetail.
 // It's used to collect queries for monitor.
+//
+// The queue is a fixed capacity ring buffer without lock. Every query detail claims a sequence together with
+// its event time by one CAS, so the event time increases with the sequence, and readers can seek by event time
+// and iterate the ring buffer with a cursor instead of copying the whole queue.
+// The oldest query details are evicted when they are timeout, or the ring buffer is full, or the estimated
+// memory exceeds query_detail_queue_max_bytes.
 public class QueryDetailQueue {
-    private static final LinkedList<QueryDetail> totalQueries = new LinkedList<QueryDetail>();
+    private static final Logger LOG = LogManager.getLogger(QueryDetailQueue.class);
 
     //starrocks-manager pull queries every 1 second
     //metrics calculate query latency every 15 second
     //do not set cacheTime lower than these time
     private static final long cacheTimeNS = 30000000000L;
-    private static long latestMS;
-    private static long latestMSCnt;
 
-    public static synchronized void addAndRemoveTimeoutQueryDetail(QueryDetail queryDetail) {
+    // estimated memory of the fields except strings
+    private static final long QUERY_DETAIL_BASE_BYTES = 256;
+
+    private static class Entry {
+        private final long seq;
+        private final QueryDetail queryDetail;
+        private final long bytes;
+
+        Entry(long seq, QueryDetail queryDetail, long bytes) {
+            this.seq = seq;
+            this.queryDetail = queryDetail;
+            this.bytes = bytes;
+        }
+    }
+
+    // the next sequence to claim, and the event time of the last claimed sequence
+    private static class Tail {
+        private final long seq;
+        private final long eventTime;
+
+        Tail(long seq, long eventTime) {
+            this.seq = seq;
+            this.eventTime = eventTime;
+        }
+    }
+
+    private static final int capacity = roundUpToPowerOfTwo(Config.query_detail_queue_capacity);
+    private static final AtomicReferenceArray<Entry> ring = new AtomicReferenceArray<>(capacity);
+    private static final AtomicReference<Tail> tail = new AtomicReference<>(new Tail(0, 0));
+    // sequence of the oldest query detail not evicted
+    private static final AtomicLong head = new AtomicLong(0);
+    private static final AtomicLong retainedBytes = new AtomicLong(0);
+
+    private static final List<Consumer<QueryDetail>> listeners = new CopyOnWriteArrayList<>();
+
+    public static void addAndRemoveTimeoutQueryDetail(QueryDetail queryDetail) {
         //set event time here to guarantee order
-        long now = getCurrentTimeNS();
-        queryDetail.setEventTime(now);
-        totalQueries.add(queryDetail);
-
-        Iterator<QueryDetail> it = totalQueries.iterator();
-        long deleteTime = now - cacheTimeNS;
-        while (it.hasNext()) {
-            QueryDetail detail = it.next();
-            if (detail.getEventTime() < deleteTime) {
-                it.remove();
-            } else {
+        //NOTICE: this is not precise nano seconds, but good enough to make eventTime in order and unique
+        Tail claimed;
+        Tail next;
+        do {
+            claimed = tail.get();
+            long now = System.currentTimeMillis() * 1000000;
+            next = new Tail(claimed.seq + 1, Math.max(now, claimed.eventTime + 1));
+        } while (!tail.compareAndSet(claimed, next));
+        long seq = claimed.seq;
+        queryDetail.setEventTime(next.eventTime);
+
+        // make room for this query detail in ring buffer
+        evict(seq + 1 - capacity, next.eventTime - cacheTimeNS);
+
+        Entry entry = new Entry(seq, queryDetail, estimateBytes(queryDetail));
+        retainedBytes.addAndGet(entry.bytes);
+        int index = index(seq);
+        while (true) {
+            Entry old = ring.get(index);
+            if (old != null && old.seq > seq) {
+                // overwritten by a newer query detail before this one is stored
+                retainedBytes.addAndGet(-entry.bytes);
+                break;
+            }
+            if (ring.compareAndSet(index, old, entry)) {
+                if (old != null) {
+                    retainedBytes.addAndGet(-old.bytes);
+                }
+                if (head.get() > seq && ring.compareAndSet(index, entry, null)) {
+                    // already evicted before stored
+                    retainedBytes.addAndGet(-entry.bytes);
+                }
                 break;
             }
         }
+        evict(seq + 1 - capacity, next.eventTime - cacheTimeNS);
+
+        for (Consumer<QueryDetail> listener : listeners) {
+            try {
+                listener.accept(queryDetail);
+            } catch (Exception e) {
+                LOG.warn("failed to stream query detail {}", queryDetail.getQueryId(), e);
+            }
+        }
     }
 
-    public static synchronized List<QueryDetail> getQueryDetailsAfterTime(long eventTime) {
-        List<QueryDetail> results = Lists.newArrayList();
-        for (QueryDetail queryDetail : totalQueries) {
-            if (queryDetail.getEventTime() > eventTime) {
-                results.add(queryDetail);
+    /**
+     * Evict the oldest query details until the sequence of head is not less than minSeq, and the event time
+     * of head is not less than minEventTime, and the retained memory is under limit, except the latest one.
+     */
+    private static void evict(long minSeq, long minEventTime) {
+        long maxBytes = Config.query_detail_queue_max_bytes;
+        while (true) {
+            long headSeq = head.get();
+            long tailSeq = tail.get().seq;
+            if (headSeq >= tailSeq) {
+                return;
+            }
+            int index = index(headSeq);
+            Entry entry = ring.get(index);
+            boolean stored = entry != null && entry.seq == headSeq;
+            if (headSeq >= minSeq) {
+                // the entry is being stored, can't decide whether it's timeout. and always keep the latest one
+                if (!stored || headSeq + 1 >= tailSeq) {
+                    return;
+                }
+                if (entry.queryDetail.getEventTime() >= minEventTime && retainedBytes.get() <= maxBytes) {
+                    return;
+                }
+            }
+            if (head.compareAndSet(headSeq, headSeq + 1) && stored && ring.compareAndSet(index, entry, null)) {
+                retainedBytes.addAndGet(-entry.bytes);
             }
         }
+    }
+
+    public static List<QueryDetail> getQueryDetailsAfterTime(long eventTime) {
+        List<QueryDetail> results = Lists.newArrayList();
+        Iterator<QueryDetail> cursor = getCursorAfterTime(eventTime);
+        while (cursor.hasNext()) {
+            results.add(cursor.next());
+        }
         return results;
     }
 
-    //must get lock before call
-    //NOTICE: this is not precise nano seconds, but good enough to make eventTime in order and unique
-    private static long getCurrentTimeNS() {
-        long ms = System.currentTimeMillis();
-        if (ms == latestMS) {
-            latestMSCnt++;
-            return ms * 1000000 + latestMSCnt;
-        } else {
-            latestMS = ms;
-            latestMSCnt = 0;
-            return ms * 1000000;
+    /**
+     * Return a cursor which iterates the query details with event time greater than eventTime in order.
+     * The cursor stops at the query detail being added, and skips the query details evicted during iterating.
+     */
+    public static Iterator<QueryDetail> getCursorAfterTime(long eventTime) {
+        // binary search the first sequence whose event time is greater than eventTime,
+        // the unstored entry is regarded as greater, so it's never skipped
+        long low = head.get();
+        long high = tail.get().seq;
+        low = Math.max(low, high - capacity);
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            Entry entry = ring.get(index(mid));
+            if (entry != null && entry.seq > mid ||
+                    entry != null && entry.seq == mid && entry.queryDetail.getEventTime() <= eventTime) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return new Cursor(low, eventTime);
+    }
+
+    /**
+     * Stream the query details to listener when they are added, so the monitor doesn't need to poll the queue.
+     * The listener is called in the thread of query, it should be fast and never block.
+     */
+    public static void addListener(Consumer<QueryDetail> listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeListener(Consumer<QueryDetail> listener) {
+        listeners.remove(listener);
+    }
+
+    public static long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    public static long getQueryDetailNum() {
+        return Math.max(0, tail.get().seq - head.get());
+    }
+
+    private static class Cursor implements Iterator<QueryDetail> {
+        private final long eventTime;
+        private long nextSeq;
+        private QueryDetail next;
+
+        Cursor(long nextSeq, long eventTime) {
+            this.nextSeq = nextSeq;
+            this.eventTime = eventTime;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                nextSeq = Math.max(nextSeq, head.get());
+                if (nextSeq >= tail.get().seq) {
+                    return false;
+                }
+                Entry entry = ring.get(index(nextSeq));
+                if (entry == null || entry.seq < nextSeq) {
+                    if (head.get() > nextSeq) {
+                        // evicted
+                        continue;
+                    }
+                    // being stored
+                    return false;
+                }
+                if (entry.seq == nextSeq && entry.queryDetail.getEventTime() > eventTime) {
+                    next = entry.queryDetail;
+                }
+                nextSeq++;
+            }
+            return true;
+        }
+
+        @Override
+        public QueryDetail next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            QueryDetail result = next;
+            next = null;
+            return result;
+        }
+    }
+
+    private static int index(long seq) {
+        return (int) (seq & (capacity - 1));
+    }
+
+    private static long estimateBytes(QueryDetail queryDetail) {
+        return QUERY_DETAIL_BASE_BYTES + 2L * (length(queryDetail.getSql()) + length(queryDetail.getExplain())
+                + length(queryDetail.getProfile()) + length(queryDetail.getErrorMessage()));
+    }
+
+    private static int length(String str) {
+        return str == null ? 0 : str.length();
+    }
+
+    private static int roundUpToPowerOfTwo(int num) {
+        int n = 1;
+        while (n < num && n < (1 << 30)) {
+            n <<= 1;
         }
+        return n;
     }
-};
+}
@@ -100,6 +100,10 @@ public class QueryState {
         this.errorMessage = errorMsg;
     }
 
+    public void setErrorCode(ErrorCode errorCode) {
+        this.errorCode = errorCode;
+    }
+
     public boolean isError() {
         return stateType == MysqlStateType.ERR;
     }
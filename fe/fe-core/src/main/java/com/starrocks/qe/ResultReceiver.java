@@ -56,6 +56,11 @@ public class ResultReceiver {
     private final PUniqueId finstId;
     private final Long backendId;
     private Thread currentThread;
+    // the fetch of next batch is sent before returning current batch, so BE can prepare the next batch
+    // while the caller is sending current batch to client. It's only accessed by fetchThread.
+    private Future<PFetchDataResult> nextFetchFuture;
+    private volatile Thread fetchThread;
+    private final TDeserializer deserializer = new TDeserializer();
 
     public ResultReceiver(TUniqueId tid, Long backendId, TNetworkAddress address, int timeoutMs) {
         this.finstId = new PUniqueId();
@@ -70,14 +75,19 @@ public class ResultReceiver {
         if (isDone) {
             return null;
         }
+        fetchThread = Thread.currentThread();
+        if (isCancel) {
+            releaseNextFetch();
+        }
         final RowBatch rowBatch = new RowBatch();
         try {
             while (!isDone && !isCancel) {
-                PFetchDataRequest request = new PFetchDataRequest();
-                request.finstId = finstId;
-
                 currentThread = Thread.currentThread();
-                Future<PFetchDataResult> future = BackendServiceClient.getInstance().fetchDataAsync(address, request);
+                Future<PFetchDataResult> future = nextFetchFuture;
+                nextFetchFuture = null;
+                if (future == null) {
+                    future = fetchDataAsync();
+                }
                 PFetchDataResult pResult = null;
                 while (pResult == null) {
                     long currentTs = System.currentTimeMillis();
@@ -121,10 +131,12 @@ public class ResultReceiver {
                         ReferenceCountUtil.release(rpcContext.getResponseBinaryAttachment());
                         if (serialResult != null && serialResult.length > 0) {
                             TResultBatch resultBatch = new TResultBatch();
-                            TDeserializer deserializer = new TDeserializer();
                             deserializer.deserialize(resultBatch, serialResult);
                             rowBatch.setBatch(resultBatch);
                             rowBatch.setEos(pResult.eos);
+                            if (!isDone) {
+                                nextFetchFuture = fetchDataAsync();
+                            }
                             return rowBatch;
                         }
                     }
@@ -164,8 +176,50 @@ public class ResultReceiver {
         return rowBatch;
     }
 
+    private Future<PFetchDataResult> fetchDataAsync() throws RpcException {
+        PFetchDataRequest request = new PFetchDataRequest();
+        request.finstId = finstId;
+        return BackendServiceClient.getInstance().fetchDataAsync(address, request);
+    }
+
+    // The attachment of response must be released, wait for the fetch which is sent in advance
+    private void releaseNextFetch() {
+        Future<PFetchDataResult> future = nextFetchFuture;
+        nextFetchFuture = null;
+        if (future == null) {
+            return;
+        }
+        try {
+            future.get(Math.max(0, timeoutTs - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            if (RpcContext.isSet()) {
+                ByteBuf buf = RpcContext.getContext().getResponseBinaryAttachment();
+                if (buf != null) {
+                    ReferenceCountUtil.release(buf);
+                }
+            }
+        } catch (Exception e) {
+            LOG.warn("release prefetched result failed, finstId={}", DebugUtil.printId(finstId), e);
+        }
+    }
+
+    /**
+     * Release the batch fetched in advance, which holds the direct memory of response attachment.
+     * The attachment is bound to the thread which waits for the fetch, so it must be called by the thread
+     * calling getNext, after the last getNext on every path, e.g. eos, error, cancel or the client is gone.
+     */
+    public void close() {
+        if (Thread.currentThread() == fetchThread) {
+            releaseNextFetch();
+        } else if (nextFetchFuture != null) {
+            LOG.warn("close result receiver outside the fetch thread, finstId={}", DebugUtil.printId(finstId));
+        }
+    }
+
     public void cancel() {
         isCancel = true;
+        if (Thread.currentThread() == fetchThread) {
+            releaseNextFetch();
+        }
         synchronized (this) {
             if (currentThread != null) {
                 // TODO(cmy): we cannot interrupt this thread, or we may throw
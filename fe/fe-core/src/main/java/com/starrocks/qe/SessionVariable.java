@@ -213,6 +213,8 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     public static final String ENABLE_SQL_DIGEST = "enable_sql_digest";
     public static final String CBO_MAX_REORDER_NODE = "cbo_max_reorder_node";
     public static final String CBO_PRUNE_SHUFFLE_COLUMN_RATE = "cbo_prune_shuffle_column_rate";
+    public static final String CBO_ENABLE_PARALLEL_TASK_SCHEDULER = "cbo_enable_parallel_task_scheduler";
+    public static final String ENABLE_PLAN_CACHE = "enable_plan_cache";
     public static final String CBO_DEBUG_ALIVE_BACKEND_NUMBER = "cbo_debug_alive_backend_number";
 
     // --------  New planner session variables end --------
@@ -525,6 +527,12 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     @VariableMgr.VarAttr(name = NEW_PLANNER_OPTIMIZER_TIMEOUT)
     private long optimizerExecuteTimeout = 3000;
 
+    @VariableMgr.VarAttr(name = CBO_ENABLE_PARALLEL_TASK_SCHEDULER)
+    private boolean cboEnableParallelTaskScheduler = false;
+
+    @VariableMgr.VarAttr(name = ENABLE_PLAN_CACHE)
+    private boolean enablePlanCache = false;
+
     @VariableMgr.VarAttr(name = ENABLE_QUERY_DUMP)
     private boolean enableQueryDump = false;
 
@@ -888,6 +896,22 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         this.optimizerExecuteTimeout = optimizerExecuteTimeout;
     }
 
+    public boolean isCboEnableParallelTaskScheduler() {
+        return cboEnableParallelTaskScheduler;
+    }
+
+    public void setCboEnableParallelTaskScheduler(boolean cboEnableParallelTaskScheduler) {
+        this.cboEnableParallelTaskScheduler = cboEnableParallelTaskScheduler;
+    }
+
+    public boolean isEnablePlanCache() {
+        return enablePlanCache;
+    }
+
+    public void setEnablePlanCache(boolean enablePlanCache) {
+        this.enablePlanCache = enablePlanCache;
+    }
+
     public boolean getEnableGroupbyUseOutputAlias() {
         return enableGroupbyUseOutputAlias;
     }
@@ -77,7 +77,9 @@ import com.starrocks.meta.SqlBlackList;
 import com.starrocks.metric.MetricRepo;
 import com.starrocks.metric.TableMetricsEntity;
 import com.starrocks.metric.TableMetricsRegistry;
+import com.starrocks.mysql.MysqlBinaryRowConverter;
 import com.starrocks.mysql.MysqlChannel;
+import com.starrocks.mysql.MysqlCommand;
 import com.starrocks.mysql.MysqlEofPacket;
 import com.starrocks.mysql.MysqlSerializer;
 import com.starrocks.mysql.privilege.PrivPredicate;
@@ -374,6 +376,10 @@ public class StmtExecutor {
                 return;
             }
             if (isForwardToLeader()) {
+                if (context.getCommand() == MysqlCommand.COM_STMT_EXECUTE) {
+                    // the leader only receives the sql text, the bound parameters and binary result are lost
+                    throw new AnalysisException("Prepared statement can't be forwarded to leader");
+                }
                 forwardToLeader();
                 return;
             } else {
@@ -600,8 +606,6 @@ public class StmtExecutor {
         profile.getChildMap().get("Summary")
                 .addInfoString(ProfileManager.PROFILE_TIME,
                         DebugUtil.getPrettyStringMs(profileEndTime - profileBeginTime));
-        StringBuilder builder = new StringBuilder();
-        profile.prettyPrint(builder, "");
         String profileContent = ProfileManager.getInstance().pushProfile(profile);
         if (context.getQueryDetail() != null) {
             context.getQueryDetail().setProfile(profileContent);
@@ -702,6 +706,22 @@ public class StmtExecutor {
         context.getState().setOk();
     }
 
+    private void updateResultThroughput(long rows, long bytes, long costNano) {
+        if (rows == 0 || costNano <= 0) {
+            return;
+        }
+        double costSeconds = costNano / 1e9;
+        long rowsPerSecond = (long) (rows / costSeconds);
+        long bytesPerSecond = (long) (bytes / costSeconds);
+        LOG.debug("query {} sent {} rows, {} bytes to client in {} ms, {} rows/s, {} bytes/s",
+                DebugUtil.printId(context.getExecutionId()), rows, bytes, costNano / 1000000,
+                rowsPerSecond, bytesPerSecond);
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_QUERY_RESULT_ROWS_PER_SECOND.update(rowsPerSecond);
+            MetricRepo.HISTO_QUERY_RESULT_BYTES_PER_SECOND.update(bytesPerSecond);
+        }
+    }
+
     // Process a select statement.
     private void handleQueryStmt(ExecPlan execPlan) throws Exception {
         // Every time set no send flag and clean all data in buffer
@@ -745,38 +765,59 @@ public class StmtExecutor {
         } else if (queryStmt instanceof QueryStatement) {
             isOutfileQuery = ((QueryStatement) queryStmt).hasOutFileClause();
         }
+        // the result rows of prepared statements are sent in binary protocol
+        MysqlBinaryRowConverter binaryRowConverter = null;
+        if (context.getCommand() == MysqlCommand.COM_STMT_EXECUTE) {
+            binaryRowConverter = new MysqlBinaryRowConverter(
+                    outputExprs.stream().map(Expr::getOriginType).collect(Collectors.toList()));
+        }
         boolean isSendFields = false;
-        while (true) {
-            batch = coord.getNext();
-            // for outfile query, there will be only one empty batch send back with eos flag
-            if (batch.getBatch() != null && !isOutfileQuery) {
-                // For some language driver, getting error packet after fields packet will be recognized as a success result
-                // so We need to send fields after first batch arrived
-                if (!isSendFields) {
-                    sendFields(colNames, outputExprs);
-                    isSendFields = true;
-                }
-                if (channel.isSendBufferNull()) {
-                    int bufferSize = 0;
+        long sendStartNano = System.nanoTime();
+        long sentRows = 0;
+        long sentBytes = 0;
+        try {
+            while (true) {
+                batch = coord.getNext();
+                // for outfile query, there will be only one empty batch send back with eos flag
+                if (batch.getBatch() != null && !isOutfileQuery) {
+                    // For some language driver, getting error packet after fields packet will be recognized
+                    // as a success result
+                    // so We need to send fields after first batch arrived
+                    if (!isSendFields) {
+                        sendFields(colNames, outputExprs);
+                        isSendFields = true;
+                    }
+                    if (channel.isSendBufferNull()) {
+                        int bufferSize = 0;
+                        for (ByteBuffer row : batch.getBatch().getRows()) {
+                            bufferSize += row.remaining();
+                        }
+                        // +8 for header size
+                        channel.initBuffer(bufferSize + 8);
+                    }
+
                     for (ByteBuffer row : batch.getBatch().getRows()) {
-                        bufferSize += (row.position() - row.limit());
+                        if (binaryRowConverter != null) {
+                            row = binaryRowConverter.convert(row);
+                        }
+                        sentBytes += row.remaining();
+                        channel.sendOnePacket(row);
                     }
-                    // +8 for header size
-                    channel.initBuffer(bufferSize + 8);
+                    sentRows += batch.getBatch().getRows().size();
+                    context.updateReturnRows(batch.getBatch().getRows().size());
                 }
-
-                for (ByteBuffer row : batch.getBatch().getRows()) {
-                    channel.sendOnePacket(row);
+                if (batch.isEos()) {
+                    break;
                 }
-                context.updateReturnRows(batch.getBatch().getRows().size());
-            }
-            if (batch.isEos()) {
-                break;
             }
+        } finally {
+            // the prefetched batch is released by this thread when the client is gone or the query is cancelled
+            coord.closeReceiver();
         }
         if (!isSendFields && !isOutfileQuery) {
             sendFields(colNames, outputExprs);
         }
+        updateResultThroughput(sentRows, sentBytes, System.nanoTime() - sendStartNano);
 
         statisticsForAuditLog = batch.getQueryStatistics();
         if (!isOutfileQuery) {
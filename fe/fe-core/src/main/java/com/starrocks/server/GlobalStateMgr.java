@@ -179,6 +179,8 @@ import com.starrocks.persist.BackendTabletsInfo;
 import com.starrocks.persist.ChangeMaterializedViewRefreshSchemeLog;
 import com.starrocks.persist.DropPartitionInfo;
 import com.starrocks.persist.EditLog;
+import com.starrocks.persist.ImageLoader;
+import com.starrocks.persist.ImageWriter;
 import com.starrocks.persist.GlobalVarPersistInfo;
 import com.starrocks.persist.ModifyTableColumnOperationLog;
 import com.starrocks.persist.ModifyTablePropertyOperationLog;
@@ -240,13 +242,10 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -334,6 +333,7 @@ public class GlobalStateMgr {
 
     private static GlobalStateMgr CHECKPOINT = null;
     private static long checkpointThreadId = -1;
+    private static final Set<Long> checkpointWorkerThreadIds = ConcurrentHashMap.newKeySet();
     private Checkpoint checkpointer;
 
     private HAProtocol haProtocol = null;
@@ -672,6 +672,10 @@ public class GlobalStateMgr {
         return tabletChecker;
     }
 
+    public PublishVersionDaemon getPublishVersionDaemon() {
+        return publishVersionDaemon;
+    }
+
     public ConcurrentHashMap<String, Database> getFullNameToDb() {
         return localMetastore.getFullNameToDb();
     }
@@ -717,7 +721,18 @@ public class GlobalStateMgr {
     }
 
     public static boolean isCheckpointThread() {
-        return Thread.currentThread().getId() == checkpointThreadId;
+        long threadId = Thread.currentThread().getId();
+        return threadId == checkpointThreadId ||
+                (!checkpointWorkerThreadIds.isEmpty() && checkpointWorkerThreadIds.contains(threadId));
+    }
+
+    // The threads which save image in parallel for checkpoint thread
+    public static void addCheckpointWorkerThread(long threadId) {
+        checkpointWorkerThreadIds.add(threadId);
+    }
+
+    public static void removeCheckpointWorkerThread(long threadId) {
+        checkpointWorkerThreadIds.remove(threadId);
     }
 
     public static PluginMgr getCurrentPluginMgr() {
@@ -1138,59 +1153,60 @@ public class GlobalStateMgr {
         LOG.info("start load image from {}. is ckpt: {}", curFile.getAbsolutePath(),
                 GlobalStateMgr.isCheckpointThread());
         long loadImageStartTime = System.currentTimeMillis();
-        DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(curFile)));
+        ImageLoader loader = new ImageLoader(curFile);
+        DataInputStream dis = loader.getInputStream();
 
         long checksum = 0;
         long remoteChecksum = -1;  // in case of empty image file checksum match
         try {
-            checksum = loadHeader(dis, checksum);
-            checksum = nodeMgr.loadLeaderInfo(dis, checksum);
-            checksum = nodeMgr.loadFrontends(dis, checksum);
-            checksum = nodeMgr.loadBackends(dis, checksum);
-            checksum = localMetastore.loadDb(dis, checksum);
+            checksum = loader.load("header", this::loadHeader, checksum);
+            checksum = loader.load("leaderInfo", nodeMgr::loadLeaderInfo, checksum);
+            checksum = loader.load("frontends", nodeMgr::loadFrontends, checksum);
+            checksum = loader.load("backends", nodeMgr::loadBackends, checksum);
+            checksum = loader.load("db", localMetastore::loadDb, checksum);
             // ATTN: this should be done after load Db, and before loadAlterJob
             localMetastore.recreateTabletInvertIndex();
             // rebuild es state state
             esRepository.loadTableFromCatalog();
             starRocksRepository.loadTableFromCatalog();
 
-            checksum = load.loadLoadJob(dis, checksum);
-            checksum = loadAlterJob(dis, checksum);
-            checksum = recycleBin.loadRecycleBin(dis, checksum);
-            checksum = VariableMgr.loadGlobalVariable(dis, checksum);
-            checksum = localMetastore.loadCluster(dis, checksum);
-            checksum = nodeMgr.loadBrokers(dis, checksum);
-            checksum = loadResources(dis, checksum);
-            checksum = exportMgr.loadExportJob(dis, checksum);
-            checksum = backupHandler.loadBackupHandler(dis, checksum, this);
-            checksum = auth.loadAuth(dis, checksum);
+            checksum = loader.load("loadJob", load::loadLoadJob, checksum);
+            checksum = loader.load("alterJob", this::loadAlterJob, checksum);
+            checksum = loader.load("recycleBin", recycleBin::loadRecycleBin, checksum);
+            checksum = loader.load("globalVariable", VariableMgr::loadGlobalVariable, checksum);
+            checksum = loader.load("cluster", localMetastore::loadCluster, checksum);
+            checksum = loader.load("brokers", nodeMgr::loadBrokers, checksum);
+            checksum = loader.load("resources", this::loadResources, checksum);
+            checksum = loader.load("exportJob", exportMgr::loadExportJob, checksum);
+            checksum = loader.load("backupHandler", (in, c) -> backupHandler.loadBackupHandler(in, c, this), checksum);
+            checksum = loader.load("auth", auth::loadAuth, checksum);
             // global transaction must be replayed before load jobs v2
-            checksum = globalTransactionMgr.loadTransactionState(dis, checksum);
-            checksum = colocateTableIndex.loadColocateTableIndex(dis, checksum);
-            checksum = routineLoadManager.loadRoutineLoadJobs(dis, checksum);
-            checksum = loadManager.loadLoadJobsV2(dis, checksum);
-            checksum = smallFileMgr.loadSmallFiles(dis, checksum);
-            checksum = pluginMgr.loadPlugins(dis, checksum);
-            checksum = loadDeleteHandler(dis, checksum);
+            checksum = loader.load("transactionState", globalTransactionMgr::loadTransactionState, checksum);
+            checksum = loader.load("colocateTableIndex", colocateTableIndex::loadColocateTableIndex, checksum);
+            checksum = loader.load("routineLoadJobs", routineLoadManager::loadRoutineLoadJobs, checksum);
+            checksum = loader.load("loadJobsV2", loadManager::loadLoadJobsV2, checksum);
+            checksum = loader.load("smallFiles", smallFileMgr::loadSmallFiles, checksum);
+            checksum = loader.load("plugins", pluginMgr::loadPlugins, checksum);
+            checksum = loader.load("deleteHandler", this::loadDeleteHandler, checksum);
             remoteChecksum = dis.readLong();
-            checksum = analyzeManager.loadAnalyze(dis, checksum);
+            checksum = loader.load("analyze", analyzeManager::loadAnalyze, checksum);
             remoteChecksum = dis.readLong();
-            checksum = resourceGroupMgr.loadResourceGroups(dis, checksum);
-            checksum = auth.readAsGson(dis, checksum);
+            checksum = loader.load("resourceGroups", resourceGroupMgr::loadResourceGroups, checksum);
+            checksum = loader.load("authGson", auth::readAsGson, checksum);
             remoteChecksum = dis.readLong();
-            checksum = taskManager.loadTasks(dis, checksum);
+            checksum = loader.load("tasks", taskManager::loadTasks, checksum);
             remoteChecksum = dis.readLong();
-            checksum = catalogMgr.loadCatalogs(dis, checksum);
+            checksum = loader.load("catalogs", catalogMgr::loadCatalogs, checksum);
             remoteChecksum = dis.readLong();
-            checksum = loadInsertOverwriteJobs(dis, checksum);
-            checksum = nodeMgr.loadComputeNodes(dis, checksum);
+            checksum = loader.load("insertOverwriteJobs", this::loadInsertOverwriteJobs, checksum);
+            checksum = loader.load("computeNodes", nodeMgr::loadComputeNodes, checksum);
             remoteChecksum = dis.readLong();
-            checksum = loadShardManager(dis, checksum);
+            checksum = loader.load("shardManager", this::loadShardManager, checksum);
             remoteChecksum = dis.readLong();
         } catch (EOFException exception) {
             LOG.warn("load image eof.", exception);
         } finally {
-            dis.close();
+            loader.close();
         }
 
         Preconditions.checkState(remoteChecksum == checksum, remoteChecksum + " vs. " + checksum);
@@ -1377,45 +1393,45 @@ public class GlobalStateMgr {
 
         long checksum = 0;
         long saveImageStartTime = System.currentTimeMillis();
-        try (DataOutputStream dos = new DataOutputStream(new FileOutputStream(curFile))) {
-            checksum = saveHeader(dos, replayedJournalId, checksum);
-            checksum = nodeMgr.saveLeaderInfo(dos, checksum);
-            checksum = nodeMgr.saveFrontends(dos, checksum);
-            checksum = nodeMgr.saveBackends(dos, checksum);
-            checksum = localMetastore.saveDb(dos, checksum);
-            checksum = load.saveLoadJob(dos, checksum);
-            checksum = saveAlterJob(dos, checksum);
-            checksum = recycleBin.saveRecycleBin(dos, checksum);
-            checksum = VariableMgr.saveGlobalVariable(dos, checksum);
-            checksum = localMetastore.saveCluster(dos, checksum);
-            checksum = nodeMgr.saveBrokers(dos, checksum);
-            checksum = resourceMgr.saveResources(dos, checksum);
-            checksum = exportMgr.saveExportJob(dos, checksum);
-            checksum = backupHandler.saveBackupHandler(dos, checksum);
-            checksum = auth.saveAuth(dos, checksum);
-            checksum = globalTransactionMgr.saveTransactionState(dos, checksum);
-            checksum = colocateTableIndex.saveColocateTableIndex(dos, checksum);
-            checksum = routineLoadManager.saveRoutineLoadJobs(dos, checksum);
-            checksum = loadManager.saveLoadJobsV2(dos, checksum);
-            checksum = smallFileMgr.saveSmallFiles(dos, checksum);
-            checksum = pluginMgr.savePlugins(dos, checksum);
-            checksum = deleteHandler.saveDeleteHandler(dos, checksum);
-            dos.writeLong(checksum);
-            checksum = analyzeManager.saveAnalyze(dos, checksum);
-            dos.writeLong(checksum);
-            checksum = resourceGroupMgr.saveResourceGroups(dos, checksum);
-            checksum = auth.writeAsGson(dos, checksum);
-            dos.writeLong(checksum);
-            checksum = taskManager.saveTasks(dos, checksum);
-            dos.writeLong(checksum);
-            checksum = catalogMgr.saveCatalogs(dos, checksum);
-            dos.writeLong(checksum);
-            checksum = saveInsertOverwriteJobs(dos, checksum);
-            checksum = nodeMgr.saveComputeNodes(dos, checksum);
-            dos.writeLong(checksum);
-            checksum = shardManager.saveShardManager(dos, checksum);
-            dos.writeLong(checksum);
-        }
+        ImageWriter writer = new ImageWriter()
+                .addSection("header", (dos, c) -> saveHeader(dos, replayedJournalId, c))
+                .addSection("leaderInfo", nodeMgr::saveLeaderInfo)
+                .addSection("frontends", nodeMgr::saveFrontends)
+                .addSection("backends", nodeMgr::saveBackends)
+                .addSection("db", localMetastore::saveDb)
+                .addSection("loadJob", load::saveLoadJob)
+                .addSection("alterJob", this::saveAlterJob)
+                .addSection("recycleBin", recycleBin::saveRecycleBin)
+                .addSection("globalVariable", VariableMgr::saveGlobalVariable)
+                .addSection("cluster", localMetastore::saveCluster)
+                .addSection("brokers", nodeMgr::saveBrokers)
+                .addSection("resources", resourceMgr::saveResources)
+                .addSection("exportJob", exportMgr::saveExportJob)
+                .addSection("backupHandler", backupHandler::saveBackupHandler)
+                .addSection("auth", auth::saveAuth)
+                .addSection("transactionState", globalTransactionMgr::saveTransactionState)
+                .addSection("colocateTableIndex", colocateTableIndex::saveColocateTableIndex)
+                .addSection("routineLoadJobs", routineLoadManager::saveRoutineLoadJobs)
+                .addSection("loadJobsV2", loadManager::saveLoadJobsV2)
+                .addSection("smallFiles", smallFileMgr::saveSmallFiles)
+                .addSection("plugins", pluginMgr::savePlugins)
+                .addSection("deleteHandler", deleteHandler::saveDeleteHandler)
+                .addChecksum()
+                .addSection("analyze", analyzeManager::saveAnalyze)
+                .addChecksum()
+                .addSection("resourceGroups", resourceGroupMgr::saveResourceGroups)
+                .addSection("authGson", auth::writeAsGson)
+                .addChecksum()
+                .addSection("tasks", taskManager::saveTasks)
+                .addChecksum()
+                .addSection("catalogs", catalogMgr::saveCatalogs)
+                .addChecksum()
+                .addSection("insertOverwriteJobs", this::saveInsertOverwriteJobs)
+                .addSection("computeNodes", nodeMgr::saveComputeNodes)
+                .addChecksum()
+                .addSection("shardManager", shardManager::saveShardManager)
+                .addChecksum();
+        checksum = writer.write(curFile, Config.image_save_parallelism);
 
         long saveImageEndTime = System.currentTimeMillis();
         LOG.info("finished save image {} in {} ms. checksum is {}",
@@ -137,6 +137,7 @@ import com.starrocks.lake.LakeTable;
 import com.starrocks.lake.LakeTablet;
 import com.starrocks.lake.StorageInfo;
 import com.starrocks.meta.MetaContext;
+import com.starrocks.metric.TransactionMetricMgr;
 import com.starrocks.persist.AddPartitionsInfo;
 import com.starrocks.persist.AddPartitionsInfoV2;
 import com.starrocks.persist.BackendIdsUpdateInfo;
@@ -443,6 +444,7 @@ public class LocalMetastore implements ConnectorMetadata {
 
     @NotNull
     public List<Runnable> unprotectDropDb(Database db, boolean isForeDrop, boolean isReplay) {
+        TransactionMetricMgr.removeDbMetrics(db.getId());
         List<Runnable> runnableList = new ArrayList<>();
         for (Table table : db.getTables()) {
             Runnable runnable = db.unprotectDropTable(table.getId(), isForeDrop, isReplay);
@@ -540,6 +542,7 @@ public class LocalMetastore implements ConnectorMetadata {
             if (!recycleBin.recoverTable(db, tableName)) {
                 ErrorReport.reportDdlException(ErrorCode.ERR_BAD_TABLE_ERROR, tableName);
             }
+            stateMgr.getTabletChecker().markTableDirty(db.getId(), db.getTable(tableName).getId());
         } finally {
             db.writeUnlock();
         }
@@ -572,6 +575,7 @@ public class LocalMetastore implements ConnectorMetadata {
             }
 
             recycleBin.recoverPartition(db.getId(), olapTable, partitionName);
+            stateMgr.getTabletChecker().markTableDirty(db.getId(), olapTable.getId());
         } finally {
             db.writeUnlock();
         }
@@ -3643,6 +3647,7 @@ public class LocalMetastore implements ConnectorMetadata {
         ModifyPartitionInfo info = new ModifyPartitionInfo(db.getId(), table.getId(), partition.getId(),
                 newDataProperty, replicationNum, isInMemory);
         editLog.logModifyPartition(info);
+        stateMgr.getTabletChecker().markTableDirty(db.getId(), table.getId());
         LOG.info("modify partition[{}-{}-{}] replication num to {}", db.getOriginName(), table.getName(),
                 partition.getName(), replicationNum);
     }
@@ -3695,6 +3700,9 @@ public class LocalMetastore implements ConnectorMetadata {
         ModifyTablePropertyOperationLog info =
                 new ModifyTablePropertyOperationLog(db.getId(), table.getId(), properties);
         editLog.logModifyReplicationNum(info);
+        if (isUnpartitionedTable) {
+            stateMgr.getTabletChecker().markTableDirty(db.getId(), table.getId());
+        }
         LOG.info("modify table[{}] replication num to {}", table.getName(),
                 properties.get(PropertyAnalyzer.PROPERTIES_REPLICATION_NUM));
     }
@@ -4496,6 +4504,7 @@ public class LocalMetastore implements ConnectorMetadata {
                                 new SetReplicaStatusOperationLog(backendId, tabletId, status);
                         editLog.logSetReplicaStatus(log);
                     }
+                    stateMgr.getTabletChecker().markTabletDirty(tabletId);
                     LOG.info("set replica {} of tablet {} on backend {} as {}. is replay: {}",
                             replica.getId(), tabletId, backendId, status, isReplay);
                 }
@@ -4508,6 +4517,8 @@ public class LocalMetastore implements ConnectorMetadata {
     public void onEraseDatabase(long dbId) {
         // remove database transaction manager
         stateMgr.getGlobalTransactionMgr().removeDatabaseTransactionMgr(dbId);
+        // the metrics may be added by the transactions finished after the database is dropped
+        TransactionMetricMgr.removeDbMetrics(dbId);
     }
 
     public void onEraseTable(@NotNull OlapTable olapTable) {
@@ -66,6 +66,7 @@ import com.starrocks.mysql.privilege.PrivPredicate;
 import com.starrocks.mysql.privilege.Privilege;
 import com.starrocks.mysql.privilege.TablePrivEntry;
 import com.starrocks.mysql.privilege.UserPrivTable;
+import com.starrocks.planner.StreamLoadPlanCache;
 import com.starrocks.planner.StreamLoadPlanner;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.qe.ConnectProcessor;
@@ -1223,16 +1224,33 @@ public class FrontendServiceImpl implements FrontendService.Iface {
                                 "and the data of materialized view must be consistent with the base table.",
                         table.getName(), table.getName()));
             }
-            StreamLoadTask streamLoadTask = StreamLoadTask.fromTStreamLoadPutRequest(request, db);
-            StreamLoadPlanner planner = new StreamLoadPlanner(db, (OlapTable) table, streamLoadTask);
-            TExecPlanFragmentParams plan = planner.plan(streamLoadTask.getId());
-            // add table indexes to transaction state
             TransactionState txnState =
                     GlobalStateMgr.getCurrentGlobalTransactionMgr().getTransactionState(db.getId(), request.getTxnId());
             if (txnState == null) {
                 throw new UserException("txn does not exist: " + request.getTxnId());
             }
-            txnState.addTableIndexes((OlapTable) table);
+
+            long planStartTime = System.currentTimeMillis();
+            OlapTable olapTable = (OlapTable) table;
+            StreamLoadPlanCache planCache = StreamLoadPlanCache.getInstance();
+            TExecPlanFragmentParams plan = null;
+            if (Config.enable_stream_load_plan_cache) {
+                plan = planCache.getPlan(request, olapTable, txnState);
+            }
+            if (plan == null) {
+                StreamLoadTask streamLoadTask = StreamLoadTask.fromTStreamLoadPutRequest(request, db);
+                StreamLoadPlanner planner = new StreamLoadPlanner(db, olapTable, streamLoadTask);
+                plan = planner.plan(streamLoadTask.getId());
+                if (Config.enable_stream_load_plan_cache) {
+                    planCache.putPlan(request, olapTable, planner.getPartitionIds(), plan);
+                }
+            }
+            if (MetricRepo.isInit) {
+                MetricRepo.HISTO_STREAM_LOAD_PLAN_LATENCY.update(System.currentTimeMillis() - planStartTime);
+            }
+
+            // add table indexes to transaction state
+            txnState.addTableIndexes(olapTable);
 
             return plan;
         } finally {
@@ -12,6 +12,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * To timing a function or a piece of code, you could
@@ -26,6 +27,9 @@ import java.util.concurrent.ConcurrentHashMap;
  * - ComoennentB
  * - FunctionC: 100ms / 10
  * It means FunctionC has executed 10 times, and 100ms in total.
+ * <p>
+ * Numbers other than time, like the number of files planned, are recorded by {@link #addCounter}, and shown
+ * in the same hierarchy.
  */
 
 public class PlannerProfile {
@@ -61,6 +65,7 @@ public class PlannerProfile {
     }
 
     private final Map<String, ScopedTimer> timers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
 
     public PlannerProfile() {
     }
@@ -87,6 +92,15 @@ public class PlannerProfile {
         return t;
     }
 
+    public static void addCounter(String name, long delta) {
+        PlannerProfile p = DEFAULT_INSTANCE;
+        ConnectContext ctx = ConnectContext.get();
+        if (ctx != null) {
+            p = ctx.getPlannerProfile();
+        }
+        p.counters.computeIfAbsent(name, (key) -> new AtomicLong()).addAndGet(delta);
+    }
+
     private RuntimeProfile getRuntimeProfile(RuntimeProfile parent, Map<String, RuntimeProfile> cache,
                                              String prefix) {
         if (cache.containsKey(prefix)) {
@@ -119,11 +133,15 @@ public class PlannerProfile {
     }
 
     public void buildTimers(RuntimeProfile parent) {
+        Map<String, RuntimeProfile> profilers = new HashMap<>();
+        profilers.put("", parent);
+        buildTimers(parent, profilers);
+    }
+
+    private void buildTimers(RuntimeProfile parent, Map<String, RuntimeProfile> profilers) {
         List<String> keys = new ArrayList<>(timers.keySet());
         Collections.sort(keys);
 
-        Map<String, RuntimeProfile> profilers = new HashMap<>();
-        profilers.put("", parent);
         for (String key : keys) {
             String prefix = getKeyPrefix(key);
             String name = key.substring(prefix.length());
@@ -133,11 +151,27 @@ public class PlannerProfile {
         }
     }
 
+    private void buildCounters(RuntimeProfile parent, Map<String, RuntimeProfile> profilers) {
+        List<String> keys = new ArrayList<>(counters.keySet());
+        Collections.sort(keys);
+
+        for (String key : keys) {
+            String prefix = getKeyPrefix(key);
+            String name = key.substring(prefix.length());
+            RuntimeProfile p = getRuntimeProfile(parent, profilers, prefix);
+            p.addInfoString(name, String.valueOf(counters.get(key).get()));
+        }
+    }
+
     public void build(RuntimeProfile parent) {
-        buildTimers(parent);
+        Map<String, RuntimeProfile> profilers = new HashMap<>();
+        profilers.put("", parent);
+        buildTimers(parent, profilers);
+        buildCounters(parent, profilers);
     }
 
     public void reset() {
         timers.clear();
+        counters.clear();
     }
 }
@@ -28,7 +28,8 @@ import com.starrocks.sql.optimizer.base.PhysicalPropertySet;
 import com.starrocks.sql.optimizer.transformer.LogicalPlan;
 import com.starrocks.sql.optimizer.transformer.RelationTransformer;
 import com.starrocks.sql.plan.ExecPlan;
-import com.starrocks.sql.plan.PlanFragmentBuilder;
+import com.starrocks.sql.plan.PlanCache;
+import com.starrocks.sql.plan.PlanParameters;
 
 import java.util.List;
 import java.util.Map;
@@ -40,7 +41,10 @@ public class StatementPlanner {
         if (stmt instanceof QueryStatement) {
             OptimizerTraceUtil.logQueryStatement(session, "after parse:\n%s", (QueryStatement) stmt);
         }
-        Analyzer.analyze(stmt, session);
+        // the analyzed statement of a prepared statement is only bound to new parameters, see PrepareStmtContext
+        if (!(stmt instanceof QueryStatement && ((QueryStatement) stmt).isPrepared())) {
+            Analyzer.analyze(stmt, session);
+        }
         PrivilegeChecker.check(stmt, session);
         if (stmt instanceof QueryStatement) {
             OptimizerTraceUtil.logQueryStatement(session, "after analyze:\n%s", (QueryStatement) stmt);
@@ -51,7 +55,7 @@ public class StatementPlanner {
             try {
                 lock(dbs);
                 session.setCurrentSqlDbIds(dbs.values().stream().map(Database::getId).collect(Collectors.toSet()));
-                ExecPlan plan = createQueryPlan(((QueryStatement) stmt).getQueryRelation(), session);
+                ExecPlan plan = createQueryPlanWithCache((QueryStatement) stmt, session);
                 setOutfileSink((QueryStatement) stmt, plan);
 
                 return plan;
@@ -76,13 +80,61 @@ public class StatementPlanner {
         return null;
     }
 
+    private ExecPlan createQueryPlanWithCache(QueryStatement stmt, ConnectContext session) {
+        if (!session.getSessionVariable().isEnablePlanCache()) {
+            return createQueryPlan(stmt.getQueryRelation(), session);
+        }
+
+        PlanCache planCache = PlanCache.getInstance();
+        long catalogVersion = planCache.getCatalogVersion();
+        PlanCache.PlanCacheKey key = planCache.buildKey(stmt, session);
+        if (key == null) {
+            return createQueryPlan(stmt.getQueryRelation(), session);
+        }
+
+        PlanParameters parameters = key.getParameters();
+        PlanCache.CachedPlan cachedPlan = planCache.getPlan(key);
+        if (cachedPlan == null) {
+            cachedPlan = optimizeQuery(stmt.getQueryRelation(), session, parameters);
+            // The partitions and tablets of a generic plan are not pruned by the parameters
+            if (parameters.hasUnknownLiteral() || cachedPlan.isPrunedByParameters()) {
+                cachedPlan = PlanCache.CachedPlan.custom();
+            }
+            planCache.putPlan(key, catalogVersion, cachedPlan);
+        }
+        if (!cachedPlan.isCustom()) {
+            return cachedPlan.buildExecPlan(session, parameters);
+        }
+
+        PlanCache.PlanCacheKey customKey = key.toCustomKey();
+        PlanCache.CachedPlan customPlan = planCache.getPlan(customKey);
+        if (customPlan == null) {
+            customPlan = optimizeQuery(stmt.getQueryRelation(), session, null);
+            planCache.putPlan(customKey, catalogVersion, customPlan);
+        }
+        return customPlan.buildExecPlan(session, null);
+    }
+
     private ExecPlan createQueryPlan(Relation relation, ConnectContext session) {
+        return optimizeQuery(relation, session, null).buildExecPlan(session, null);
+    }
+
+    /**
+     * Optimize the query, the literals of parameters are translated to placeholders if it's not null
+     */
+    private PlanCache.CachedPlan optimizeQuery(Relation relation, ConnectContext session, PlanParameters parameters) {
         QueryRelation query = (QueryRelation) relation;
         List<String> colNames = query.getColumnOutputNames();
 
         //1. Build Logical plan
         ColumnRefFactory columnRefFactory = new ColumnRefFactory();
-        LogicalPlan logicalPlan = new RelationTransformer(columnRefFactory, session).transformWithSelectLimit(query);
+        LogicalPlan logicalPlan;
+        session.setPlanParameters(parameters);
+        try {
+            logicalPlan = new RelationTransformer(columnRefFactory, session).transformWithSelectLimit(query);
+        } finally {
+            session.setPlanParameters(null);
+        }
 
         //2. Optimize logical plan and build physical plan
         Optimizer optimizer = new Optimizer();
@@ -93,19 +145,9 @@ public class StatementPlanner {
                 new ColumnRefSet(logicalPlan.getOutputColumn()),
                 columnRefFactory);
 
-        //3. Build fragment exec plan
-        /*
-         * SingleNodeExecPlan is set in TableQueryPlanAction to generate a single-node Plan,
-         * currently only used in Spark/Flink Connector
-         * Because the connector sends only simple queries, it only needs to remove the output fragment
-         */
-        if (session.getSessionVariable().isSingleNodeExecPlan()) {
-            return new PlanFragmentBuilder().createPhysicalPlanWithoutOutputFragment(
-                    optimizedPlan, session, logicalPlan.getOutputColumn(), columnRefFactory, colNames);
-        } else {
-            return new PlanFragmentBuilder().createPhysicalPlan(
-                    optimizedPlan, session, logicalPlan.getOutputColumn(), columnRefFactory, colNames);
-        }
+        //3. Fragment exec plan is built by CachedPlan
+        return new PlanCache.CachedPlan(optimizedPlan, logicalPlan.getOutputColumn(), columnRefFactory, colNames,
+                optimizer.getContext().isColumnStatisticsNotLoaded());
     }
 
     // Lock all database before analyze
@@ -28,6 +28,7 @@ import com.starrocks.analysis.LikePredicate;
 import com.starrocks.analysis.LimitElement;
 import com.starrocks.analysis.LiteralExpr;
 import com.starrocks.analysis.OrderByElement;
+import com.starrocks.analysis.Parameter;
 import com.starrocks.analysis.ParseNode;
 import com.starrocks.analysis.SelectList;
 import com.starrocks.analysis.SelectListItem;
@@ -529,6 +530,14 @@ public class AST2SQL {
             }
         }
 
+        @Override
+        public String visitParameter(Parameter node, Void context) {
+            if (node.getValue() == null) {
+                return "?";
+            }
+            return visit(node.getValue());
+        }
+
         public String visitSlot(SlotRef node, Void context) {
             return node.getColumnName();
         }
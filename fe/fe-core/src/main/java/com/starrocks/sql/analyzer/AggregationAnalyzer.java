@@ -24,6 +24,7 @@ import com.starrocks.analysis.IsNullPredicate;
 import com.starrocks.analysis.LikePredicate;
 import com.starrocks.analysis.LiteralExpr;
 import com.starrocks.analysis.OrderByElement;
+import com.starrocks.analysis.Parameter;
 import com.starrocks.analysis.ParseNode;
 import com.starrocks.analysis.SlotRef;
 import com.starrocks.analysis.Subquery;
@@ -258,6 +259,11 @@ public class AggregationAnalyzer {
             return true;
         }
 
+        @Override
+        public Boolean visitParameter(Parameter node, Void context) {
+            return true;
+        }
+
         @Override
         public Boolean visitSlot(SlotRef node, Void context) {
             return isGroupingKey(node);
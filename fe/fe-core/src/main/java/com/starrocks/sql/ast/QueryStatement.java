@@ -12,6 +12,9 @@ public class QueryStatement extends StatementBase {
     // represent the "INTO OUTFILE" clause
     protected OutFileClause outFileClause;
 
+    // the statement of a prepared statement, which is analyzed when the parameters are bound
+    private boolean isPrepared = false;
+
     public QueryStatement(QueryRelation queryRelation) {
         this.queryRelation = queryRelation;
     }
@@ -32,6 +35,14 @@ public class QueryStatement extends StatementBase {
         return outFileClause != null;
     }
 
+    public boolean isPrepared() {
+        return isPrepared;
+    }
+
+    public void setIsPrepared(boolean isPrepared) {
+        this.isPrepared = isPrepared;
+    }
+
     public <R, C> R accept(AstVisitor<R, C> visitor, C context) {
         return visitor.visitQueryStatement(this, context);
     }
@@ -57,7 +57,7 @@ public class CTEContext {
         consumePredicates = Maps.newHashMap();
         consumeLimits = Maps.newHashMap();
 
-        produceStatistics = Maps.newHashMap();
+        produceStatistics = Maps.newConcurrentMap();
     }
 
     public void setEnableCTE(boolean enableCTE) {
@@ -38,7 +38,7 @@ public class Group {
     private final List<GroupExpression> logicalExpressions;
     private final List<GroupExpression> physicalExpressions;
 
-    private Statistics statistics;
+    private volatile Statistics statistics;
     // confidence statistics record the statistics when group expression has lowest cost,
     // confidence statistics is the statistics in group with highest confidence for each physical property
     private final Map<PhysicalPropertySet, Statistics> confidenceStatistics;
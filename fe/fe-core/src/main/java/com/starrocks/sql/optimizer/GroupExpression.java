@@ -38,7 +38,7 @@ public class GroupExpression {
     private final List<Group> inputs;
     private final Operator op;
     private final BitSet ruleMasks = new BitSet(RuleType.NUM_RULES.ordinal() + 1);
-    private boolean statsDerived = false;
+    private volatile boolean statsDerived = false;
     private final Map<PhysicalPropertySet, Pair<Double, List<PhysicalPropertySet>>> lowestCostTable;
     // required property by parent -> output property
     private final Map<PhysicalPropertySet, PhysicalPropertySet> outputPropertyMap;
@@ -15,6 +15,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * The space of plan alternatives generated by the optimizer is encoded in
@@ -49,6 +50,11 @@ public class Memo {
      */
     private final Map<GroupExpression, GroupExpression> groupExpressions;
 
+    // The memo is only explored concurrently by ParallelTaskScheduler: the binding of rules and the
+    // statistics derivation hold the read lock, copyIn and the rule explored masks hold the write lock.
+    // The serial tasks don't need the lock.
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
     public List<Group> getGroups() {
         return groups;
     }
@@ -62,6 +68,10 @@ public class Memo {
         groupExpressions = Maps.newHashMap();
     }
 
+    public ReentrantReadWriteLock getLock() {
+        return lock;
+    }
+
     public Group getRootGroup() {
         return rootGroup;
     }
@@ -3,8 +3,12 @@ package com.starrocks.sql.optimizer;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.catalog.Column;
+import com.starrocks.catalog.Table;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.qe.SessionVariable;
+import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.Explain;
 import com.starrocks.sql.optimizer.base.ColumnRefFactory;
 import com.starrocks.sql.optimizer.base.ColumnRefSet;
@@ -46,6 +50,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Optimizer's entrance class
@@ -335,6 +340,23 @@ public class Optimizer {
         List<LogicalOlapScanOperator> list = Lists.newArrayList();
         Utils.extractOlapScanOperator(tree.getGroupExpression(), list);
         rootTaskContext.setAllScanOperators(Collections.unmodifiableList(list));
+        if (list.size() > 1) {
+            context.setColumnStatisticsPrefetcher(() -> prefetchColumnStatistics(list));
+        }
+    }
+
+    // Load the statistics of all scanned tables in one batch, instead of one by one when deriving statistics
+    private static void prefetchColumnStatistics(List<LogicalOlapScanOperator> scanOperators) {
+        Map<Table, List<String>> tableColumns = Maps.newHashMap();
+        for (LogicalOlapScanOperator scanOperator : scanOperators) {
+            List<String> columns = tableColumns.computeIfAbsent(scanOperator.getTable(), k -> Lists.newArrayList());
+            for (Column column : scanOperator.getColRefToColumnMetaMap().values()) {
+                if (!columns.contains(column.getName())) {
+                    columns.add(column.getName());
+                }
+            }
+        }
+        GlobalStateMgr.getCurrentStatisticStorage().prefetchColumnStatistics(tableColumns);
     }
 
     private void rewriteSubquery(Memo memo, TaskContext rootTaskContext) {
@@ -9,10 +9,13 @@ import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.optimizer.base.ColumnRefFactory;
 import com.starrocks.sql.optimizer.dump.DumpInfo;
 import com.starrocks.sql.optimizer.rule.RuleSet;
+import com.starrocks.sql.optimizer.task.ParallelTaskScheduler;
 import com.starrocks.sql.optimizer.task.SeriallyTaskScheduler;
 import com.starrocks.sql.optimizer.task.TaskContext;
 import com.starrocks.sql.optimizer.task.TaskScheduler;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 public class OptimizerContext {
     private final Memo memo;
     private final RuleSet ruleSet;
@@ -24,6 +27,10 @@ public class OptimizerContext {
     private CTEContext cteContext;
     private TaskContext currentTaskContext;
     private OptimizerTraceInfo traceInfo;
+    // loads the column statistics of all scanned tables in a batch, taken by the first cache miss
+    private final AtomicReference<Runnable> columnStatisticsPrefetcher = new AtomicReference<>();
+    // the collected column statistics of a scanned table are not loaded yet, set by concurrent tasks
+    private volatile boolean columnStatisticsNotLoaded = false;
 
     public OptimizerContext(Memo memo, ColumnRefFactory columnRefFactory) {
         this.memo = memo;
@@ -38,9 +45,10 @@ public class OptimizerContext {
         this.memo = memo;
         this.ruleSet = new RuleSet();
         this.globalStateMgr = GlobalStateMgr.getCurrentState();
-        this.taskScheduler = SeriallyTaskScheduler.create();
         this.columnRefFactory = columnRefFactory;
         this.sessionVariable = connectContext.getSessionVariable();
+        this.taskScheduler = sessionVariable.isCboEnableParallelTaskScheduler() ?
+                ParallelTaskScheduler.create() : SeriallyTaskScheduler.create();
         this.dumpInfo = connectContext.getDumpInfo();
         this.cteContext = new CTEContext();
         cteContext.reset();
@@ -99,4 +107,31 @@ public class OptimizerContext {
     public OptimizerTraceInfo getTraceInfo() {
         return traceInfo;
     }
+
+    public void setColumnStatisticsPrefetcher(Runnable prefetcher) {
+        columnStatisticsPrefetcher.set(prefetcher);
+    }
+
+    /**
+     * Called when the column statistics of a table are not cached, the statistics of the other tables
+     * are likely missing too, so they are loaded together. It runs at most once for a query.
+     */
+    public void prefetchColumnStatistics() {
+        Runnable prefetcher = columnStatisticsPrefetcher.getAndSet(null);
+        if (prefetcher != null) {
+            prefetcher.run();
+        }
+    }
+
+    /**
+     * Called when the statistics of a column are collected but unknown to the optimizer, because they are
+     * not loaded to the statistics cache yet. The plan is optimized with the default estimation.
+     */
+    public void setColumnStatisticsNotLoaded() {
+        columnStatisticsNotLoaded = true;
+    }
+
+    public boolean isColumnStatisticsNotLoaded() {
+        return columnStatisticsNotLoaded;
+    }
 }
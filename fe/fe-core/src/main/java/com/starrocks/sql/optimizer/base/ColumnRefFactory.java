@@ -20,6 +20,7 @@ import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
 import java.util.List;
 import java.util.Map;
 
+// The factory is shared by the transformation rules explored in parallel, see ParallelTaskScheduler
 public class ColumnRefFactory {
     private int nextId = 1;
     // The unique id for each scan operator
@@ -29,7 +30,7 @@ public class ColumnRefFactory {
     private final Map<Integer, Integer> columnToRelationIds = Maps.newHashMap();
     private final Map<ColumnRefOperator, Column> columnRefToColumns = Maps.newHashMap();
 
-    public ColumnRefOperator create(Expr expression, Type type, boolean nullable) {
+    public synchronized ColumnRefOperator create(Expr expression, Type type, boolean nullable) {
         String nameHint = "expr";
         if (expression instanceof SlotRef) {
             nameHint = ((SlotRef) expression).getColumnName();
@@ -43,7 +44,7 @@ public class ColumnRefFactory {
         return create(nextId++, nameHint, type, nullable);
     }
 
-    public ColumnRefOperator create(ScalarOperator operator, Type type, boolean nullable) {
+    public synchronized ColumnRefOperator create(ScalarOperator operator, Type type, boolean nullable) {
         String nameHint = "expr";
         if (operator.isColumnRef()) {
             nameHint = ((ColumnRefOperator) operator).getName();
@@ -59,7 +60,7 @@ public class ColumnRefFactory {
         return create(nextId++, nameHint, type, nullable);
     }
 
-    public ColumnRefOperator create(String name, Type type, boolean nullable) {
+    public synchronized ColumnRefOperator create(String name, Type type, boolean nullable) {
         return create(nextId++, name, type, nullable);
     }
 
@@ -69,27 +70,27 @@ public class ColumnRefFactory {
         return columnRef;
     }
 
-    public ColumnRefOperator getColumnRef(int id) {
+    public synchronized ColumnRefOperator getColumnRef(int id) {
         return columnRefs.get(id - 1);
     }
 
-    public void updateColumnRefToColumns(ColumnRefOperator columnRef, Column column, Table table) {
+    public synchronized void updateColumnRefToColumns(ColumnRefOperator columnRef, Column column, Table table) {
         columnRefToColumns.put(columnRef, column);
     }
 
-    public Column getColumn(ColumnRefOperator columnRef) {
+    public synchronized Column getColumn(ColumnRefOperator columnRef) {
         return columnRefToColumns.get(columnRef);
     }
 
-    public void updateColumnToRelationIds(int columnId, int tableId) {
+    public synchronized void updateColumnToRelationIds(int columnId, int tableId) {
         columnToRelationIds.put(columnId, tableId);
     }
 
-    public Integer getRelationId(int id) {
+    public synchronized Integer getRelationId(int id) {
         return columnToRelationIds.getOrDefault(id, -1);
     }
 
-    public int getNextRelationId() {
+    public synchronized int getNextRelationId() {
         return nextRelationId++;
     }
 }
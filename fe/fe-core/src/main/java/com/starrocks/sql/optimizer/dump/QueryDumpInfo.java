@@ -85,7 +85,7 @@ public class QueryDumpInfo implements DumpInfo {
         this.exceptionList.clear();
     }
 
-    public void addPartitionRowCount(String tableName, String partition, long rowCount) {
+    public synchronized void addPartitionRowCount(String tableName, String partition, long rowCount) {
         if (!partitionRowCountMap.containsKey(tableName)) {
             partitionRowCountMap.put(tableName, new HashMap<>());
         }
@@ -101,7 +101,7 @@ public class QueryDumpInfo implements DumpInfo {
         addTableStatistics(getTableName(table.getId()), column, columnStatistic);
     }
 
-    public void addTableStatistics(String tableName, String column, ColumnStatistic columnStatistic) {
+    public synchronized void addTableStatistics(String tableName, String column, ColumnStatistic columnStatistic) {
         if (!tableStatisticsMap.containsKey(tableName)) {
             tableStatisticsMap.put(tableName, new HashMap<>());
         }
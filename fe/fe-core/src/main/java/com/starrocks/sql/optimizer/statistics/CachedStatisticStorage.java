@@ -111,6 +111,28 @@ public class CachedStatisticStorage implements StatisticStorage {
         }
     }
 
+    @Override
+    public void prefetchColumnStatistics(Map<Table, List<String>> tableColumns) {
+        if (!StatisticUtils.checkStatisticTableStateNormal()) {
+            return;
+        }
+
+        List<ColumnStatsCacheKey> cacheKeys = new ArrayList<>();
+        for (Map.Entry<Table, List<String>> entry : tableColumns.entrySet()) {
+            long tableId = entry.getKey().getId();
+            if (StatisticUtils.statisticTableBlackListCheck(tableId)) {
+                continue;
+            }
+            for (String column : entry.getValue()) {
+                cacheKeys.add(new ColumnStatsCacheKey(tableId, column));
+            }
+        }
+        // the missing keys of all tables are loaded by one call of ColumnBasicStatsCacheLoader.asyncLoadAll
+        if (!cacheKeys.isEmpty()) {
+            cachedStatistics.getAll(cacheKeys);
+        }
+    }
+
     @Override
     public void expireColumnStatistics(Table table, List<String> columns) {
         if (columns == null) {
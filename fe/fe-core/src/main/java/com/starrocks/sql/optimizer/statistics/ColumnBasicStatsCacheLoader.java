@@ -21,6 +21,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -60,25 +61,17 @@ public class ColumnBasicStatsCacheLoader implements AsyncCacheLoader<ColumnStats
         return CompletableFuture.supplyAsync(() -> {
             Map<ColumnStatsCacheKey, Optional<ColumnStatistic>> result = new HashMap<>();
             try {
-                long tableId = -1;
-                List<String> columns = new ArrayList<>();
+                // the keys may come from multiple tables, they are queried in one batch
+                Map<Long, List<String>> tableColumnNames = new LinkedHashMap<>();
                 for (ColumnStatsCacheKey key : keys) {
-                    tableId = key.tableId;
-                    columns.add(key.column);
+                    tableColumnNames.computeIfAbsent(key.tableId, k -> new ArrayList<>()).add(key.column);
+                    // put empty for cache key which can't get TStatisticData from BE
+                    result.put(key, Optional.empty());
                 }
-                List<TStatisticData> statisticData = queryStatisticsData(tableId, columns);
-                // check TStatisticData is not empty, There may be no such column Statistics in BE
-                if (!statisticData.isEmpty()) {
-                    for (TStatisticData data : statisticData) {
-                        ColumnStatistic columnStatistic = convert2ColumnStatistics(data);
-                        result.put(new ColumnStatsCacheKey(data.tableId, data.columnName),
-                                Optional.of(columnStatistic));
-                    }
-                } else {
-                    // put null for cache key which can't get TStatisticData from BE
-                    for (ColumnStatsCacheKey cacheKey : keys) {
-                        result.put(cacheKey, Optional.empty());
-                    }
+                List<TStatisticData> statisticData = statisticExecutor.queryStatisticSync(tableColumnNames);
+                for (TStatisticData data : statisticData) {
+                    ColumnStatistic columnStatistic = convert2ColumnStatistics(data);
+                    result.put(new ColumnStatsCacheKey(data.tableId, data.columnName), Optional.of(columnStatistic));
                 }
                 return result;
             } catch (RuntimeException e) {
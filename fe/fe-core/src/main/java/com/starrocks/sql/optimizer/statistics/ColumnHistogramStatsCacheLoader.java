@@ -26,6 +26,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -67,14 +68,13 @@ public class ColumnHistogramStatsCacheLoader implements AsyncCacheLoader<ColumnS
         return CompletableFuture.supplyAsync(() -> {
             Map<ColumnStatsCacheKey, Optional<Histogram>> result = new HashMap<>();
             try {
-                long tableId = -1;
-                List<String> columns = new ArrayList<>();
+                // the keys may come from multiple tables, they are queried in one batch
+                Map<Long, List<String>> tableColumnNames = new LinkedHashMap<>();
                 for (ColumnStatsCacheKey key : keys) {
-                    tableId = key.tableId;
-                    columns.add(key.column);
+                    tableColumnNames.computeIfAbsent(key.tableId, k -> new ArrayList<>()).add(key.column);
                     result.put(key, Optional.empty());
                 }
-                List<TStatisticData> histogramStatsDataList = queryHistogramStatistics(tableId, columns);
+                List<TStatisticData> histogramStatsDataList = statisticExecutor.queryHistogram(tableColumnNames);
                 for (TStatisticData histogramStatsData : histogramStatsDataList) {
                     Histogram histogram = convert2Histogram(histogramStatsData);
                     result.put(new ColumnStatsCacheKey(histogramStatsData.tableId, histogramStatsData.columnName),
@@ -14,6 +14,7 @@ import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ScalarOperatorVisitor;
+import com.starrocks.sql.plan.PlanParameters;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -138,6 +139,10 @@ public class ExpressionStatisticCalculator {
 
         @Override
         public ColumnStatistic visitCall(CallOperator call, Void context) {
+            // the value of a generic plan parameter is unknown when optimized
+            if (PlanParameters.isPlaceholder(call)) {
+                return ColumnStatistic.unknown();
+            }
             List<ColumnStatistic> childrenColumnStatistics =
                     call.getChildren().stream().map(child -> child.accept(this, context)).collect(Collectors.toList());
             Preconditions.checkState(childrenColumnStatistics.size() == call.getChildren().size());
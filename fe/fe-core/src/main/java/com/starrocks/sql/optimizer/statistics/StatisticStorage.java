@@ -13,6 +13,13 @@ public interface StatisticStorage {
 
     List<ColumnStatistic> getColumnStatistics(Table table, List<String> columns);
 
+    /**
+     * Start loading the column statistics of multiple tables in a batch, which are got by
+     * {@link #getColumnStatistics} later
+     */
+    default void prefetchColumnStatistics(Map<Table, List<String>> tableColumns) {
+    }
+
     Map<ColumnRefOperator, Histogram> getHistogramStatistics(Table table, List<ColumnRefOperator> columns);
 
     default void expireHistogramStatistics(Long tableId, List<String> columns) {
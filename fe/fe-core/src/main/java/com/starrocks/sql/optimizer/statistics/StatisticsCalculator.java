@@ -107,6 +107,7 @@ import com.starrocks.sql.optimizer.operator.scalar.CallOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
 import com.starrocks.sql.optimizer.operator.scalar.PredicateOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+import com.starrocks.statistic.BasicStatsMeta;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.mortbay.log.Log;
@@ -367,6 +368,16 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
         List<ColumnStatistic> columnStatisticList =
                 GlobalStateMgr.getCurrentStatisticStorage().getColumnStatistics(table, columns);
         Preconditions.checkState(requiredColumnRefs.size() == columnStatisticList.size());
+        // the statistics are not cached or not collected, load the other tables of the query together
+        if (columnStatisticList.stream().anyMatch(ColumnStatistic::isUnknown)) {
+            optimizerContext.prefetchColumnStatistics();
+            for (int i = 0; i < columns.size(); i++) {
+                if (columnStatisticList.get(i).isUnknown() && isStatisticsCollected(table, columns.get(i))) {
+                    optimizerContext.setColumnStatisticsNotLoaded();
+                    break;
+                }
+            }
+        }
 
         List<ColumnRefOperator> columnHasHistogram = new ArrayList<>();
         for (ColumnRefOperator columnRefOperator : requiredColumnRefs) {
@@ -395,6 +406,13 @@ public class StatisticsCalculator extends OperatorVisitor<Void, ExpressionContex
         return builder;
     }
 
+    private static boolean isStatisticsCollected(Table table, String column) {
+        BasicStatsMeta meta = GlobalStateMgr.getCurrentAnalyzeMgr().getBasicStatsMetaMap().get(table.getId());
+        // all columns are analyzed if the columns are not specified
+        return meta != null && (meta.getColumns() == null || meta.getColumns().isEmpty() ||
+                meta.getColumns().contains(column));
+    }
+
     private Void computeNormalExternalTableScanNode(Operator node, ExpressionContext context, Table table,
                                                     Map<ColumnRefOperator, Column> colRefToColumnMetaMap,
                                                     int outputRowCount) {
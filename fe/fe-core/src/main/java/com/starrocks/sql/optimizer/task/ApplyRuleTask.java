@@ -54,26 +54,7 @@ public class ApplyRuleTask extends OptimizerTask {
                 groupExpression.isUnused()) {
             return;
         }
-        SessionVariable sessionVariable = context.getOptimizerContext().getSessionVariable();
-        // Apply rule and get all new OptExpressions
-        Pattern pattern = rule.getPattern();
-        Binder binder = new Binder(pattern, groupExpression);
-        OptExpression extractExpr = binder.next();
-        List<OptExpression> newExpressions = Lists.newArrayList();
-        while (extractExpr != null) {
-            if (!rule.check(extractExpr, context.getOptimizerContext())) {
-                extractExpr = binder.next();
-                continue;
-            }
-            List<OptExpression> targetExpressions = rule.transform(extractExpr, context.getOptimizerContext());
-            newExpressions.addAll(targetExpressions);
-
-            OptimizerTraceInfo traceInfo = context.getOptimizerContext().getTraceInfo();
-            OptimizerTraceUtil.logApplyRule(sessionVariable, traceInfo, rule, extractExpr, targetExpressions);
-
-            extractExpr = binder.next();
-        }
-
+        List<OptExpression> newExpressions = transform();
         for (OptExpression expression : newExpressions) {
             // Insert new OptExpression to memo
             Pair<Boolean, GroupExpression> result = context.getOptimizerContext().getMemo().
@@ -99,4 +80,27 @@ public class ApplyRuleTask extends OptimizerTask {
 
         groupExpression.setRuleExplored(rule);
     }
+
+    // Apply rule and get all new OptExpressions, the memo is not modified
+    List<OptExpression> transform() {
+        SessionVariable sessionVariable = context.getOptimizerContext().getSessionVariable();
+        Pattern pattern = rule.getPattern();
+        Binder binder = new Binder(pattern, groupExpression);
+        OptExpression extractExpr = binder.next();
+        List<OptExpression> newExpressions = Lists.newArrayList();
+        while (extractExpr != null) {
+            if (!rule.check(extractExpr, context.getOptimizerContext())) {
+                extractExpr = binder.next();
+                continue;
+            }
+            List<OptExpression> targetExpressions = rule.transform(extractExpr, context.getOptimizerContext());
+            newExpressions.addAll(targetExpressions);
+
+            OptimizerTraceInfo traceInfo = context.getOptimizerContext().getTraceInfo();
+            OptimizerTraceUtil.logApplyRule(sessionVariable, traceInfo, rule, extractExpr, targetExpressions);
+
+            extractExpr = binder.next();
+        }
+        return newExpressions;
+    }
 }
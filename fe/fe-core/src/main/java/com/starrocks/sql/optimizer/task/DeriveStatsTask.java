@@ -70,6 +70,15 @@ public class DeriveStatsTask extends OptimizerTask implements Cloneable {
             return;
         }
 
+        deriveStatistics();
+    }
+
+    GroupExpression getGroupExpression() {
+        return groupExpression;
+    }
+
+    // Derive the statistics of current group expression, all children must have been derived
+    void deriveStatistics() {
         ExpressionContext expressionContext = new ExpressionContext(groupExpression);
         StatisticsCalculator statisticsCalculator = new StatisticsCalculator(expressionContext,
                 context.getOptimizerContext().getColumnRefFactory(), context.getOptimizerContext());
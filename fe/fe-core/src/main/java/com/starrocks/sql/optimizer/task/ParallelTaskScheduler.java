@@ -0,0 +1,348 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.sql.optimizer.task;
+
+import com.google.common.collect.Lists;
+import com.starrocks.common.Config;
+import com.starrocks.common.Pair;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.sql.common.ErrorType;
+import com.starrocks.sql.common.StarRocksPlannerException;
+import com.starrocks.sql.optimizer.Group;
+import com.starrocks.sql.optimizer.GroupExpression;
+import com.starrocks.sql.optimizer.Memo;
+import com.starrocks.sql.optimizer.OptExpression;
+import com.starrocks.sql.optimizer.operator.OperatorType;
+import com.starrocks.sql.optimizer.rule.Rule;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * ParallelTaskScheduler explores independent memo groups in parallel.
+ * <p>
+ * Before the Cascades search starts, two phases run bottom-up on a shared fork-join pool, every child
+ * group is handled by a forked action and the parent group waits for all children:
+ * 1. The {@link DeriveStatsTask}s pushed before the search derive the statistics of the initial groups.
+ * 2. The transformation rules are applied to the logical expressions of every group until no new expression
+ * is generated, the new child groups created by the rules (e.g. join reorder) are explored the same way and
+ * the statistics of new expressions are derived.
+ * <p>
+ * The memo is guarded by {@link Memo#getLock()}: binding and transforming hold the read lock, the insertion
+ * into memo holds the write lock and re-checks that the rule has not been applied by another worker.
+ * The serial search then only applies the implementation rules and costs the plans, because the explored
+ * rules are skipped by {@link ApplyRuleTask}. Both phases share the optimizer timeout with the serial search.
+ */
+public class ParallelTaskScheduler implements TaskScheduler {
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Config.cbo_parallel_task_scheduler_thread_num > 0 ?
+                    Config.cbo_parallel_task_scheduler_thread_num : Runtime.getRuntime().availableProcessors(),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("optimizer-task-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+
+    private final SeriallyTaskScheduler serialScheduler;
+    private final List<DeriveStatsTask> pendingDeriveTasks;
+    // an OptimizeGroupTask is pushed before execution, which means the memo will be searched
+    private boolean needExplore;
+    private boolean isExecuting;
+
+    // states of the current execution, shared by the actions
+    private TaskContext taskContext;
+    private ConnectContext connectContext;
+    private long timeout;
+    private long endTime;
+    // group expressions shared by several parents (e.g. CTE) are only derived once, the hash code of
+    // group expression changes when the groups are merged, so they are compared by identity
+    private final Map<GroupExpression, ForkJoinTask<Void>> derivedTasks =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+    // groups shared by several parents are only explored once
+    private final Map<Group, ForkJoinTask<Void>> exploredTasks = new ConcurrentHashMap<>();
+
+    private ParallelTaskScheduler() {
+        serialScheduler = new SeriallyTaskScheduler();
+        pendingDeriveTasks = Lists.newArrayList();
+        needExplore = false;
+        isExecuting = false;
+    }
+
+    public static TaskScheduler create() {
+        return new ParallelTaskScheduler();
+    }
+
+    @Override
+    public void executeTasks(TaskContext context, Group group) {
+        isExecuting = true;
+        taskContext = context;
+        connectContext = ConnectContext.get();
+        timeout = context.getOptimizerContext().getSessionVariable().getOptimizerExecuteTimeout();
+        endTime = System.currentTimeMillis() + timeout;
+        try {
+            if (!pendingDeriveTasks.isEmpty()) {
+                // execute in the same order as the stack
+                for (DeriveStatsTask task : Lists.reverse(pendingDeriveTasks)) {
+                    invoke(new DeriveStatsAction(task));
+                }
+            }
+            if (needExplore) {
+                invoke(new ExploreGroupAction(group));
+            }
+            serialScheduler.executeTasks(context, group, endTime);
+        } finally {
+            isExecuting = false;
+            needExplore = false;
+            pendingDeriveTasks.clear();
+            derivedTasks.clear();
+            exploredTasks.clear();
+            taskContext = null;
+            connectContext = null;
+        }
+    }
+
+    @Override
+    public void pushTask(OptimizerTask task) {
+        // The derive tasks pushed before execution are always on the top of stack,
+        // so it's equivalent to derive them first
+        if (!isExecuting && task instanceof DeriveStatsTask) {
+            pendingDeriveTasks.add((DeriveStatsTask) task);
+        } else {
+            if (!isExecuting && task instanceof OptimizeGroupTask) {
+                needExplore = true;
+            }
+            serialScheduler.pushTask(task);
+        }
+    }
+
+    private static void invoke(RecursiveAction action) {
+        try {
+            POOL.invoke(action);
+        } catch (StarRocksPlannerException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new StarRocksPlannerException("Optimize in parallel failed: " + e.getMessage(),
+                    ErrorType.INTERNAL_ERROR);
+        }
+    }
+
+    private void checkTimeout() {
+        // there is no valid plan before the serial search
+        if (System.currentTimeMillis() >= endTime) {
+            throw SeriallyTaskScheduler.timeoutException(timeout);
+        }
+    }
+
+    // StatisticsCalculator and rules read session variables from the thread local ConnectContext
+    private void runWithConnectContext(Runnable runnable) {
+        if (connectContext == null) {
+            runnable.run();
+            return;
+        }
+
+        ConnectContext previous = ConnectContext.get();
+        connectContext.setThreadLocalInfo();
+        try {
+            runnable.run();
+        } finally {
+            if (previous != null) {
+                previous.setThreadLocalInfo();
+            } else {
+                ConnectContext.remove();
+            }
+        }
+    }
+
+    private Memo getMemo() {
+        return taskContext.getOptimizerContext().getMemo();
+    }
+
+    // Never fork or join while holding the lock, the joining worker may execute another action
+    // which acquires the write lock
+    private <T> T withLock(Lock lock, Supplier<T> supplier) {
+        lock.lock();
+        try {
+            return supplier.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Lock readLock() {
+        return getMemo().getLock().readLock();
+    }
+
+    private Lock writeLock() {
+        return getMemo().getLock().writeLock();
+    }
+
+    private ForkJoinTask<Void> forkDerive(GroupExpression expression) {
+        return derivedTasks.computeIfAbsent(expression,
+                e -> new DeriveStatsAction(new DeriveStatsTask(taskContext, e)).fork());
+    }
+
+    private ForkJoinTask<Void> forkExplore(Group group) {
+        return exploredTasks.computeIfAbsent(group, g -> new ExploreGroupAction(g).fork());
+    }
+
+    private class DeriveStatsAction extends RecursiveAction {
+        private final DeriveStatsTask task;
+
+        DeriveStatsAction(DeriveStatsTask task) {
+            this.task = task;
+        }
+
+        @Override
+        protected void compute() {
+            runWithConnectContext(this::derive);
+        }
+
+        private void derive() {
+            checkTimeout();
+            GroupExpression groupExpression = task.getGroupExpression();
+            List<GroupExpression> childExpressions = withLock(readLock(), () -> {
+                if (groupExpression.isStatsDerived() || groupExpression.isUnused()) {
+                    return null;
+                }
+                List<GroupExpression> expressions = Lists.newArrayList();
+                for (int i = 0; i < groupExpression.arity(); ++i) {
+                    expressions.add(groupExpression.getInputs().get(i).getFirstLogicalExpression());
+                }
+                return expressions;
+            });
+            if (childExpressions == null) {
+                return;
+            }
+
+            // CTE consume statistics depend on CTE produce, so the children of anchor
+            // must be derived from left to right
+            boolean isSequential = groupExpression.getOp().getOpType() == OperatorType.LOGICAL_CTE_ANCHOR;
+            List<ForkJoinTask<Void>> children = Lists.newArrayList();
+            for (GroupExpression childExpression : childExpressions) {
+                if (childExpression.isStatsDerived()) {
+                    continue;
+                }
+                ForkJoinTask<Void> child = forkDerive(childExpression);
+                if (isSequential) {
+                    child.join();
+                } else {
+                    children.add(child);
+                }
+            }
+            children.forEach(ForkJoinTask::join);
+
+            withLock(readLock(), () -> {
+                if (!groupExpression.isUnused()) {
+                    task.deriveStatistics();
+                }
+                return null;
+            });
+        }
+    }
+
+    private class ExploreGroupAction extends RecursiveAction {
+        private final Group group;
+
+        ExploreGroupAction(Group group) {
+            this.group = group;
+        }
+
+        @Override
+        protected void compute() {
+            runWithConnectContext(this::explore);
+        }
+
+        private void explore() {
+            checkTimeout();
+            // explore the child groups first, the independent children are explored in parallel
+            List<Group> childGroups = withLock(readLock(), () -> {
+                List<Group> groups = Lists.newArrayList();
+                for (GroupExpression expression : group.getLogicalExpressions()) {
+                    groups.addAll(expression.getInputs());
+                }
+                return groups;
+            });
+            joinAll(childGroups);
+
+            List<Rule> rules = taskContext.getOptimizerContext().getRuleSet().getTransformRules();
+            // the new expressions of this group are appended and explored in the same loop,
+            // an expression moved by group merging is left to the serial search
+            for (int i = 0; ; i++) {
+                int index = i;
+                GroupExpression expression = withLock(readLock(), () ->
+                        index < group.getLogicalExpressions().size() ? group.getLogicalExpressions().get(index) : null);
+                if (expression == null) {
+                    break;
+                }
+
+                for (Rule rule : rules) {
+                    checkTimeout();
+                    Pair<List<GroupExpression>, List<Group>> result = applyRule(expression, rule);
+                    // the new child groups created by the rule must be explored before deriving
+                    joinAll(result.second);
+                    for (GroupExpression newExpression : result.first) {
+                        forkDerive(newExpression).join();
+                    }
+                }
+            }
+        }
+
+        private void joinAll(List<Group> groups) {
+            List<ForkJoinTask<Void>> children = Lists.newArrayList();
+            for (Group childGroup : groups) {
+                if (childGroup != group) {
+                    children.add(forkExplore(childGroup));
+                }
+            }
+            children.forEach(ForkJoinTask::join);
+        }
+
+        // Return the new logical expressions and their child groups
+        private Pair<List<GroupExpression>, List<Group>> applyRule(GroupExpression expression, Rule rule) {
+            Pair<List<GroupExpression>, List<Group>> empty =
+                    new Pair<>(Collections.emptyList(), Collections.emptyList());
+            List<OptExpression> newExpressions = withLock(readLock(), () -> {
+                if (expression.isUnused() || expression.hasRuleExplored(rule) ||
+                        !rule.getPattern().matchWithoutChild(expression)) {
+                    return null;
+                }
+                return new ApplyRuleTask(taskContext, expression, rule).transform();
+            });
+            if (newExpressions == null) {
+                return empty;
+            }
+
+            return withLock(writeLock(), () -> {
+                // the rule may be applied by another worker when the group is shared
+                if (expression.isUnused() || expression.hasRuleExplored(rule)) {
+                    return empty;
+                }
+                List<GroupExpression> newGroupExpressions = Lists.newArrayList();
+                List<Group> newChildGroups = Lists.newArrayList();
+                for (OptExpression newExpression : newExpressions) {
+                    Pair<Boolean, GroupExpression> result = getMemo().copyIn(expression.getGroup(), newExpression);
+                    // The group has been merged, the rest is left to the serial search
+                    if (expression.hasEmptyRootGroup()) {
+                        return empty;
+                    }
+                    if (result.first && result.second.getOp().isLogical()) {
+                        newGroupExpressions.add(result.second);
+                        newChildGroups.addAll(result.second.getInputs());
+                    }
+                }
+                expression.setRuleExplored(rule);
+                return new Pair<>(newGroupExpressions, newChildGroups);
+            });
+        }
+    }
+}
@@ -11,7 +11,7 @@ import java.util.Stack;
 public class SeriallyTaskScheduler implements TaskScheduler {
     private final Stack<OptimizerTask> tasks;
 
-    private SeriallyTaskScheduler() {
+    SeriallyTaskScheduler() {
         tasks = new Stack<>();
     }
 
@@ -21,19 +21,18 @@ public class SeriallyTaskScheduler implements TaskScheduler {
 
     @Override
     public void executeTasks(TaskContext context, Group group) {
-        long startTime = System.currentTimeMillis();
         long timeout = context.getOptimizerContext().getSessionVariable().getOptimizerExecuteTimeout();
-        long endTime = startTime + timeout;
+        executeTasks(context, group, System.currentTimeMillis() + timeout);
+    }
+
+    // Execute the tasks until the end time, which may be shared with the parallel phase of ParallelTaskScheduler
+    void executeTasks(TaskContext context, Group group, long endTime) {
         while (!tasks.empty()) {
             if (System.currentTimeMillis() >= endTime) {
                 // Should have at least one valid plan
                 if (!group.hasBestExpression(context.getRequiredProperty())) {
-                    throw new StarRocksPlannerException("StarRocks planner use long time " + timeout +
-                            " ms, This probably because 1. FE Full GC, 2. Hive external table fetch metadata took a long time, " +
-                            "3. The SQL is very complex. " +
-                            "You could 1. adjust FE JVM config, 2. try query again, " +
-                            "3. enlarge new_planner_optimize_timeout session variable",
-                            ErrorType.INTERNAL_ERROR);
+                    throw timeoutException(context.getOptimizerContext().getSessionVariable()
+                            .getOptimizerExecuteTimeout());
                 }
                 break;
             }
@@ -43,6 +42,15 @@ public class SeriallyTaskScheduler implements TaskScheduler {
         }
     }
 
+    static StarRocksPlannerException timeoutException(long timeout) {
+        return new StarRocksPlannerException("StarRocks planner use long time " + timeout +
+                " ms, This probably because 1. FE Full GC, 2. Hive external table fetch metadata took a long time, " +
+                "3. The SQL is very complex. " +
+                "You could 1. adjust FE JVM config, 2. try query again, " +
+                "3. enlarge new_planner_optimize_timeout session variable",
+                ErrorType.INTERNAL_ERROR);
+    }
+
     @Override
     public void pushTask(OptimizerTask task) {
         tasks.push(task);
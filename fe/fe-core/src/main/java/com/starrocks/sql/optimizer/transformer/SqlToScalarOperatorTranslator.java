@@ -26,6 +26,7 @@ import com.starrocks.analysis.IsNullPredicate;
 import com.starrocks.analysis.LikePredicate;
 import com.starrocks.analysis.LiteralExpr;
 import com.starrocks.analysis.NullLiteral;
+import com.starrocks.analysis.Parameter;
 import com.starrocks.analysis.ParseNode;
 import com.starrocks.analysis.SlotRef;
 import com.starrocks.analysis.Subquery;
@@ -34,6 +35,7 @@ import com.starrocks.analysis.VariableExpr;
 import com.starrocks.catalog.Function;
 import com.starrocks.catalog.FunctionSet;
 import com.starrocks.catalog.Type;
+import com.starrocks.qe.ConnectContext;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.analyzer.AST2SQL;
 import com.starrocks.sql.analyzer.RelationFields;
@@ -64,6 +66,7 @@ import com.starrocks.sql.optimizer.operator.scalar.IsNullPredicateOperator;
 import com.starrocks.sql.optimizer.operator.scalar.LikePredicateOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
 import com.starrocks.sql.optimizer.rewrite.ScalarOperatorRewriter;
+import com.starrocks.sql.plan.PlanParameters;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -345,8 +348,34 @@ public final class SqlToScalarOperatorTranslator {
             }
         }
 
+        @Override
+        public ScalarOperator visitParameter(Parameter node, Void context) {
+            if (node.getValue() == null) {
+                throw new SemanticException("No value specified for parameter");
+            }
+            ScalarOperator placeholder = createPlaceholder(node);
+            if (placeholder != null) {
+                return placeholder;
+            }
+            return visitLiteral(node.getValue(), context);
+        }
+
+        // The parameterized literals of a generic plan are bound when the plan fragments are built
+        private ScalarOperator createPlaceholder(Expr node) {
+            ConnectContext session = ConnectContext.get();
+            if (session == null || session.getPlanParameters() == null) {
+                return null;
+            }
+            int index = session.getPlanParameters().indexOf(node);
+            return index < 0 ? null : PlanParameters.createPlaceholder(index, node.getType());
+        }
+
         @Override
         public ScalarOperator visitLiteral(LiteralExpr node, Void context) {
+            ScalarOperator placeholder = createPlaceholder(node);
+            if (placeholder != null) {
+                return placeholder;
+            }
             if (node instanceof NullLiteral) {
                 return ConstantOperator.createNull(node.getType());
             }
@@ -107,6 +107,7 @@ import com.starrocks.analysis.NullLiteral;
 import com.starrocks.analysis.OdbcScalarFunctionCall;
 import com.starrocks.analysis.OrderByElement;
 import com.starrocks.analysis.OutFileClause;
+import com.starrocks.analysis.Parameter;
 import com.starrocks.analysis.ParseNode;
 import com.starrocks.analysis.PartitionDesc;
 import com.starrocks.analysis.PartitionKeyDesc;
@@ -285,6 +286,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -295,11 +297,22 @@ import static java.util.stream.Collectors.toList;
 
 public class AstBuilder extends StarRocksBaseVisitor<ParseNode> {
     private final long sqlMode;
+    // the parameters of a prepared statement, in the order they are visited
+    private final List<Parameter> parameters = new ArrayList<>();
 
     public AstBuilder(long sqlMode) {
         this.sqlMode = sqlMode;
     }
 
+    /**
+     * Return the parameters built so far, ordered by their positions in the sql.
+     */
+    public List<Parameter> getParameters() {
+        List<Parameter> sorted = new ArrayList<>(parameters);
+        sorted.sort(Comparator.comparingInt(Parameter::getPosition));
+        return sorted;
+    }
+
     @Override
     public ParseNode visitSingleStatement(StarRocksParser.SingleStatementContext context) {
         return visit(context.statement());
@@ -3434,6 +3447,13 @@ public class AstBuilder extends StarRocksBaseVisitor<ParseNode> {
         return new FunctionCallExpr("concat", new FunctionParams(Lists.newArrayList(left, right)));
     }
 
+    @Override
+    public ParseNode visitParameter(StarRocksParser.ParameterContext context) {
+        Parameter parameter = new Parameter(context.start.getTokenIndex());
+        parameters.add(parameter);
+        return parameter;
+    }
+
     @Override
     public ParseNode visitNullLiteral(StarRocksParser.NullLiteralContext context) {
         return new NullLiteral();
@@ -65,6 +65,29 @@ public class SqlParser {
         return ((Expr) new AstBuilder(sqlMode).visit(expressionContext));
     }
 
+    /**
+     * parse a single statement to the parse tree, only supports new parser.
+     * The tree can be built to a new statement by {@link AstBuilder} many times without parsing again,
+     * which is used by the prepared statements.
+     *
+     * @param sql     sql of one statement
+     * @param sqlMode sqlMode
+     * @return the parse tree of the statement
+     */
+    public static StarRocksParser.SingleStatementContext parseSingleStatementTree(String sql, long sqlMode) {
+        StarRocksLexer lexer = new StarRocksLexer(new CaseInsensitiveStream(CharStreams.fromString(sql)));
+        CommonTokenStream tokenStream = new CommonTokenStream(lexer);
+        StarRocksParser parser = new StarRocksParser(tokenStream);
+        StarRocksParser.sqlMode = sqlMode;
+        parser.removeErrorListeners();
+        parser.addErrorListener(new ErrorHandler());
+        StarRocksParser.SqlStatementsContext sqlStatements = parser.sqlStatements();
+        if (sqlStatements.singleStatement().size() != 1) {
+            throw new ParsingException("Only one statement is allowed to be prepared");
+        }
+        return sqlStatements.singleStatement(0);
+    }
+
     public static StatementBase parseFirstStatement(String originSql, long sqlMode) {
         return parse(originSql, sqlMode).get(0);
     }
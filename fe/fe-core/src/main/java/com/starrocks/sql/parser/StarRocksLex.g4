@@ -359,6 +359,7 @@ BITNOT: '~';
 
 ARROW: '->';
 AT: '@';
+PARAMETER: '?';
 
 INTEGER_VALUE
     : DIGIT+
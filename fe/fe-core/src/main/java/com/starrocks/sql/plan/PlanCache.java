@@ -0,0 +1,709 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.sql.plan;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.starrocks.alter.AlterJobV2;
+import com.starrocks.analysis.AnalyticExpr;
+import com.starrocks.analysis.Expr;
+import com.starrocks.analysis.FunctionCallExpr;
+import com.starrocks.analysis.GroupByClause;
+import com.starrocks.analysis.InformationFunction;
+import com.starrocks.analysis.LiteralExpr;
+import com.starrocks.analysis.OrderByElement;
+import com.starrocks.analysis.Parameter;
+import com.starrocks.analysis.TableName;
+import com.starrocks.analysis.VariableExpr;
+import com.starrocks.catalog.AggregateFunction;
+import com.starrocks.catalog.Column;
+import com.starrocks.catalog.HashDistributionInfo;
+import com.starrocks.catalog.ListPartitionInfo;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Partition;
+import com.starrocks.catalog.PartitionInfo;
+import com.starrocks.catalog.RangePartitionInfo;
+import com.starrocks.catalog.Table;
+import com.starrocks.common.Config;
+import com.starrocks.common.Pair;
+import com.starrocks.common.io.Writable;
+import com.starrocks.metric.MetricRepo;
+import com.starrocks.persist.BatchModifyPartitionsInfo;
+import com.starrocks.persist.ModifyPartitionInfo;
+import com.starrocks.persist.ModifyTablePropertyOperationLog;
+import com.starrocks.persist.OperationType;
+import com.starrocks.persist.TableInfo;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.sql.analyzer.AST2SQL;
+import com.starrocks.sql.analyzer.AnalyzerUtils;
+import com.starrocks.sql.ast.QueryStatement;
+import com.starrocks.sql.ast.TableRelation;
+import com.starrocks.sql.ast.ValuesRelation;
+import com.starrocks.sql.optimizer.OptExpression;
+import com.starrocks.sql.optimizer.Utils;
+import com.starrocks.sql.optimizer.base.ColumnRefFactory;
+import com.starrocks.sql.optimizer.operator.physical.PhysicalOlapScanOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+import com.starrocks.statistic.AnalyzeManager;
+import com.starrocks.statistic.BasicStatsMeta;
+import com.starrocks.statistic.HistogramStatsMeta;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * PlanCache caches the optimized physical plan of query statements.
+ * <p>
+ * The key is the analyzed statement normalized by {@link AST2SQL}, with the session variables, the
+ * current database, the alive backend number, the visible version of every partition and the update time of
+ * the statistics of the scanned tables, so a plan is never reused after data or statistics change. A plan
+ * optimized before the collected statistics are loaded to the statistics cache is not cached.
+ * <p>
+ * The literals and the values bound to the parameters of a prepared statement are replaced by placeholders,
+ * see {@link PlanParameters}, so the queries which only differ in them share one generic plan, and the
+ * current values are bound when the plan fragments are built. If the partitions or tablets of a generic plan
+ * would be pruned by the parameters, the generic key is marked and the plans are cached by the parameter
+ * values instead.
+ * <p>
+ * A journal of a table or its statistics only invalidates the plans scanning the table, the other journals
+ * which may change the catalog invalidate all plans. A hit skips the optimizer and only builds the plan
+ * fragments, which never changes the cached plan, so a plan can be built by concurrent queries.
+ */
+public class PlanCache {
+    private static final Logger LOG = LogManager.getLogger(PlanCache.class);
+
+    private static final PlanCache INSTANCE = new PlanCache();
+
+    // These journals never change the plan of a query. The data versions and the partitions are covered by
+    // the cache key, the replicas are chosen when the plan fragments are built and the privileges are
+    // checked before the plan cache is looked up
+    private static final ImmutableSet<Short> IGNORED_OP_CODES = ImmutableSet.<Short>builder()
+            .add(OperationType.OP_SAVE_NEXTID)
+            .add(OperationType.OP_TIMESTAMP)
+            .add(OperationType.OP_HEARTBEAT)
+            .add(OperationType.OP_HEARTBEAT_V2)
+            .add(OperationType.OP_META_VERSION)
+            .add(OperationType.OP_META_VERSION_V2)
+            .add(OperationType.OP_LEADER_INFO_CHANGE)
+            .add(OperationType.OP_ADD_FRONTEND)
+            .add(OperationType.OP_ADD_FIRST_FRONTEND)
+            .add(OperationType.OP_REMOVE_FRONTEND)
+            .add(OperationType.OP_UPDATE_FRONTEND)
+            .add(OperationType.OP_ADD_BACKEND)
+            .add(OperationType.OP_DROP_BACKEND)
+            .add(OperationType.OP_BACKEND_STATE_CHANGE)
+            .add(OperationType.OP_START_DECOMMISSION_BACKEND)
+            .add(OperationType.OP_FINISH_DECOMMISSION_BACKEND)
+            .add(OperationType.OP_ADD_COMPUTE_NODE)
+            .add(OperationType.OP_DROP_COMPUTE_NODE)
+            .add(OperationType.OP_ADD_REPLICA)
+            .add(OperationType.OP_DELETE_REPLICA)
+            .add(OperationType.OP_UPDATE_REPLICA)
+            .add(OperationType.OP_SET_REPLICA_STATUS)
+            .add(OperationType.OP_BACKEND_TABLETS_INFO)
+            .add(OperationType.OP_FINISH_CONSISTENCY_CHECK)
+            .add(OperationType.OP_ADD_UNUSED_SHARD)
+            .add(OperationType.OP_DELETE_UNUSED_SHARD)
+            .add(OperationType.OP_STARMGR)
+            .add(OperationType.OP_CREATE_DB)
+            .add(OperationType.OP_CREATE_TABLE)
+            .add(OperationType.OP_ADD_PARTITION)
+            .add(OperationType.OP_ADD_PARTITIONS)
+            .add(OperationType.OP_ADD_PARTITION_V2)
+            .add(OperationType.OP_ADD_PARTITIONS_V2)
+            .add(OperationType.OP_DROP_PARTITION)
+            .add(OperationType.OP_RECOVER_PARTITION)
+            .add(OperationType.OP_ERASE_PARTITION)
+            .add(OperationType.OP_TRUNCATE_TABLE)
+            .add(OperationType.OP_REPLACE_TEMP_PARTITION)
+            .add(OperationType.OP_CREATE_INSERT_OVERWRITE)
+            .add(OperationType.OP_INSERT_OVERWRITE_STATE_CHANGE)
+            .add(OperationType.OP_UPSERT_TRANSACTION_STATE)
+            .add(OperationType.OP_DELETE_TRANSACTION_STATE)
+            .add(OperationType.OP_SAVE_TRANSACTION_ID)
+            .add(OperationType.OP_FINISH_DELETE)
+            .add(OperationType.OP_FINISH_SYNC_DELETE)
+            .add(OperationType.OP_FINISH_ASYNC_DELETE)
+            .add(OperationType.OP_FINISH_MULTI_DELETE)
+            .add(OperationType.OP_CREATE_LOAD_JOB)
+            .add(OperationType.OP_END_LOAD_JOB)
+            .add(OperationType.OP_UPDATE_LOAD_JOB)
+            .add(OperationType.OP_ROUTINE_LOAD_JOB)
+            .add(OperationType.OP_CREATE_ROUTINE_LOAD_JOB)
+            .add(OperationType.OP_CHANGE_ROUTINE_LOAD_JOB)
+            .add(OperationType.OP_REMOVE_ROUTINE_LOAD_JOB)
+            .add(OperationType.OP_ALTER_ROUTINE_LOAD_JOB)
+            .add(OperationType.OP_EXPORT_CREATE)
+            .add(OperationType.OP_EXPORT_UPDATE_STATE)
+            .add(OperationType.OP_BACKUP_JOB)
+            .add(OperationType.OP_CREATE_REPOSITORY)
+            .add(OperationType.OP_DROP_REPOSITORY)
+            .add(OperationType.OP_CREATE_SMALL_FILE)
+            .add(OperationType.OP_DROP_SMALL_FILE)
+            .add(OperationType.OP_ADD_BROKER)
+            .add(OperationType.OP_DROP_BROKER)
+            .add(OperationType.OP_DROP_ALL_BROKER)
+            .add(OperationType.OP_SET_LOAD_ERROR_HUB)
+            .add(OperationType.OP_CREATE_TASK)
+            .add(OperationType.OP_DROP_TASKS)
+            .add(OperationType.OP_CREATE_TASK_RUN)
+            .add(OperationType.OP_UPDATE_TASK_RUN)
+            .add(OperationType.OP_DROP_TASK_RUNS)
+            .add(OperationType.OP_ADD_ANALYZER_JOB)
+            .add(OperationType.OP_REMOVE_ANALYZER_JOB)
+            .add(OperationType.OP_ADD_ANALYZE_STATUS)
+            .add(OperationType.OP_REMOVE_ANALYZE_STATUS)
+            .add(OperationType.OP_CREATE_USER)
+            .add(OperationType.OP_NEW_DROP_USER)
+            .add(OperationType.OP_GRANT_PRIV)
+            .add(OperationType.OP_REVOKE_PRIV)
+            .add(OperationType.OP_SET_PASSWORD)
+            .add(OperationType.OP_CREATE_ROLE)
+            .add(OperationType.OP_DROP_ROLE)
+            .add(OperationType.OP_UPDATE_USER_PROPERTY)
+            .add(OperationType.OP_GRANT_IMPERSONATE)
+            .add(OperationType.OP_REVOKE_IMPERSONATE)
+            .build();
+
+    // These journals only change the plans of one table, see getTableIds
+    private static final ImmutableSet<Short> TABLE_OP_CODES = ImmutableSet.<Short>builder()
+            .add(OperationType.OP_ADD_BASIC_STATS_META)
+            .add(OperationType.OP_REMOVE_BASIC_STATS_META)
+            .add(OperationType.OP_ADD_HISTOGRAM_STATS_META)
+            .add(OperationType.OP_REMOVE_HISTOGRAM_STATS_META)
+            .add(OperationType.OP_ALTER_JOB_V2)
+            .add(OperationType.OP_MODIFY_PARTITION)
+            .add(OperationType.OP_BATCH_MODIFY_PARTITION)
+            .add(OperationType.OP_RENAME_PARTITION)
+            .add(OperationType.OP_RENAME_ROLLUP)
+            .add(OperationType.OP_DYNAMIC_PARTITION)
+            .add(OperationType.OP_MODIFY_IN_MEMORY)
+            .add(OperationType.OP_SET_FORBIT_GLOBAL_DICT)
+            .add(OperationType.OP_MODIFY_REPLICATION_NUM)
+            .add(OperationType.OP_MODIFY_ENABLE_PERSISTENT_INDEX)
+            .build();
+
+    // rough memory usage of one optimized operator with its scalar operators and statistics
+    private static final long ESTIMATED_OPERATOR_BYTES = 4096;
+
+    private final Cache<PlanCacheKey, CachedPlan> cache = Caffeine.newBuilder()
+            .maximumWeight(Config.plan_cache_max_memory_bytes)
+            .weigher((PlanCacheKey key, CachedPlan plan) -> (int) Math.min(Integer.MAX_VALUE,
+                    key.estimateBytes() + plan.estimateBytes()))
+            .expireAfterWrite(Config.plan_cache_expire_seconds, TimeUnit.SECONDS)
+            .build();
+
+    private final AtomicLong catalogVersion = new AtomicLong(0);
+
+    public static PlanCache getInstance() {
+        return INSTANCE;
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+
+    /**
+     * Build the cache key of an analyzed query, return null if the query can't be cached
+     */
+    public PlanCacheKey buildKey(QueryStatement stmt, ConnectContext session) {
+        try {
+            PlanCacheKeyBuilder builder = new PlanCacheKeyBuilder();
+            String sql = builder.build(stmt);
+            if (!builder.isCacheable()) {
+                return null;
+            }
+
+            List<Long> dataVersions = Lists.newArrayList();
+            Set<Long> tableIds = Sets.newHashSet();
+            for (Map.Entry<TableName, Table> entry : AnalyzerUtils.collectAllTable(stmt).entrySet()) {
+                Table table = entry.getValue();
+                // the metadata of external table is not versioned
+                if (!table.isOlapOrLakeTable()) {
+                    return null;
+                }
+                tableIds.add(table.getId());
+                dataVersions.add(table.getId());
+                for (Partition partition : ((OlapTable) table).getPartitions()) {
+                    dataVersions.add(partition.getId());
+                    dataVersions.add(partition.getVisibleVersion());
+                }
+                addStatisticsVersions(table, dataVersions);
+            }
+
+            return new PlanCacheKey(sql, session.getDatabase(), session.getSessionVariable().getJsonString(),
+                    GlobalStateMgr.getCurrentSystemInfo().getAliveBackendNumber(), dataVersions, tableIds,
+                    builder.getParameters());
+        } catch (Exception e) {
+            LOG.debug("build plan cache key failed", e);
+            return null;
+        }
+    }
+
+    // The statistics journals may be replayed after the data, and the statistics cache may be refreshed without
+    // a journal, so the update time of statistics is a part of the key
+    private static void addStatisticsVersions(Table table, List<Long> versions) {
+        AnalyzeManager analyzeManager = GlobalStateMgr.getCurrentAnalyzeMgr();
+        BasicStatsMeta basicStatsMeta = analyzeManager.getBasicStatsMetaMap().get(table.getId());
+        versions.add(basicStatsMeta == null ? 0 : toEpochMilli(basicStatsMeta.getUpdateTime()));
+        for (Column column : table.getBaseSchema()) {
+            HistogramStatsMeta histogramStatsMeta =
+                    analyzeManager.getHistogramStatsMetaMap().get(new Pair<>(table.getId(), column.getName()));
+            if (histogramStatsMeta != null) {
+                versions.add(toEpochMilli(histogramStatsMeta.getUpdateTime()));
+            }
+        }
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time == null ? 0 : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Get the cached plan, return null if missed
+     */
+    public CachedPlan getPlan(PlanCacheKey key) {
+        CachedPlan cachedPlan = cache.getIfPresent(key);
+        // the lookup of custom plan is counted instead
+        if (cachedPlan != null && cachedPlan.isCustom()) {
+            return cachedPlan;
+        }
+        if (MetricRepo.isInit) {
+            if (cachedPlan == null) {
+                MetricRepo.COUNTER_PLAN_CACHE_MISS.increase(1L);
+            } else {
+                MetricRepo.COUNTER_PLAN_CACHE_HIT.increase(1L);
+            }
+        }
+        return cachedPlan;
+    }
+
+    /**
+     * Cache the plan if the catalog isn't changed since the planning started and the plan isn't optimized
+     * without the collected statistics
+     */
+    public void putPlan(PlanCacheKey key, long planCatalogVersion, CachedPlan plan) {
+        if (planCatalogVersion != catalogVersion.get() || plan.isColumnStatisticsNotLoaded()) {
+            return;
+        }
+        cache.put(key, plan);
+        // invalidated by concurrent catalog change
+        if (planCatalogVersion != catalogVersion.get()) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Called when a journal is written by leader or replayed by follower
+     */
+    public void onJournal(short opCode, Writable data) {
+        if (IGNORED_OP_CODES.contains(opCode)) {
+            return;
+        }
+        if (TABLE_OP_CODES.contains(opCode)) {
+            List<Long> tableIds = getTableIds(data);
+            if (tableIds != null) {
+                tableIds.forEach(this::invalidateTable);
+                return;
+            }
+        }
+        invalidateAll();
+    }
+
+    // Return null if the journal data is unknown
+    private static List<Long> getTableIds(Writable data) {
+        if (data instanceof BasicStatsMeta) {
+            return Collections.singletonList(((BasicStatsMeta) data).getTableId());
+        } else if (data instanceof HistogramStatsMeta) {
+            return Collections.singletonList(((HistogramStatsMeta) data).getTableId());
+        } else if (data instanceof AlterJobV2) {
+            return Collections.singletonList(((AlterJobV2) data).getTableId());
+        } else if (data instanceof ModifyPartitionInfo) {
+            return Collections.singletonList(((ModifyPartitionInfo) data).getTableId());
+        } else if (data instanceof BatchModifyPartitionsInfo) {
+            List<Long> tableIds = Lists.newArrayList();
+            for (ModifyPartitionInfo info : ((BatchModifyPartitionsInfo) data).getModifyPartitionInfos()) {
+                tableIds.add(info.getTableId());
+            }
+            return tableIds;
+        } else if (data instanceof TableInfo) {
+            return Collections.singletonList(((TableInfo) data).getTableId());
+        } else if (data instanceof ModifyTablePropertyOperationLog) {
+            return Collections.singletonList(((ModifyTablePropertyOperationLog) data).getTableId());
+        }
+        return null;
+    }
+
+    public void invalidateTable(long tableId) {
+        catalogVersion.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.tableIds.contains(tableId));
+    }
+
+    public void invalidateAll() {
+        catalogVersion.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public long getEstimatedBytes() {
+        return cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public static class PlanCacheKey {
+        private final String sql;
+        private final String database;
+        private final String sessionVariables;
+        private final int aliveBackendNumber;
+        private final List<Long> dataVersions;
+        private final Set<Long> tableIds;
+        // the parameter values of a custom plan, empty for a generic plan
+        private final List<String> parameterValues;
+        // not a part of the key, the values of the current query
+        private final PlanParameters parameters;
+
+        public PlanCacheKey(String sql, String database, String sessionVariables, int aliveBackendNumber,
+                            List<Long> dataVersions, Set<Long> tableIds, PlanParameters parameters) {
+            this(sql, database, sessionVariables, aliveBackendNumber, dataVersions, tableIds,
+                    Collections.emptyList(), parameters);
+        }
+
+        private PlanCacheKey(String sql, String database, String sessionVariables, int aliveBackendNumber,
+                             List<Long> dataVersions, Set<Long> tableIds, List<String> parameterValues,
+                             PlanParameters parameters) {
+            this.sql = sql;
+            this.database = database;
+            this.sessionVariables = sessionVariables;
+            this.aliveBackendNumber = aliveBackendNumber;
+            this.dataVersions = dataVersions;
+            this.tableIds = tableIds;
+            this.parameterValues = parameterValues;
+            this.parameters = parameters;
+        }
+
+        public PlanParameters getParameters() {
+            return parameters;
+        }
+
+        /**
+         * The key of the plan optimized with the current parameter values
+         */
+        public PlanCacheKey toCustomKey() {
+            return new PlanCacheKey(sql, database, sessionVariables, aliveBackendNumber, dataVersions, tableIds,
+                    parameters.getValueKeys(), parameters);
+        }
+
+        long estimateBytes() {
+            long bytes = 2L * (sql.length() + sessionVariables.length()) + 24L * dataVersions.size();
+            for (String value : parameterValues) {
+                bytes += 2L * value.length();
+            }
+            return bytes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            PlanCacheKey that = (PlanCacheKey) o;
+            return aliveBackendNumber == that.aliveBackendNumber && Objects.equals(sql, that.sql) &&
+                    Objects.equals(database, that.database) &&
+                    Objects.equals(sessionVariables, that.sessionVariables) &&
+                    Objects.equals(dataVersions, that.dataVersions) &&
+                    Objects.equals(parameterValues, that.parameterValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, database, sessionVariables, aliveBackendNumber, dataVersions, parameterValues);
+        }
+    }
+
+    public static class CachedPlan {
+        // marks a generic key whose plans are cached by the parameter values
+        private static final CachedPlan CUSTOM = new CachedPlan();
+
+        private final OptExpression physicalPlan;
+        private final List<ColumnRefOperator> outputColumns;
+        private final ColumnRefFactory columnRefFactory;
+        private final List<String> colNames;
+        private final long operatorNum;
+        // optimized before the collected column statistics are loaded, see OptimizerContext
+        private final boolean columnStatisticsNotLoaded;
+
+        public CachedPlan(OptExpression physicalPlan, List<ColumnRefOperator> outputColumns,
+                          ColumnRefFactory columnRefFactory, List<String> colNames) {
+            this(physicalPlan, outputColumns, columnRefFactory, colNames, false);
+        }
+
+        public CachedPlan(OptExpression physicalPlan, List<ColumnRefOperator> outputColumns,
+                          ColumnRefFactory columnRefFactory, List<String> colNames,
+                          boolean columnStatisticsNotLoaded) {
+            this.physicalPlan = physicalPlan;
+            this.outputColumns = outputColumns;
+            this.columnRefFactory = columnRefFactory;
+            this.colNames = colNames;
+            this.operatorNum = countOperators(physicalPlan);
+            this.columnStatisticsNotLoaded = columnStatisticsNotLoaded;
+        }
+
+        private CachedPlan() {
+            this.physicalPlan = null;
+            this.outputColumns = null;
+            this.columnRefFactory = null;
+            this.colNames = null;
+            this.operatorNum = 0;
+            this.columnStatisticsNotLoaded = false;
+        }
+
+        public static CachedPlan custom() {
+            return CUSTOM;
+        }
+
+        public boolean isCustom() {
+            return this == CUSTOM;
+        }
+
+        public boolean isColumnStatisticsNotLoaded() {
+            return columnStatisticsNotLoaded;
+        }
+
+        /**
+         * Build the fragment exec plan from optimized plan, the placeholders of a generic plan are
+         * replaced by the parameters
+         * <p>
+         * SingleNodeExecPlan is set in TableQueryPlanAction to generate a single-node Plan,
+         * currently only used in Spark/Flink Connector
+         * Because the connector sends only simple queries, it only needs to remove the output fragment
+         */
+        public ExecPlan buildExecPlan(ConnectContext session, PlanParameters parameters) {
+            session.setPlanParameters(parameters);
+            try {
+                if (session.getSessionVariable().isSingleNodeExecPlan()) {
+                    return new PlanFragmentBuilder().createPhysicalPlanWithoutOutputFragment(
+                            physicalPlan, session, outputColumns, columnRefFactory, colNames);
+                } else {
+                    return new PlanFragmentBuilder().createPhysicalPlan(
+                            physicalPlan, session, outputColumns, columnRefFactory, colNames);
+                }
+            } finally {
+                session.setPlanParameters(null);
+            }
+        }
+
+        /**
+         * Build the fragment exec plan of a statistics query, see {@link #buildExecPlan}
+         */
+        public ExecPlan buildStatisticExecPlan(ConnectContext session, PlanParameters parameters) {
+            session.setPlanParameters(parameters);
+            try {
+                return new PlanFragmentBuilder().createStatisticPhysicalPlan(
+                        physicalPlan, session, outputColumns, columnRefFactory, true);
+            } finally {
+                session.setPlanParameters(null);
+            }
+        }
+
+        /**
+         * Whether the partitions or tablets would be pruned by the parameters, a generic plan scans all of them
+         */
+        public boolean isPrunedByParameters() {
+            return isPrunedByParameters(physicalPlan);
+        }
+
+        private static boolean isPrunedByParameters(OptExpression expression) {
+            if (expression.getOp() instanceof PhysicalOlapScanOperator) {
+                PhysicalOlapScanOperator scan = (PhysicalOlapScanOperator) expression.getOp();
+                Set<Column> pruneColumns = getPruneColumns((OlapTable) scan.getTable());
+                for (ScalarOperator conjunct : Utils.extractConjuncts(scan.getPredicate())) {
+                    if (!PlanParameters.containsPlaceholder(conjunct)) {
+                        continue;
+                    }
+                    for (ColumnRefOperator columnRef : Utils.extractColumnRef(conjunct)) {
+                        if (pruneColumns.contains(scan.getColRefToColumnMetaMap().get(columnRef))) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            for (OptExpression input : expression.getInputs()) {
+                if (isPrunedByParameters(input)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static Set<Column> getPruneColumns(OlapTable table) {
+            Set<Column> columns = Sets.newHashSet();
+            PartitionInfo partitionInfo = table.getPartitionInfo();
+            if (partitionInfo instanceof RangePartitionInfo) {
+                columns.addAll(((RangePartitionInfo) partitionInfo).getPartitionColumns());
+            } else if (partitionInfo instanceof ListPartitionInfo) {
+                columns.addAll(((ListPartitionInfo) partitionInfo).getPartitionColumns());
+            }
+            if (table.getDefaultDistributionInfo() instanceof HashDistributionInfo) {
+                columns.addAll(((HashDistributionInfo) table.getDefaultDistributionInfo()).getDistributionColumns());
+            }
+            return columns;
+        }
+
+        private static long countOperators(OptExpression expression) {
+            long num = 1;
+            for (OptExpression input : expression.getInputs()) {
+                num += countOperators(input);
+            }
+            return num;
+        }
+
+        long estimateBytes() {
+            return operatorNum * ESTIMATED_OPERATOR_BYTES;
+        }
+    }
+
+    /**
+     * Build the key with the parameterized literals, the statement is visited twice: the first pass collects
+     * the literals and the second pass prints the placeholders.
+     * Table relation with partition or tablet hints should have a different key.
+     */
+    private static class PlanCacheKeyBuilder extends AST2SQL.SQLBuilder {
+        private final PlanParameters parameters = new PlanParameters();
+        private boolean collecting = true;
+        // larger than 0 when the literals must be constant when optimized
+        private int constantDepth = 0;
+        private boolean cacheable = true;
+
+        String build(QueryStatement stmt) {
+            visit(stmt);
+            parameters.build();
+            collecting = false;
+            return visit(stmt);
+        }
+
+        boolean isCacheable() {
+            return cacheable;
+        }
+
+        PlanParameters getParameters() {
+            return parameters;
+        }
+
+        @Override
+        public String visitTable(TableRelation node, Void context) {
+            StringBuilder sb = new StringBuilder(super.visitTable(node, context));
+            if (node.getPartitionNames() != null) {
+                sb.append(" ").append(node.getPartitionNames().toSql());
+            }
+            if (node.getTabletIds() != null && !node.getTabletIds().isEmpty()) {
+                sb.append(" TABLET").append(node.getTabletIds());
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public String visitLiteral(LiteralExpr node, Void context) {
+            String placeholder = visitParameterized(node);
+            return placeholder != null ? placeholder : super.visitLiteral(node, context);
+        }
+
+        // The same value can be bound to a parameter of a prepared statement by different types
+        @Override
+        public String visitParameter(Parameter node, Void context) {
+            String placeholder = visitParameterized(node);
+            if (placeholder != null) {
+                return placeholder;
+            }
+            return super.visitParameter(node, context) + ":" + node.getType().toSql();
+        }
+
+        private String visitParameterized(Expr node) {
+            if (collecting) {
+                if (constantDepth > 0) {
+                    parameters.addConstant(node);
+                } else {
+                    parameters.addCandidate(node);
+                }
+                return null;
+            }
+            int index = parameters.indexOf(node);
+            return index < 0 ? null : "?" + index + ":" + node.getType().toSql();
+        }
+
+        // The return type may be decided by the values of arguments
+        @Override
+        public String visitFunctionCall(FunctionCallExpr node, Void context) {
+            if (node.isNondeterministic() || (node.getFn() != null && node.getFn().isUdf())) {
+                cacheable = false;
+            }
+            boolean isAggregate = node.getFn() instanceof AggregateFunction;
+            return visitConstant(isAggregate, () -> super.visitFunctionCall(node, context)) +
+                    ":" + node.getType().toSql();
+        }
+
+        @Override
+        public String visitAnalyticExpr(AnalyticExpr node, Void context) {
+            return visitConstant(true, () -> super.visitAnalyticExpr(node, context));
+        }
+
+        @Override
+        public String visitValues(ValuesRelation node, Void context) {
+            return visitConstant(true, () -> super.visitValues(node, context));
+        }
+
+        @Override
+        public String visitOrderByElement(OrderByElement node, Void context) {
+            return visitConstant(true, () -> super.visitOrderByElement(node, context));
+        }
+
+        @Override
+        public String visitGroupByClause(GroupByClause node, Void context) {
+            return visitConstant(true, () -> super.visitGroupByClause(node, context));
+        }
+
+        // The value depends on the session, e.g. current_user() or connection_id()
+        @Override
+        public String visitInformationFunction(InformationFunction node, Void context) {
+            cacheable = false;
+            return super.visitInformationFunction(node, context);
+        }
+
+        @Override
+        public String visitVariableExpr(VariableExpr node, Void context) {
+            cacheable = false;
+            return super.visitVariableExpr(node, context);
+        }
+
+        private String visitConstant(boolean isConstant, Supplier<String> visitor) {
+            if (!isConstant) {
+                return visitor.get();
+            }
+            constantDepth++;
+            try {
+                return visitor.get();
+            } finally {
+                constantDepth--;
+            }
+        }
+    }
+}
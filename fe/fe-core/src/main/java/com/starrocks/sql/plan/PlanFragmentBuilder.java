@@ -1589,19 +1589,20 @@ public class PlanFragmentBuilder {
             OptExpression rightExpression = optExpr.inputAt(1);
 
             boolean needDealSort = leftExpression.getInputs().size() > 0 && rightExpression.getInputs().size() > 0;
+            OptExpression joinExpr = optExpr;
             if (needDealSort) {
-                optExpr.setChild(0, leftExpression.inputAt(0));
-                optExpr.setChild(1, rightExpression.inputAt(0));
+                // The optimized plan may be shared by the plan cache, so the join is built from a copy
+                // of the expression whose children are the inputs of the sorts
+                joinExpr = OptExpression.create(optExpr.getOp(), leftExpression.inputAt(0), rightExpression.inputAt(0));
+                joinExpr.setLogicalProperty(optExpr.getLogicalProperty());
+                joinExpr.setStatistics(optExpr.getStatistics());
+                joinExpr.setRequiredProperties(optExpr.getRequiredProperties());
                 leftFragment.setPlanRoot(leftPlanRoot.getChild(0));
                 rightFragment.setPlanRoot(rightPlanRoot.getChild(0));
             }
 
-            PlanFragment planFragment = visitPhysicalJoin(leftFragment, rightFragment, optExpr, context);
+            PlanFragment planFragment = visitPhysicalJoin(leftFragment, rightFragment, joinExpr, context);
             if (needDealSort) {
-                leftExpression.setChild(0, optExpr.inputAt(0));
-                rightExpression.setChild(0, optExpr.inputAt(1));
-                optExpr.setChild(0, leftExpression);
-                optExpr.setChild(1, rightExpression);
                 planFragment.getPlanRoot().setChild(0, leftPlanRoot);
                 planFragment.getPlanRoot().setChild(1, rightPlanRoot);
             }
@@ -1707,15 +1708,19 @@ public class PlanFragmentBuilder {
                     distributionMode = JoinNode.DistributionMode.LOCAL_HASH_BUCKET;
                 }
 
+                // The left child of predicate must be from the left input, the predicate may be shared
+                // by the cached plan, so a swapped copy is built instead of swapping it
+                List<BinaryPredicateOperator> orderedEqOnPredicates = Lists.newArrayList();
                 for (BinaryPredicateOperator s : eqOnPredicates) {
                     if (!optExpr.inputAt(0).getLogicalProperty().getOutputColumns()
                             .containsAll(s.getChild(0).getUsedColumns())) {
-                        s.swap();
+                        s = new BinaryPredicateOperator(s.getBinaryType(), s.getChild(1), s.getChild(0));
                     }
+                    orderedEqOnPredicates.add(s);
                 }
 
                 List<Expr> eqJoinConjuncts =
-                        eqOnPredicates.stream().map(e -> ScalarOperatorToExpr.buildExecExpression(e,
+                        orderedEqOnPredicates.stream().map(e -> ScalarOperatorToExpr.buildExecExpression(e,
                                         new ScalarOperatorToExpr.FormatterContext(context.getColRefToExpr())))
                                 .collect(Collectors.toList());
 
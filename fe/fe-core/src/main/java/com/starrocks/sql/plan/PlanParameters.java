@@ -0,0 +1,182 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.sql.plan;
+
+import com.google.common.collect.Lists;
+import com.starrocks.analysis.Expr;
+import com.starrocks.analysis.FunctionName;
+import com.starrocks.analysis.LiteralExpr;
+import com.starrocks.analysis.Parameter;
+import com.starrocks.catalog.Function;
+import com.starrocks.catalog.Type;
+import com.starrocks.sql.optimizer.operator.OperatorType;
+import com.starrocks.sql.optimizer.operator.scalar.CallOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+import com.starrocks.sql.optimizer.transformer.SqlToScalarOperatorTranslator;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * PlanParameters are the literals of a query replaced by placeholders in the key of {@link PlanCache},
+ * so the queries which only differ in these literals share one generic plan.
+ * <p>
+ * Equal literals share one placeholder. A literal which must be constant when optimized, e.g. the arguments of
+ * aggregate functions, VALUES, ORDER BY and GROUP BY, is kept in the key and so are all literals equal to it,
+ * because the analyzer matches GROUP BY and ORDER BY with the select list by value. The values bound to the
+ * parameters of a prepared statement are parameterized by position.
+ * <p>
+ * When a generic plan is optimized, {@link SqlToScalarOperatorTranslator} translates the parameterized literals
+ * to placeholders, which are replaced by the current values when the plan fragments are built.
+ */
+public class PlanParameters {
+    public static final String PLACEHOLDER = "__parameter";
+
+    // the first literal of every key, in the order of appearance
+    private final Map<String, Expr> candidates = new LinkedHashMap<>();
+    private final Set<String> constantKeys = new HashSet<>();
+    // The literals are translated to placeholders by identity, an equal literal which is not a part of the key,
+    // e.g. in the definition of a view or copied by the analyzer, is translated to a constant
+    private final Map<Expr, String> occurrences = new IdentityHashMap<>();
+    private boolean hasUnknownLiteral = false;
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<ConstantOperator> values = Lists.newArrayList();
+    private final List<String> valueKeys = Lists.newArrayList();
+
+    /**
+     * Add a literal or parameter which can be replaced by a placeholder
+     */
+    public void addCandidate(Expr expr) {
+        String key = keyOf(expr);
+        if (key != null) {
+            candidates.putIfAbsent(key, expr);
+            occurrences.put(expr, key);
+        }
+    }
+
+    /**
+     * Add a literal or parameter which must be constant when the query is optimized
+     */
+    public void addConstant(Expr expr) {
+        String key = keyOf(expr);
+        if (key != null) {
+            constantKeys.add(key);
+        }
+    }
+
+    /**
+     * Assign the placeholders after all literals are added
+     */
+    public void build() {
+        for (Map.Entry<String, Expr> entry : candidates.entrySet()) {
+            if (constantKeys.contains(entry.getKey())) {
+                continue;
+            }
+            LiteralExpr literal = getLiteral(entry.getValue());
+            indexes.put(entry.getKey(), values.size());
+            values.add((ConstantOperator) SqlToScalarOperatorTranslator.translate(literal));
+            valueKeys.add(keyOf(literal));
+        }
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * Return the index of the placeholder, -1 if the literal is not parameterized
+     */
+    public int indexOf(Expr expr) {
+        String key = keyOf(expr);
+        Integer index = key == null ? null : indexes.get(key);
+        if (index == null) {
+            return -1;
+        }
+        // a parameter is always bound to the same value
+        if (expr instanceof Parameter || occurrences.containsKey(expr)) {
+            return index;
+        }
+        hasUnknownLiteral = true;
+        return -1;
+    }
+
+    /**
+     * Whether a literal equal to a parameterized one is translated to a constant, the generic plan
+     * can't be reused with other values
+     */
+    public boolean hasUnknownLiteral() {
+        return hasUnknownLiteral;
+    }
+
+    public ConstantOperator getValue(int index) {
+        return values.get(index);
+    }
+
+    /**
+     * Copy the values with the values of some placeholders replaced. The copy is only used to build the plan
+     * fragments of a generic plan with other values, without analyzing the query again.
+     */
+    public PlanParameters copyWithValues(Map<Integer, ConstantOperator> replacedValues) {
+        PlanParameters copy = new PlanParameters();
+        copy.values.addAll(values);
+        replacedValues.forEach(copy.values::set);
+        return copy;
+    }
+
+    // The values distinguish the custom plans of the same generic key
+    public List<String> getValueKeys() {
+        return valueKeys;
+    }
+
+    public static CallOperator createPlaceholder(int index, Type type) {
+        Function fn = new Function(new FunctionName(PLACEHOLDER), new Type[] {Type.INT}, type, false);
+        return new CallOperator(PLACEHOLDER, type, Lists.newArrayList(ConstantOperator.createInt(index)), fn);
+    }
+
+    public static boolean isPlaceholder(ScalarOperator operator) {
+        return operator.getOpType() == OperatorType.CALL && PLACEHOLDER.equals(((CallOperator) operator).getFnName());
+    }
+
+    public static int getIndex(CallOperator placeholder) {
+        return ((ConstantOperator) placeholder.getChild(0)).getInt();
+    }
+
+    public static boolean containsPlaceholder(ScalarOperator operator) {
+        if (isPlaceholder(operator)) {
+            return true;
+        }
+        for (ScalarOperator child : operator.getChildren()) {
+            if (containsPlaceholder(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LiteralExpr getLiteral(Expr expr) {
+        return expr instanceof Parameter ? ((Parameter) expr).getValue() : (LiteralExpr) expr;
+    }
+
+    // NULL and boolean literals are simplified by optimizer, they are never parameterized
+    private static String keyOf(Expr expr) {
+        if (expr instanceof Parameter) {
+            LiteralExpr value = ((Parameter) expr).getValue();
+            return value != null && isSupported(value.getType()) ? "?" + ((Parameter) expr).getPosition() : null;
+        }
+        if (!(expr instanceof LiteralExpr) || !isSupported(expr.getType())) {
+            return null;
+        }
+        return expr.getType().toSql() + " " + expr.toSql();
+    }
+
+    private static boolean isSupported(Type type) {
+        return type.isNumericType() || type.isDateType() || type.isVarchar() || type.isChar();
+    }
+}
@@ -37,6 +37,7 @@ import com.starrocks.analysis.SlotRef;
 import com.starrocks.analysis.StringLiteral;
 import com.starrocks.catalog.Function;
 import com.starrocks.catalog.Type;
+import com.starrocks.qe.ConnectContext;
 import com.starrocks.sql.optimizer.operator.scalar.ArrayElementOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ArrayOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ArraySliceOperator;
@@ -344,8 +345,16 @@ public class ScalarOperatorToExpr {
             return expr;
         }
 
+        private ConstantOperator getParameterValue(CallOperator placeholder) {
+            return ConnectContext.get().getPlanParameters().getValue(PlanParameters.getIndex(placeholder));
+        }
+
         @Override
         public Expr visitCall(CallOperator call, FormatterContext context) {
+            if (PlanParameters.isPlaceholder(call)) {
+                return visitConstant(getParameterValue(call), context);
+            }
+
             String fnName = call.getFnName();
             Expr callExpr;
             switch (fnName.toLowerCase()) {
@@ -444,6 +453,16 @@ public class ScalarOperatorToExpr {
 
         @Override
         public Expr visitCastOperator(CastOperator operator, FormatterContext context) {
+            // The cast of a generic plan parameter is folded like the cast of a constant by optimizer
+            if (PlanParameters.isPlaceholder(operator.getChild(0))) {
+                try {
+                    ConstantOperator value = getParameterValue((CallOperator) operator.getChild(0));
+                    return visitConstant(value.castTo(operator.getType()), context);
+                } catch (Exception e) {
+                    // evaluated by backends
+                }
+            }
+
             CastExpr expr = new CastExpr(operator.getType(), buildExpr.build(operator.getChild(0), context));
             expr.setImplicit(context.implicitCast);
             return expr;
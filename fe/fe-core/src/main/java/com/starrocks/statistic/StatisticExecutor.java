@@ -2,9 +2,13 @@
 
 package com.starrocks.statistic;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.starrocks.analysis.LiteralExpr;
+import com.starrocks.analysis.Parameter;
 import com.starrocks.analysis.StatementBase;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.Database;
@@ -17,6 +21,7 @@ import com.starrocks.common.Pair;
 import com.starrocks.common.Status;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.qe.Coordinator;
+import com.starrocks.qe.OriginStatement;
 import com.starrocks.qe.QeProcessorImpl;
 import com.starrocks.qe.RowBatch;
 import com.starrocks.qe.StmtExecutor;
@@ -30,11 +35,16 @@ import com.starrocks.sql.optimizer.Optimizer;
 import com.starrocks.sql.optimizer.base.ColumnRefFactory;
 import com.starrocks.sql.optimizer.base.ColumnRefSet;
 import com.starrocks.sql.optimizer.base.PhysicalPropertySet;
+import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
 import com.starrocks.sql.optimizer.transformer.LogicalPlan;
 import com.starrocks.sql.optimizer.transformer.RelationTransformer;
+import com.starrocks.sql.optimizer.transformer.SqlToScalarOperatorTranslator;
+import com.starrocks.sql.parser.AstBuilder;
 import com.starrocks.sql.parser.SqlParser;
 import com.starrocks.sql.plan.ExecPlan;
+import com.starrocks.sql.plan.PlanCache;
 import com.starrocks.sql.plan.PlanFragmentBuilder;
+import com.starrocks.sql.plan.PlanParameters;
 import com.starrocks.thrift.TResultBatch;
 import com.starrocks.thrift.TStatisticData;
 import org.apache.logging.log4j.LogManager;
@@ -45,60 +55,97 @@ import org.apache.thrift.protocol.TCompactProtocol;
 
 import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 public class StatisticExecutor {
     private static final Logger LOG = LogManager.getLogger(StatisticExecutor.class);
 
+    private static final int MAX_STATISTIC_PLANS = 256;
+
+    // The generic plans of statistics queries by the statement, see getStatisticExecPlan
+    private static final Cache<String, StatisticPlan> STATISTIC_PLANS = Caffeine.newBuilder()
+            .maximumSize(MAX_STATISTIC_PLANS)
+            .build();
+
     public List<TStatisticData> queryStatisticSync(Long dbId, Long tableId, List<String> columnNames) throws Exception {
-        String sql;
-        BasicStatsMeta meta = GlobalStateMgr.getCurrentAnalyzeMgr().getBasicStatsMetaMap().get(tableId);
-        if (meta != null && meta.getType().equals(StatsConstants.AnalyzeType.FULL)) {
-            Table table = null;
-            if (dbId == null) {
-                List<Long> dbIds = GlobalStateMgr.getCurrentState().getDbIds();
-                for (Long id : dbIds) {
-                    Database db = GlobalStateMgr.getCurrentState().getDb(id);
-                    table = db.getTable(tableId);
-                    if (table != null) {
-                        break;
-                    }
+        Map<Long, List<String>> tableColumnNames = Maps.newHashMap();
+        tableColumnNames.put(tableId, columnNames);
+        return queryStatisticSync(tableColumnNames);
+    }
+
+    /**
+     * Query the statistics of the columns of multiple tables in a batch. The full statistics and the sample
+     * statistics are queried by one statement respectively, instead of one statement for every table.
+     */
+    public List<TStatisticData> queryStatisticSync(Map<Long, List<String>> tableColumnNames) throws Exception {
+        Map<Long, List<Column>> fullTableColumns = Maps.newLinkedHashMap();
+        Map<Long, List<String>> sampleTableColumnNames = Maps.newLinkedHashMap();
+        for (Map.Entry<Long, List<String>> entry : tableColumnNames.entrySet()) {
+            BasicStatsMeta meta = GlobalStateMgr.getCurrentAnalyzeMgr().getBasicStatsMetaMap().get(entry.getKey());
+            if (meta != null && meta.getType().equals(StatsConstants.AnalyzeType.FULL)) {
+                // the table or columns may be dropped, they have no statistics and don't fail the others
+                List<Column> columns = getColumns(null, entry.getKey(), entry.getValue());
+                if (!columns.isEmpty()) {
+                    fullTableColumns.put(entry.getKey(), columns);
                 }
             } else {
-                Database database = GlobalStateMgr.getCurrentState().getDb(dbId);
-                table = database.getTable(tableId);
+                sampleTableColumnNames.put(entry.getKey(), entry.getValue());
             }
-            Preconditions.checkState(table != null);
+        }
 
-            List<Column> columns = Lists.newArrayList();
-            for (String colName : columnNames) {
-                Column column = table.getColumn(colName);
-                Preconditions.checkState(column != null);
-                columns.add(column);
-            }
+        List<TStatisticData> statistics = Lists.newArrayList();
+        if (!fullTableColumns.isEmpty()) {
+            List<LiteralExpr> parameters = Lists.newArrayList();
+            String sql = StatisticSQLBuilder.buildQueryFullStatisticsSQL(fullTableColumns, parameters);
+            statistics.addAll(executeStatisticQuery(sql, parameters));
+        }
+        if (!sampleTableColumnNames.isEmpty()) {
+            List<LiteralExpr> parameters = Lists.newArrayList();
+            String sql = StatisticSQLBuilder.buildQuerySampleStatisticsSQL(sampleTableColumnNames, parameters);
+            statistics.addAll(executeStatisticQuery(sql, parameters));
+        }
+        return statistics;
+    }
 
-            sql = StatisticSQLBuilder.buildQueryFullStatisticsSQL(dbId, tableId, columns);
+    // Return the existing columns, empty if the table doesn't exist
+    private static List<Column> getColumns(Long dbId, Long tableId, List<String> columnNames) {
+        Table table = null;
+        if (dbId == null) {
+            List<Long> dbIds = GlobalStateMgr.getCurrentState().getDbIds();
+            for (Long id : dbIds) {
+                Database db = GlobalStateMgr.getCurrentState().getDb(id);
+                table = db == null ? null : db.getTable(tableId);
+                if (table != null) {
+                    break;
+                }
+            }
         } else {
-            sql = StatisticSQLBuilder.buildQuerySampleStatisticsSQL(dbId, tableId, columnNames);
+            Database database = GlobalStateMgr.getCurrentState().getDb(dbId);
+            table = database == null ? null : database.getTable(tableId);
         }
-        Map<String, Database> dbs = Maps.newHashMap();
 
-        ConnectContext context = StatisticUtils.buildConnectContext();
-        StatementBase parsedStmt;
-        try {
-            parsedStmt = SqlParser.parseFirstStatement(sql, context.getSessionVariable().getSqlMode());
-            if (parsedStmt instanceof QueryStatement) {
-                dbs = AnalyzerUtils.collectAllDatabase(context, parsedStmt);
+        List<Column> columns = Lists.newArrayList();
+        if (table == null) {
+            LOG.info("table {} doesn't exist when querying statistics", tableId);
+            return columns;
+        }
+        for (String colName : columnNames) {
+            Column column = table.getColumn(colName);
+            if (column != null) {
+                columns.add(column);
             }
-        } catch (Exception e) {
-            LOG.warn("Parse statistic table query fail.", e);
-            throw e;
         }
+        return columns;
+    }
 
+    private List<TStatisticData> executeStatisticQuery(String sql, List<LiteralExpr> parameters) throws Exception {
+        ConnectContext context = StatisticUtils.buildConnectContext();
         try {
-            ExecPlan execPlan = getExecutePlan(dbs, context, parsedStmt, true, true);
+            ExecPlan execPlan = getStatisticExecPlan(context, sql, parameters);
             List<TResultBatch> sqlResult = executeStmt(context, execPlan).first;
             return deserializerStatisticData(sqlResult);
         } catch (Exception e) {
@@ -107,6 +154,91 @@ public class StatisticExecutor {
         }
     }
 
+    /**
+     * The statistics queries which load the same number of columns only differ in the values of parameters.
+     * The statement is parsed, analyzed and optimized to a generic plan once, the later queries reuse the plan
+     * and only bind the values to the placeholders when the plan fragments are built. The plan is optimized
+     * again if the catalog, the partitions of the statistics table or the alive backends are changed.
+     */
+    private static ExecPlan getStatisticExecPlan(ConnectContext context, String sql, List<LiteralExpr> values) {
+        Database db = GlobalStateMgr.getCurrentState().getDb(StatsConstants.STATISTICS_DB_NAME);
+        if (db == null) {
+            throw new SemanticException("Database %s is not found", StatsConstants.STATISTICS_DB_NAME);
+        }
+        long catalogVersion = PlanCache.getInstance().getCatalogVersion();
+        int aliveBackendNumber = GlobalStateMgr.getCurrentSystemInfo().getAliveBackendNumber();
+
+        db.readLock();
+        try {
+            StatisticPlan statisticPlan = STATISTIC_PLANS.getIfPresent(sql);
+            if (statisticPlan != null && statisticPlan.isValid(catalogVersion, aliveBackendNumber)) {
+                return statisticPlan.build(context, values);
+            }
+
+            long sqlMode = context.getSessionVariable().getSqlMode();
+            AstBuilder builder = new AstBuilder(sqlMode);
+            QueryStatement stmt = (QueryStatement) builder.visitSingleStatement(
+                    SqlParser.parseSingleStatementTree(sql, sqlMode));
+            stmt.setOrigStmt(new OriginStatement(sql, 0));
+            List<Parameter> parameters = builder.getParameters();
+            Preconditions.checkState(parameters.size() == values.size());
+            for (int i = 0; i < parameters.size(); i++) {
+                parameters.get(i).setValue(values.get(i));
+            }
+            Analyzer.analyze(stmt, context);
+
+            PlanCache.PlanCacheKey key = PlanCache.getInstance().buildKey(stmt, context);
+            PlanParameters planParameters = key == null ? null : key.getParameters();
+            PlanCache.CachedPlan plan = optimize(context, stmt, planParameters);
+            if (planParameters != null && !planParameters.hasUnknownLiteral()) {
+                int[] indexes = parameters.stream().mapToInt(planParameters::indexOf).toArray();
+                if (Arrays.stream(indexes).allMatch(index -> index >= 0)) {
+                    List<OlapTable> tables = AnalyzerUtils.collectAllTable(stmt).values().stream()
+                            .map(table -> (OlapTable) table).collect(Collectors.toList());
+                    STATISTIC_PLANS.put(sql, new StatisticPlan(plan, planParameters, indexes, catalogVersion,
+                            aliveBackendNumber, tables));
+                }
+            }
+            return plan.buildStatisticExecPlan(context, planParameters);
+        } finally {
+            db.readUnlock();
+        }
+    }
+
+    // The literals are translated to placeholders if the parameters is not null
+    private static PlanCache.CachedPlan optimize(ConnectContext context, QueryStatement stmt,
+                                                 PlanParameters parameters) {
+        ColumnRefFactory columnRefFactory = new ColumnRefFactory();
+        LogicalPlan logicalPlan;
+        context.setPlanParameters(parameters);
+        try {
+            logicalPlan = new RelationTransformer(columnRefFactory, context).transform(stmt.getQueryRelation());
+        } finally {
+            context.setPlanParameters(null);
+        }
+
+        OptExpression optimizedPlan = new Optimizer().optimize(
+                context,
+                logicalPlan.getRoot(),
+                new PhysicalPropertySet(),
+                new ColumnRefSet(logicalPlan.getOutputColumn()),
+                columnRefFactory);
+        return new PlanCache.CachedPlan(optimizedPlan, logicalPlan.getOutputColumn(), columnRefFactory,
+                Collections.emptyList());
+    }
+
+    private static List<Long> getPartitionIds(List<OlapTable> tables) {
+        List<Long> partitionIds = Lists.newArrayList();
+        for (OlapTable table : tables) {
+            table.getPartitions().forEach(partition -> partitionIds.add(partition.getId()));
+        }
+        return partitionIds;
+    }
+
+    static long getStatisticPlanNum() {
+        return STATISTIC_PLANS.estimatedSize();
+    }
+
     public void dropTableStatistics(Long tableIds, StatsConstants.AnalyzeType analyzeType) {
         String sql = StatisticSQLBuilder.buildDropStatisticsSQL(tableIds, analyzeType);
         LOG.debug("Expire statistic SQL: {}", sql);
@@ -123,7 +255,14 @@ public class StatisticExecutor {
     }
 
     public List<TStatisticData> queryHistogram(Long tableId, List<String> columnNames) throws Exception {
-        String sql = StatisticSQLBuilder.buildQueryHistogramStatisticsSQL(tableId, columnNames);
+        return queryHistogram(StatisticSQLBuilder.buildQueryHistogramStatisticsSQL(tableId, columnNames));
+    }
+
+    public List<TStatisticData> queryHistogram(Map<Long, List<String>> tableColumnNames) throws Exception {
+        return queryHistogram(StatisticSQLBuilder.buildQueryHistogramStatisticsSQL(tableColumnNames));
+    }
+
+    private List<TStatisticData> queryHistogram(String sql) throws Exception {
         ConnectContext context = StatisticUtils.buildConnectContext();
         StatementBase parsedStmt = SqlParser.parseFirstStatement(sql, context.getSessionVariable().getSqlMode());
         try {
@@ -346,6 +485,7 @@ public class StatisticExecutor {
             LOG.warn(e);
             coord.getExecStatus().setStatus(e.getMessage());
         } finally {
+            coord.closeReceiver();
             QeProcessorImpl.INSTANCE.unregisterQuery(context.getExecutionId());
         }
         return Pair.create(sqlResult, coord.getExecStatus());
@@ -370,4 +510,41 @@ public class StatisticExecutor {
             db.readUnlock();
         }
     }
+
+    private static class StatisticPlan {
+        private final PlanCache.CachedPlan plan;
+        private final PlanParameters parameters;
+        // the placeholder index of every parameter of the statement
+        private final int[] indexes;
+        private final long catalogVersion;
+        private final int aliveBackendNumber;
+        // the partitions are not versioned by the catalog version, e.g. truncated
+        private final List<OlapTable> tables;
+        private final List<Long> partitionIds;
+
+        StatisticPlan(PlanCache.CachedPlan plan, PlanParameters parameters, int[] indexes, long catalogVersion,
+                      int aliveBackendNumber, List<OlapTable> tables) {
+            this.plan = plan;
+            this.parameters = parameters;
+            this.indexes = indexes;
+            this.catalogVersion = catalogVersion;
+            this.aliveBackendNumber = aliveBackendNumber;
+            this.tables = tables;
+            this.partitionIds = getPartitionIds(tables);
+        }
+
+        boolean isValid(long catalogVersion, int aliveBackendNumber) {
+            return this.catalogVersion == catalogVersion && this.aliveBackendNumber == aliveBackendNumber &&
+                    partitionIds.equals(getPartitionIds(tables));
+        }
+
+        ExecPlan build(ConnectContext context, List<LiteralExpr> values) {
+            Map<Integer, ConstantOperator> boundValues = Maps.newHashMap();
+            for (int i = 0; i < indexes.length; i++) {
+                ConstantOperator value = (ConstantOperator) SqlToScalarOperatorTranslator.translate(values.get(i));
+                boundValues.put(indexes[i], value);
+            }
+            return plan.buildStatisticExecPlan(context, parameters.copyWithValues(boundValues));
+        }
+    }
 }
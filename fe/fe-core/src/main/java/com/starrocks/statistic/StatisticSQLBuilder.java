@@ -4,13 +4,22 @@ package com.starrocks.statistic;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.analysis.DateLiteral;
+import com.starrocks.analysis.IntLiteral;
+import com.starrocks.analysis.LiteralExpr;
+import com.starrocks.analysis.StringLiteral;
 import com.starrocks.catalog.Column;
+import com.starrocks.catalog.Type;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.VelocityEngine;
 
 import java.io.StringWriter;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import static com.starrocks.statistic.StatsConstants.FULL_STATISTICS_TABLE_NAME;
@@ -72,14 +81,83 @@ public class StatisticSQLBuilder {
         return build(context, QUERY_SAMPLE_STATISTIC_TEMPLATE);
     }
 
+    public static String buildQuerySampleStatisticsSQL(Map<Long, List<String>> tableColumnNames) {
+        VelocityContext context = new VelocityContext();
+        context.put("predicate", buildTableColumnsPredicate(tableColumnNames));
+        return build(context, QUERY_SAMPLE_STATISTIC_TEMPLATE);
+    }
+
+    /**
+     * Build the query with the table ids and column names as parameters '?', the values are added to parameters
+     * by the order of positions. The queries of the same number of columns are the same statement, so its plan
+     * is reused by {@link StatisticExecutor}.
+     */
+    public static String buildQuerySampleStatisticsSQL(Map<Long, List<String>> tableColumnNames,
+                                                       List<LiteralExpr> parameters) {
+        VelocityContext context = new VelocityContext();
+        context.put("predicate", buildTableColumnsPredicate(tableColumnNames, parameters));
+        return build(context, QUERY_SAMPLE_STATISTIC_TEMPLATE);
+    }
+
     public static String buildQueryFullStatisticsSQL(Long dbId, Long tableId, List<Column> columns) {
+        Map<Long, List<Column>> tableColumns = Maps.newHashMap();
+        tableColumns.put(tableId, columns);
+        return buildQueryFullStatisticsSQL(tableColumns);
+    }
+
+    /**
+     * The max and min are cast to the column type before aggregation, so the columns of different types
+     * can't be queried together. Columns of the same type, even from different tables, share one union branch
+     * to keep the statement small to plan.
+     */
+    public static String buildQueryFullStatisticsSQL(Map<Long, List<Column>> tableColumns) {
+        Map<String, Map<Long, List<String>>> typeToTableColumnNames = Maps.newLinkedHashMap();
+        for (Map.Entry<Long, List<Column>> entry : tableColumns.entrySet()) {
+            for (Column column : entry.getValue()) {
+                typeToTableColumnNames.computeIfAbsent(column.getType().toSql(), k -> Maps.newLinkedHashMap())
+                        .computeIfAbsent(entry.getKey(), k -> Lists.newArrayList())
+                        .add(column.getName());
+            }
+        }
+
         List<String> querySQL = new ArrayList<>();
-        for (Column column : columns) {
+        for (Map.Entry<String, Map<Long, List<String>>> entry : typeToTableColumnNames.entrySet()) {
             VelocityContext context = new VelocityContext();
             context.put("updateTime", "now()");
 
-            context.put("type", column.getType().toSql());
-            context.put("predicate", "table_id = " + tableId + " and column_name = \"" + column.getName() + "\"");
+            context.put("type", entry.getKey());
+            context.put("predicate", buildTableColumnsPredicate(entry.getValue()));
+            querySQL.add(build(context, QUERY_FULL_STATISTIC_TEMPLATE));
+        }
+
+        return Joiner.on(" UNION ALL ").join(querySQL);
+    }
+
+    /**
+     * Like {@link #buildQuerySampleStatisticsSQL(Map, List)}, the update time is a parameter too and the union
+     * branches are ordered by type, so the statement only depends on the number of columns of every type
+     */
+    public static String buildQueryFullStatisticsSQL(Map<Long, List<Column>> tableColumns,
+                                                     List<LiteralExpr> parameters) {
+        Map<String, Map<Long, List<String>>> typeToTableColumnNames = new TreeMap<>();
+        for (Map.Entry<Long, List<Column>> entry : tableColumns.entrySet()) {
+            for (Column column : entry.getValue()) {
+                typeToTableColumnNames.computeIfAbsent(column.getType().toSql(), k -> Maps.newLinkedHashMap())
+                        .computeIfAbsent(entry.getKey(), k -> Lists.newArrayList())
+                        .add(column.getName());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<String> querySQL = new ArrayList<>();
+        for (Map.Entry<String, Map<Long, List<String>>> entry : typeToTableColumnNames.entrySet()) {
+            VelocityContext context = new VelocityContext();
+            context.put("updateTime", "?");
+            parameters.add(new DateLiteral(now.getYear(), now.getMonthValue(), now.getDayOfMonth(),
+                    now.getHour(), now.getMinute(), now.getSecond()));
+
+            context.put("type", entry.getKey());
+            context.put("predicate", buildTableColumnsPredicate(entry.getValue(), parameters));
             querySQL.add(build(context, QUERY_FULL_STATISTIC_TEMPLATE));
         }
 
@@ -114,12 +192,59 @@ public class StatisticSQLBuilder {
         return build(context, QUERY_HISTOGRAM_STATISTIC_TEMPLATE);
     }
 
+    public static String buildQueryHistogramStatisticsSQL(Map<Long, List<String>> tableColumnNames) {
+        VelocityContext context = new VelocityContext();
+        context.put("predicate", buildTableColumnsPredicate(tableColumnNames));
+        return build(context, QUERY_HISTOGRAM_STATISTIC_TEMPLATE);
+    }
+
     public static String buildDropHistogramSQL(Long tableId, List<String> columnNames) {
         return "delete from " + StatsConstants.HISTOGRAM_STATISTICS_TABLE_NAME + " where table_id = "
                 + tableId + " and column_name in (" + Joiner.on(", ")
                 .join(columnNames.stream().map(c -> "'" + c + "'").collect(Collectors.toList())) + ")";
     }
 
+    // (table_id = 1 and column_name in ('a', 'b')) or (table_id = 2 and column_name in ('c'))
+    private static String buildTableColumnsPredicate(Map<Long, List<String>> tableColumnNames) {
+        List<String> predicateList = Lists.newArrayList();
+        for (Map.Entry<Long, List<String>> entry : tableColumnNames.entrySet()) {
+            predicateList.add("table_id = " + entry.getKey() + " and column_name in (" + Joiner.on(", ")
+                    .join(entry.getValue().stream().map(c -> "'" + c + "'").collect(Collectors.toList())) + ")");
+        }
+        if (predicateList.size() == 1) {
+            return predicateList.get(0);
+        }
+        return "(" + Joiner.on(") or (").join(predicateList) + ")";
+    }
+
+    // (table_id = ? and column_name = ?) or (table_id = ? and column_name = ?)
+    // The number of columns is rounded up to a power of two by repeating the last column, so the loads of
+    // different columns share a few statements
+    private static String buildTableColumnsPredicate(Map<Long, List<String>> tableColumnNames,
+                                                     List<LiteralExpr> parameters) {
+        List<Long> tableIds = Lists.newArrayList();
+        List<String> columnNames = Lists.newArrayList();
+        for (Map.Entry<Long, List<String>> entry : tableColumnNames.entrySet()) {
+            for (String columnName : entry.getValue()) {
+                tableIds.add(entry.getKey());
+                columnNames.add(columnName);
+            }
+        }
+
+        int num = Integer.highestOneBit(columnNames.size());
+        if (num < columnNames.size()) {
+            num <<= 1;
+        }
+        List<String> predicateList = Lists.newArrayList();
+        for (int i = 0; i < num; i++) {
+            int index = Math.min(i, columnNames.size() - 1);
+            parameters.add(new IntLiteral(tableIds.get(index), Type.BIGINT));
+            parameters.add(new StringLiteral(columnNames.get(index)));
+            predicateList.add("(table_id = ? and column_name = ?)");
+        }
+        return Joiner.on(" or ").join(predicateList);
+    }
+
     private static String build(VelocityContext context, String template) {
         StringWriter sw = new StringWriter();
         DEFAULT_VELOCITY_ENGINE.evaluate(context, sw, "", template);
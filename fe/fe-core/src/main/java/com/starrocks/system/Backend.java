@@ -264,6 +264,8 @@ public class Backend extends ComputeNode {
             // update disksRef
             disksRef = ImmutableMap.copyOf(newDiskInfos);
             GlobalStateMgr.getCurrentSystemInfo().updatePathInfo(addedDisks, removedDisks);
+            // the replicas on the disks added, removed or offline may be changed
+            GlobalStateMgr.getCurrentState().getTabletChecker().markBackendDirty(getId());
             // log disk changing
             GlobalStateMgr.getCurrentState().getEditLog().logBackendStateChange(this);
         }
@@ -199,7 +199,12 @@ public class HeartbeatMgr extends LeaderDaemon {
                     computeNode = nodeMgr.getComputeNode(hbResponse.getBeId());
                 }
                 if (computeNode != null) {
+                    boolean wasAlive = computeNode.isAlive();
                     boolean isChanged = computeNode.handleHbResponse(hbResponse);
+                    if (wasAlive != computeNode.isAlive() && !isReplay) {
+                        // the replicas on it become available or unavailable
+                        GlobalStateMgr.getCurrentState().getTabletChecker().markBackendDirty(computeNode.getId());
+                    }
                     if (hbResponse.getStatus() != HbStatus.OK) {
                         // invalid all connections cached in ClientPool
                         ClientPool.backendPool.clearPool(new TNetworkAddress(computeNode.getHost(), computeNode.getBePort()));
@@ -412,6 +412,9 @@ public class SystemInfoService {
         GlobalStateMgr.getCurrentState().getEditLog().logDropBackend(droppedBackend);
         LOG.info("finished to drop {}", droppedBackend);
 
+        // the replicas on it are lost
+        GlobalStateMgr.getCurrentState().getTabletChecker().markBackendDirty(droppedBackend.getId());
+
         // backends is changed, regenerated tablet number metrics
         MetricRepo.generateBackendsTabletMetrics();
     }
@@ -52,6 +52,7 @@ import com.starrocks.common.UserException;
 import com.starrocks.common.util.DebugUtil;
 import com.starrocks.common.util.TimeUtils;
 import com.starrocks.metric.MetricRepo;
+import com.starrocks.metric.TransactionMetricMgr;
 import com.starrocks.mysql.privilege.PrivPredicate;
 import com.starrocks.persist.EditLog;
 import com.starrocks.qe.ConnectContext;
@@ -66,13 +67,13 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
@@ -89,17 +90,20 @@ public class DatabaseTransactionMgr {
 
     private static final Logger LOG = LogManager.getLogger(DatabaseTransactionMgr.class);
 
+    private static final int REMOVE_EXPIRED_TXN_BATCH_SIZE = 1000;
+
     private long dbId;
 
-    // the lock is used to control the access to transaction states
+    // the lock is used to control the modification of transaction states
     // no other locks should be inside this lock
+    // the maps of transaction states and labels are concurrent, so the lookups do not need this lock
     private ReentrantReadWriteLock transactionLock = new ReentrantReadWriteLock(true);
 
     // transactionId -> running TransactionState
-    private Map<Long, TransactionState> idToRunningTransactionState = Maps.newHashMap();
+    private Map<Long, TransactionState> idToRunningTransactionState = Maps.newConcurrentMap();
 
     // transactionId -> final status TransactionState
-    private Map<Long, TransactionState> idToFinalStatusTransactionState = Maps.newHashMap();
+    private Map<Long, TransactionState> idToFinalStatusTransactionState = Maps.newConcurrentMap();
 
     // to store transtactionStates with final status
     private ArrayDeque<TransactionState> finalStatusTransactionStateDeque = new ArrayDeque<>();
@@ -113,7 +117,7 @@ public class DatabaseTransactionMgr {
     // this member should be consistent with idToTransactionState,
     // which means if a txn exist in idToRunningTransactionState or idToFinalStatusTransactionState
     // it must exists in dbIdToTxnLabels, and vice versa
-    private Map<String, Set<Long>> labelToTxnIds = Maps.newHashMap();
+    private Map<String, Set<Long>> labelToTxnIds = Maps.newConcurrentMap();
 
     // count the number of running txns of database, except for the routine load txn
     private int runningTxnNums = 0;
@@ -136,8 +140,20 @@ public class DatabaseTransactionMgr {
 
     private final TransactionLogApplierFactory txnLogApplierFactory = new TransactionLogApplierFactory();
 
+    // the wait time of lock is only sampled, the histogram update is not free for every acquisition
+    private static boolean sampleLockWaitTime() {
+        int interval = Config.txn_lock_wait_time_sample_interval;
+        return MetricRepo.isInit && interval > 0 && ThreadLocalRandom.current().nextInt(interval) == 0;
+    }
+
     protected void readLock() {
-        this.transactionLock.readLock().lock();
+        if (sampleLockWaitTime()) {
+            long start = System.nanoTime();
+            this.transactionLock.readLock().lock();
+            TransactionMetricMgr.updateLockWaitTime(dbId, (System.nanoTime() - start) / 1000);
+        } else {
+            this.transactionLock.readLock().lock();
+        }
     }
 
     protected void readUnlock() {
@@ -145,7 +161,13 @@ public class DatabaseTransactionMgr {
     }
 
     protected void writeLock() {
-        this.transactionLock.writeLock().lock();
+        if (sampleLockWaitTime()) {
+            long start = System.nanoTime();
+            this.transactionLock.writeLock().lock();
+            TransactionMetricMgr.updateLockWaitTime(dbId, (System.nanoTime() - start) / 1000);
+        } else {
+            this.transactionLock.writeLock().lock();
+        }
     }
 
     protected void writeUnlock() {
@@ -164,16 +186,13 @@ public class DatabaseTransactionMgr {
     }
 
     public TransactionState getTransactionState(Long transactionId) {
-        readLock();
-        try {
-            TransactionState transactionState = idToRunningTransactionState.get(transactionId);
-            if (transactionState != null) {
-                return transactionState;
-            } else {
-                return idToFinalStatusTransactionState.get(transactionId);
-            }
-        } finally {
-            readUnlock();
+        // the transaction is put into idToFinalStatusTransactionState before removed from
+        // idToRunningTransactionState, so check the running one first and it can't be missed
+        TransactionState transactionState = idToRunningTransactionState.get(transactionId);
+        if (transactionState != null) {
+            return transactionState;
+        } else {
+            return idToFinalStatusTransactionState.get(transactionId);
         }
     }
 
@@ -208,26 +227,26 @@ public class DatabaseTransactionMgr {
 
     public List<List<String>> getTxnStateInfoList(boolean running, int limit) {
         List<List<String>> infos = Lists.newArrayList();
-        Collection<TransactionState> transactionStateCollection = null;
-        readLock();
-        try {
-            if (running) {
-                transactionStateCollection = idToRunningTransactionState.values();
-            } else {
-                transactionStateCollection = finalStatusTransactionStateDeque;
+        List<TransactionState> transactionStates;
+        if (running) {
+            transactionStates = Lists.newArrayList(idToRunningTransactionState.values());
+        } else {
+            readLock();
+            try {
+                transactionStates = Lists.newArrayList(finalStatusTransactionStateDeque);
+            } finally {
+                readUnlock();
             }
-            // get transaction order by txn id desc limit 'limit'
-            transactionStateCollection.stream()
-                    .sorted(TransactionState.TXN_ID_COMPARATOR)
-                    .limit(limit)
-                    .forEach(t -> {
-                        List<String> info = Lists.newArrayList();
-                        getTxnStateInfo(t, info);
-                        infos.add(info);
-                    });
-        } finally {
-            readUnlock();
         }
+        // get transaction order by txn id desc limit 'limit'
+        transactionStates.stream()
+                .sorted(TransactionState.TXN_ID_COMPARATOR)
+                .limit(limit)
+                .forEach(t -> {
+                    List<String> info = Lists.newArrayList();
+                    getTxnStateInfo(t, info);
+                    infos.add(info);
+                });
         return infos;
     }
 
@@ -463,6 +482,7 @@ public class DatabaseTransactionMgr {
             updateCatalogAfterCommittedSpan.end();
         }
         LOG.info("transaction:[{}] successfully committed", transactionState);
+        wakeupPublishVersionDaemon();
     }
 
     /**
@@ -658,6 +678,7 @@ public class DatabaseTransactionMgr {
             updateCatalogAfterCommittedSpan.end();
         }
         LOG.info("transaction:[{}] successfully committed", transactionState);
+        wakeupPublishVersionDaemon();
     }
 
     public boolean waitTransactionVisible(Database db, long transactionId, long timeoutMillis)
@@ -709,51 +730,36 @@ public class DatabaseTransactionMgr {
     }
 
     public TransactionStatus getLabelState(String label) {
-        readLock();
-        try {
-            Set<Long> existingTxnIds = unprotectedGetTxnIdsByLabel(label);
-            if (existingTxnIds == null || existingTxnIds.isEmpty()) {
-                return TransactionStatus.UNKNOWN;
-            }
-            // find the latest txn (which id is largest)
-            long maxTxnId = existingTxnIds.stream().max(Comparator.comparingLong(Long::valueOf)).get();
-            return unprotectedGetTransactionState(maxTxnId).getTransactionStatus();
-        } finally {
-            readUnlock();
+        Long maxTxnId = getLabelTxnID(label);
+        if (maxTxnId < 0) {
+            return TransactionStatus.UNKNOWN;
         }
+        // the transaction may be removed concurrently
+        TransactionState transactionState = getTransactionState(maxTxnId);
+        return transactionState == null ? TransactionStatus.UNKNOWN : transactionState.getTransactionStatus();
     }
 
     public Long getLabelTxnID(String label) {
-        readLock();
-        try {
-            Set<Long> existingTxnIds = unprotectedGetTxnIdsByLabel(label);
-            if (existingTxnIds == null || existingTxnIds.isEmpty()) {
-                return (long) -1;
-            }
-            // find the latest txn (which id is largest)
-            Optional<Long> v = existingTxnIds.stream().max(Comparator.comparingLong(Long::valueOf));
-            if (v.isPresent()) {
-                return v.get();
-            } else {
-                return (long) -1;
-            }
-        } finally {
-            readUnlock();
+        Set<Long> existingTxnIds = unprotectedGetTxnIdsByLabel(label);
+        if (existingTxnIds == null) {
+            return (long) -1;
+        }
+        // find the latest txn (which id is largest)
+        Optional<Long> v = existingTxnIds.stream().max(Comparator.comparingLong(Long::valueOf));
+        if (v.isPresent()) {
+            return v.get();
+        } else {
+            return (long) -1;
         }
     }
 
     public List<TransactionState> getCommittedTxnList() {
-        readLock();
-        try {
-            // only send task to committed transaction
-            return idToRunningTransactionState.values().stream()
-                    .filter(transactionState -> (transactionState.getTransactionStatus() ==
-                            TransactionStatus.COMMITTED))
-                    .sorted(Comparator.comparing(TransactionState::getCommitTime))
-                    .collect(Collectors.toList());
-        } finally {
-            readUnlock();
-        }
+        // only send task to committed transaction
+        return idToRunningTransactionState.values().stream()
+                .filter(transactionState -> (transactionState.getTransactionStatus() ==
+                        TransactionStatus.COMMITTED))
+                .sorted(Comparator.comparing(TransactionState::getCommitTime))
+                .collect(Collectors.toList());
     }
 
     public List<TransactionState> getReadyToPublishTxnList() {
@@ -1036,6 +1042,22 @@ public class DatabaseTransactionMgr {
             finishSpan.end();
         }
         LOG.info("finish transaction {} successfully", transactionState);
+        onTransactionVisible(transactionState, db);
+    }
+
+    private void onTransactionVisible(TransactionState transactionState, Database db) {
+        TransactionMetricMgr.updatePublishLatency(db.getId(),
+                transactionState.getFinishTime() - transactionState.getCommitTime());
+        // the transactions depending on this one may be ready to publish
+        wakeupPublishVersionDaemon();
+    }
+
+    // publish the transactions without waiting for the next round of PublishVersionDaemon
+    private void wakeupPublishVersionDaemon() {
+        PublishVersionDaemon publishVersionDaemon = globalStateMgr.getPublishVersionDaemon();
+        if (publishVersionDaemon != null) {
+            publishVersionDaemon.wakeup();
+        }
     }
 
     protected void unprotectedCommitTransaction(TransactionState transactionState,
@@ -1164,6 +1186,8 @@ public class DatabaseTransactionMgr {
                 transactionGraph.add(transactionState.getTransactionId(), transactionState.getTableIdList());
             }
         } else {
+            // put into idToFinalStatusTransactionState first, so the lookups without lock can always find it
+            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
             if (idToRunningTransactionState.remove(transactionState.getTransactionId()) != null) {
                 if (transactionState.getSourceType() == TransactionState.LoadJobSourceType.ROUTINE_LOAD_TASK) {
                     runningRoutineLoadTxnNums--;
@@ -1172,18 +1196,14 @@ public class DatabaseTransactionMgr {
                 }
             }
             transactionGraph.remove(transactionState.getTransactionId());
-            idToFinalStatusTransactionState.put(transactionState.getTransactionId(), transactionState);
             finalStatusTransactionStateDeque.add(transactionState);
         }
         updateTxnLabels(transactionState);
     }
 
     private void updateTxnLabels(TransactionState transactionState) {
-        Set<Long> txnIds = labelToTxnIds.get(transactionState.getLabel());
-        if (txnIds == null) {
-            txnIds = Sets.newHashSet();
-            labelToTxnIds.put(transactionState.getLabel(), txnIds);
-        }
+        Set<Long> txnIds = labelToTxnIds.computeIfAbsent(transactionState.getLabel(),
+                k -> Sets.newConcurrentHashSet());
         txnIds.add(transactionState.getTransactionId());
     }
 
@@ -1357,26 +1377,41 @@ public class DatabaseTransactionMgr {
     }
 
     public void removeExpiredTxns(long currentMillis) {
-        writeLock();
-        try {
-            int numJobsToRemove = getTransactionNum() - Config.label_keep_max_num;
-            while (!finalStatusTransactionStateDeque.isEmpty()) {
-                TransactionState transactionState = finalStatusTransactionStateDeque.getFirst();
-                if (transactionState.isExpired(currentMillis) || numJobsToRemove > 0) {
-                    finalStatusTransactionStateDeque.pop();
-                    clearTransactionState(transactionState);
-                    --numJobsToRemove;
-                    LOG.info("transaction [" + transactionState.getTransactionId() +
-                            "] is expired, remove it from transaction manager");
-                } else {
-                    break;
-                }
+        // remove the expired transactions in batches, so the writers are not blocked for a long time
+        boolean hasMore = true;
+        while (hasMore) {
+            writeLock();
+            try {
+                hasMore = removeExpiredTxns(currentMillis, REMOVE_EXPIRED_TXN_BATCH_SIZE);
+            } finally {
+                writeUnlock();
             }
-        } finally {
-            writeUnlock();
         }
     }
 
+    // return true if the batch is full and there may be more expired transactions
+    private boolean removeExpiredTxns(long currentMillis, int batchSize) {
+        int numJobsToRemove = getTransactionNum() - Config.label_keep_max_num;
+        int numRemoved = 0;
+        while (!finalStatusTransactionStateDeque.isEmpty()) {
+            if (numRemoved >= batchSize) {
+                return true;
+            }
+            TransactionState transactionState = finalStatusTransactionStateDeque.getFirst();
+            if (transactionState.isExpired(currentMillis) || numJobsToRemove > 0) {
+                finalStatusTransactionStateDeque.pop();
+                clearTransactionState(transactionState);
+                --numJobsToRemove;
+                ++numRemoved;
+                LOG.info("transaction [" + transactionState.getTransactionId() +
+                        "] is expired, remove it from transaction manager");
+            } else {
+                break;
+            }
+        }
+        return false;
+    }
+
     private void clearTransactionState(TransactionState transactionState) {
         idToFinalStatusTransactionState.remove(transactionState.getTransactionId());
         Set<Long> txnIds = unprotectedGetTxnIdsByLabel(transactionState.getLabel());
@@ -1392,16 +1427,11 @@ public class DatabaseTransactionMgr {
 
     public List<Pair<Long, Long>> getTransactionIdByCoordinateBe(String coordinateHost, int limit) {
         ArrayList<Pair<Long, Long>> txnInfos = new ArrayList<>();
-        readLock();
-        try {
-            idToRunningTransactionState.values().stream()
-                    .filter(t -> (t.getCoordinator().sourceType == TransactionState.TxnSourceType.BE
-                            && t.getCoordinator().ip.equals(coordinateHost)))
-                    .limit(limit)
-                    .forEach(t -> txnInfos.add(new Pair<>(t.getDbId(), t.getTransactionId())));
-        } finally {
-            readUnlock();
-        }
+        idToRunningTransactionState.values().stream()
+                .filter(t -> (t.getCoordinator().sourceType == TransactionState.TxnSourceType.BE
+                        && t.getCoordinator().ip.equals(coordinateHost)))
+                .limit(limit)
+                .forEach(t -> txnInfos.add(new Pair<>(t.getDbId(), t.getTransactionId())));
         return txnInfos;
     }
 
@@ -1487,21 +1517,16 @@ public class DatabaseTransactionMgr {
     }
 
     public boolean isPreviousTransactionsFinished(long endTransactionId, List<Long> tableIdList) {
-        readLock();
-        try {
-            for (Map.Entry<Long, TransactionState> entry : idToRunningTransactionState.entrySet()) {
-                if (entry.getValue().getDbId() != dbId || !isIntersectionNotEmpty(entry.getValue().getTableIdList(),
-                        tableIdList) || !entry.getValue().isRunning()) {
-                    continue;
-                }
-                if (entry.getKey() <= endTransactionId) {
-                    LOG.debug("find a running txn with txn_id: {} on db: {}, less than watermark txn_id {}",
-                            entry.getKey(), dbId, endTransactionId);
-                    return false;
-                }
+        for (Map.Entry<Long, TransactionState> entry : idToRunningTransactionState.entrySet()) {
+            if (entry.getValue().getDbId() != dbId || !isIntersectionNotEmpty(entry.getValue().getTableIdList(),
+                    tableIdList) || !entry.getValue().isRunning()) {
+                continue;
+            }
+            if (entry.getKey() <= endTransactionId) {
+                LOG.debug("find a running txn with txn_id: {} on db: {}, less than watermark txn_id {}",
+                        entry.getKey(), dbId, endTransactionId);
+                return false;
             }
-        } finally {
-            readUnlock();
         }
         return true;
     }
@@ -1527,16 +1552,12 @@ public class DatabaseTransactionMgr {
 
     public List<Long> getTimeoutTxns(long currentMillis) {
         List<Long> timeoutTxns = Lists.newArrayList();
-        readLock();
-        try {
-            for (TransactionState transactionState : idToRunningTransactionState.values()) {
-                if (transactionState.isTimeout(currentMillis)) {
-                    // txn is running but timeout, abort it.
-                    timeoutTxns.add(transactionState.getTransactionId());
-                }
+        // scan without lock, the transactions are checked again when they are aborted
+        for (TransactionState transactionState : idToRunningTransactionState.values()) {
+            if (transactionState.isTimeout(currentMillis)) {
+                // txn is running but timeout, abort it.
+                timeoutTxns.add(transactionState.getTransactionId());
             }
-        } finally {
-            readUnlock();
         }
         return timeoutTxns;
     }
@@ -1655,6 +1676,7 @@ public class DatabaseTransactionMgr {
             finishSpan.end();
         }
         LOG.info("finish transaction {} successfully", transactionState);
+        onTransactionVisible(transactionState, db);
     }
 
 }
@@ -10,6 +10,8 @@ import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.Replica;
 import com.starrocks.catalog.Tablet;
+import com.starrocks.clone.TabletChecker;
+import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.optimizer.statistics.IDictManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -28,6 +30,7 @@ public class OlapTableTxnLogApplier implements TransactionLogApplier {
     @Override
     public void applyCommitLog(TransactionState txnState, TableCommitInfo commitInfo) {
         Set<Long> errorReplicaIds = txnState.getErrorReplicas();
+        TabletChecker tabletChecker = GlobalStateMgr.getCurrentState().getTabletChecker();
         for (PartitionCommitInfo partitionCommitInfo : commitInfo.getIdToPartitionCommitInfo().values()) {
             long partitionId = partitionCommitInfo.getPartitionId();
             Partition partition = table.getPartition(partitionId);
@@ -39,6 +42,7 @@ public class OlapTableTxnLogApplier implements TransactionLogApplier {
                         if (errorReplicaIds.contains(replica.getId())) {
                             // should get from transaction state
                             replica.updateLastFailedVersion(partitionCommitInfo.getVersion());
+                            tabletChecker.markTabletDirty(tablet.getId());
                         }
                     }
                 }
@@ -50,6 +54,7 @@ public class OlapTableTxnLogApplier implements TransactionLogApplier {
     @Override
     public void applyVisibleLog(TransactionState txnState, TableCommitInfo commitInfo, Database db) {
         Set<Long> errorReplicaIds = txnState.getErrorReplicas();
+        TabletChecker tabletChecker = GlobalStateMgr.getCurrentState().getTabletChecker();
         long tableId = table.getId();
         OlapTable table = (OlapTable) db.getTable(tableId);
         if (table == null) {
@@ -73,6 +78,9 @@ public class OlapTableTxnLogApplier implements TransactionLogApplier {
                     for (Replica replica : ((LocalTablet) tablet).getImmutableReplicas()) {
                         if (txnState.isNewFinish()) {
                             updateReplicaVersion(version, replica, txnState.getFinishState());
+                            if (replica.getLastFailedVersion() > 0) {
+                                tabletChecker.markTabletDirty(tablet.getId());
+                            }
                             continue;
                         }
                         long lastFailedVersion = replica.getLastFailedVersion();
@@ -106,6 +114,10 @@ public class OlapTableTxnLogApplier implements TransactionLogApplier {
                             }
                         }
                         replica.updateVersionInfo(newVersion, lastFailedVersion, lastSucessVersion);
+                        if (lastFailedVersion > 0) {
+                            // the replica needs to be repaired
+                            tabletChecker.markTabletDirty(tablet.getId());
+                        }
                     }
                 }
             } // end for indices
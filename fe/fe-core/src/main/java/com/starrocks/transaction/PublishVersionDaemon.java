@@ -34,6 +34,7 @@ import com.starrocks.catalog.Tablet;
 import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.MetaNotFoundException;
+import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.common.UserException;
 import com.starrocks.common.util.LeaderDaemon;
 import com.starrocks.lake.LakeTable;
@@ -58,10 +59,13 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 
 public class PublishVersionDaemon extends LeaderDaemon {
 
@@ -69,6 +73,11 @@ public class PublishVersionDaemon extends LeaderDaemon {
 
     private static final long RETRY_INTERVAL_MS = 1000;
 
+    // the databases whose transactions are being published by the executor
+    private final Set<Long> publishingDbIds = Sets.newConcurrentHashSet();
+    // created when this daemon runs, so the instances of GlobalStateMgr for checkpoint do not create it
+    private ThreadPoolExecutor executor;
+
     public PublishVersionDaemon() {
         super("PUBLISH_VERSION", Config.publish_version_interval_ms);
     }
@@ -88,32 +97,66 @@ public class PublishVersionDaemon extends LeaderDaemon {
                 return;
             }
 
-            if (!Config.use_staros) {
-                publishVersionForOlapTable(readyTransactionStates);
-                return;
+            if (executor == null) {
+                executor = ThreadPoolManager.newDaemonFixedThreadPool(Config.publish_version_worker_num,
+                        Integer.MAX_VALUE, "publish-version", true);
             }
-
-            List<TransactionState> olapTransactions = new ArrayList<>();
-            List<TransactionState> lakeTransactions = new ArrayList<>();
+            // The transactions of different databases are published in parallel, so the slow transactions,
+            // which wait for the lock of database or the response of backends, do not block the others.
+            Map<Long, List<TransactionState>> dbIdToTransactions = new LinkedHashMap<>();
             for (TransactionState txnState : readyTransactionStates) {
-                if (isLakeTableTransaction(txnState)) {
-                    lakeTransactions.add(txnState);
-                } else {
-                    olapTransactions.add(txnState);
-                }
+                dbIdToTransactions.computeIfAbsent(txnState.getDbId(), k -> new ArrayList<>()).add(txnState);
             }
-
-            if (!olapTransactions.isEmpty()) {
-                publishVersionForOlapTable(olapTransactions);
-            }
-            if (!lakeTransactions.isEmpty()) {
-                publishVersionForLakeTable(lakeTransactions);
+            for (Map.Entry<Long, List<TransactionState>> entry : dbIdToTransactions.entrySet()) {
+                long dbId = entry.getKey();
+                // the transactions of this db are still being published, they will be checked in the next cycle
+                if (!publishingDbIds.add(dbId)) {
+                    continue;
+                }
+                try {
+                    executor.submit(() -> {
+                        try {
+                            publishVersion(entry.getValue());
+                        } catch (Throwable t) {
+                            LOG.error("errors while publish version of db {} to all backends", dbId, t);
+                        } finally {
+                            publishingDbIds.remove(dbId);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    publishingDbIds.remove(dbId);
+                    LOG.warn("failed to submit publish version of db {}", dbId, e);
+                }
             }
         } catch (Throwable t) {
             LOG.error("errors while publish version to all backends", t);
         }
     }
 
+    private void publishVersion(List<TransactionState> readyTransactionStates) throws UserException {
+        if (!Config.use_staros) {
+            publishVersionForOlapTable(readyTransactionStates);
+            return;
+        }
+
+        List<TransactionState> olapTransactions = new ArrayList<>();
+        List<TransactionState> lakeTransactions = new ArrayList<>();
+        for (TransactionState txnState : readyTransactionStates) {
+            if (isLakeTableTransaction(txnState)) {
+                lakeTransactions.add(txnState);
+            } else {
+                olapTransactions.add(txnState);
+            }
+        }
+
+        if (!olapTransactions.isEmpty()) {
+            publishVersionForOlapTable(olapTransactions);
+        }
+        if (!lakeTransactions.isEmpty()) {
+            publishVersionForLakeTable(lakeTransactions);
+        }
+    }
+
     private void publishVersionForOlapTable(List<TransactionState> readyTransactionStates) throws UserException {
         GlobalTransactionMgr globalTransactionMgr = GlobalStateMgr.getCurrentGlobalTransactionMgr();
 
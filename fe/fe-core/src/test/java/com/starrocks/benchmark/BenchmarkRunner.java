@@ -0,0 +1,138 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.benchmark;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Run the JMH benchmarks of FE, and write the results in JSON, which can be compared with the results of
+ * a baseline build to find the regressions.
+ * <p>
+ * Usage: mvn test-compile exec:exec -Pbenchmark [-Dbenchmark.include=PlannerBench]
+ * [-Dbenchmark.baseline=baseline.json] [-Dbenchmark.threshold=0.1]
+ * <p>
+ * The benchmarks built on the mocked cluster need jmockit agent, it's added to the forked JVM if jmockit
+ * is in class path.
+ */
+public class BenchmarkRunner {
+    public static final String INCLUDE_PROPERTY = "benchmark.include";
+    public static final String RESULT_PROPERTY = "benchmark.result";
+    public static final String BASELINE_PROPERTY = "benchmark.baseline";
+    public static final String THRESHOLD_PROPERTY = "benchmark.threshold";
+
+    public static void main(String[] args) throws Exception {
+        Collection<RunResult> results = run(System.getProperty(INCLUDE_PROPERTY, ".*Bench"));
+        String baseline = System.getProperty(BASELINE_PROPERTY);
+        if (baseline != null && !baseline.isEmpty()) {
+            double threshold = Double.parseDouble(System.getProperty(THRESHOLD_PROPERTY, "0.1"));
+            List<String> regressions = compare(results, loadBaseline(new File(baseline)), threshold);
+            if (!regressions.isEmpty()) {
+                System.err.println("Found " + regressions.size() + " regression(s) compared with " + baseline);
+                for (String regression : regressions) {
+                    System.err.println(regression);
+                }
+                System.exit(1);
+            }
+        }
+    }
+
+    public static Collection<RunResult> run(String include) throws RunnerException {
+        String resultFile = System.getProperty(RESULT_PROPERTY, "target/jmh-result.json");
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile);
+        String agent = findJmockitAgent();
+        if (agent != null) {
+            // prepend, so the jvmArgsAppend in @Fork of the benchmarks still works
+            builder.jvmArgsPrepend("-javaagent:" + agent);
+        }
+        return new Runner(builder.build()).run();
+    }
+
+    private static String findJmockitAgent() {
+        String classPath = System.getProperty("java.class.path", "");
+        for (String path : classPath.split(File.pathSeparator)) {
+            if (new File(path).getName().startsWith("jmockit") && path.endsWith(".jar")) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    // benchmark name with params -> score
+    private static Map<String, Double> loadBaseline(File file) throws IOException {
+        Map<String, Double> baseline = Maps.newHashMap();
+        try (Reader reader = new FileReader(file)) {
+            JsonArray results = new JsonParser().parse(reader).getAsJsonArray();
+            for (JsonElement element : results) {
+                JsonObject result = element.getAsJsonObject();
+                Map<String, String> params = new TreeMap<>();
+                if (result.has("params")) {
+                    for (Map.Entry<String, JsonElement> param : result.getAsJsonObject("params").entrySet()) {
+                        params.put(param.getKey(), param.getValue().getAsString());
+                    }
+                }
+                String key = buildKey(result.get("benchmark").getAsString(), params);
+                baseline.put(key, result.getAsJsonObject("primaryMetric").get("score").getAsDouble());
+            }
+        }
+        return baseline;
+    }
+
+    private static List<String> compare(Collection<RunResult> results, Map<String, Double> baseline,
+                                        double threshold) {
+        List<String> regressions = Lists.newArrayList();
+        for (RunResult result : results) {
+            BenchmarkParams benchmarkParams = result.getParams();
+            Map<String, String> params = new TreeMap<>();
+            for (String paramKey : benchmarkParams.getParamsKeys()) {
+                params.put(paramKey, benchmarkParams.getParam(paramKey));
+            }
+            String key = buildKey(benchmarkParams.getBenchmark(), params);
+            Double baseScore = baseline.get(key);
+            if (baseScore == null || baseScore == 0) {
+                continue;
+            }
+            double score = result.getPrimaryResult().getScore();
+            // throughput is better when higher, the others are time which is better when lower
+            double change = benchmarkParams.getMode() == Mode.Throughput ?
+                    (baseScore - score) / baseScore : (score - baseScore) / baseScore;
+            if (change > threshold) {
+                regressions.add(String.format("%s: %.3f -> %.3f %s, %.1f%% worse", key, baseScore, score,
+                        result.getPrimaryResult().getScoreUnit(), change * 100));
+            }
+        }
+        return regressions;
+    }
+
+    private static String buildKey(String benchmark, Map<String, String> params) {
+        if (params.isEmpty()) {
+            return benchmark;
+        }
+        return benchmark + "(" + Joiner.on(", ").withKeyValueSeparator("=").join(params) + ")";
+    }
+}
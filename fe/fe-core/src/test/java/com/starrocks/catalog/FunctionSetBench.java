@@ -0,0 +1,85 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.catalog;
+
+import com.starrocks.analysis.FunctionName;
+import com.starrocks.common.Config;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolve the functions of a wide generated query, most of the calls need implicit casts,
+ * which is the slowest path of matching the overloads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Threads(8)
+public class FunctionSetBench {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(FunctionSetBench.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    @Param({"false", "true"})
+    public boolean enableFunctionMatchCache;
+
+    private FunctionSet functionSet;
+    private Function[] descs;
+
+    @Setup
+    public void setup() {
+        Config.enable_function_match_cache = enableFunctionMatchCache;
+        functionSet = new FunctionSet();
+        functionSet.init();
+        descs = new Function[] {
+                desc(FunctionSet.ADD, Type.TINYINT, Type.INT),
+                desc(FunctionSet.MULTIPLY, Type.SMALLINT, Type.DOUBLE),
+                desc(FunctionSet.IF, Type.BOOLEAN, Type.DATE, Type.DATETIME),
+                desc(FunctionSet.IFNULL, Type.INT, Type.BIGINT),
+                desc(FunctionSet.COALESCE, Type.VARCHAR, Type.VARCHAR, Type.VARCHAR),
+                desc(FunctionSet.CONCAT, Type.VARCHAR, Type.INT),
+                desc(FunctionSet.SUBSTRING, Type.VARCHAR, Type.TINYINT, Type.TINYINT),
+                desc("date_format", Type.DATE, Type.VARCHAR),
+                desc("year", Type.DATE),
+                desc(FunctionSet.SUM, Type.TINYINT),
+                desc(FunctionSet.MAX, Type.DATE),
+                desc("round", Type.FLOAT, Type.TINYINT),
+                desc("array_length", new ArrayType(Type.INT)),
+        };
+    }
+
+    private static Function desc(String name, Type... argTypes) {
+        return new Function(new FunctionName(name), argTypes, Type.INVALID, false);
+    }
+
+    @Benchmark
+    public void getFunction(Blackhole blackhole) {
+        for (Function desc : descs) {
+            blackhole.consume(functionSet.getFunction(desc, Function.CompareMode.IS_NONSTRICT_SUPERTYPE_OF));
+        }
+    }
+}
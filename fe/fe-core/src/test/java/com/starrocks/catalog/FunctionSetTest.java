@@ -22,6 +22,7 @@
 package com.starrocks.catalog;
 
 import com.starrocks.analysis.FunctionName;
+import com.starrocks.common.Config;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -249,4 +250,96 @@ public class FunctionSetTest {
         Assert.assertEquals(Type.INT, fn.getReturnType());
         Assert.assertEquals(new ArrayType(Type.NULL), fn.getArgs()[0]);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMatchCache() {
+        Type[] argTypes = {Type.TINYINT, Type.SMALLINT};
+        Function desc = new Function(new FunctionName(FunctionSet.ADD), argTypes, Type.INVALID, false);
+        Function fn = functionSet.getFunction(desc, Function.CompareMode.IS_NONSTRICT_SUPERTYPE_OF);
+        Assert.assertNotNull(fn);
+        // the same function for the same signature
+        Assert.assertSame(fn, functionSet.getFunction(desc, Function.CompareMode.IS_NONSTRICT_SUPERTYPE_OF));
+        // compare mode is a part of the signature
+        Assert.assertNull(functionSet.getFunction(desc, Function.CompareMode.IS_IDENTICAL));
+
+        boolean enableCache = Config.enable_function_match_cache;
+        Config.enable_function_match_cache = false;
+        try {
+            Assert.assertSame(fn, functionSet.getFunction(desc, Function.CompareMode.IS_NONSTRICT_SUPERTYPE_OF));
+            Assert.assertNull(functionSet.getFunction(desc, Function.CompareMode.IS_IDENTICAL));
+        } finally {
+            Config.enable_function_match_cache = enableCache;
+        }
+
+        // the cache is cleared when a function is added
+        argTypes = new Type[] {Type.INT};
+        desc = new Function(new FunctionName("match_cache_test"), argTypes, Type.INVALID, false);
+        Assert.assertNull(functionSet.getFunction(desc, Function.CompareMode.IS_SUPERTYPE_OF));
+        functionSet.addVectorizedScalarBuiltin(-1, "match_cache_test", false, Type.BIGINT, Type.BIGINT);
+        fn = functionSet.getFunction(desc, Function.CompareMode.IS_SUPERTYPE_OF);
+        Assert.assertNotNull(fn);
+        Assert.assertEquals(Type.BIGINT, fn.getReturnType());
+    }
+
+    @Test
+    public void testMatchCacheOfStringTypes() {
+        Function desc = new Function(new FunctionName(FunctionSet.CONCAT),
+                new Type[] {ScalarType.createVarcharType(10), ScalarType.createVarcharType(20)}, Type.INVALID, false);
+        Function fn = functionSet.getFunction(desc, Function.CompareMode.IS_NONSTRICT_SUPERTYPE_OF);
+        Assert.assertNotNull(fn);
+        long cacheSize = functionSet.getMatchCacheSize();
+
+        // the signatures of different string lengths share a key
+        desc = new Function(new FunctionName(FunctionSet.CONCAT),
+                new Type[] {ScalarType.createVarcharType(30), ScalarType.createVarcharType(5)}, Type.INVALID, false);
+        Assert.assertSame(fn, functionSet.getFunction(desc, Function.CompareMode.IS_NONSTRICT_SUPERTYPE_OF));
+        Assert.assertEquals(cacheSize, functionSet.getMatchCacheSize());
+
+        desc = new Function(new FunctionName(FunctionSet.ARRAY_LENGTH),
+                new Type[] {new ArrayType(ScalarType.createVarcharType(10))}, Type.INVALID, false);
+        fn = functionSet.getFunction(desc, Function.CompareMode.IS_NONSTRICT_SUPERTYPE_OF);
+        Assert.assertNotNull(fn);
+        desc = new Function(new FunctionName(FunctionSet.ARRAY_LENGTH),
+                new Type[] {new ArrayType(ScalarType.createVarcharType(20))}, Type.INVALID, false);
+        Assert.assertNotNull(functionSet.getFunction(desc, Function.CompareMode.IS_NONSTRICT_SUPERTYPE_OF));
+        Assert.assertEquals(cacheSize + 1, functionSet.getMatchCacheSize());
+
+        // but not the char and varchar
+        desc = new Function(new FunctionName(FunctionSet.CONCAT),
+                new Type[] {ScalarType.createCharType(10), ScalarType.createVarcharType(5)}, Type.INVALID, false);
+        Assert.assertNotNull(functionSet.getFunction(desc, Function.CompareMode.IS_NONSTRICT_SUPERTYPE_OF));
+        Assert.assertEquals(cacheSize + 2, functionSet.getMatchCacheSize());
+    }
+
+    @Test
+    public void testMatchByArity() {
+        String name = "arity_test";
+        functionSet.addVectorizedScalarBuiltin(-1, name, true, Type.DOUBLE, Type.VARCHAR);
+        functionSet.addVectorizedScalarBuiltin(-1, name, false, Type.BIGINT, Type.INT, Type.INT);
+        functionSet.addVectorizedScalarBuiltin(-1, name, false, Type.INT, Type.INT);
+        // indistinguishable from the variadic one
+        functionSet.addVectorizedScalarBuiltin(-1, name, false, Type.VARCHAR, Type.VARCHAR, Type.VARCHAR);
+
+        Function desc = new Function(new FunctionName(name), new Type[] {Type.INT}, Type.INVALID, false);
+        Function fn = functionSet.getFunction(desc, Function.CompareMode.IS_IDENTICAL);
+        Assert.assertEquals(Type.INT, fn.getReturnType());
+
+        desc = new Function(new FunctionName(name), new Type[] {Type.INT, Type.INT}, Type.INVALID, false);
+        fn = functionSet.getFunction(desc, Function.CompareMode.IS_IDENTICAL);
+        Assert.assertEquals(Type.BIGINT, fn.getReturnType());
+
+        desc = new Function(new FunctionName(name), new Type[] {Type.VARCHAR}, Type.INVALID, false);
+        fn = functionSet.getFunction(desc, Function.CompareMode.IS_SUPERTYPE_OF);
+        Assert.assertEquals(Type.DOUBLE, fn.getReturnType());
+
+        desc = new Function(new FunctionName(name), new Type[] {Type.VARCHAR, Type.VARCHAR, Type.VARCHAR},
+                Type.INVALID, false);
+        fn = functionSet.getFunction(desc, Function.CompareMode.IS_SUPERTYPE_OF);
+        Assert.assertEquals(Type.DOUBLE, fn.getReturnType());
+
+        desc = new Function(new FunctionName(name), new Type[0], Type.INVALID, false);
+        Assert.assertNull(functionSet.getFunction(desc, Function.CompareMode.IS_NONSTRICT_SUPERTYPE_OF));
+        Assert.assertEquals(3, functionSet.getBuiltinFunctions().stream()
+                .filter(f -> f.functionName().equals(name)).count());
+    }
+}
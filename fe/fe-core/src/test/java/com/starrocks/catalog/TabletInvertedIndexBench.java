@@ -0,0 +1,137 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.catalog;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.starrocks.common.Pair;
+import com.starrocks.thrift.TPartitionVersionInfo;
+import com.starrocks.thrift.TStorageMedium;
+import com.starrocks.thrift.TTablet;
+import com.starrocks.thrift.TTabletInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Simulate the tablet report storm from many backends, while the clone and load paths keep updating
+ * and reading the replicas. shardNum = 1 behaves like a single global lock.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class TabletInvertedIndexBench {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(TabletInvertedIndexBench.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    private static final int SCHEMA_HASH = 1;
+    private static final int REPLICA_NUM = 3;
+    private static final int UPDATE_THREAD_NUM = 8;
+    private static final AtomicInteger NEXT_UPDATE_THREAD_SLOT = new AtomicInteger(0);
+    private static final ThreadLocal<Integer> UPDATE_THREAD_SLOT =
+            ThreadLocal.withInitial(() -> NEXT_UPDATE_THREAD_SLOT.getAndIncrement() % UPDATE_THREAD_NUM);
+
+    @Param({"1", "64"})
+    public int shardNum;
+
+    @Param({"200"})
+    public int backendNum;
+
+    @Param({"1000000"})
+    public int tabletNum;
+
+    private TabletInvertedIndex invertedIndex;
+    private List<Map<Long, TTablet>> backendTablets;
+
+    @Setup
+    public void setup() {
+        invertedIndex = new TabletInvertedIndex(shardNum);
+        backendTablets = Lists.newArrayList();
+        for (int i = 0; i < backendNum; i++) {
+            backendTablets.add(Maps.newHashMap());
+        }
+        long replicaId = 0;
+        for (long tabletId = 0; tabletId < tabletNum; tabletId++) {
+            invertedIndex.addTablet(tabletId, new TabletMeta(1, 2, 3, 4, SCHEMA_HASH, TStorageMedium.HDD));
+            for (int i = 0; i < REPLICA_NUM; i++) {
+                long backendId = (tabletId + i) % backendNum;
+                invertedIndex.addReplica(tabletId,
+                        new Replica(replicaId++, backendId, Replica.ReplicaState.NORMAL, 2, SCHEMA_HASH));
+                TTabletInfo tabletInfo = new TTabletInfo(tabletId, SCHEMA_HASH, 2, 0, 0, 0);
+                backendTablets.get((int) backendId).put(tabletId, new TTablet(Lists.newArrayList(tabletInfo)));
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(32)
+    public int report() {
+        long backendId = ThreadLocalRandom.current().nextInt(backendNum);
+        ListMultimap<Long, Long> tabletSyncMap = ArrayListMultimap.create();
+        ListMultimap<Long, Long> tabletDeleteFromMeta = ArrayListMultimap.create();
+        Map<Long, ListMultimap<Long, TPartitionVersionInfo>> transactionsToPublish = Maps.newHashMap();
+        invertedIndex.tabletReport(backendId, backendTablets.get((int) backendId), new HashMap<>(),
+                tabletSyncMap, tabletDeleteFromMeta, Sets.newHashSet(), Maps.newHashMap(),
+                ArrayListMultimap.create(), transactionsToPublish, Maps.newHashMap(),
+                ArrayListMultimap.create(), ArrayListMultimap.create(), Sets.<Pair<Long, Integer>>newHashSet());
+        return tabletSyncMap.size() + tabletDeleteFromMeta.size();
+    }
+
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(UPDATE_THREAD_NUM)
+    public Replica updateReplica() {
+        // every update thread owns different tablets, so a replica is not deleted twice
+        int slot = UPDATE_THREAD_SLOT.get();
+        long tabletId = ThreadLocalRandom.current().nextInt(tabletNum / UPDATE_THREAD_NUM) * UPDATE_THREAD_NUM + slot;
+        long backendId = tabletId % backendNum;
+        Replica replica = invertedIndex.getReplica(tabletId, backendId);
+        invertedIndex.deleteReplica(tabletId, backendId);
+        invertedIndex.addReplica(tabletId, replica);
+        return replica;
+    }
+
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(8)
+    public List<TabletMeta> getTabletMeta() {
+        List<Long> tabletIds = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            tabletIds.add((long) ThreadLocalRandom.current().nextInt(tabletNum));
+        }
+        return invertedIndex.getTabletMetaList(tabletIds);
+    }
+}
@@ -0,0 +1,237 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.clone;
+
+import com.google.common.collect.Lists;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.LocalTablet;
+import com.starrocks.catalog.MaterializedIndex;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Partition;
+import com.starrocks.catalog.Replica;
+import com.starrocks.catalog.Tablet;
+import com.starrocks.common.Config;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.sql.ast.AdminRepairTableStmt;
+import com.starrocks.utframe.StarRocksAssert;
+import com.starrocks.utframe.UtFrameUtils;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+
+public class TabletCheckerTest {
+    private static ConnectContext connectContext;
+
+    private MockUp<GlobalStateMgr> leaderMockUp;
+    private TabletSchedulerStat stat;
+    private TabletScheduler tabletScheduler;
+    private TabletChecker tabletChecker;
+    private List<LocalTablet> tablets;
+
+    private boolean enableDirtyTracking;
+    private long fullCheckIntervalSeconds;
+    private int maxSchedulingTablets;
+    private boolean recoverWithEmptyTablet;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        UtFrameUtils.createMinStarRocksCluster();
+        connectContext = UtFrameUtils.createDefaultCtx();
+        StarRocksAssert starRocksAssert = new StarRocksAssert(connectContext);
+        starRocksAssert.withDatabase("test").useDatabase("test")
+                .withTable("CREATE TABLE test.tbl\n" +
+                        "(\n" +
+                        "    k1 int,\n" +
+                        "    v1 int sum\n" +
+                        ")\n" +
+                        "DISTRIBUTED BY HASH(k1) BUCKETS 4\n" +
+                        "PROPERTIES('replication_num' = '1');");
+    }
+
+    @Before
+    public void setUp() {
+        enableDirtyTracking = Config.tablet_checker_enable_dirty_tracking;
+        fullCheckIntervalSeconds = Config.tablet_checker_full_check_interval_seconds;
+        maxSchedulingTablets = Config.tablet_sched_max_scheduling_tablets;
+        recoverWithEmptyTablet = Config.recover_with_empty_tablet;
+        Config.tablet_checker_enable_dirty_tracking = true;
+        Config.tablet_checker_full_check_interval_seconds = 3600;
+        // the only replica can't be a clone source, recover it with an empty replica to be added to scheduler
+        Config.recover_with_empty_tablet = true;
+
+        // the tablets are only marked dirty on leader
+        leaderMockUp = new MockUp<GlobalStateMgr>() {
+            @Mock
+            public boolean isLeader() {
+                return true;
+            }
+        };
+
+        GlobalStateMgr globalStateMgr = GlobalStateMgr.getCurrentState();
+        stat = new TabletSchedulerStat();
+        tabletScheduler = new TabletScheduler(globalStateMgr, GlobalStateMgr.getCurrentSystemInfo(),
+                GlobalStateMgr.getCurrentInvertedIndex(), stat);
+        tabletChecker = new TabletChecker(globalStateMgr, GlobalStateMgr.getCurrentSystemInfo(), tabletScheduler,
+                stat);
+
+        Database db = globalStateMgr.getDb("test");
+        OlapTable table = (OlapTable) db.getTable("tbl");
+        Partition partition = table.getPartitions().iterator().next();
+        tablets = Lists.newArrayList();
+        for (MaterializedIndex index : partition.getMaterializedIndices(MaterializedIndex.IndexExtState.VISIBLE)) {
+            for (Tablet tablet : index.getTablets()) {
+                tablets.add((LocalTablet) tablet);
+            }
+        }
+        Assert.assertEquals(4, tablets.size());
+    }
+
+    @After
+    public void tearDown() {
+        for (LocalTablet tablet : tablets) {
+            setVersionIncomplete(tablet, false);
+        }
+        leaderMockUp.tearDown();
+        Config.tablet_checker_enable_dirty_tracking = enableDirtyTracking;
+        Config.tablet_checker_full_check_interval_seconds = fullCheckIntervalSeconds;
+        Config.tablet_sched_max_scheduling_tablets = maxSchedulingTablets;
+        Config.recover_with_empty_tablet = recoverWithEmptyTablet;
+    }
+
+    private static void setVersionIncomplete(LocalTablet tablet, boolean incomplete) {
+        Replica replica = tablet.getImmutableReplicas().get(0);
+        replica.updateVersionInfoForRecovery(replica.getVersion(), incomplete ? replica.getVersion() + 1 : -1,
+                replica.getVersion());
+    }
+
+    @Test
+    public void testCheckDirtyTablets() {
+        // all tablets are checked in the first round
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(1, stat.counterTabletFullCheckRound.get());
+        Assert.assertEquals(4, stat.counterTabletChecked.get());
+
+        // nothing is changed
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(1, stat.counterTabletFullCheckRound.get());
+        Assert.assertEquals(4, stat.counterTabletChecked.get());
+
+        // only the dirty tablet is checked
+        LocalTablet tablet = tablets.get(0);
+        setVersionIncomplete(tablet, true);
+        tabletChecker.markTabletDirty(tablet.getId());
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(1, stat.counterTabletFullCheckRound.get());
+        Assert.assertEquals(5, stat.counterTabletChecked.get());
+        Assert.assertTrue(tabletScheduler.containsTablet(tablet.getId()));
+        // the tablet being scheduled is not checked again until it's released by scheduler
+        Assert.assertEquals(0, tabletChecker.getDirtyTabletNum());
+
+        // an unhealthy tablet not added to scheduler is checked again in the next round
+        LocalTablet notReadyTablet = tablets.get(1);
+        setVersionIncomplete(notReadyTablet, true);
+        Config.recover_with_empty_tablet = false;
+        tabletChecker.markTabletDirty(notReadyTablet.getId());
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertFalse(tabletScheduler.containsTablet(notReadyTablet.getId()));
+        Assert.assertEquals(1, tabletChecker.getDirtyTabletNum());
+
+        // all the tablets of the dirty table are checked
+        Database db = GlobalStateMgr.getCurrentState().getDb("test");
+        tabletChecker.markTableDirty(db.getId(), db.getTable("tbl").getId());
+        long checked = stat.counterTabletChecked.get();
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(checked + 4, stat.counterTabletChecked.get());
+        Assert.assertEquals(1, stat.counterTabletFullCheckRound.get());
+    }
+
+    @Test
+    public void testRequeueOnLimitExceed() {
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(1, stat.counterTabletFullCheckRound.get());
+
+        LocalTablet tablet1 = tablets.get(0);
+        LocalTablet tablet2 = tablets.get(1);
+        setVersionIncomplete(tablet1, true);
+        setVersionIncomplete(tablet2, true);
+        tabletChecker.markTabletDirty(tablet1.getId());
+        tabletChecker.markTabletDirty(tablet2.getId());
+
+        // only one tablet can be added, the checker is stopped by the other one
+        Config.tablet_sched_max_scheduling_tablets = 0;
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(1, tabletScheduler.getPendingNum());
+        Assert.assertTrue(tabletScheduler.containsTablet(tablet1.getId())
+                ^ tabletScheduler.containsTablet(tablet2.getId()));
+
+        // the table is checked entirely in the next round, and the other one is added
+        Config.tablet_sched_max_scheduling_tablets = 1;
+        long checked = stat.counterTabletChecked.get();
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(checked + 4, stat.counterTabletChecked.get());
+        Assert.assertEquals(1, stat.counterTabletFullCheckRound.get());
+        Assert.assertTrue(tabletScheduler.containsTablet(tablet1.getId()));
+        Assert.assertTrue(tabletScheduler.containsTablet(tablet2.getId()));
+    }
+
+    @Test
+    public void testFullCheck() {
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(1, stat.counterTabletFullCheckRound.get());
+
+        // the change not tracked is not found by the dirty check
+        LocalTablet tablet = tablets.get(2);
+        setVersionIncomplete(tablet, true);
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertFalse(tabletScheduler.containsTablet(tablet.getId()));
+
+        // but by the full check
+        Config.tablet_checker_full_check_interval_seconds = 0;
+        tabletChecker.markTabletDirty(tablets.get(3).getId());
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(2, stat.counterTabletFullCheckRound.get());
+        Assert.assertEquals(8, stat.counterTabletChecked.get());
+        Assert.assertTrue(tabletScheduler.containsTablet(tablet.getId()));
+        // the dirty tablets are checked by the full check
+        Assert.assertEquals(0, tabletChecker.getDirtyTabletNum());
+
+        // every round is a full check if dirty tracking is disabled
+        Config.tablet_checker_full_check_interval_seconds = 3600;
+        Config.tablet_checker_enable_dirty_tracking = false;
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(3, stat.counterTabletFullCheckRound.get());
+    }
+
+    @Test
+    public void testCheckTabletsInPrios() throws Exception {
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(4, stat.counterTabletChecked.get());
+
+        LocalTablet tablet = tablets.get(0);
+        setVersionIncomplete(tablet, true);
+        AdminRepairTableStmt stmt = (AdminRepairTableStmt) UtFrameUtils.parseStmtWithNewParser(
+                "admin repair table test.tbl", connectContext);
+        tabletChecker.repairTable(stmt);
+        Assert.assertEquals(1, tabletChecker.getPrioPartitionNum());
+
+        // the table in prios is checked entirely in every round without being marked dirty, and the dirty tablets
+        // of it are not checked again
+        tabletChecker.markTabletDirty(tablets.get(1).getId());
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(8, stat.counterTabletChecked.get());
+        Assert.assertEquals(1, stat.counterTabletFullCheckRound.get());
+        Assert.assertTrue(tabletScheduler.containsTablet(tablet.getId()));
+        // the partition is not healthy yet
+        Assert.assertEquals(1, tabletChecker.getPrioPartitionNum());
+
+        tabletChecker.runAfterCatalogReady();
+        Assert.assertEquals(12, stat.counterTabletChecked.get());
+    }
+}
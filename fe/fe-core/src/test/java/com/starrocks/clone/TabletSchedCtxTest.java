@@ -179,6 +179,35 @@ public class TabletSchedCtxTest {
         Assert.assertEquals(TABLET_ID_1, recoverTask.getTabletId());
     }
 
+    @Test
+    public void testCollectCatalogChanges() throws SchedException {
+        be1.setAlive(false);
+        LocalTablet missedTablet = new LocalTablet(TABLET_ID_1, invertedIndex.getReplicasByTabletId(TABLET_ID_1));
+        TabletSchedCtx ctx =
+                new TabletSchedCtx(Type.REPAIR, DB_ID, TB_ID, PART_ID, INDEX_ID,
+                        TABLET_ID_1, System.currentTimeMillis(), systemInfoService);
+        ctx.setTablet(missedTablet);
+        ctx.setStorageMedium(TStorageMedium.HDD);
+
+        AgentBatchTask agentBatchTask = new AgentBatchTask();
+        Config.recover_with_empty_tablet = true;
+        try {
+            // the decision is made under the db read lock, and the replica is added later
+            ctx.beginCollectCatalogChanges();
+            tabletScheduler.handleTabletByTypeAndStatus(LocalTablet.TabletStatus.REPLICA_MISSING, ctx,
+                    agentBatchTask);
+            List<Runnable> changes = ctx.endCollectCatalogChanges();
+            Assert.assertEquals(1, agentBatchTask.getTaskNum());
+            Assert.assertEquals(1, changes.size());
+            Assert.assertNull(missedTablet.getReplicaByBackendId(be2.getId()));
+
+            changes.forEach(Runnable::run);
+            Assert.assertNotNull(missedTablet.getReplicaByBackendId(be2.getId()));
+        } finally {
+            Config.recover_with_empty_tablet = false;
+        }
+    }
+
     @Test
     public void testPriorityCompare() {
         // equal priority, but info3's last visit time is earlier than info2 and info1, so info1 should ranks ahead
@@ -0,0 +1,131 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.clone;
+
+import com.google.common.collect.Lists;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.LocalTablet;
+import com.starrocks.catalog.LocalTablet.TabletStatus;
+import com.starrocks.catalog.Replica;
+import com.starrocks.common.Pair;
+import com.starrocks.system.Backend;
+import com.starrocks.system.SystemInfoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tablets scheduled per second by the schedule threads of TabletScheduler in the same database.
+ * WRITE_LOCK checks the health and makes the decision of every tablet under the db write lock, so the threads
+ * are serialized. READ_LOCK makes the decision under the db read lock, and takes the write lock only to check
+ * the replicas are not changed and apply the catalog changes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class TabletSchedulerLockBench {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(TabletSchedulerLockBench.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    private static final int SCHEMA_HASH = 1;
+    private static final int REPLICA_NUM = 3;
+    private static final long VISIBLE_VERSION = 2;
+
+    @Param({"WRITE_LOCK", "READ_LOCK"})
+    public String lockMode;
+
+    @Param({"100"})
+    public int backendNum;
+
+    @Param({"100000"})
+    public int tabletNum;
+
+    private Database db;
+    private SystemInfoService infoService;
+    private List<LocalTablet> tablets;
+
+    @Setup
+    public void setup() {
+        db = new Database(1, "db");
+        infoService = new SystemInfoService();
+        for (int i = 0; i < backendNum; i++) {
+            Backend backend = new Backend(10001 + i, "127.0.0." + i, 9050);
+            backend.setAlive(true);
+            backend.setOwnerClusterName(SystemInfoService.DEFAULT_CLUSTER);
+            infoService.addBackend(backend);
+        }
+        tablets = Lists.newArrayListWithCapacity(tabletNum);
+        long replicaId = 0;
+        for (long tabletId = 0; tabletId < tabletNum; tabletId++) {
+            List<Replica> replicas = Lists.newArrayList();
+            for (int i = 0; i < REPLICA_NUM; i++) {
+                long backendId = 10001 + (tabletId + i) % backendNum;
+                replicas.add(new Replica(replicaId++, backendId, Replica.ReplicaState.NORMAL, VISIBLE_VERSION,
+                        SCHEMA_HASH));
+            }
+            tablets.add(new LocalTablet(tabletId, replicas));
+        }
+    }
+
+    private TabletStatus decide(LocalTablet tablet) {
+        Pair<TabletStatus, TabletSchedCtx.Priority> statusPair = tablet.getHealthStatusWithPriority(
+                infoService, VISIBLE_VERSION, REPLICA_NUM, infoService.getBackendIds(true));
+        return statusPair.first;
+    }
+
+    @Benchmark
+    @Threads(8)
+    public TabletStatus scheduleTablet() {
+        LocalTablet tablet = tablets.get(ThreadLocalRandom.current().nextInt(tabletNum));
+        if (lockMode.equals("WRITE_LOCK")) {
+            db.writeLock();
+            try {
+                return decide(tablet);
+            } finally {
+                db.writeUnlock();
+            }
+        }
+
+        TabletStatus status;
+        List<Replica> replicas;
+        db.readLock();
+        try {
+            status = decide(tablet);
+            replicas = Lists.newArrayList(tablet.getImmutableReplicas());
+        } finally {
+            db.readUnlock();
+        }
+        db.writeLock();
+        try {
+            // check the replicas are not changed before applying the catalog changes
+            return replicas.size() == tablet.getImmutableReplicas().size() ? status : null;
+        } finally {
+            db.writeUnlock();
+        }
+    }
+}
@@ -198,4 +198,50 @@ public class TabletSchedulerTest {
         freeSlotNTimes(2, bslots.get(1L), 11L);
         Assert.assertEquals(bslots.get(1L).peekSlot(11), bslots.get(1L).getSlotTotal(11));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPathSlotTotalAvailSlotNum() throws SchedException {
+        TabletScheduler.PathSlot pathSlot = new TabletScheduler.PathSlot(Arrays.asList(11L, 12L), 2);
+        Assert.assertEquals(4, pathSlot.getTotalAvailSlotNum());
+        takeSlotNTimes(3, pathSlot, 11L);
+        Assert.assertEquals(2, pathSlot.getTotalAvailSlotNum());
+        pathSlot.updateSlot(2);
+        Assert.assertEquals(6, pathSlot.getTotalAvailSlotNum());
+        freeSlotNTimes(1, pathSlot, 11L);
+        pathSlot.updatePaths(Arrays.asList(11L), 4);
+        Assert.assertEquals(3, pathSlot.getTotalAvailSlotNum());
+    }
+
+    @Test
+    public void testShardByDestBackend() {
+        List<TabletSchedCtx> tablets = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            TabletSchedCtx tabletCtx = new TabletSchedCtx(TabletSchedCtx.Type.BALANCE, i % 3, 1, 1, 1, i,
+                    System.currentTimeMillis(), systemInfoService);
+            // 8 balance tablets to 2 backends, and 4 repair tablets without destination
+            if (i < 8) {
+                tabletCtx.setDest(10001L + i % 2, 1L);
+            }
+            tablets.add(tabletCtx);
+        }
+
+        List<List<TabletSchedCtx>> shards = TabletScheduler.shardByDestBackend(tablets, 4);
+        Assert.assertEquals(12, shards.stream().mapToInt(List::size).sum());
+        for (long beId = 10001L; beId <= 10002L; beId++) {
+            long destBeId = beId;
+            Assert.assertEquals(1, shards.stream()
+                    .filter(shard -> shard.stream().anyMatch(t -> t.getDestBackendId() == destBeId)).count());
+        }
+        // the tablets without destination are added to the smallest shards
+        Assert.assertEquals(4, shards.size());
+        for (List<TabletSchedCtx> shard : shards) {
+            // the order is kept
+            for (int i = 1; i < shard.size(); i++) {
+                Assert.assertTrue(shard.get(i - 1).getTabletId() < shard.get(i).getTabletId());
+            }
+        }
+
+        Assert.assertEquals(3, TabletScheduler.shardByDestBackend(tablets.subList(8, 11), 8).size());
+        Assert.assertTrue(TabletScheduler.shardByDestBackend(new ArrayList<>(), 8).isEmpty());
+    }
+}
@@ -0,0 +1,67 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.common.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class LongObjectHashMapTest {
+
+    @Test
+    public void testBasic() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.put(1L, "a"));
+        Assert.assertEquals("a", map.put(1L, "b"));
+        Assert.assertEquals("b", map.putIfAbsent(1L, "c"));
+        Assert.assertNull(map.putIfAbsent(-1L, "d"));
+        Assert.assertEquals(2, map.size());
+        Assert.assertEquals("b", map.get(1L));
+        Assert.assertEquals("d", map.get(-1L));
+        Assert.assertNull(map.get(2L));
+        Assert.assertEquals("e", map.getOrDefault(2L, "e"));
+        Assert.assertTrue(map.containsKey(-1L));
+
+        Assert.assertEquals("b", map.remove(1L));
+        Assert.assertNull(map.remove(1L));
+        Assert.assertFalse(map.containsKey(1L));
+        Assert.assertEquals(1, map.size());
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.get(-1L));
+    }
+
+    @Test
+    public void testCompareWithHashMap() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(0);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(0);
+        for (int i = 0; i < 100000; i++) {
+            // a small key range makes both collisions and removals frequent
+            long key = random.nextInt(5000) * 1024L;
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                Assert.assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            Assert.assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+
+        int count = 0;
+        for (LongObjectHashMap.Cursor<Long> cursor = map.cursor(); cursor.advance(); ) {
+            Assert.assertEquals(expected.get(cursor.key()), cursor.value());
+            count++;
+        }
+        Assert.assertEquals(expected.size(), count);
+        Assert.assertEquals(expected.size(), map.keys().size());
+        Assert.assertEquals(expected.size(), map.values().size());
+    }
+}
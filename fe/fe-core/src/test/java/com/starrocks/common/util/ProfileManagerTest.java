@@ -0,0 +1,58 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.common.util;
+
+import com.starrocks.common.Config;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class ProfileManagerTest {
+    @After
+    public void tearDown() {
+        Config.profile_info_reserved_max_bytes = 256L * 1024L * 1024L;
+    }
+
+    private RuntimeProfile buildProfile(String queryId) {
+        RuntimeProfile profile = new RuntimeProfile("Query");
+        RuntimeProfile summary = new RuntimeProfile("Summary");
+        summary.addInfoString(ProfileManager.QUERY_ID, queryId);
+        summary.addInfoString(ProfileManager.SQL_STATEMENT, "select * from t0 where v1 = '" + queryId + "'");
+        profile.addChild(summary);
+        RuntimeProfile execution = new RuntimeProfile("Execution");
+        for (int i = 0; i < 100; i++) {
+            execution.addInfoString("Info" + i, queryId + i);
+        }
+        profile.addChild(execution);
+        return profile;
+    }
+
+    @Test
+    public void testPushAndGet() {
+        ProfileManager manager = ProfileManager.getInstance();
+        RuntimeProfile profile = buildProfile("profile-manager-test-1");
+        String content = manager.pushProfile(profile);
+        Assert.assertEquals(profile.toString(), content);
+        Assert.assertEquals(content, manager.getProfile("profile-manager-test-1"));
+        Assert.assertTrue(manager.getRetainedBytes() > 0);
+        Assert.assertTrue(manager.getRetainedBytes() < content.length());
+
+        List<List<String>> queries = manager.getAllQueries();
+        Assert.assertEquals("profile-manager-test-1", queries.get(0).get(0));
+    }
+
+    @Test
+    public void testRetainedBytesLimit() {
+        ProfileManager manager = ProfileManager.getInstance();
+        Config.profile_info_reserved_max_bytes = 1;
+        manager.pushProfile(buildProfile("profile-manager-test-2"));
+        manager.pushProfile(buildProfile("profile-manager-test-3"));
+        // only the latest profile is kept
+        Assert.assertNull(manager.getProfile("profile-manager-test-2"));
+        Assert.assertNotNull(manager.getProfile("profile-manager-test-3"));
+        Assert.assertEquals(1, manager.getProfileNum());
+        Assert.assertEquals(1, manager.getAllQueries().size());
+    }
+}
@@ -0,0 +1,62 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.external;
+
+import com.google.common.collect.Lists;
+import com.starrocks.common.Config;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class RemoteScanPlanningExecutorTest {
+    private int batchSize;
+
+    @Before
+    public void setUp() {
+        batchSize = Config.remote_scan_planning_batch_size;
+        Config.remote_scan_planning_batch_size = 10;
+    }
+
+    @After
+    public void tearDown() {
+        Config.remote_scan_planning_batch_size = batchSize;
+    }
+
+    @Test
+    public void testSplitIntoBatches() {
+        // items of 4 files each, a batch is closed once it has at least 10 files
+        List<Integer> items = IntStream.range(0, 7).boxed().collect(Collectors.toList());
+        List<List<Integer>> batches = RemoteScanPlanningExecutor.splitIntoBatches(items, item -> 4);
+        Assert.assertEquals(Lists.newArrayList(Lists.newArrayList(0, 1, 2), Lists.newArrayList(3, 4, 5),
+                Lists.newArrayList(6)), batches);
+        Assert.assertTrue(RemoteScanPlanningExecutor.splitIntoBatches(Lists.newArrayList(), item -> 1).isEmpty());
+    }
+
+    @Test
+    public void testMap() throws Exception {
+        List<Integer> items = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        List<List<Integer>> batches = RemoteScanPlanningExecutor.splitIntoBatches(items, item -> 1);
+        Assert.assertEquals(100, batches.size());
+        List<List<Integer>> results = RemoteScanPlanningExecutor.map(batches,
+                batch -> batch.stream().map(i -> i * 2).collect(Collectors.toList()));
+        List<Integer> flatten = results.stream().flatMap(List::stream).collect(Collectors.toList());
+        Assert.assertEquals(items.stream().map(i -> i * 2).collect(Collectors.toList()), flatten);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMapFailed() throws Exception {
+        List<List<Integer>> batches = RemoteScanPlanningExecutor.splitIntoBatches(
+                IntStream.range(0, 100).boxed().collect(Collectors.toList()), item -> 1);
+        RemoteScanPlanningExecutor.map(batches, batch -> {
+            if (batch.contains(55)) {
+                throw new IllegalStateException("failed");
+            }
+            return batch;
+        });
+    }
+}
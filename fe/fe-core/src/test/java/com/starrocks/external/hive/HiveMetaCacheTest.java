@@ -13,7 +13,10 @@ import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Type;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.DdlException;
+import com.starrocks.common.Config;
 import org.apache.hadoop.hive.metastore.api.CurrentNotificationEventId;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.SerDeInfo;
 import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
 import org.junit.Assert;
@@ -35,6 +38,8 @@ public class HiveMetaCacheTest {
     private int clientMethodGetPartitionCalledTimes = 0;
     private int clientMethodGetTableStatsCalledTimes = 0;
     private int clientMethodGetPartitionStatsCalledTimes = 0;
+    private int clientMethodGetPartitionsByValuesCalledTimes = 0;
+    private int clientMethodGetTableCalledTimes = 0;
     private String partitionPath = "hdfs://nameservice1/hive/db/tbl/k1=1/k2=1/k3=3";
 
     HiveMetaStoreTableInfo hmsTable = new HiveMetaStoreTableInfo("resource", "db", "tbl",
@@ -224,6 +229,73 @@ public class HiveMetaCacheTest {
         Assert.assertFalse(metaCache.partitionExistInCache(dropHivePartitionKey));
     }
 
+    @Test
+    public void testGetPartitionsInBatch() throws Exception {
+        int batchSize = Config.hive_meta_load_partition_batch_size;
+        Config.hive_meta_load_partition_batch_size = 2;
+        try {
+            HiveMetaClient metaClient = new MockedHiveMetaClient();
+            HiveMetaCache metaCache = new HiveMetaCache(metaClient, Executors.newFixedThreadPool(10), "resource");
+            List<PartitionKey> partitionKeys = Lists.newArrayList(
+                    Utils.createPartitionKey(Lists.newArrayList("1", "2", "3"), partColumns),
+                    Utils.createPartitionKey(Lists.newArrayList("1", "2", "4"), partColumns),
+                    Utils.createPartitionKey(Lists.newArrayList("1", "2", "5"), partColumns));
+            List<HivePartition> partitions = metaCache.getPartitions(hmsTable, partitionKeys);
+            Assert.assertEquals(3, partitions.size());
+            Assert.assertEquals(HdfsFileFormat.PARQUET, partitions.get(0).getFormat());
+            Assert.assertEquals(2, clientMethodGetPartitionsByValuesCalledTimes);
+            Assert.assertEquals(0, clientMethodGetPartitionCalledTimes);
+
+            List<HivePartitionStats> partitionsStats = metaCache.getPartitionsStats(hmsTable, partitionKeys);
+            Assert.assertEquals(3, partitionsStats.size());
+            Assert.assertEquals(50L, partitionsStats.get(2).getNumRows());
+            Assert.assertEquals(10000L, partitionsStats.get(2).getTotalFileBytes());
+            // partitions are loaded from cache
+            Assert.assertEquals(4, clientMethodGetPartitionsByValuesCalledTimes);
+            Assert.assertEquals(0, clientMethodGetPartitionStatsCalledTimes);
+
+            // cached partitions are not loaded again
+            metaCache.getPartitions(hmsTable, partitionKeys);
+            Assert.assertEquals(4, clientMethodGetPartitionsByValuesCalledTimes);
+            Assert.assertEquals(6, metaCache.getCacheStats().get("partition").hitCount());
+            // the table is got once for all batches of every load
+            Assert.assertEquals(2, clientMethodGetTableCalledTimes);
+        } finally {
+            Config.hive_meta_load_partition_batch_size = batchSize;
+        }
+    }
+
+    @Test
+    public void testGetPartitionsStatsInBatch() throws Exception {
+        int batchSize = Config.hive_meta_load_partition_batch_size;
+        Config.hive_meta_load_partition_batch_size = 2;
+        try {
+            HiveMetaClient metaClient = new MockedHiveMetaClient();
+            HiveMetaCache metaCache = new HiveMetaCache(metaClient, Executors.newFixedThreadPool(10), "resource");
+            List<PartitionKey> partitionKeys = Lists.newArrayList(
+                    Utils.createPartitionKey(Lists.newArrayList("1", "2", "3"), partColumns),
+                    Utils.createPartitionKey(Lists.newArrayList("1", "2", "4"), partColumns),
+                    Utils.createPartitionKey(Lists.newArrayList("1", "2", "5"), partColumns));
+            metaCache.getPartition(hmsTable, partitionKeys.get(0));
+            Assert.assertEquals(1, clientMethodGetPartitionCalledTimes);
+
+            List<HivePartitionStats> partitionsStats = metaCache.getPartitionsStats(hmsTable, partitionKeys);
+            Assert.assertEquals(3, partitionsStats.size());
+            Assert.assertEquals(50L, partitionsStats.get(1).getNumRows());
+            Assert.assertEquals(10000L, partitionsStats.get(1).getTotalFileBytes());
+            // the partitions not in cache are built from the partitions got for the stats
+            Assert.assertEquals(2, clientMethodGetPartitionsByValuesCalledTimes);
+            Assert.assertEquals(1, clientMethodGetTableCalledTimes);
+            Assert.assertEquals(1, clientMethodGetPartitionCalledTimes);
+
+            metaCache.getPartitions(hmsTable, partitionKeys);
+            Assert.assertEquals(2, clientMethodGetPartitionsByValuesCalledTimes);
+            Assert.assertEquals(4, metaCache.getCacheStats().get("partition").hitCount());
+        } finally {
+            Config.hive_meta_load_partition_batch_size = batchSize;
+        }
+    }
+
     @Test
     public void clearCache() throws Exception {
         HiveMetaClient metaClient = new MockedHiveMetaClient();
@@ -295,6 +367,44 @@ public class HiveMetaCacheTest {
                     partitionPath);
         }
 
+        @Override
+        public synchronized org.apache.hadoop.hive.metastore.api.Table getTable(String dbName, String tableName) {
+            clientMethodGetTableCalledTimes++;
+            org.apache.hadoop.hive.metastore.api.Table table = new org.apache.hadoop.hive.metastore.api.Table();
+            for (String name : partColumnNames) {
+                table.addToPartitionKeys(new FieldSchema(name, "int", ""));
+            }
+            return table;
+        }
+
+        @Override
+        public synchronized Map<List<String>, Partition> getPartitionsByValues(String dbName, String tableName,
+                                                                               List<String> partColumnNames,
+                                                                               List<List<String>> partValuesList) {
+            clientMethodGetPartitionsByValuesCalledTimes++;
+            Map<List<String>, Partition> partitions = Maps.newHashMap();
+            for (List<String> partValues : partValuesList) {
+                Partition partition = new Partition();
+                partition.setValues(partValues);
+                partition.setSd(new StorageDescriptor());
+                Map<String, String> params = Maps.newHashMap();
+                params.put("numRows", "50");
+                partition.setParameters(params);
+                partitions.put(partValues, partition);
+            }
+            return partitions;
+        }
+
+        @Override
+        public HivePartition buildHivePartition(StorageDescriptor sd) {
+            return new HivePartition(HdfsFileFormat.PARQUET,
+                    ImmutableList.of(new HdfsFileDesc("file1",
+                            "",
+                            10000L,
+                            ImmutableList.of())),
+                    partitionPath);
+        }
+
         @Override
         public HiveTableStats getTableStats(String dbName, String tableName) throws DdlException {
             clientMethodGetTableStatsCalledTimes++;
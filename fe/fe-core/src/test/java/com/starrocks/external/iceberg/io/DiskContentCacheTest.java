@@ -0,0 +1,105 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.external.iceberg.io;
+
+import com.google.common.collect.Lists;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.List;
+
+public class DiskContentCacheTest {
+    private File cacheDir;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDir = Files.createTempDirectory("iceberg_disk_cache").toFile();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(cacheDir);
+    }
+
+    private static List<ByteBuffer> content(int length) {
+        byte[] buf = new byte[length];
+        for (int i = 0; i < length; i++) {
+            buf[i] = (byte) i;
+        }
+        // two buffers like the chunks read from a file
+        return Lists.newArrayList(ByteBuffer.wrap(buf, 0, length / 2),
+                ByteBuffer.wrap(buf, length / 2, length - length / 2));
+    }
+
+    @Test
+    public void testGetAndPut() throws IOException {
+        DiskContentCache cache = new DiskContentCache(cacheDir.getPath(), 1024);
+        Assert.assertNull(cache.get("s3://bucket/a.avro", 100));
+        cache.put("s3://bucket/a.avro", 100, content(100));
+        byte[] data = cache.get("s3://bucket/a.avro", 100);
+        Assert.assertEquals(100, data.length);
+        Assert.assertEquals(99, data[99]);
+        // a file of the same path but another length
+        Assert.assertNull(cache.get("s3://bucket/a.avro", 101));
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+
+        cache.invalidate("s3://bucket/a.avro", 100);
+        Assert.assertNull(cache.get("s3://bucket/a.avro", 100));
+        Assert.assertEquals(0, cache.getTotalBytes());
+    }
+
+    @Test
+    public void testEvictAndReload() throws IOException {
+        DiskContentCache cache = new DiskContentCache(cacheDir.getPath(), 250);
+        cache.put("a", 100, content(100));
+        cache.put("b", 100, content(100));
+        Assert.assertNotNull(cache.get("a", 100));
+        // b is the least recently used one
+        cache.put("c", 100, content(100));
+        Assert.assertEquals(200, cache.getTotalBytes());
+        Assert.assertNull(cache.get("b", 100));
+        Assert.assertEquals(2, cacheDir.listFiles().length);
+        // larger than capacity
+        cache.put("d", 300, content(300));
+        Assert.assertNull(cache.get("d", 300));
+
+        // restart
+        cache = new DiskContentCache(cacheDir.getPath(), 250);
+        Assert.assertEquals(200, cache.getTotalBytes());
+        Assert.assertNotNull(cache.get("a", 100));
+        Assert.assertNotNull(cache.get("c", 100));
+    }
+
+    @Test
+    public void testContentCacheWithDisk() throws IOException {
+        DiskContentCache diskCache = new DiskContentCache(cacheDir.getPath(), 1024);
+        IcebergCachingFileIO.ContentCache cache = new IcebergCachingFileIO.ContentCache(100, 1024, diskCache);
+        int[] loadTimes = {0};
+        cache.get("a", 100, k -> {
+            loadTimes[0]++;
+            return null;
+        });
+        Assert.assertEquals(1, loadTimes[0]);
+        Assert.assertNull(diskCache.get("a", 100));
+
+        // the memory cache is empty after restart, the content is read from disk
+        cache.invalidate("a");
+        cache = new IcebergCachingFileIO.ContentCache(100, 1024, diskCache);
+        diskCache.put("a", 100, content(100));
+        Assert.assertNotNull(cache.get("a", 100, k -> {
+            loadTimes[0]++;
+            return null;
+        }));
+        Assert.assertEquals(1, loadTimes[0]);
+        Assert.assertEquals(0.0, cache.memoryHitRate(), 0.001);
+        Assert.assertNotNull(cache.getIfPresent("a"));
+    }
+}
@@ -45,6 +45,7 @@ public class JournalWriterTest {
         Config.edit_log_roll_num = 50000;
         Config.metadata_journal_max_batch_size_mb = 100;
         Config.metadata_journal_max_batch_cnt = 100;
+        Config.metadata_journal_max_batch_wait_ms = 0;
     }
 
     private DataOutputBuffer makeBuffer(int size) throws IOException {
@@ -118,6 +119,45 @@ public class JournalWriterTest {
         Assert.assertEquals(1, journalQueue.size());
     }
 
+    @Test
+    public void testGroupCommitWait() throws Exception {
+        Config.metadata_journal_max_batch_wait_ms = 1000;
+        new Expectations(journal) {
+            {
+                journal.batchWriteBegin();
+                times = 2;
+
+                journal.batchWriteAppend(anyLong, (DataOutputBuffer) any);
+                times = 4;
+
+                journal.batchWriteCommit();
+                times = 2;
+            }
+        };
+        // the previous batch is empty, won't wait
+        journalQueue.add(new JournalTask(makeBuffer(10), -1));
+        journalQueue.add(new JournalTask(makeBuffer(10), -1));
+        writer.writeOneBatch();
+        Assert.assertEquals(2, writer.currentBatchTasks.size());
+
+        // the second batch waits for the log submitted later
+        journalQueue.add(new JournalTask(makeBuffer(10), -1));
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+                journalQueue.add(new JournalTask(makeBuffer(10), -1));
+            } catch (Exception e) {
+                Assert.fail(e.getMessage());
+            }
+        });
+        producer.start();
+        writer.writeOneBatch();
+        producer.join();
+        Assert.assertEquals(2, writer.currentBatchTasks.size());
+        Assert.assertEquals(5, writer.nextVisibleJournalId);
+        Assert.assertEquals(0, journalQueue.size());
+    }
+
     @Test
     public void testTooManyLogs() throws Exception {
         Config.metadata_journal_max_batch_cnt = 2;
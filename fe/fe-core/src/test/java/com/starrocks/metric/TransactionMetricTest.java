@@ -0,0 +1,100 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.metric;
+
+import com.starrocks.common.FeConstants;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+
+public class TransactionMetricTest {
+
+    @BeforeClass
+    public static void setUp() {
+        FeConstants.runningUnitTest = true;
+        MetricRepo.init();
+    }
+
+    @Test
+    public void testPublishLatency() {
+        for (long i = 1; i <= 100; i++) {
+            TransactionMetricMgr.updatePublishLatency(10001, i);
+            TransactionMetricMgr.updatePublishLatency(10002, 1000);
+        }
+
+        List<Metric> metrics = MetricRepo.getMetricsByName("txn_publish_latency");
+        int num = 0;
+        for (Metric<?> metric : metrics) {
+            String db = null;
+            String type = null;
+            for (MetricLabel label : metric.getLabels()) {
+                if (label.getKey().equals("db")) {
+                    db = label.getValue();
+                } else if (label.getKey().equals("type")) {
+                    type = label.getValue();
+                }
+            }
+            if (!"10001".equals(db) && !"10002".equals(db)) {
+                continue;
+            }
+            num++;
+            double value = (Double) metric.getValue();
+            // the name of db is its id if it does not exist
+            if ("10002".equals(db)) {
+                Assert.assertEquals(1000, value, 0.1);
+            } else if ("50_quantile".equals(type)) {
+                Assert.assertEquals(50, value, 1);
+            } else {
+                Assert.assertEquals("99_quantile", type);
+                Assert.assertEquals(99, value, 1);
+            }
+        }
+        Assert.assertEquals(2 * 2, num);
+    }
+
+    @Test
+    public void testLockWaitTime() {
+        TransactionMetricMgr.updateLockWaitTime(10003, 10);
+
+        List<Metric> metrics = MetricRepo.getMetricsByName("txn_lock_wait_time");
+        int num = 0;
+        for (Metric<?> metric : metrics) {
+            if (metric.getLabels().get(0).getValue().equals("10003")) {
+                num++;
+                Assert.assertEquals(10, (Double) metric.getValue(), 0.1);
+            }
+        }
+        Assert.assertEquals(2, num);
+    }
+
+    private static int countDbMetrics(String name, String db) {
+        int num = 0;
+        for (Metric<?> metric : MetricRepo.getMetricsByName(name)) {
+            for (MetricLabel label : metric.getLabels()) {
+                if (label.getKey().equals("db") && label.getValue().equals(db)) {
+                    num++;
+                }
+            }
+        }
+        return num;
+    }
+
+    @Test
+    public void testRemoveDbMetrics() {
+        TransactionMetricMgr.updatePublishLatency(10004, 10);
+        Assert.assertEquals(2, countDbMetrics("txn_publish_latency", "10004"));
+        Assert.assertEquals(2, countDbMetrics("txn_lock_wait_time", "10004"));
+
+        TransactionMetricMgr.removeDbMetrics(10004);
+        Assert.assertEquals(0, countDbMetrics("txn_publish_latency", "10004"));
+        Assert.assertEquals(0, countDbMetrics("txn_lock_wait_time", "10004"));
+        // removing twice is harmless
+        TransactionMetricMgr.removeDbMetrics(10004);
+
+        // added again if the database is recovered
+        TransactionMetricMgr.updatePublishLatency(10004, 10);
+        Assert.assertEquals(2, countDbMetrics("txn_publish_latency", "10004"));
+    }
+}
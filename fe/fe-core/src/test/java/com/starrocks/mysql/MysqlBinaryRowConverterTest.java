@@ -0,0 +1,89 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.mysql;
+
+import com.google.common.collect.Lists;
+import com.starrocks.catalog.ScalarType;
+import com.starrocks.catalog.Type;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class MysqlBinaryRowConverterTest {
+
+    @Test
+    public void testConvert() {
+        MysqlBinaryRowConverter converter = new MysqlBinaryRowConverter(Lists.newArrayList(
+                Type.INT, Type.VARCHAR, Type.BIGINT, Type.DATETIME, Type.DOUBLE, Type.DATE,
+                Type.BOOLEAN, ScalarType.createDecimalV3NarrowestType(10, 2)));
+
+        MysqlSerializer serializer = MysqlSerializer.newInstance();
+        serializer.writeLenEncodedString("-3");
+        serializer.writeLenEncodedString("abc");
+        serializer.writeNull();
+        serializer.writeLenEncodedString("2022-01-02 03:04:05");
+        serializer.writeLenEncodedString("1.5");
+        serializer.writeLenEncodedString("2022-01-02");
+        serializer.writeLenEncodedString("1");
+        serializer.writeLenEncodedString("12.30");
+        ByteBuffer row = converter.convert(serializer.toByteBuffer());
+
+        // header
+        Assert.assertEquals(0x00, MysqlProto.readInt1(row));
+        // null bitmap, the third column with an offset of 2
+        Assert.assertEquals(0x10, MysqlProto.readInt1(row));
+        Assert.assertEquals(0x00, MysqlProto.readInt1(row));
+        // INT
+        Assert.assertEquals(-3, MysqlProto.readInt4(row));
+        // VARCHAR
+        Assert.assertEquals("abc", new String(MysqlProto.readLenEncodedString(row), StandardCharsets.UTF_8));
+        // DATETIME
+        Assert.assertEquals(7, MysqlProto.readInt1(row));
+        Assert.assertEquals(2022, MysqlProto.readInt2(row));
+        Assert.assertEquals(1, MysqlProto.readInt1(row));
+        Assert.assertEquals(2, MysqlProto.readInt1(row));
+        Assert.assertEquals(3, MysqlProto.readInt1(row));
+        Assert.assertEquals(4, MysqlProto.readInt1(row));
+        Assert.assertEquals(5, MysqlProto.readInt1(row));
+        // DOUBLE
+        Assert.assertEquals(1.5, Double.longBitsToDouble(MysqlProto.readInt8(row)), 0);
+        // DATE
+        Assert.assertEquals(4, MysqlProto.readInt1(row));
+        Assert.assertEquals(2022, MysqlProto.readInt2(row));
+        Assert.assertEquals(1, MysqlProto.readInt1(row));
+        Assert.assertEquals(2, MysqlProto.readInt1(row));
+        // BOOLEAN
+        Assert.assertEquals(1, MysqlProto.readInt1(row));
+        // DECIMAL
+        Assert.assertEquals("12.30", new String(MysqlProto.readLenEncodedString(row), StandardCharsets.UTF_8));
+
+        Assert.assertEquals(0, row.remaining());
+    }
+
+    @Test
+    public void testConvertTime() {
+        MysqlBinaryRowConverter converter = new MysqlBinaryRowConverter(Lists.newArrayList(Type.TIME, Type.FLOAT));
+
+        MysqlSerializer serializer = MysqlSerializer.newInstance();
+        serializer.writeLenEncodedString("-49:02:03.5");
+        serializer.writeLenEncodedString("inf");
+        ByteBuffer row = converter.convert(serializer.toByteBuffer());
+
+        Assert.assertEquals(0x00, MysqlProto.readInt1(row));
+        Assert.assertEquals(0x00, MysqlProto.readInt1(row));
+        // TIME
+        Assert.assertEquals(12, MysqlProto.readInt1(row));
+        Assert.assertEquals(1, MysqlProto.readInt1(row));
+        Assert.assertEquals(2, MysqlProto.readInt4(row));
+        Assert.assertEquals(1, MysqlProto.readInt1(row));
+        Assert.assertEquals(2, MysqlProto.readInt1(row));
+        Assert.assertEquals(3, MysqlProto.readInt1(row));
+        Assert.assertEquals(500000, MysqlProto.readInt4(row));
+        // FLOAT
+        Assert.assertEquals(Float.POSITIVE_INFINITY, Float.intBitsToFloat(MysqlProto.readInt4(row)), 0);
+
+        Assert.assertEquals(0, row.remaining());
+    }
+}
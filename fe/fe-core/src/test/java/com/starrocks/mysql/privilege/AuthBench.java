@@ -0,0 +1,88 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.mysql.privilege;
+
+import com.starrocks.analysis.TablePattern;
+import com.starrocks.analysis.UserIdentity;
+import com.starrocks.catalog.AccessPrivilege;
+import com.starrocks.common.AnalysisException;
+import com.starrocks.common.Config;
+import com.starrocks.common.DdlException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Check the table privileges of many users concurrently, every user is granted the privileges of many tables,
+ * like the analyzer checking every table of the queries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Threads(16)
+public class AuthBench {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(AuthBench.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    private static final String DB = "db1";
+
+    @Param({"false", "true"})
+    public boolean enableAuthPrivCache;
+
+    @Param({"100"})
+    public int userNum;
+
+    @Param({"1000"})
+    public int tableNumPerUser;
+
+    private Auth auth;
+    private UserIdentity[] users;
+
+    @Setup
+    public void setup() throws AnalysisException, DdlException {
+        Config.enable_auth_priv_cache = enableAuthPrivCache;
+        auth = new Auth();
+        users = new UserIdentity[userNum];
+        for (int i = 0; i < userNum; i++) {
+            UserIdentity user = new UserIdentity("user_" + i, "%");
+            user.analyze();
+            users[i] = user;
+            for (int j = 0; j < tableNumPerUser; j++) {
+                TablePattern tablePattern = new TablePattern(DB, "table_" + j);
+                tablePattern.analyze();
+                auth.grantPrivs(user, tablePattern, AccessPrivilege.SELECT_PRIV.toPrivilege(), false);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean checkTblPriv() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UserIdentity user = users[random.nextInt(userNum)];
+        return auth.checkTblPriv(user, DB, "table_" + random.nextInt(tableNumPerUser), PrivPredicate.SELECT);
+    }
+}
@@ -1859,6 +1859,42 @@ public class AuthTest {
         Assert.assertEquals(1, auth.getAuthInfo(lastUserIdentity).size());
     }
 
+    @Test
+    public void testPrivCacheInvalidation() throws Exception {
+        String createUserSql = "CREATE USER 'cache_user' IDENTIFIED BY '12345'";
+        CreateUserStmt createUserStmt = (CreateUserStmt) UtFrameUtils.parseStmtWithNewParser(createUserSql, ctx);
+        auth.createUser(createUserStmt);
+        UserIdentity user = new UserIdentity("cache_user", "%");
+        user.analyze();
+
+        // the privileges resolved before granting are cached
+        Assert.assertFalse(auth.checkTblPriv(user, "db1", "tbl1", PrivPredicate.SELECT));
+        Assert.assertFalse(auth.checkDbPriv(user, "db1", PrivPredicate.SHOW));
+
+        TablePattern tablePattern = new TablePattern("db1", "tbl1");
+        tablePattern.analyze();
+        auth.grantPrivs(user, tablePattern, AccessPrivilege.SELECT_PRIV.toPrivilege(), false);
+        Assert.assertTrue(auth.checkTblPriv(user, "db1", "tbl1", PrivPredicate.SELECT));
+        Assert.assertFalse(auth.checkTblPriv(user, "db1", "tbl2", PrivPredicate.SELECT));
+        // visible by the privileges of a table in db
+        Assert.assertTrue(auth.checkDbPriv(user, "db1", PrivPredicate.SHOW));
+
+        auth.revokePrivs(user, tablePattern, AccessPrivilege.SELECT_PRIV.toPrivilege(), false);
+        Assert.assertFalse(auth.checkTblPriv(user, "db1", "tbl1", PrivPredicate.SELECT));
+        Assert.assertFalse(auth.checkDbPriv(user, "db1", PrivPredicate.SHOW));
+
+        // the result is the same without the cache
+        auth.grantPrivs(user, tablePattern, AccessPrivilege.SELECT_PRIV.toPrivilege(), false);
+        boolean enableCache = Config.enable_auth_priv_cache;
+        Config.enable_auth_priv_cache = false;
+        try {
+            Assert.assertTrue(auth.checkTblPriv(user, "db1", "tbl1", PrivPredicate.SELECT));
+            Assert.assertFalse(auth.checkTblPriv(user, "db1", "tbl2", PrivPredicate.SELECT));
+        } finally {
+            Config.enable_auth_priv_cache = enableCache;
+        }
+    }
+
     @Test
     public void checkDefaultRootPrivilege() throws Exception {
         Assert.assertTrue(auth.checkHasPriv(ctx, PrivPredicate.ADMIN, Auth.PrivLevel.GLOBAL));
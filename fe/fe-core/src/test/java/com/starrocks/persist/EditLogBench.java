@@ -0,0 +1,153 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.persist;
+
+import com.starrocks.common.Config;
+import com.starrocks.common.io.DataOutputBuffer;
+import com.starrocks.common.io.Text;
+import com.starrocks.journal.Journal;
+import com.starrocks.journal.JournalCursor;
+import com.starrocks.journal.JournalTask;
+import com.starrocks.journal.JournalWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drive EditLog from many threads against a journal which simulates the fsync latency of commit,
+ * to compare the throughput of different group commit settings, and of waiting for the commit or only for
+ * the enqueue.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Threads(64)
+public class EditLogBench {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(EditLogBench.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    @Param({"0", "2", "5"})
+    public int batchWaitMs;
+
+    @Param({"1", "5"})
+    public int commitLatencyMs;
+
+    private EditLog editLog;
+
+    @Setup
+    public void setup() throws Exception {
+        Config.metadata_journal_max_batch_wait_ms = batchWaitMs;
+        Config.metadata_journal_max_batch_cnt = 1000;
+        BlockingQueue<JournalTask> journalQueue = new ArrayBlockingQueue<>(Config.metadata_journal_queue_size);
+        JournalWriter writer = new JournalWriter(new SlowCommitJournal(commitLatencyMs), journalQueue);
+        writer.init(0);
+        writer.startDaemon();
+        editLog = new EditLog(journalQueue);
+    }
+
+    @Benchmark
+    public void logEdit() {
+        editLog.logSaveTransactionId(1L);
+    }
+
+    @Benchmark
+    public void logEditWithoutWait() throws ExecutionException, InterruptedException {
+        // submit two logs and only wait for the last one, like a caller which doesn't need the first to be durable
+        editLog.logEditWithoutWait(OperationType.OP_SAVE_TRANSACTION_ID, new Text("1"));
+        editLog.logEditWithoutWait(OperationType.OP_SAVE_TRANSACTION_ID, new Text("2")).get();
+    }
+
+    private static class SlowCommitJournal implements Journal {
+        private final long commitLatencyMs;
+
+        SlowCommitJournal(long commitLatencyMs) {
+            this.commitLatencyMs = commitLatencyMs;
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void rollJournal(long journalId) {
+        }
+
+        @Override
+        public long getMaxJournalId() {
+            return 0;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public JournalCursor read(long fromKey, long toKey) {
+            return null;
+        }
+
+        @Override
+        public void deleteJournals(long deleteJournalToId) {
+        }
+
+        @Override
+        public long getFinalizedJournalId() {
+            return 0;
+        }
+
+        @Override
+        public List<Long> getDatabaseNames() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void batchWriteBegin() {
+        }
+
+        @Override
+        public void batchWriteAppend(long journalId, DataOutputBuffer buffer) {
+        }
+
+        @Override
+        public void batchWriteCommit() throws InterruptedException {
+            Thread.sleep(commitLatencyMs);
+        }
+
+        @Override
+        public void batchWriteAbort() {
+        }
+
+        @Override
+        public String getPrefix() {
+            return "";
+        }
+    }
+}
@@ -2,6 +2,7 @@
 
 package com.starrocks.persist;
 
+import com.starrocks.common.io.DataOutputBuffer;
 import com.starrocks.common.io.Text;
 import com.starrocks.common.jmockit.Deencapsulation;
 import com.starrocks.ha.FrontendNodeType;
@@ -11,6 +12,7 @@ import com.starrocks.lake.ShardDeleter;
 import com.starrocks.lake.ShardManager;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.server.NodeMgr;
+import com.starrocks.sql.plan.PlanCache;
 import com.starrocks.system.Frontend;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -25,6 +27,8 @@ import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class EditLogTest {
     public static final Logger LOG = LogManager.getLogger(EditLogTest.class);
@@ -122,6 +126,39 @@ public class EditLogTest {
         t2.join();
     }
 
+    @Test
+    public void testLogEditWithoutWait() throws Exception {
+        BlockingQueue<JournalTask> journalQueue = new ArrayBlockingQueue<>(2);
+        EditLog editLog = new EditLog(journalQueue);
+        PlanCache planCache = PlanCache.getInstance();
+
+        // return once the log is enqueued, the plans are invalidated when it's committed
+        long catalogVersion = planCache.getCatalogVersion();
+        Future<Boolean> future = editLog.logEditWithoutWait(OperationType.OP_DROP_DB, new Text("111"));
+        Assert.assertFalse(future.isDone());
+        Assert.assertEquals(catalogVersion, planCache.getCatalogVersion());
+        journalQueue.take().markSucceed();
+        Assert.assertTrue(future.get());
+        Assert.assertTrue(planCache.getCatalogVersion() > catalogVersion);
+
+        // the plans are not invalidated by the log failed to be committed
+        catalogVersion = planCache.getCatalogVersion();
+        future = editLog.logEditWithoutWait(OperationType.OP_DROP_DB, new Text("222"));
+        journalQueue.take().markAbort();
+        Assert.assertFalse(future.get());
+        Assert.assertEquals(catalogVersion, planCache.getCatalogVersion());
+    }
+
+    @Test
+    public void testSuccessCallbackOfCommittedTask() throws Exception {
+        JournalTask task = new JournalTask(new DataOutputBuffer(), -1);
+        task.markSucceed();
+        // run at once
+        AtomicInteger count = new AtomicInteger();
+        task.addSuccessCallback(count::incrementAndGet);
+        Assert.assertEquals(1, count.get());
+    }
+
     private GlobalStateMgr mockGlobalStateMgr() throws Exception {
         GlobalStateMgr globalStateMgr = GlobalStateMgr.getCurrentState();
 
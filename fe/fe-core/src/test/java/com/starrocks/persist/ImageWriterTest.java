@@ -0,0 +1,98 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.persist;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+public class ImageWriterTest {
+    private File dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("image_writer_test").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    private ImageWriter createWriter() {
+        return new ImageWriter()
+                .addSection("ints", (dos, checksum) -> {
+                    for (int i = 0; i < 10000; i++) {
+                        checksum ^= i;
+                        dos.writeInt(i);
+                    }
+                    return checksum;
+                })
+                .addChecksum()
+                .addSection("longs", (dos, checksum) -> {
+                    for (long i = 0; i < 10000; i++) {
+                        checksum ^= i * 31;
+                        dos.writeLong(i * 31);
+                    }
+                    return checksum;
+                })
+                .addSection("string", (dos, checksum) -> {
+                    dos.writeUTF("image");
+                    return checksum ^ 5;
+                })
+                .addChecksum();
+    }
+
+    @Test
+    public void testParallelWriteSameAsSequential() throws IOException {
+        File serialFile = new File(dir, "image.serial");
+        File parallelFile = new File(dir, "image.parallel");
+        long serialChecksum = createWriter().write(serialFile, 1);
+        long parallelChecksum = createWriter().write(parallelFile, 4);
+
+        Assert.assertEquals(serialChecksum, parallelChecksum);
+        Assert.assertArrayEquals(Files.readAllBytes(serialFile.toPath()), Files.readAllBytes(parallelFile.toPath()));
+        // tmp files are removed
+        Assert.assertEquals(2, dir.listFiles().length);
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        File file = new File(dir, "image");
+        long expectChecksum = createWriter().write(file, 2);
+
+        long checksum = 0;
+        try (ImageLoader loader = new ImageLoader(file)) {
+            DataInputStream dis = loader.getInputStream();
+            checksum = loader.load("ints", (in, c) -> {
+                for (int i = 0; i < 10000; i++) {
+                    c ^= in.readInt();
+                }
+                return c;
+            }, checksum);
+            Assert.assertEquals(checksum, dis.readLong());
+            checksum = loader.load("longs", (in, c) -> {
+                for (int i = 0; i < 10000; i++) {
+                    c ^= in.readLong();
+                }
+                return c;
+            }, checksum);
+            Assert.assertEquals("image", dis.readUTF());
+            checksum ^= 5;
+            Assert.assertEquals(checksum, dis.readLong());
+        }
+        Assert.assertEquals(expectChecksum, checksum);
+    }
+}
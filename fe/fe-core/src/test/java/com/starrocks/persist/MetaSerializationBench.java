@@ -0,0 +1,226 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.persist;
+
+import com.google.common.collect.Lists;
+import com.starrocks.benchmark.BenchmarkRunner;
+import com.starrocks.catalog.AggregateType;
+import com.starrocks.catalog.Column;
+import com.starrocks.catalog.DataProperty;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.HashDistributionInfo;
+import com.starrocks.catalog.KeysType;
+import com.starrocks.catalog.LocalTablet;
+import com.starrocks.catalog.MaterializedIndex;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Partition;
+import com.starrocks.catalog.Replica;
+import com.starrocks.catalog.SinglePartitionInfo;
+import com.starrocks.catalog.TabletMeta;
+import com.starrocks.catalog.Type;
+import com.starrocks.common.FeConstants;
+import com.starrocks.common.io.DataOutputBuffer;
+import com.starrocks.journal.JournalEntity;
+import com.starrocks.meta.MetaContext;
+import com.starrocks.thrift.TStorageMedium;
+import com.starrocks.thrift.TStorageType;
+import com.starrocks.thrift.TTabletType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark the serialization of metadata on a synthetic catalog with millions of tablets:
+ * saving and loading the image, and serializing and deserializing the journals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class MetaSerializationBench {
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.run(MetaSerializationBench.class.getSimpleName());
+    }
+
+    private static final int REPLICA_NUM = 3;
+    private static final int BACKEND_NUM = 100;
+
+    @Param({"10"})
+    public int dbNum;
+
+    @Param({"100"})
+    public int tableNumPerDb;
+
+    @Param({"1000"})
+    public int tabletNumPerTable;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    private MetaContext metaContext;
+    private List<Database> dbs;
+    private File dir;
+    private File imageFile;
+    private byte[] imageBytes;
+    private JournalEntity replicaJournal;
+    private JournalEntity createTableJournal;
+    private byte[] createTableJournalBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        metaContext = new MetaContext();
+        metaContext.setMetaVersion(FeConstants.meta_version);
+        metaContext.setStarRocksMetaVersion(FeConstants.starrocks_meta_version);
+        metaContext.setThreadLocalInfo();
+
+        long id = 0;
+        dbs = Lists.newArrayList();
+        for (int i = 0; i < dbNum; i++) {
+            Database db = new Database(++id, "db" + i);
+            for (int j = 0; j < tableNumPerDb; j++) {
+                long tableId = ++id;
+                OlapTable table = createTable(db.getId(), tableId, "t" + j);
+                id = tableId + tabletNumPerTable * (REPLICA_NUM + 1) + 10;
+                db.createTable(table);
+            }
+            dbs.add(db);
+        }
+
+        dir = Files.createTempDirectory("meta_serialization_bench").toFile();
+        imageFile = new File(dir, "image");
+        saveImage();
+        imageBytes = Files.readAllBytes(imageFile.toPath());
+
+        replicaJournal = new JournalEntity();
+        replicaJournal.setOpCode(OperationType.OP_ADD_REPLICA);
+        replicaJournal.setData(ReplicaPersistInfo.createForAdd(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13));
+        createTableJournal = new JournalEntity();
+        createTableJournal.setOpCode(OperationType.OP_CREATE_TABLE);
+        createTableJournal.setData(new CreateTableInfo(dbs.get(0).getFullName(),
+                dbs.get(0).getTables().get(0)));
+        DataOutputBuffer buffer = new DataOutputBuffer();
+        createTableJournal.write(buffer);
+        createTableJournalBytes = Arrays.copyOf(buffer.getData(), buffer.getLength());
+    }
+
+    @TearDown
+    public void tearDown() {
+        imageFile.delete();
+        dir.delete();
+    }
+
+    private OlapTable createTable(long dbId, long tableId, String name) {
+        List<Column> columns = Lists.newArrayList();
+        Column k1 = new Column("k1", Type.BIGINT);
+        k1.setIsKey(true);
+        columns.add(k1);
+        columns.add(new Column("v1", Type.BIGINT, false, AggregateType.SUM, "0", ""));
+
+        long partitionId = tableId + 1;
+        long indexId = tableId + 2;
+        long nextId = tableId + 3;
+        HashDistributionInfo distributionInfo = new HashDistributionInfo(tabletNumPerTable, Lists.newArrayList(k1));
+        SinglePartitionInfo partitionInfo = new SinglePartitionInfo();
+        partitionInfo.setDataProperty(partitionId, DataProperty.DEFAULT_DATA_PROPERTY);
+        partitionInfo.setReplicationNum(partitionId, (short) REPLICA_NUM);
+        partitionInfo.setIsInMemory(partitionId, false);
+        partitionInfo.setTabletType(partitionId, TTabletType.TABLET_TYPE_DISK);
+
+        MaterializedIndex index = new MaterializedIndex(indexId, MaterializedIndex.IndexState.NORMAL);
+        TabletMeta tabletMeta = new TabletMeta(dbId, tableId, partitionId, indexId, 0, TStorageMedium.HDD);
+        for (int i = 0; i < tabletNumPerTable; i++) {
+            LocalTablet tablet = new LocalTablet(nextId++);
+            // the tablets are not added to the inverted index
+            index.addTablet(tablet, tabletMeta, true);
+            for (int j = 0; j < REPLICA_NUM; j++) {
+                tablet.addReplica(new Replica(nextId++, (i + j) % BACKEND_NUM, Replica.ReplicaState.NORMAL, 1, 0),
+                        true);
+            }
+        }
+        Partition partition = new Partition(partitionId, name, index, distributionInfo);
+
+        OlapTable table = new OlapTable(tableId, name, columns, KeysType.AGG_KEYS, partitionInfo, distributionInfo);
+        table.setBaseIndexId(indexId);
+        table.addPartition(partition);
+        table.setIndexMeta(indexId, name, columns, 0, 0, (short) 1, TStorageType.COLUMN, KeysType.AGG_KEYS);
+        return table;
+    }
+
+    // every db is a section, so they can be saved in parallel
+    private long saveImage() throws IOException {
+        ImageWriter writer = new ImageWriter().addSection("db count", (dos, checksum) -> {
+            dos.writeInt(dbs.size());
+            return checksum ^ dbs.size();
+        });
+        for (Database db : dbs) {
+            writer.addSection(db.getFullName(), (dos, checksum) -> {
+                db.write(dos);
+                return checksum ^ db.getId();
+            });
+        }
+        return writer.addChecksum().write(imageFile, parallelism);
+    }
+
+    @Benchmark
+    public long saveImageFile() throws IOException {
+        return saveImage();
+    }
+
+    @Benchmark
+    public List<Database> loadImage() throws IOException {
+        metaContext.setThreadLocalInfo();
+        DataInputStream dis = new DataInputStream(new ByteArrayInputStream(imageBytes));
+        int dbCount = dis.readInt();
+        List<Database> result = Lists.newArrayListWithCapacity(dbCount);
+        for (int i = 0; i < dbCount; i++) {
+            Database db = new Database();
+            db.readFields(dis);
+            result.add(db);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public DataOutputBuffer serializeReplicaJournal() throws IOException {
+        DataOutputBuffer buffer = new DataOutputBuffer(128);
+        replicaJournal.write(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public DataOutputBuffer serializeCreateTableJournal() throws IOException {
+        DataOutputBuffer buffer = new DataOutputBuffer(128);
+        createTableJournal.write(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public JournalEntity deserializeCreateTableJournal() throws IOException {
+        metaContext.setThreadLocalInfo();
+        JournalEntity entity = new JournalEntity();
+        entity.readFields(new DataInputStream(new ByteArrayInputStream(createTableJournalBytes)));
+        return entity;
+    }
+}
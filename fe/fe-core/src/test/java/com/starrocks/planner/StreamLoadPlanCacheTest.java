@@ -0,0 +1,122 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.planner;
+
+import com.starrocks.analysis.AlterTableStmt;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.common.Config;
+import com.starrocks.common.FeConstants;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.task.StreamLoadTask;
+import com.starrocks.thrift.TExecPlanFragmentParams;
+import com.starrocks.thrift.TFileFormatType;
+import com.starrocks.thrift.TFileType;
+import com.starrocks.thrift.TOlapTableSink;
+import com.starrocks.thrift.TStreamLoadPutRequest;
+import com.starrocks.thrift.TUniqueId;
+import com.starrocks.utframe.StarRocksAssert;
+import com.starrocks.utframe.UtFrameUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class StreamLoadPlanCacheTest {
+    private static ConnectContext connectContext;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        Config.tablet_sched_max_scheduling_tablets = -1;
+        FeConstants.runningUnitTest = true;
+        UtFrameUtils.createMinStarRocksCluster();
+        connectContext = UtFrameUtils.createDefaultCtx();
+        StarRocksAssert starRocksAssert = new StarRocksAssert(connectContext);
+        starRocksAssert.withDatabase("test").useDatabase("test")
+                .withTable("CREATE TABLE test.t_load (k1 date, k2 int, v1 bigint)\n" +
+                        "DUPLICATE KEY(k1, k2)\n" +
+                        "PARTITION BY RANGE(k1)\n" +
+                        "(PARTITION p1 VALUES LESS THAN ('2020-01-01'))\n" +
+                        "DISTRIBUTED BY HASH(k2) BUCKETS 3\n" +
+                        "PROPERTIES (\"replication_num\" = \"1\");");
+    }
+
+    @Before
+    public void setUp() {
+        StreamLoadPlanCache.getInstance().invalidateAll();
+    }
+
+    private static TStreamLoadPutRequest createRequest(long txnId, TUniqueId loadId) {
+        TStreamLoadPutRequest request = new TStreamLoadPutRequest();
+        request.setUser("root");
+        request.setPasswd("");
+        request.setDb("test");
+        request.setTbl("t_load");
+        request.setTxnId(txnId);
+        request.setLoadId(loadId);
+        request.setFileType(TFileType.FILE_STREAM);
+        request.setFormatType(TFileFormatType.FORMAT_CSV_PLAIN);
+        request.setColumns("k1, k2, v1");
+        return request;
+    }
+
+    private static TExecPlanFragmentParams planAndCache(TStreamLoadPutRequest request, Database db,
+                                                        OlapTable table) throws Exception {
+        StreamLoadTask streamLoadTask = StreamLoadTask.fromTStreamLoadPutRequest(request, db);
+        StreamLoadPlanner planner = new StreamLoadPlanner(db, table, streamLoadTask);
+        TExecPlanFragmentParams plan = planner.plan(streamLoadTask.getId());
+        StreamLoadPlanCache.getInstance().putPlan(request, table, planner.getPartitionIds(), plan);
+        return plan;
+    }
+
+    @Test
+    public void testCacheHit() throws Exception {
+        Database db = GlobalStateMgr.getCurrentState().getDb("test");
+        OlapTable table = (OlapTable) db.getTable("t_load");
+        StreamLoadPlanCache planCache = StreamLoadPlanCache.getInstance();
+
+        TStreamLoadPutRequest request = createRequest(1, new TUniqueId(2, 3));
+        Assert.assertNull(planCache.getPlan(request, table, null));
+        TExecPlanFragmentParams plan = planAndCache(request, db, table);
+        Assert.assertEquals(1, planCache.size());
+
+        TUniqueId loadId = new TUniqueId(4, 5);
+        TExecPlanFragmentParams cachedPlan = planCache.getPlan(createRequest(10, loadId), table, null);
+        Assert.assertNotNull(cachedPlan);
+        Assert.assertEquals(loadId, cachedPlan.getParams().getQuery_id());
+        Assert.assertEquals(new TUniqueId(4, 6), cachedPlan.getParams().getFragment_instance_id());
+        TOlapTableSink sink = cachedPlan.getFragment().getOutput_sink().getOlap_table_sink();
+        Assert.assertEquals(loadId, sink.getLoad_id());
+        Assert.assertEquals(10, sink.getTxn_id());
+        TOlapTableSink expectedSink = plan.getFragment().getOutput_sink().getOlap_table_sink();
+        Assert.assertEquals(expectedSink.getLocation(), sink.getLocation());
+        Assert.assertEquals(expectedSink.getSchema(), sink.getSchema());
+        Assert.assertEquals(plan.getDesc_tbl(), cachedPlan.getDesc_tbl());
+        Assert.assertEquals(loadId, cachedPlan.getParams().getPer_node_scan_ranges().values().iterator().next()
+                .get(0).getScan_range().getBroker_scan_range().getRanges().get(0).getLoad_id());
+        // the original plan is not changed
+        Assert.assertEquals(new TUniqueId(2, 3), plan.getParams().getQuery_id());
+
+        // different parameters have different plans
+        TStreamLoadPutRequest otherRequest = createRequest(11, new TUniqueId(6, 7));
+        otherRequest.setColumnSeparator(",");
+        Assert.assertNull(planCache.getPlan(otherRequest, table, null));
+    }
+
+    @Test
+    public void testInvalidateByPartitionDdl() throws Exception {
+        Database db = GlobalStateMgr.getCurrentState().getDb("test");
+        OlapTable table = (OlapTable) db.getTable("t_load");
+        StreamLoadPlanCache planCache = StreamLoadPlanCache.getInstance();
+
+        planAndCache(createRequest(1, new TUniqueId(2, 3)), db, table);
+        Assert.assertNotNull(planCache.getPlan(createRequest(2, new TUniqueId(4, 5)), table, null));
+
+        AlterTableStmt stmt = (AlterTableStmt) UtFrameUtils.parseStmtWithNewParser(
+                "alter table test.t_load add partition p2 values less than('2021-01-01')", connectContext);
+        GlobalStateMgr.getCurrentState().getAlterInstance().processAlterTable(stmt);
+        Assert.assertNull(planCache.getPlan(createRequest(3, new TUniqueId(6, 7)), table, null));
+        Assert.assertEquals(0, planCache.size());
+    }
+}
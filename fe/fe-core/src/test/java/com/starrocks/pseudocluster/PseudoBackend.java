@@ -90,6 +90,7 @@ import com.starrocks.thrift.TSnapshotRequest;
 import com.starrocks.thrift.TStatus;
 import com.starrocks.thrift.TStatusCode;
 import com.starrocks.thrift.TStorageMedium;
+import com.starrocks.thrift.TTablet;
 import com.starrocks.thrift.TTabletCommitInfo;
 import com.starrocks.thrift.TTabletInfo;
 import com.starrocks.thrift.TTabletStatResult;
@@ -110,8 +111,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Random;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -135,6 +138,12 @@ public class PseudoBackend {
 
     private final TBackend tBackend;
     private AtomicLong reportVersion = new AtomicLong(0);
+    // starts from current time, so the generation still increases after backend restarts
+    private final AtomicLong tabletReportGeneration = new AtomicLong(System.currentTimeMillis());
+    // generation -> tablets reported, the incremental report is diffed with the one acked by FE
+    private final NavigableMap<Long, Map<Long, TTablet>> reportedTablets = new TreeMap<>();
+    private volatile long ackedTabletReportGeneration = -1;
+    private volatile boolean enableIncrementalTabletReport = false;
     private final BeTabletManager tabletManager = new BeTabletManager(this);
     private final BeTxnManager txnManager = new BeTxnManager(this);
     private final BlockingQueue<TAgentTaskRequest> taskQueue = Queues.newLinkedBlockingQueue();
@@ -320,21 +329,73 @@ public class PseudoBackend {
         return publishFailureRate;
     }
 
-    private void reportTablets() {
-        // report tablets
+    public void setEnableIncrementalTabletReport(boolean enableIncrementalTabletReport) {
+        this.enableIncrementalTabletReport = enableIncrementalTabletReport;
+    }
+
+    public long getAckedTabletReportGeneration() {
+        return ackedTabletReportGeneration;
+    }
+
+    TReportRequest buildTabletReportRequest() {
         TReportRequest request = new TReportRequest();
-        request.setTablets(tabletManager.getAllTabletInfo());
+        synchronized (reportedTablets) {
+            Map<Long, TTablet> tablets = tabletManager.getAllTabletInfo();
+            long generation = tabletReportGeneration.incrementAndGet();
+            long baseGeneration = ackedTabletReportGeneration;
+            Map<Long, TTablet> baseTablets =
+                    enableIncrementalTabletReport ? reportedTablets.get(baseGeneration) : null;
+            if (baseTablets != null) {
+                // only report the tablets changed since the acked generation
+                Map<Long, TTablet> changedTablets = Maps.newHashMap();
+                for (Map.Entry<Long, TTablet> entry : tablets.entrySet()) {
+                    if (!entry.getValue().equals(baseTablets.get(entry.getKey()))) {
+                        changedTablets.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                request.setTablets(changedTablets);
+                request.setBase_tablet_report_generation(baseGeneration);
+            } else {
+                request.setTablets(tablets);
+            }
+            request.setTablet_report_generation(generation);
+            reportedTablets.put(generation, tablets);
+        }
         request.setTablet_max_compaction_score(100);
         request.setBackend(tBackend);
         request.setReport_version(reportVersion.get());
+        return request;
+    }
+
+    void onTabletReportResult(TReportRequest request, TMasterResult result) {
+        if (!result.isSetTablet_report_generation()) {
+            return;
+        }
+        synchronized (reportedTablets) {
+            ackedTabletReportGeneration = result.getTablet_report_generation();
+            // the snapshots before the acked generation will never be used as base
+            long keepFrom = ackedTabletReportGeneration >= 0 ? ackedTabletReportGeneration :
+                    request.getTablet_report_generation();
+            reportedTablets.headMap(keepFrom, false).clear();
+        }
+    }
+
+    void reportTablets() {
+        // report tablets
+        reportTablets(buildTabletReportRequest());
+    }
+
+    void reportTablets(TReportRequest request) {
         TMasterResult result;
         try {
             result = frontendService.report(request);
-            LOG.info("report {} tablets", request.tablets.size());
+            LOG.info("report {} tablets, incremental: {}", request.tablets.size(),
+                    request.isSetBase_tablet_report_generation());
         } catch (TException e) {
             LOG.error("report tablets error", e);
             return;
         }
+        onTabletReportResult(request, result);
     }
 
     private void reportDisks() {
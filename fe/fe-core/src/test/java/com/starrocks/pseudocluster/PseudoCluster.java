@@ -31,6 +31,7 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -181,7 +182,7 @@ public class PseudoCluster {
     }
 
     public void runSqlList(String db, String... sqls) throws SQLException {
-        runSqlList(db, sqls);
+        runSqlList(db, Arrays.asList(sqls));
     }
 
     public String getRunDir() {
@@ -1,7 +1,9 @@
 // This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
 package com.starrocks.pseudocluster;
 
+import com.google.common.collect.Maps;
 import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.thrift.TReportRequest;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -45,4 +47,90 @@ public class PseudoClusterTest {
             connection.close();
         }
     }
+
+    @Test
+    public void testIncrementalTabletReport() throws Exception {
+        PseudoCluster cluster = PseudoCluster.getInstance();
+        cluster.runSqlList(null, "create database if not exists test_report",
+                "create table test_report.t0 ( pk bigint NOT NULL, v0 int not null ) primary KEY (pk) " +
+                        "DISTRIBUTED BY HASH(pk) BUCKETS 6 PROPERTIES(\"replication_num\" = \"3\");");
+        long backendId = 10001;
+        PseudoBackend backend = cluster.getBackend(backendId);
+        backend.setEnableIncrementalTabletReport(true);
+        try {
+            // FE acks the generation in the response of the next report after the full report is handled
+            for (int i = 0; i < 100 && backend.getAckedTabletReportGeneration() < 0; i++) {
+                backend.reportTablets();
+                Thread.sleep(100);
+            }
+            long ackedGeneration = backend.getAckedTabletReportGeneration();
+            Assert.assertTrue(ackedGeneration >= 0);
+            int replicaNum = getReplicaNum(backendId);
+
+            cluster.runSql("test_report", "insert into t0 values (1,1), (2,2), (3,3)");
+            TReportRequest request = backend.buildTabletReportRequest();
+            Assert.assertTrue(request.isSetBase_tablet_report_generation());
+            Assert.assertTrue(request.getTablets().size() < 6);
+
+            // the incremental reports are handled and acked too
+            for (int i = 0; i < 100 && backend.getAckedTabletReportGeneration() <= ackedGeneration; i++) {
+                backend.reportTablets();
+                Thread.sleep(100);
+            }
+            Assert.assertTrue(backend.getAckedTabletReportGeneration() > ackedGeneration);
+            // the tablets not in the incremental reports are kept
+            Assert.assertEquals(replicaNum, getReplicaNum(backendId));
+        } finally {
+            backend.setEnableIncrementalTabletReport(false);
+        }
+    }
+
+    @Test
+    public void testInvalidIncrementalTabletReport() throws Exception {
+        PseudoCluster cluster = PseudoCluster.getInstance();
+        cluster.runSqlList(null, "create database if not exists test_report_invalid",
+                "create table test_report_invalid.t0 ( pk bigint NOT NULL, v0 int not null ) primary KEY (pk) " +
+                        "DISTRIBUTED BY HASH(pk) BUCKETS 6 PROPERTIES(\"replication_num\" = \"3\");");
+        long backendId = 10002;
+        PseudoBackend backend = cluster.getBackend(backendId);
+        backend.setEnableIncrementalTabletReport(true);
+        try {
+            for (int i = 0; i < 100 && backend.getAckedTabletReportGeneration() < 0; i++) {
+                backend.reportTablets();
+                Thread.sleep(100);
+            }
+            long ackedGeneration = backend.getAckedTabletReportGeneration();
+            Assert.assertTrue(ackedGeneration >= 0);
+            int replicaNum = getReplicaNum(backendId);
+
+            // an empty report based on a generation FE never acked, it would delete all the replicas if handled
+            TReportRequest request = backend.buildTabletReportRequest();
+            request.setTablets(Maps.newHashMap());
+            request.setBase_tablet_report_generation(request.getTablet_report_generation());
+            backend.reportTablets(request);
+
+            // FE skips it and acks -1, so the backend falls back to a full report
+            for (int i = 0; i < 100 && backend.getAckedTabletReportGeneration() >= 0; i++) {
+                Thread.sleep(100);
+                backend.reportTablets();
+            }
+            Assert.assertEquals(-1, backend.getAckedTabletReportGeneration());
+            Assert.assertEquals(replicaNum, getReplicaNum(backendId));
+            Assert.assertFalse(backend.buildTabletReportRequest().isSetBase_tablet_report_generation());
+
+            // after the full report is handled, the acked generation advances again
+            for (int i = 0; i < 100 && backend.getAckedTabletReportGeneration() <= ackedGeneration; i++) {
+                backend.reportTablets();
+                Thread.sleep(100);
+            }
+            Assert.assertTrue(backend.getAckedTabletReportGeneration() > ackedGeneration);
+            Assert.assertEquals(replicaNum, getReplicaNum(backendId));
+        } finally {
+            backend.setEnableIncrementalTabletReport(false);
+        }
+    }
+
+    private static int getReplicaNum(long backendId) {
+        return GlobalStateMgr.getCurrentInvertedIndex().getTabletIdsByBackendId(backendId).size();
+    }
 }
@@ -0,0 +1,94 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.pseudocluster;
+
+import com.google.common.collect.Maps;
+import com.starrocks.common.jmockit.Deencapsulation;
+import com.starrocks.leader.ReportHandler;
+import com.starrocks.thrift.TReportRequest;
+import com.starrocks.thrift.TTablet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the FE cost of handling the same tablet report as a full report, and as an incremental report
+ * of only the tablets changed by a load.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class TabletReportBench {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(TabletReportBench.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    private static final long BACKEND_ID = 10001;
+
+    @Param({"1000", "10000"})
+    public int bucketNum;
+
+    private Map<Long, TTablet> fullTablets;
+    private Map<Long, TTablet> changedTablets;
+    private long reportVersion;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        PseudoCluster cluster = PseudoCluster.getOrCreateWithRandomPort(true, 3);
+        cluster.runSqlList(null, "create database if not exists test_report_bench",
+                "drop table if exists test_report_bench.t0",
+                "create table test_report_bench.t0 ( pk bigint NOT NULL, v0 int not null ) primary KEY (pk) " +
+                        "DISTRIBUTED BY HASH(pk) BUCKETS " + bucketNum + " PROPERTIES(\"replication_num\" = \"3\");");
+        PseudoBackend backend = cluster.getBackend(BACKEND_ID);
+        Map<Long, TTablet> baseTablets = backend.buildTabletReportRequest().getTablets();
+        cluster.runSql("test_report_bench", "insert into t0 values (1,1), (2,2), (3,3)");
+        TReportRequest request = backend.buildTabletReportRequest();
+        fullTablets = request.getTablets();
+        reportVersion = request.getReport_version();
+        changedTablets = Maps.newHashMap();
+        for (Map.Entry<Long, TTablet> entry : fullTablets.entrySet()) {
+            if (!entry.getValue().equals(baseTablets.get(entry.getKey()))) {
+                changedTablets.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        PseudoCluster.getInstance().shutdown(true);
+    }
+
+    @Benchmark
+    public void fullReport() {
+        Deencapsulation.invoke(ReportHandler.class, "tabletReport", BACKEND_ID, fullTablets, reportVersion, false);
+    }
+
+    @Benchmark
+    public void incrementalReport() {
+        Deencapsulation.invoke(ReportHandler.class, "tabletReport", BACKEND_ID, changedTablets, reportVersion, true);
+    }
+}
@@ -23,6 +23,7 @@ package com.starrocks.qe;
 
 import com.starrocks.analysis.AccessTestUtil;
 import com.starrocks.analysis.UserIdentity;
+import com.starrocks.common.ErrorCode;
 import com.starrocks.common.jmockit.Deencapsulation;
 import com.starrocks.mysql.MysqlCapability;
 import com.starrocks.mysql.MysqlChannel;
@@ -486,6 +487,40 @@ public class ConnectProcessorTest extends DDLTestBase {
         Assert.assertEquals("Unknown table(emptyTable)", myContext.getState().getErrorMessage());
     }
 
+    @Test
+    public void testStmtPrepareUnsupported() throws Exception {
+        MysqlSerializer serializer = MysqlSerializer.newInstance();
+        serializer.writeInt1(22);
+        serializer.writeEofString("show databases");
+        ByteBuffer packet = serializer.toByteBuffer();
+        ConnectContext ctx = initMockContext(mockChannel(packet), GlobalStateMgr.getCurrentState());
+
+        ConnectProcessor processor = new ConnectProcessor(ctx);
+        processor.processOnce();
+        Assert.assertEquals(MysqlCommand.COM_STMT_PREPARE, myContext.getCommand());
+        Assert.assertTrue(myContext.getState().toResponsePacket() instanceof MysqlErrPacket);
+        Assert.assertEquals(ErrorCode.ERR_UNSUPPORTED_PS, myContext.getState().getErrorCode());
+        Assert.assertEquals(0, ctx.getPreparedStmtCount());
+    }
+
+    @Test
+    public void testStmtExecuteUnknownStmt() throws Exception {
+        MysqlSerializer serializer = MysqlSerializer.newInstance();
+        serializer.writeInt1(23);
+        serializer.writeInt4(1);
+        serializer.writeInt1(0);
+        serializer.writeInt4(1);
+        ByteBuffer packet = serializer.toByteBuffer();
+        ConnectContext ctx = initMockContext(mockChannel(packet), GlobalStateMgr.getCurrentState());
+
+        ConnectProcessor processor = new ConnectProcessor(ctx);
+        processor.processOnce();
+        Assert.assertEquals(MysqlCommand.COM_STMT_EXECUTE, myContext.getCommand());
+        Assert.assertTrue(myContext.getState().toResponsePacket() instanceof MysqlErrPacket);
+        Assert.assertEquals(ErrorCode.ERR_UNKNOWN_STMT_HANDLER, myContext.getState().getErrorCode());
+        Assert.assertFalse(myContext.isKilled());
+    }
+
     @Test
     public void testUnsupportedCommand() throws Exception {
         MysqlSerializer serializer = MysqlSerializer.newInstance();
@@ -0,0 +1,197 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.qe;
+
+import com.google.common.collect.Lists;
+import com.starrocks.analysis.Expr;
+import com.starrocks.analysis.IntLiteral;
+import com.starrocks.analysis.NullLiteral;
+import com.starrocks.analysis.Parameter;
+import com.starrocks.analysis.SelectListItem;
+import com.starrocks.analysis.StatementBase;
+import com.starrocks.analysis.StringLiteral;
+import com.starrocks.catalog.Type;
+import com.starrocks.common.AnalysisException;
+import com.starrocks.mysql.MysqlColType;
+import com.starrocks.mysql.MysqlSerializer;
+import com.starrocks.sql.ast.QueryStatement;
+import com.starrocks.sql.ast.SelectRelation;
+import com.starrocks.sql.parser.SqlParser;
+import com.starrocks.sql.parser.StarRocksParser;
+import com.starrocks.sql.plan.PlanCache;
+import com.starrocks.utframe.UtFrameUtils;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+public class PrepareStmtContextTest {
+    private static ConnectContext connectContext;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        UtFrameUtils.createMinStarRocksCluster();
+        connectContext = UtFrameUtils.createDefaultCtx();
+    }
+
+    private static List<Expr> getSelectItems(StatementBase stmt) {
+        SelectRelation select = (SelectRelation) ((QueryStatement) stmt).getQueryRelation();
+        List<Expr> exprs = Lists.newArrayList();
+        for (SelectListItem item : select.getSelectList().getItems()) {
+            exprs.add(item.getExpr());
+        }
+        return exprs;
+    }
+
+    @Test
+    public void testBind() throws AnalysisException {
+        String sql = "select ?, ?, ?";
+        StarRocksParser.SingleStatementContext tree = SqlParser.parseSingleStatementTree(sql, 0);
+        PrepareStmtContext prepareStmt = new PrepareStmtContext(1, sql, 0, tree, 3,
+                Lists.newArrayList(), Lists.newArrayList());
+
+        // null bitmap, new params bound flag, types, values
+        MysqlSerializer serializer = MysqlSerializer.newInstance();
+        serializer.writeInt1(0x04);
+        serializer.writeInt1(1);
+        serializer.writeInt2(MysqlColType.MYSQL_TYPE_LONG.getCode());
+        serializer.writeInt2(MysqlColType.MYSQL_TYPE_VAR_STRING.getCode());
+        serializer.writeInt2(MysqlColType.MYSQL_TYPE_NULL.getCode());
+        serializer.writeInt4(42);
+        serializer.writeLenEncodedString("abc");
+        List<Expr> exprs = getSelectItems(prepareStmt.bind(serializer.toByteBuffer(), connectContext));
+
+        Assert.assertEquals(3, exprs.size());
+        for (Expr expr : exprs) {
+            Assert.assertTrue(expr instanceof Parameter);
+        }
+        Expr value = ((Parameter) exprs.get(0)).getValue();
+        Assert.assertTrue(value instanceof IntLiteral);
+        Assert.assertEquals(Type.INT, value.getType());
+        Assert.assertEquals(42, ((IntLiteral) value).getValue());
+        value = ((Parameter) exprs.get(1)).getValue();
+        Assert.assertTrue(value instanceof StringLiteral);
+        Assert.assertEquals("abc", ((StringLiteral) value).getStringValue());
+        Assert.assertTrue(((Parameter) exprs.get(2)).getValue() instanceof NullLiteral);
+
+        // the types are not sent again, the values are bound to the analyzed statement
+        serializer.reset();
+        serializer.writeInt1(0x04);
+        serializer.writeInt1(0);
+        serializer.writeInt4(-1);
+        serializer.writeLenEncodedString("");
+        List<Expr> newExprs = getSelectItems(prepareStmt.bind(serializer.toByteBuffer(), connectContext));
+        Assert.assertSame(exprs.get(0), newExprs.get(0));
+        Assert.assertEquals(-1, ((IntLiteral) ((Parameter) newExprs.get(0)).getValue()).getValue());
+        Assert.assertEquals("", ((StringLiteral) ((Parameter) newExprs.get(1)).getValue()).getStringValue());
+    }
+
+    private static ByteBuffer buildIntParam(MysqlColType type, int value) {
+        MysqlSerializer serializer = MysqlSerializer.newInstance();
+        serializer.writeInt1(0);
+        serializer.writeInt1(1);
+        serializer.writeInt2(type.getCode());
+        if (type == MysqlColType.MYSQL_TYPE_LONGLONG) {
+            serializer.writeInt8(value);
+        } else {
+            serializer.writeInt4(value);
+        }
+        return serializer.toByteBuffer();
+    }
+
+    @Test
+    public void testReanalyze() throws AnalysisException {
+        String sql = "select ? + 1";
+        StarRocksParser.SingleStatementContext tree = SqlParser.parseSingleStatementTree(sql, 0);
+        PrepareStmtContext prepareStmt = new PrepareStmtContext(1, sql, 0, tree, 1,
+                Lists.newArrayList(), Lists.newArrayList());
+
+        QueryStatement stmt = prepareStmt.bind(buildIntParam(MysqlColType.MYSQL_TYPE_LONG, 1), connectContext);
+        Assert.assertTrue(stmt.isPrepared());
+        Assert.assertSame(stmt, prepareStmt.bind(buildIntParam(MysqlColType.MYSQL_TYPE_LONG, 2), connectContext));
+        Assert.assertEquals("2", ((Parameter) getSelectItems(stmt).get(0).getChild(0)).getValue().getStringValue());
+
+        // the analyzed types depend on the types of parameters
+        QueryStatement newStmt = prepareStmt.bind(buildIntParam(MysqlColType.MYSQL_TYPE_LONGLONG, 3),
+                connectContext);
+        Assert.assertNotSame(stmt, newStmt);
+        Assert.assertEquals(Type.BIGINT, getSelectItems(newStmt).get(0).getChild(0).getType());
+
+        // the tables may be changed with the catalog
+        PlanCache.getInstance().invalidateAll();
+        Assert.assertNotSame(newStmt, prepareStmt.bind(buildIntParam(MysqlColType.MYSQL_TYPE_LONGLONG, 3),
+                connectContext));
+    }
+
+    @Test
+    public void testBindCopiedParameter() {
+        // the copies made by the analyzer see the value bound later
+        Parameter parameter = new Parameter(1);
+        Parameter copy = (Parameter) parameter.clone();
+        IntLiteral value = new IntLiteral(1);
+        parameter.setValue(value);
+        Assert.assertSame(value, copy.getValue());
+        Assert.assertEquals("1", copy.toSql());
+    }
+
+    @Test
+    public void testEstimateBytes() {
+        String sql = "select ?";
+        PrepareStmtContext small = new PrepareStmtContext(1, sql, 0, SqlParser.parseSingleStatementTree(sql, 0), 1,
+                Lists.newArrayList(), Lists.newArrayList());
+        sql = "select ?, ?, ? from t where k1 = ? and k2 = ?";
+        PrepareStmtContext large = new PrepareStmtContext(2, sql, 0, SqlParser.parseSingleStatementTree(sql, 0), 5,
+                Lists.newArrayList(), Lists.newArrayList());
+        Assert.assertTrue(small.estimateBytes() > 0);
+        Assert.assertTrue(large.estimateBytes() > small.estimateBytes());
+
+        ConnectContext ctx = new ConnectContext(null);
+        ctx.addPreparedStmt(small);
+        ctx.addPreparedStmt(large);
+        Assert.assertEquals(small.estimateBytes() + large.estimateBytes(), ctx.getPreparedStmtBytes());
+        ctx.removePreparedStmt(small.getId());
+        Assert.assertEquals(large.estimateBytes(), ctx.getPreparedStmtBytes());
+        // closing an unknown statement changes nothing
+        ctx.removePreparedStmt(small.getId());
+        Assert.assertEquals(large.estimateBytes(), ctx.getPreparedStmtBytes());
+        ctx.clearPreparedStmts();
+        Assert.assertEquals(0, ctx.getPreparedStmtBytes());
+    }
+
+    @Test
+    public void testBindUnsigned() throws AnalysisException {
+        String sql = "select ?, ?";
+        StarRocksParser.SingleStatementContext tree = SqlParser.parseSingleStatementTree(sql, 0);
+        PrepareStmtContext prepareStmt = new PrepareStmtContext(1, sql, 0, tree, 2,
+                Lists.newArrayList(), Lists.newArrayList());
+
+        MysqlSerializer serializer = MysqlSerializer.newInstance();
+        serializer.writeInt1(0);
+        serializer.writeInt1(1);
+        serializer.writeInt2(MysqlColType.MYSQL_TYPE_TINY.getCode() | 0x8000);
+        serializer.writeInt2(MysqlColType.MYSQL_TYPE_LONGLONG.getCode() | 0x8000);
+        serializer.writeInt1(200);
+        serializer.writeInt8(-1L);
+        List<Expr> exprs = getSelectItems(prepareStmt.bind(serializer.toByteBuffer(), connectContext));
+
+        Expr value = ((Parameter) exprs.get(0)).getValue();
+        Assert.assertEquals(Type.SMALLINT, value.getType());
+        Assert.assertEquals(200, ((IntLiteral) value).getValue());
+        value = ((Parameter) exprs.get(1)).getValue();
+        Assert.assertEquals(Type.LARGEINT, value.getType());
+        Assert.assertEquals("18446744073709551615", value.getStringValue());
+    }
+
+    @Test(expected = AnalysisException.class)
+    public void testBindWithoutTypes() throws AnalysisException {
+        String sql = "select ?";
+        StarRocksParser.SingleStatementContext tree = SqlParser.parseSingleStatementTree(sql, 0);
+        PrepareStmtContext prepareStmt = new PrepareStmtContext(1, sql, 0, tree, 1,
+                Lists.newArrayList(), Lists.newArrayList());
+
+        ByteBuffer packet = ByteBuffer.wrap(new byte[] {0, 0});
+        prepareStmt.bind(packet, connectContext);
+    }
+}
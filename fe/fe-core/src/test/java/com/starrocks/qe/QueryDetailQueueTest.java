@@ -22,10 +22,15 @@
 package com.starrocks.qe;
 
 import com.google.gson.Gson;
+import com.starrocks.common.Config;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 
 public class QueryDetailQueueTest {
     @Test
@@ -70,4 +75,63 @@ public class QueryDetailQueueTest {
         queryDetails = QueryDetailQueue.getQueryDetailsAfterTime(startQueryDetail.getEventTime() - 1);
         Assert.assertEquals(2, queryDetails.size());
     }
+
+    @Test
+    public void testConcurrentAddAndCursor() throws InterruptedException {
+        Queue<QueryDetail> streamed = new ConcurrentLinkedQueue<>();
+        Consumer<QueryDetail> listener = streamed::add;
+        QueryDetailQueue.addListener(listener);
+        try {
+            QueryDetail begin = new QueryDetail();
+            QueryDetailQueue.addAndRemoveTimeoutQueryDetail(begin);
+            Thread[] threads = new Thread[4];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new Thread(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        QueryDetailQueue.addAndRemoveTimeoutQueryDetail(new QueryDetail());
+                    }
+                });
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            Iterator<QueryDetail> cursor = QueryDetailQueue.getCursorAfterTime(begin.getEventTime());
+            long lastEventTime = begin.getEventTime();
+            int num = 0;
+            while (cursor.hasNext()) {
+                QueryDetail queryDetail = cursor.next();
+                Assert.assertTrue(queryDetail.getEventTime() > lastEventTime);
+                lastEventTime = queryDetail.getEventTime();
+                num++;
+            }
+            Assert.assertEquals(4000, num);
+            Assert.assertEquals(4001, streamed.size());
+            Assert.assertEquals(0, QueryDetailQueue.getQueryDetailsAfterTime(lastEventTime).size());
+            Assert.assertEquals(1, QueryDetailQueue.getQueryDetailsAfterTime(lastEventTime - 1).size());
+        } finally {
+            QueryDetailQueue.removeListener(listener);
+        }
+    }
+
+    @Test
+    public void testMaxBytes() {
+        long maxBytes = Config.query_detail_queue_max_bytes;
+        Config.query_detail_queue_max_bytes = 1;
+        try {
+            QueryDetail first = new QueryDetail();
+            QueryDetailQueue.addAndRemoveTimeoutQueryDetail(first);
+            QueryDetail second = new QueryDetail();
+            QueryDetailQueue.addAndRemoveTimeoutQueryDetail(second);
+            // only the latest query detail is kept
+            List<QueryDetail> queryDetails = QueryDetailQueue.getQueryDetailsAfterTime(first.getEventTime() - 1);
+            Assert.assertEquals(1, queryDetails.size());
+            Assert.assertSame(second, queryDetails.get(0));
+            Assert.assertEquals(1, QueryDetailQueue.getQueryDetailNum());
+            Assert.assertTrue(QueryDetailQueue.getRetainedBytes() > 0);
+        } finally {
+            Config.query_detail_queue_max_bytes = maxBytes;
+        }
+    }
 }
@@ -4,12 +4,15 @@ package com.starrocks.sql.analyzer;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.starrocks.analysis.Expr;
+import com.starrocks.analysis.LiteralExpr;
 import com.starrocks.analysis.SetUserPropertyStmt;
 import com.starrocks.analysis.ShowUserPropertyStmt;
 import com.starrocks.catalog.Column;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
+import com.starrocks.catalog.ScalarType;
 import com.starrocks.common.MetaNotFoundException;
 import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.ast.AnalyzeHistogramDesc;
@@ -34,6 +37,9 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static com.starrocks.sql.analyzer.AnalyzeTestUtil.analyzeFail;
 import static com.starrocks.sql.analyzer.AnalyzeTestUtil.analyzeSuccess;
@@ -146,16 +152,65 @@ public class AnalyzeStmtTest {
         Assert.assertEquals("SELECT cast(1 as INT), now(), db_id, table_id, column_name, sum(row_count), " +
                         "cast(sum(data_size) as bigint), hll_union_agg(ndv), sum(null_count),  cast(max(cast(max as bigint(20))) as string), " +
                         "cast(min(cast(min as bigint(20))) as string) FROM column_statistics " +
-                        "WHERE table_id = 10004 and column_name = \"v1\" GROUP BY db_id, table_id, column_name " +
-                        "UNION ALL SELECT cast(1 as INT), now(), db_id, table_id, column_name, sum(row_count), cast(sum(data_size) as bigint), " +
-                        "hll_union_agg(ndv), sum(null_count),  cast(max(cast(max as bigint(20))) as string), cast(min(cast(min as bigint(20))) as string) " +
-                        "FROM column_statistics WHERE table_id = 10004 and column_name = \"v2\" GROUP BY db_id, table_id, column_name",
+                        "WHERE table_id = 10004 and column_name in ('v1', 'v2') GROUP BY db_id, table_id, column_name",
                 StatisticSQLBuilder.buildQueryFullStatisticsSQL(10002L, 10004L, Lists.newArrayList(v1, v2)));
         Assert.assertEquals("SELECT cast(1 as INT), update_time, db_id, table_id, column_name, row_count, " +
                         "data_size, distinct_count, null_count, max, min " +
                         "FROM table_statistic_v1 WHERE db_id = 10002 and table_id = 10004 and column_name in ('v1', 'v2')",
                 StatisticSQLBuilder.buildQuerySampleStatisticsSQL(10002L, 10004L, Lists.newArrayList("v1", "v2")));
 
+        // columns of multiple tables are queried in one statement, grouped by type for full statistics
+        Column c1 = new Column("c1", ScalarType.createVarcharType(32));
+        Map<Long, List<Column>> tableColumns = Maps.newLinkedHashMap();
+        tableColumns.put(10004L, Lists.newArrayList(v1, v2));
+        tableColumns.put(10005L, Lists.newArrayList(c1));
+        tableColumns.put(10006L, Lists.newArrayList(v1));
+        Assert.assertEquals("SELECT cast(1 as INT), now(), db_id, table_id, column_name, sum(row_count), " +
+                        "cast(sum(data_size) as bigint), hll_union_agg(ndv), sum(null_count),  cast(max(cast(max as bigint(20))) as string), " +
+                        "cast(min(cast(min as bigint(20))) as string) FROM column_statistics " +
+                        "WHERE (table_id = 10004 and column_name in ('v1', 'v2')) or (table_id = 10006 and column_name in ('v1')) " +
+                        "GROUP BY db_id, table_id, column_name " +
+                        "UNION ALL SELECT cast(1 as INT), now(), db_id, table_id, column_name, sum(row_count), " +
+                        "cast(sum(data_size) as bigint), hll_union_agg(ndv), sum(null_count),  cast(max(cast(max as varchar(32))) as string), " +
+                        "cast(min(cast(min as varchar(32))) as string) FROM column_statistics " +
+                        "WHERE table_id = 10005 and column_name in ('c1') GROUP BY db_id, table_id, column_name",
+                StatisticSQLBuilder.buildQueryFullStatisticsSQL(tableColumns));
+
+        Map<Long, List<String>> tableColumnNames = Maps.newLinkedHashMap();
+        tableColumnNames.put(10004L, Lists.newArrayList("v1", "v2"));
+        tableColumnNames.put(10005L, Lists.newArrayList("c1"));
+        Assert.assertEquals("SELECT cast(1 as INT), update_time, db_id, table_id, column_name, row_count, " +
+                        "data_size, distinct_count, null_count, max, min FROM table_statistic_v1 " +
+                        "WHERE (table_id = 10004 and column_name in ('v1', 'v2')) or (table_id = 10005 and column_name in ('c1'))",
+                StatisticSQLBuilder.buildQuerySampleStatisticsSQL(tableColumnNames));
+        Assert.assertEquals("SELECT cast(2 as INT), db_id, table_id, column_name, " +
+                        "cast(json_object(\"buckets\", buckets, \"mcv\", mcv) as varchar) FROM histogram_statistics " +
+                        "WHERE (table_id = 10004 and column_name in ('v1', 'v2')) or (table_id = 10005 and column_name in ('c1'))",
+                StatisticSQLBuilder.buildQueryHistogramStatisticsSQL(tableColumnNames));
+
+        // the loads of the same number of columns are one statement with parameters, padded to a power of two
+        List<LiteralExpr> parameters = Lists.newArrayList();
+        Assert.assertEquals("SELECT cast(1 as INT), update_time, db_id, table_id, column_name, row_count, " +
+                        "data_size, distinct_count, null_count, max, min FROM table_statistic_v1 " +
+                        "WHERE (table_id = ? and column_name = ?) or (table_id = ? and column_name = ?) or " +
+                        "(table_id = ? and column_name = ?) or (table_id = ? and column_name = ?)",
+                StatisticSQLBuilder.buildQuerySampleStatisticsSQL(tableColumnNames, parameters));
+        Assert.assertEquals("[10004, 'v1', 10004, 'v2', 10005, 'c1', 10005, 'c1']",
+                parameters.stream().map(Expr::toSql).collect(Collectors.toList()).toString());
+        parameters.clear();
+        Assert.assertEquals("SELECT cast(1 as INT), ?, db_id, table_id, column_name, sum(row_count), " +
+                        "cast(sum(data_size) as bigint), hll_union_agg(ndv), sum(null_count),  cast(max(cast(max as bigint(20))) as string), " +
+                        "cast(min(cast(min as bigint(20))) as string) FROM column_statistics " +
+                        "WHERE (table_id = ? and column_name = ?) or (table_id = ? and column_name = ?) or " +
+                        "(table_id = ? and column_name = ?) or (table_id = ? and column_name = ?) " +
+                        "GROUP BY db_id, table_id, column_name " +
+                        "UNION ALL SELECT cast(1 as INT), ?, db_id, table_id, column_name, sum(row_count), " +
+                        "cast(sum(data_size) as bigint), hll_union_agg(ndv), sum(null_count),  cast(max(cast(max as varchar(32))) as string), " +
+                        "cast(min(cast(min as varchar(32))) as string) FROM column_statistics " +
+                        "WHERE (table_id = ? and column_name = ?) GROUP BY db_id, table_id, column_name",
+                StatisticSQLBuilder.buildQueryFullStatisticsSQL(tableColumns, parameters));
+        Assert.assertEquals(12, parameters.size());
+
         FullStatisticsCollectJob collectJob = new FullStatisticsCollectJob(database, table,
                 Lists.newArrayList(10003L),
                 Lists.newArrayList("v1", "v2"), StatsConstants.AnalyzeType.FULL, StatsConstants.ScheduleType.SCHEDULE,
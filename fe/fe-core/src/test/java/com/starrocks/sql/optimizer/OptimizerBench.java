@@ -0,0 +1,157 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.sql.optimizer;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.starrocks.analysis.StatementBase;
+import com.starrocks.benchmark.BenchmarkRunner;
+import com.starrocks.catalog.Type;
+import com.starrocks.sql.analyzer.Analyzer;
+import com.starrocks.sql.ast.QueryStatement;
+import com.starrocks.sql.optimizer.base.ColumnRefFactory;
+import com.starrocks.sql.optimizer.base.ColumnRefSet;
+import com.starrocks.sql.optimizer.base.PhysicalPropertySet;
+import com.starrocks.sql.optimizer.operator.OperatorType;
+import com.starrocks.sql.optimizer.operator.scalar.BinaryPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.CompoundPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
+import com.starrocks.sql.optimizer.operator.scalar.InPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+import com.starrocks.sql.optimizer.rewrite.ScalarOperatorRewriter;
+import com.starrocks.sql.optimizer.statistics.StatisticsCalculator;
+import com.starrocks.sql.optimizer.transformer.LogicalPlan;
+import com.starrocks.sql.optimizer.transformer.RelationTransformer;
+import com.starrocks.sql.parser.SqlParser;
+import com.starrocks.sql.plan.TPCDSPlanTestBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark the hot paths inside optimizer with the plans of TPC-DS queries:
+ * copying the logical plan into Memo, deriving statistics for every node of the optimized plan,
+ * and rewriting a large predicate with the default scalar rewrite rules.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class OptimizerBench extends TPCDSPlanTestBase {
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.run(OptimizerBench.class.getSimpleName());
+    }
+
+    // the statistics of CTE consumers are derived from CTE context, which is only valid during optimizing
+    private static final Set<OperatorType> SKIP_STATISTICS_OPERATORS = ImmutableSet.of(
+            OperatorType.PHYSICAL_CTE_ANCHOR, OperatorType.PHYSICAL_CTE_PRODUCE, OperatorType.PHYSICAL_CTE_CONSUME);
+
+    @Param({"Q1", "Q14", "Q64", "Q72"})
+    public String queryName;
+
+    private OptExpression logicalPlan;
+    private OptExpression physicalPlan;
+    private ColumnRefFactory columnRefFactory;
+
+    @Setup
+    public void setup() throws Exception {
+        TPCDSPlanTestBase.beforeClass();
+        setTPCDSFactor(1);
+        connectContext.setThreadLocalInfo();
+        String sql = (String) TPCDSPlanTestBase.class.getField(queryName).get(null);
+        StatementBase stmt = SqlParser.parse(sql, connectContext.getSessionVariable().getSqlMode()).get(0);
+        Analyzer.analyze(stmt, connectContext);
+
+        columnRefFactory = new ColumnRefFactory();
+        LogicalPlan plan = new RelationTransformer(columnRefFactory, connectContext)
+                .transformWithSelectLimit(((QueryStatement) stmt).getQueryRelation());
+        logicalPlan = plan.getRoot();
+        physicalPlan = new Optimizer().optimize(connectContext, logicalPlan, new PhysicalPropertySet(),
+                new ColumnRefSet(plan.getOutputColumn()), columnRefFactory);
+    }
+
+    @Benchmark
+    public Memo memoInit() {
+        Memo memo = new Memo();
+        memo.init(logicalPlan);
+        return memo;
+    }
+
+    @Benchmark
+    public int deriveStatistics() {
+        connectContext.setThreadLocalInfo();
+        OptimizerContext context = new OptimizerContext(new Memo(), columnRefFactory, connectContext);
+        return deriveStatistics(physicalPlan, context);
+    }
+
+    // derive the statistics of every node from the statistics of its children kept in optimized plan
+    private int deriveStatistics(OptExpression expression, OptimizerContext context) {
+        int num = 0;
+        for (OptExpression input : expression.getInputs()) {
+            num += deriveStatistics(input, context);
+        }
+        if (SKIP_STATISTICS_OPERATORS.contains(expression.getOp().getOpType())) {
+            return num;
+        }
+        ExpressionContext expressionContext = new ExpressionContext(expression);
+        new StatisticsCalculator(expressionContext, columnRefFactory, context).estimatorStats();
+        return num + 1;
+    }
+
+    @State(Scope.Thread)
+    public static class PredicateState {
+        @Param({"1000"})
+        public int predicateNum;
+
+        private ScalarOperator predicate;
+
+        // the rewriter changes the operator in place, so build a new predicate for every invocation
+        @Setup(Level.Invocation)
+        public void setup() {
+            List<ColumnRefOperator> columns = Lists.newArrayList();
+            for (int i = 0; i < 8; i++) {
+                columns.add(new ColumnRefOperator(i, Type.BIGINT, "c" + i, true));
+            }
+            List<ScalarOperator> disjuncts = Lists.newArrayList();
+            for (int i = 0; i < predicateNum; i++) {
+                ColumnRefOperator column = columns.get(i % columns.size());
+                ScalarOperator eq = new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.EQ,
+                        column, ConstantOperator.createBigint(i));
+                ScalarOperator range = new CompoundPredicateOperator(CompoundPredicateOperator.CompoundType.AND,
+                        new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.GE,
+                                columns.get((i + 1) % columns.size()), ConstantOperator.createBigint(i)),
+                        new BinaryPredicateOperator(BinaryPredicateOperator.BinaryType.LT,
+                                columns.get((i + 1) % columns.size()), ConstantOperator.createBigint(i + 100)));
+                ScalarOperator in = new InPredicateOperator(columns.get((i + 2) % columns.size()),
+                        ConstantOperator.createBigint(i), ConstantOperator.createBigint(i + 1),
+                        ConstantOperator.createBigint(i + 2));
+                disjuncts.add(new CompoundPredicateOperator(CompoundPredicateOperator.CompoundType.AND,
+                        eq, new CompoundPredicateOperator(CompoundPredicateOperator.CompoundType.AND, range, in)));
+            }
+            predicate = Utils.compoundOr(disjuncts);
+        }
+    }
+
+    @Benchmark
+    public ScalarOperator rewriteScalarOperator(PredicateState state) {
+        return new ScalarOperatorRewriter().rewrite(state.predicate, ScalarOperatorRewriter.DEFAULT_REWRITE_RULES);
+    }
+}
@@ -0,0 +1,159 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.sql.plan;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.catalog.Table;
+import com.starrocks.persist.OperationType;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.statistic.BasicStatsMeta;
+import com.starrocks.statistic.StatsConstants;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class PlanCacheTest extends PlanTestBase {
+    @Before
+    public void setUp() {
+        PlanCache.getInstance().invalidateAll();
+        connectContext.getSessionVariable().setEnablePlanCache(true);
+    }
+
+    @After
+    public void tearDown() {
+        connectContext.getSessionVariable().setEnablePlanCache(false);
+        PlanCache.getInstance().invalidateAll();
+    }
+
+    @Test
+    public void testCacheHit() throws Exception {
+        String sql = "select v1, sum(v2) from t0 where v3 = 1 group by v1";
+        String plan = getFragmentPlan(sql);
+        Assert.assertEquals(1, PlanCache.getInstance().size());
+
+        String cachedPlan = getFragmentPlan(sql);
+        Assert.assertEquals(plan, cachedPlan);
+        Assert.assertEquals(1, PlanCache.getInstance().size());
+
+        // the literals are parameterized, the generic plan is bound to the new value
+        cachedPlan = getFragmentPlan("select v1, sum(v2) from t0 where v3 = 2 group by v1");
+        Assert.assertEquals(1, PlanCache.getInstance().size());
+        assertContains(cachedPlan, "PREDICATES: 3: v3 = 2");
+        Assert.assertEquals(plan, cachedPlan.replace("3: v3 = 2", "3: v3 = 1"));
+
+        // different types have different plans
+        getFragmentPlan("select v1, sum(v2) from t0 where v3 = 1000 group by v1");
+        Assert.assertEquals(2, PlanCache.getInstance().size());
+    }
+
+    @Test
+    public void testEqualLiterals() throws Exception {
+        getFragmentPlan("select v1 from t0 where v2 = 1 and v3 = 1");
+        Assert.assertEquals(1, PlanCache.getInstance().size());
+        // the literals are equal in the first query, so they are different plans
+        String plan = getFragmentPlan("select v1 from t0 where v2 = 1 and v3 = 2");
+        Assert.assertEquals(2, PlanCache.getInstance().size());
+        assertContains(plan, "2: v2 = 1, 3: v3 = 2");
+    }
+
+    @Test
+    public void testConstantLiterals() throws Exception {
+        // the literal of group by is kept in the key, so is the equal literal of the select list
+        getFragmentPlan("select v1 + 1, count(*) from t0 group by v1 + 1");
+        String plan = getFragmentPlan("select v1 + 2, count(*) from t0 group by v1 + 2");
+        Assert.assertEquals(2, PlanCache.getInstance().size());
+        assertContains(plan, "1: v1 + 2");
+    }
+
+    @Test
+    public void testPrunedByParameters() throws Exception {
+        // v1 is the distribution column, the tablets are pruned by the value
+        String plan = getFragmentPlan("select v2 from t0 where v1 = 1");
+        // the generic key is marked and the plan is cached by the value
+        Assert.assertEquals(2, PlanCache.getInstance().size());
+        Assert.assertEquals(plan, getFragmentPlan("select v2 from t0 where v1 = 1"));
+        Assert.assertEquals(2, PlanCache.getInstance().size());
+
+        plan = getFragmentPlan("select v2 from t0 where v1 = 2");
+        Assert.assertEquals(3, PlanCache.getInstance().size());
+        assertContains(plan, "PREDICATES: 1: v1 = 2");
+    }
+
+    @Test
+    public void testNonCacheable() throws Exception {
+        getFragmentPlan("select v1 from t0 where v3 > unix_timestamp()");
+        getFragmentPlan("select now(), v1 from t0");
+        getFragmentPlan("select v1 from t0 where rand() > 0.5");
+        getFragmentPlan("select connection_id(), v1 from t0");
+        Assert.assertEquals(0, PlanCache.getInstance().size());
+
+        // a function which only looks like a non-deterministic one
+        getFragmentPlan("select v1 from t0 where v3 > unix_timestamp('2022-01-01 00:00:00')");
+        Assert.assertEquals(1, PlanCache.getInstance().size());
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        getFragmentPlan("select v1 from t0 where v2 = 1");
+        Assert.assertEquals(1, PlanCache.getInstance().size());
+
+        PlanCache.getInstance().onJournal(OperationType.OP_UPSERT_TRANSACTION_STATE, null);
+        PlanCache.getInstance().onJournal(OperationType.OP_CREATE_TABLE, null);
+        Assert.assertEquals(1, PlanCache.getInstance().size());
+
+        long version = PlanCache.getInstance().getCatalogVersion();
+        PlanCache.getInstance().onJournal(OperationType.OP_DROP_TABLE, null);
+        Assert.assertEquals(version + 1, PlanCache.getInstance().getCatalogVersion());
+        Assert.assertEquals(0, PlanCache.getInstance().size());
+    }
+
+    @Test
+    public void testInvalidateTable() throws Exception {
+        getFragmentPlan("select v1 from t0 where v2 = 1");
+        getFragmentPlan("select v4 from t1 where v5 = 1");
+        getFragmentPlan("select v1 from t0 join t1 on v1 = v4");
+        Assert.assertEquals(3, PlanCache.getInstance().size());
+
+        Table t0 = getTable("t0");
+        BasicStatsMeta statsMeta = new BasicStatsMeta(1, t0.getId(), Lists.newArrayList(),
+                StatsConstants.AnalyzeType.FULL, LocalDateTime.now(), Maps.newHashMap());
+        PlanCache.getInstance().onJournal(OperationType.OP_ADD_BASIC_STATS_META, statsMeta);
+        Assert.assertEquals(1, PlanCache.getInstance().size());
+    }
+
+    @Test
+    public void testStatisticsVersion() throws Exception {
+        String sql = "select v1 from t0 where v2 = 1";
+        getFragmentPlan(sql);
+        Assert.assertEquals(1, PlanCache.getInstance().size());
+
+        // the statistics meta is replayed without invalidating the plans, the plan of new statistics is cached
+        // by another key
+        Table t0 = getTable("t0");
+        Map<Long, BasicStatsMeta> basicStatsMetaMap = GlobalStateMgr.getCurrentAnalyzeMgr().getBasicStatsMetaMap();
+        try {
+            basicStatsMetaMap.put(t0.getId(), new BasicStatsMeta(1, t0.getId(), Lists.newArrayList("v3"),
+                    StatsConstants.AnalyzeType.FULL, LocalDateTime.of(2022, 1, 1, 0, 0, 0), Maps.newHashMap()));
+            getFragmentPlan(sql);
+            Assert.assertEquals(2, PlanCache.getInstance().size());
+
+            basicStatsMetaMap.put(t0.getId(), new BasicStatsMeta(1, t0.getId(), Lists.newArrayList("v3"),
+                    StatsConstants.AnalyzeType.FULL, LocalDateTime.of(2022, 1, 2, 0, 0, 0), Maps.newHashMap()));
+            getFragmentPlan(sql);
+            Assert.assertEquals(3, PlanCache.getInstance().size());
+
+            // the statistics of v1 and v2 are collected but unknown, they are not loaded yet
+            basicStatsMetaMap.put(t0.getId(), new BasicStatsMeta(1, t0.getId(), Lists.newArrayList(),
+                    StatsConstants.AnalyzeType.FULL, LocalDateTime.of(2022, 1, 3, 0, 0, 0), Maps.newHashMap()));
+            getFragmentPlan(sql);
+            Assert.assertEquals(3, PlanCache.getInstance().size());
+        } finally {
+            basicStatsMetaMap.remove(t0.getId());
+        }
+    }
+}
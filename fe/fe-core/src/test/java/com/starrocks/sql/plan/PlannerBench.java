@@ -0,0 +1,106 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.sql.plan;
+
+import com.starrocks.analysis.StatementBase;
+import com.starrocks.benchmark.BenchmarkRunner;
+import com.starrocks.sql.StatementPlanner;
+import com.starrocks.sql.analyzer.Analyzer;
+import com.starrocks.sql.ast.QueryRelation;
+import com.starrocks.sql.ast.QueryStatement;
+import com.starrocks.sql.optimizer.OptExpression;
+import com.starrocks.sql.optimizer.Optimizer;
+import com.starrocks.sql.optimizer.base.ColumnRefFactory;
+import com.starrocks.sql.optimizer.base.ColumnRefSet;
+import com.starrocks.sql.optimizer.base.PhysicalPropertySet;
+import com.starrocks.sql.optimizer.transformer.LogicalPlan;
+import com.starrocks.sql.optimizer.transformer.RelationTransformer;
+import com.starrocks.sql.parser.SqlParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark every stage of planning TPC-DS queries on the mocked cluster of TPCDSPlanTestBase.
+ * The stages are cumulative: parse, parse + analyze, parse + analyze + optimize, and the whole plan.
+ * buildFragment only measures PlanFragmentBuilder on an optimized plan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class PlannerBench extends TPCDSPlanTestBase {
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.run(PlannerBench.class.getSimpleName());
+    }
+
+    @Param({"Q1", "Q4", "Q14", "Q23", "Q47", "Q64", "Q72", "Q95"})
+    public String queryName;
+
+    private String sql;
+    private PlanCache.CachedPlan optimizedPlan;
+
+    @Setup
+    public void setup() throws Exception {
+        TPCDSPlanTestBase.beforeClass();
+        setTPCDSFactor(1);
+        connectContext.getSessionVariable().setEnablePlanCache(false);
+        sql = (String) TPCDSPlanTestBase.class.getField(queryName).get(null);
+        optimizedPlan = optimize(analyze());
+    }
+
+    @Benchmark
+    public StatementBase parse() {
+        return SqlParser.parse(sql, connectContext.getSessionVariable().getSqlMode()).get(0);
+    }
+
+    @Benchmark
+    public StatementBase analyze() {
+        connectContext.setThreadLocalInfo();
+        StatementBase stmt = parse();
+        Analyzer.analyze(stmt, connectContext);
+        return stmt;
+    }
+
+    @Benchmark
+    public PlanCache.CachedPlan optimize() {
+        return optimize(analyze());
+    }
+
+    @Benchmark
+    public ExecPlan buildFragment() {
+        connectContext.setThreadLocalInfo();
+        return optimizedPlan.buildExecPlan(connectContext, null);
+    }
+
+    @Benchmark
+    public ExecPlan plan() throws Exception {
+        connectContext.setThreadLocalInfo();
+        return new StatementPlanner().plan(parse(), connectContext);
+    }
+
+    private PlanCache.CachedPlan optimize(StatementBase stmt) {
+        QueryRelation query = ((QueryStatement) stmt).getQueryRelation();
+        ColumnRefFactory columnRefFactory = new ColumnRefFactory();
+        LogicalPlan logicalPlan =
+                new RelationTransformer(columnRefFactory, connectContext).transformWithSelectLimit(query);
+        OptExpression optimized = new Optimizer().optimize(connectContext, logicalPlan.getRoot(),
+                new PhysicalPropertySet(), new ColumnRefSet(logicalPlan.getOutputColumn()), columnRefFactory);
+        return new PlanCache.CachedPlan(optimized, logicalPlan.getOutputColumn(), columnRefFactory,
+                query.getColumnOutputNames());
+    }
+}
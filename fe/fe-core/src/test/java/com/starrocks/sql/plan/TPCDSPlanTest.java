@@ -3,15 +3,21 @@
 package com.starrocks.sql.plan;
 
 import com.starrocks.common.FeConstants;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.Map;
 
 public class TPCDSPlanTest extends TPCDSPlanTestBase {
+    private static final Logger LOG = LogManager.getLogger(TPCDSPlanTest.class);
+
     Map<String, Long> tpcdsStats = null;
 
     @BeforeClass
@@ -675,4 +681,37 @@ public class TPCDSPlanTest extends TPCDSPlanTestBase {
                 "  10:OlapScanNode\n" +
                 "     TABLE: customer_demographics");
     }
+
+    @Test
+    public void testParallelTaskScheduler() throws Exception {
+        long serialTime = 0;
+        long parallelTime = 0;
+        for (Field field : TPCDSPlanTestBase.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) || !field.getName().matches("Q\\d+")) {
+                continue;
+            }
+            String sql = (String) field.get(null);
+            try {
+                connectContext.getSessionVariable().setCboEnableParallelTaskScheduler(false);
+                long start = System.nanoTime();
+                String serialPlan = getFragmentPlan(sql);
+                serialTime += System.nanoTime() - start;
+
+                connectContext.getSessionVariable().setCboEnableParallelTaskScheduler(true);
+                start = System.nanoTime();
+                String parallelPlan = getFragmentPlan(sql);
+                parallelTime += System.nanoTime() - start;
+
+                // the column refs may be created in a different order when the groups are explored in parallel
+                Assert.assertEquals(field.getName(), normalizeColumnIds(serialPlan), normalizeColumnIds(parallelPlan));
+            } finally {
+                connectContext.getSessionVariable().setCboEnableParallelTaskScheduler(false);
+            }
+        }
+        LOG.info("TPC-DS planning time, serial: {} ms, parallel: {} ms", serialTime / 1000000, parallelTime / 1000000);
+    }
+
+    private static String normalizeColumnIds(String plan) {
+        return plan.replaceAll("\\b\\d+: ", "#: ").replaceAll("<slot \\d+>", "<slot #>");
+    }
 }
@@ -3,14 +3,22 @@ package com.starrocks.statistic;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.starrocks.analysis.LiteralExpr;
 import com.starrocks.catalog.Database;
 import com.starrocks.catalog.OlapTable;
+import com.starrocks.common.jmockit.Deencapsulation;
+import com.starrocks.qe.ConnectContext;
 import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.sql.optimizer.statistics.CachedStatisticStorageTest;
+import com.starrocks.sql.plan.ExecPlan;
 import com.starrocks.sql.plan.PlanTestBase;
+import com.starrocks.thrift.TExplainLevel;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 public class StatisticExecutorTest extends PlanTestBase {
     @Test
@@ -24,7 +32,66 @@ public class StatisticExecutorTest extends PlanTestBase {
                 LocalDateTime.of(2020, 1, 1, 1, 1, 1),
                 Maps.newHashMap()));
 
-        Assert.assertThrows(IllegalStateException.class,
-                () -> statisticExecutor.queryStatisticSync(db.getId(), olapTable.getId(), Lists.newArrayList("foo", "bar")));
+        // the dropped columns have no statistics
+        Assert.assertTrue(statisticExecutor.queryStatisticSync(db.getId(), olapTable.getId(),
+                Lists.newArrayList("foo", "bar")).isEmpty());
+    }
+
+    @Test
+    public void testBatchWithDroppedTable() throws Exception {
+        StatisticExecutor statisticExecutor = new StatisticExecutor();
+        Database db = GlobalStateMgr.getCurrentState().getDb(10002);
+        OlapTable olapTable = (OlapTable) db.getTable("t0");
+        long droppedTableId = 99999;
+        for (long tableId : Lists.newArrayList(olapTable.getId(), droppedTableId)) {
+            GlobalStateMgr.getCurrentAnalyzeMgr().addBasicStatsMeta(new BasicStatsMeta(10002, tableId, null,
+                    StatsConstants.AnalyzeType.FULL, LocalDateTime.of(2020, 1, 1, 1, 1, 1), Maps.newHashMap()));
+        }
+
+        // the missing table and columns are skipped instead of failing the whole batch
+        Map<Long, List<String>> tableColumnNames = Maps.newLinkedHashMap();
+        tableColumnNames.put(droppedTableId, Lists.newArrayList("v1"));
+        tableColumnNames.put(olapTable.getId(), Lists.newArrayList("foo"));
+        Assert.assertTrue(statisticExecutor.queryStatisticSync(tableColumnNames).isEmpty());
+    }
+
+    @Test
+    public void testReuseStatisticPlan() throws Exception {
+        if (GlobalStateMgr.getCurrentState().getDb(StatsConstants.STATISTICS_DB_NAME) == null) {
+            GlobalStateMgr.getCurrentState().getMetadata().createDb(StatsConstants.STATISTICS_DB_NAME);
+        }
+        starRocksAssert.useDatabase(StatsConstants.STATISTICS_DB_NAME)
+                .withTable(CachedStatisticStorageTest.DEFAULT_CREATE_TABLE_TEMPLATE)
+                .useDatabase("test");
+
+        Database db = GlobalStateMgr.getCurrentState().getDb("test");
+        long t0 = db.getTable("t0").getId();
+        long t1 = db.getTable("t1").getId();
+        Map<Long, List<String>> tableColumnNames = Maps.newLinkedHashMap();
+        tableColumnNames.put(t0, Lists.newArrayList("v1", "v2"));
+        List<LiteralExpr> parameters = Lists.newArrayList();
+        String sql = StatisticSQLBuilder.buildQuerySampleStatisticsSQL(tableColumnNames, parameters);
+
+        long planNum = StatisticExecutor.getStatisticPlanNum();
+        ConnectContext context = StatisticUtils.buildConnectContext();
+        ExecPlan execPlan = Deencapsulation.invoke(StatisticExecutor.class, "getStatisticExecPlan",
+                context, sql, parameters);
+        String plan = execPlan.getExplainString(TExplainLevel.NORMAL);
+        Assert.assertTrue(plan, plan.contains("'v2'"));
+        Assert.assertEquals(planNum + 1, StatisticExecutor.getStatisticPlanNum());
+
+        // the same number of columns of other tables is the same statement, the plan is reused with other values
+        tableColumnNames.clear();
+        tableColumnNames.put(t0, Lists.newArrayList("v3"));
+        tableColumnNames.put(t1, Lists.newArrayList("v4"));
+        parameters.clear();
+        Assert.assertEquals(sql, StatisticSQLBuilder.buildQuerySampleStatisticsSQL(tableColumnNames, parameters));
+
+        context = StatisticUtils.buildConnectContext();
+        execPlan = Deencapsulation.invoke(StatisticExecutor.class, "getStatisticExecPlan", context, sql, parameters);
+        plan = execPlan.getExplainString(TExplainLevel.NORMAL);
+        Assert.assertTrue(plan, plan.contains("'v3'") && plan.contains("'v4'") && plan.contains(String.valueOf(t1)));
+        Assert.assertFalse(plan, plan.contains("'v2'"));
+        Assert.assertEquals(planNum + 1, StatisticExecutor.getStatisticPlanNum());
     }
 }
@@ -23,6 +23,7 @@ package com.starrocks.transaction;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.starrocks.catalog.Database;
 import com.starrocks.catalog.FakeEditLog;
 import com.starrocks.catalog.FakeGlobalStateMgr;
 import com.starrocks.catalog.GlobalStateMgrTestUtil;
@@ -40,8 +41,10 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
@@ -281,4 +284,96 @@ public class DatabaseTransactionMgrTest {
         assertEquals(3, masterDbTransMgr.getTransactionNum());
         assertNull(masterDbTransMgr.unprotectedGetTxnIdsByLabel(GlobalStateMgrTestUtil.testTxnLable1));
     }
+
+    @Test
+    public void testConcurrentBeginAndCommit() throws Exception {
+        DatabaseTransactionMgr masterDbTransMgr = masterTransMgr.getDatabaseTransactionMgr(GlobalStateMgrTestUtil.testDbId1);
+        Database db = masterGlobalStateMgr.getDb(GlobalStateMgrTestUtil.testDbId1);
+        int threadNum = 8;
+        int txnNumPerThread = 50;
+        int oldMaxRunningTxnNum = Config.max_running_txn_num_per_db;
+        Config.max_running_txn_num_per_db = threadNum * txnNumPerThread + 10;
+        try {
+            AtomicBoolean finished = new AtomicBoolean(false);
+            List<Throwable> errors = Collections.synchronizedList(Lists.newArrayList());
+            List<Long> committedTxnIds = Collections.synchronizedList(Lists.newArrayList());
+            TransactionState.TxnCoordinator beTransactionSource =
+                    new TransactionState.TxnCoordinator(TransactionState.TxnSourceType.BE, "be1");
+            List<Thread> threads = Lists.newArrayList();
+            for (int t = 0; t < threadNum; t++) {
+                int threadId = t;
+                threads.add(new Thread(() -> {
+                    try {
+                        for (int i = 0; i < txnNumPerThread; i++) {
+                            String label = "stress_" + threadId + "_" + i;
+                            long txnId = masterTransMgr.beginTransaction(GlobalStateMgrTestUtil.testDbId1,
+                                    Lists.newArrayList(GlobalStateMgrTestUtil.testTableId1), label,
+                                    beTransactionSource, TransactionState.LoadJobSourceType.BACKEND_STREAMING,
+                                    Config.stream_load_default_timeout_second);
+                            assertEquals(TransactionStatus.PREPARE, masterDbTransMgr.getLabelState(label));
+                            if (i % 2 == 0) {
+                                List<TabletCommitInfo> transTablets = Lists.newArrayList(
+                                        new TabletCommitInfo(GlobalStateMgrTestUtil.testTabletId1,
+                                                GlobalStateMgrTestUtil.testBackendId1),
+                                        new TabletCommitInfo(GlobalStateMgrTestUtil.testTabletId1,
+                                                GlobalStateMgrTestUtil.testBackendId2),
+                                        new TabletCommitInfo(GlobalStateMgrTestUtil.testTabletId1,
+                                                GlobalStateMgrTestUtil.testBackendId3));
+                                // the callers of commit hold the lock of db
+                                db.writeLock();
+                                try {
+                                    masterTransMgr.commitTransaction(GlobalStateMgrTestUtil.testDbId1, txnId,
+                                            transTablets);
+                                } finally {
+                                    db.writeUnlock();
+                                }
+                                committedTxnIds.add(txnId);
+                            } else {
+                                masterDbTransMgr.abortTransaction(txnId, "test abort transaction", null);
+                            }
+                        }
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                }));
+            }
+            // the lookups and scans run with the writers
+            Thread reader = new Thread(() -> {
+                try {
+                    while (!finished.get()) {
+                        masterDbTransMgr.getLabelState("stress_0_0");
+                        masterDbTransMgr.getTxnStateInfoList(true, 100);
+                        masterDbTransMgr.getTxnStateInfoList(false, 100);
+                        masterDbTransMgr.getTimeoutTxns(System.currentTimeMillis());
+                        masterDbTransMgr.getCommittedTxnList();
+                        masterDbTransMgr.removeExpiredTxns(System.currentTimeMillis());
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+            reader.start();
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            finished.set(true);
+            reader.join();
+
+            assertTrue(errors.toString(), errors.isEmpty());
+            assertEquals(threadNum * txnNumPerThread / 2, committedTxnIds.size());
+            for (long txnId : committedTxnIds) {
+                assertEquals(TransactionStatus.COMMITTED,
+                        masterDbTransMgr.getTransactionState(txnId).getTransactionStatus());
+            }
+            // 2 running transactions are added in setUp
+            assertEquals(2 + committedTxnIds.size(), masterDbTransMgr.getRunningTxnNums());
+            assertEquals(TransactionStatus.ABORTED, masterDbTransMgr.getLabelState("stress_0_1"));
+            assertEquals(TransactionStatus.COMMITTED, masterDbTransMgr.getLabelState("stress_0_0"));
+        } finally {
+            Config.max_running_txn_num_per_db = oldMaxRunningTxnNum;
+        }
+    }
 }
@@ -30,6 +30,30 @@ public class BrokerConfig extends ConfigBase {
     
     @ConfField
     public static int client_expire_seconds = 300;
+
+    // read the next chunks of a file ahead asynchronously when the file is read sequentially
+    @ConfField
+    public static boolean enable_read_ahead = true;
+
+    // start to read ahead after this number of consecutive sequential reads of a file
+    @ConfField
+    public static int read_ahead_sequential_threshold = 2;
+
+    // the max number of chunks being read ahead for each opened file
+    @ConfField
+    public static int read_ahead_max_chunks_per_file = 2;
+
+    // the number of threads reading ahead for all opened files
+    @ConfField
+    public static int read_ahead_thread_num = 32;
+
+    // the max bytes of the idle read buffers kept for reuse
+    @ConfField
+    public static int read_buffer_pool_capacity_mb = 512;
+
+    // the interval to log the read throughput, the read ahead hit rate and the read buffer pool stats
+    @ConfField
+    public static int read_stats_log_interval_seconds = 60;
     
     @ConfField
     public static int broker_ipc_port = 8000;
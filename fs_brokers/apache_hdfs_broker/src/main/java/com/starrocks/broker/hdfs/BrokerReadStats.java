@@ -0,0 +1,60 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.broker.hdfs;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The stats of the reads of all opened files, logged periodically by {@link FileSystemManager}.
+ */
+public class BrokerReadStats {
+    private final LongAdder readCount = new LongAdder();
+    private final LongAdder readBytes = new LongAdder();
+    private final LongAdder readTimeNs = new LongAdder();
+    // the chunks read ahead, the ones returned to client and the ones discarded
+    private final LongAdder prefetchCount = new LongAdder();
+    private final LongAdder prefetchHitCount = new LongAdder();
+    private final LongAdder prefetchWastedCount = new LongAdder();
+
+    public void updateRead(long bytes, long timeNs) {
+        readCount.increment();
+        readBytes.add(bytes);
+        readTimeNs.add(timeNs);
+    }
+
+    public void increasePrefetch() {
+        prefetchCount.increment();
+    }
+
+    public void increasePrefetchHit() {
+        prefetchHitCount.increment();
+    }
+
+    public void increasePrefetchWasted() {
+        prefetchWastedCount.increment();
+    }
+
+    public long getReadCount() {
+        return readCount.sum();
+    }
+
+    public long getReadBytes() {
+        return readBytes.sum();
+    }
+
+    public long getReadTimeNs() {
+        return readTimeNs.sum();
+    }
+
+    public long getPrefetchCount() {
+        return prefetchCount.sum();
+    }
+
+    public long getPrefetchHitCount() {
+        return prefetchHitCount.sum();
+    }
+
+    public long getPrefetchWastedCount() {
+        return prefetchWastedCount.sum();
+    }
+}
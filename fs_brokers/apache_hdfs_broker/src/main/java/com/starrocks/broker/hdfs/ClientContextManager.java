@@ -63,14 +63,14 @@ public class ClientContextManager {
         fdToClientMap.putIfAbsent(fd, clientId);
     }
     
-    public synchronized void putNewInputStream(String clientId, TBrokerFD fd, FSDataInputStream fsDataInputStream, 
+    public synchronized void putNewInputStream(String clientId, TBrokerFD fd, ReadAheadReader readAheadReader, 
             BrokerFileSystem brokerFileSystem) {
         if (!clientContexts.containsKey(clientId)) {
             clientContexts.putIfAbsent(clientId, new ClientResourceContext(clientId));
         }
         ClientResourceContext clientContext = clientContexts.get(clientId);
         clientContext.updateClientLastPingTime();
-        clientContext.putInputStream(fd, fsDataInputStream, brokerFileSystem);
+        clientContext.putInputStream(fd, readAheadReader, brokerFileSystem);
         fdToClientMap.putIfAbsent(fd, clientId);
     }
     
@@ -86,6 +86,17 @@ public class ClientContextManager {
         return fsDataInputStream;
     }
     
+    public synchronized ReadAheadReader getReadAheadReader(TBrokerFD fd) {
+        String clientId = fdToClientMap.get(fd);
+        if (clientId == null) {
+            throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR, 
+                    "the fd is not owned by client {}", clientId);
+        }
+        ClientResourceContext clientContext = clientContexts.get(clientId);
+        clientContext.updateClientLastPingTime();
+        return clientContext.getReadAheadReader(fd);
+    }
+    
     public synchronized FSDataOutputStream getFsDataOutputStream(TBrokerFD fd) {
         String clientId = fdToClientMap.get(fd);
         if (clientId == null) {
@@ -107,6 +118,7 @@ public class ClientContextManager {
         BrokerInputStream brokerInputStream = clientContext.inputStreams.remove(fd);
         try {
             if (brokerInputStream != null) {
+                brokerInputStream.readAheadReader.close();
                 brokerInputStream.inputStream.close();
             }
         } catch (Exception e) {
@@ -178,10 +190,12 @@ public class ClientContextManager {
     private static class BrokerInputStream {
         
         private final FSDataInputStream inputStream;
+        private final ReadAheadReader readAheadReader;
         private final BrokerFileSystem brokerFileSystem;
         
-        public BrokerInputStream(FSDataInputStream inputStream, BrokerFileSystem brokerFileSystem) {
-            this.inputStream = inputStream;
+        public BrokerInputStream(ReadAheadReader readAheadReader, BrokerFileSystem brokerFileSystem) {
+            this.inputStream = readAheadReader.getInputStream();
+            this.readAheadReader = readAheadReader;
             this.brokerFileSystem = brokerFileSystem;
             this.brokerFileSystem.updateLastUpdateAccessTime();
         }
@@ -191,6 +205,11 @@ public class ClientContextManager {
             return inputStream;
         }
         
+        public ReadAheadReader getReadAheadReader() {
+            this.brokerFileSystem.updateLastUpdateAccessTime();
+            return readAheadReader;
+        }
+        
         public void updateLastUpdateAccessTime() {
             this.brokerFileSystem.updateLastUpdateAccessTime();
         }
@@ -210,8 +229,8 @@ public class ClientContextManager {
             this.lastPingTimestamp = System.currentTimeMillis();
         }
         
-        public void putInputStream(TBrokerFD fd, FSDataInputStream inputStream, BrokerFileSystem fileSystem) {
-            inputStreams.putIfAbsent(fd, new BrokerInputStream(inputStream, fileSystem));
+        public void putInputStream(TBrokerFD fd, ReadAheadReader readAheadReader, BrokerFileSystem fileSystem) {
+            inputStreams.putIfAbsent(fd, new BrokerInputStream(readAheadReader, fileSystem));
         }
         
         public void putOutputStream(TBrokerFD fd, FSDataOutputStream outputStream, BrokerFileSystem fileSystem) {
@@ -226,6 +245,14 @@ public class ClientContextManager {
             return null;
         }
         
+        public ReadAheadReader getReadAheadReader(TBrokerFD fd) {
+            BrokerInputStream brokerInputStream = inputStreams.get(fd);
+            if (brokerInputStream != null) {
+                return brokerInputStream.getReadAheadReader();
+            }
+            return null;
+        }
+        
         public FSDataOutputStream getOutputStream(TBrokerFD fd) {
             BrokerOutputStream brokerOutputStream = outputStreams.get(fd);
             if (brokerOutputStream != null) {
@@ -29,6 +29,7 @@ import com.starrocks.thrift.TBrokerFileStatus;
 import com.starrocks.thrift.TBrokerOperationStatusCode;
 
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.CommonConfigurationKeysPublic;
@@ -60,6 +61,7 @@ import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -146,12 +148,28 @@ public class FileSystemManager {
     private ConcurrentHashMap<FileSystemIdentity, BrokerFileSystem> cachedFileSystem;
     private ClientContextManager clientContextManager;
 
+    private ReadBufferPool readBufferPool;
+    private BrokerReadStats readStats;
+    // null if read ahead is disabled
+    private ExecutorService readAheadPool;
+    // The buffers returned by the pread requests being processed by this thread. They are released by
+    // ReleaseBufferProcessor after the response is serialized, whatever the type of thrift server is.
+    private final ThreadLocal<List<byte[]>> responseBuffers = ThreadLocal.withInitial(ArrayList::new);
+
     public FileSystemManager() {
         cachedFileSystem = new ConcurrentHashMap<>();
         clientContextManager = new ClientContextManager(handleManagementPool);
         readBufferSize = BrokerConfig.hdfs_read_buffer_size_kb << 10;
         writeBufferSize = BrokerConfig.hdfs_write_buffer_size_kb << 10;
+        readBufferPool = new ReadBufferPool((long) BrokerConfig.read_buffer_pool_capacity_mb << 20);
+        readStats = new BrokerReadStats();
+        if (BrokerConfig.enable_read_ahead) {
+            readAheadPool = Executors.newFixedThreadPool(BrokerConfig.read_ahead_thread_num,
+                    new ThreadFactoryBuilder().setNameFormat("read-ahead-%d").setDaemon(true).build());
+        }
         handleManagementPool.schedule(new FileSystemExpirationChecker(), 0, TimeUnit.SECONDS);
+        handleManagementPool.schedule(new ReadStatsLogger(), BrokerConfig.read_stats_log_interval_seconds,
+                TimeUnit.SECONDS);
     }
 
     private static String preparePrincipal(String originalPrincipal) throws UnknownHostException {
@@ -800,7 +818,9 @@ public class FileSystemManager {
             fsDataInputStream.seek(startOffset);
             UUID uuid = UUID.randomUUID();
             TBrokerFD fd = parseUUIDToFD(uuid);
-            clientContextManager.putNewInputStream(clientId, fd, fsDataInputStream, fileSystem);
+            ReadAheadReader readAheadReader = new ReadAheadReader(fsDataInputStream, readBufferSize,
+                    readBufferPool, readStats, readAheadPool);
+            clientContextManager.putNewInputStream(clientId, fd, readAheadReader, fileSystem);
             return fd;
         } catch (IOException e) {
             logger.error("errors while open path", e);
@@ -809,52 +829,28 @@ public class FileSystemManager {
         }
     }
 
+    /**
+     * The returned buffer is held by the current thread until {@link #releaseResponseBuffers()} is called,
+     * the caller must not use it after that.
+     */
     public ByteBuffer pread(TBrokerFD fd, long offset, long length) {
-        FSDataInputStream fsDataInputStream = clientContextManager.getFsDataInputStream(fd);
-        synchronized (fsDataInputStream) {
-            long currentStreamOffset;
-            try {
-                currentStreamOffset = fsDataInputStream.getPos();
-            } catch (IOException e) {
-                logger.error("errors while get file pos from output stream", e);
-                throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
-                        "errors while get file pos from output stream");
-            }
-            if (currentStreamOffset != offset) {
-                // it's ok, when reading some format like parquet, it is not a sequential read
-                logger.debug("invalid offset, current read offset is "
-                        + currentStreamOffset + " is not equal to request offset "
-                        + offset + " seek to it");
-                try {
-                    fsDataInputStream.seek(offset);
-                } catch (IOException e) {
-                    throw new BrokerException(TBrokerOperationStatusCode.INVALID_INPUT_OFFSET,
-                            e, "current read offset {} is not equal to {}, and could not seek to it",
-                            currentStreamOffset, offset);
-                }
-            }
-            byte[] buf;
-            if (length > readBufferSize) {
-                buf = new byte[readBufferSize];
-            } else {
-                buf = new byte[(int) length];
-            }
-            try {
-                int readLength = readByteArrayFully(fsDataInputStream, buf);
-                if (readLength < 0) {
-                    throw new BrokerException(TBrokerOperationStatusCode.END_OF_FILE,
-                            "end of file reached");
-                }
-                if (logger.isDebugEnabled()) {
-                    logger.debug("read buffer from input stream, buffer size:" + buf.length + ", read length:" + readLength);
-                }
-                return ByteBuffer.wrap(buf, 0, readLength);
-            } catch (IOException e) {
-                logger.error("errors while read data from stream", e);
-                throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
-                        e, "errors while read data from stream");
-            }
+        ReadAheadReader readAheadReader = clientContextManager.getReadAheadReader(fd);
+        if (readAheadReader == null) {
+            throw new BrokerException(TBrokerOperationStatusCode.INVALID_ARGUMENT,
+                    "the fd is not opened for read");
+        }
+        ByteBuffer buffer = readAheadReader.read(offset, length);
+        responseBuffers.get().add(buffer.array());
+        return buffer;
+    }
+
+    // Release the buffers returned by the pread requests of the current thread to the pool
+    public void releaseResponseBuffers() {
+        List<byte[]> buffers = responseBuffers.get();
+        for (byte[] buffer : buffers) {
+            readBufferPool.release(buffer);
         }
+        buffers.clear();
     }
 
     public void seek(TBrokerFD fd, long offset) {
@@ -863,7 +859,9 @@ public class FileSystemManager {
     }
 
     public void closeReader(TBrokerFD fd) {
-        FSDataInputStream fsDataInputStream = clientContextManager.getFsDataInputStream(fd);
+        ReadAheadReader readAheadReader = clientContextManager.getReadAheadReader(fd);
+        FSDataInputStream fsDataInputStream = readAheadReader.getInputStream();
+        readAheadReader.close();
         synchronized (fsDataInputStream) {
             try {
                 fsDataInputStream.close();
@@ -938,18 +936,6 @@ public class FileSystemManager {
         return new TBrokerFD(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
     }
 
-    private int readByteArrayFully(FSDataInputStream is, byte[] dest) throws IOException {
-        int readLength = 0;
-        while (readLength < dest.length) {
-            int n = is.read(dest, readLength, dest.length - readLength);
-            if (n <= 0) {
-                break;
-            }
-            readLength += n;
-        }
-        return readLength;
-    }
-
     class FileSystemExpirationChecker implements Runnable {
         @Override
         public void run() {
@@ -974,4 +960,43 @@ public class FileSystemManager {
         }
 
     }
+
+    class ReadStatsLogger implements Runnable {
+        private long lastReadCount = 0;
+        private long lastReadBytes = 0;
+        private long lastReadTimeNs = 0;
+        private long lastLogTime = System.currentTimeMillis();
+
+        @Override
+        public void run() {
+            try {
+                long now = System.currentTimeMillis();
+                long readCount = readStats.getReadCount();
+                long readBytes = readStats.getReadBytes();
+                long readTimeNs = readStats.getReadTimeNs();
+                long intervalMs = Math.max(now - lastLogTime, 1);
+                long intervalReadCount = readCount - lastReadCount;
+                long prefetchCount = readStats.getPrefetchCount();
+                logger.info("read stats: read count: " + intervalReadCount
+                        + ", read throughput: " + (readBytes - lastReadBytes) * 1000 / intervalMs + " bytes/s"
+                        + ", avg read time: "
+                        + (intervalReadCount == 0 ? 0 : (readTimeNs - lastReadTimeNs) / intervalReadCount / 1000)
+                        + " us, read ahead chunks: " + prefetchCount
+                        + ", read ahead hit rate: "
+                        + (prefetchCount == 0 ? 0 : readStats.getPrefetchHitCount() * 100 / prefetchCount) + "%"
+                        + ", read ahead wasted chunks: " + readStats.getPrefetchWastedCount()
+                        + ", buffer pool acquired: " + readBufferPool.getAcquiredCount()
+                        + ", reused: " + readBufferPool.getReusedCount()
+                        + ", dropped: " + readBufferPool.getDroppedCount()
+                        + ", pooled bytes: " + readBufferPool.getPooledBytes());
+                lastReadCount = readCount;
+                lastReadBytes = readBytes;
+                lastReadTimeNs = readTimeNs;
+                lastLogTime = now;
+            } finally {
+                FileSystemManager.this.handleManagementPool.schedule(this,
+                        BrokerConfig.read_stats_log_interval_seconds, TimeUnit.SECONDS);
+            }
+        }
+    }
 }
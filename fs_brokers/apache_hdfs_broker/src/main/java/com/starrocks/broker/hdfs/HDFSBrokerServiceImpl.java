@@ -57,6 +57,11 @@ public class HDFSBrokerServiceImpl implements TFileBrokerService.Iface {
         fileSystemManager = new FileSystemManager();
     }
     
+    // Called after the response of a request is serialized, see ReleaseBufferProcessor
+    public void releaseResponseBuffers() {
+        fileSystemManager.releaseResponseBuffers();
+    }
+
     private TBrokerOperationStatus generateOKStatus() {
         return new TBrokerOperationStatus(TBrokerOperationStatusCode.OK);
     }
@@ -0,0 +1,269 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.broker.hdfs;
+
+import com.starrocks.thrift.TBrokerOperationStatusCode;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * ReadAheadReader reads an opened file for the pread requests of its fd.
+ * <p>
+ * When the file is read sequentially, e.g. the client reads a csv file chunk by chunk, the next chunks are read
+ * ahead by the prefetch threads, so the client doesn't wait for the storage once the data has been prefetched.
+ * The number of chunks being read ahead is bounded for every file. A read not at the offset of the first
+ * prefetched chunk discards all the prefetched chunks and reads from the stream directly.
+ * <p>
+ * The returned buffers are acquired from the {@link ReadBufferPool}, and should be released to it by the caller
+ * once they are sent.
+ */
+public class ReadAheadReader {
+    private static final Logger logger = Logger.getLogger(ReadAheadReader.class.getName());
+
+    private final FSDataInputStream inputStream;
+    private final int maxReadLength;
+    private final ReadBufferPool bufferPool;
+    private final BrokerReadStats stats;
+    // null if read ahead is disabled
+    private final ExecutorService prefetchExecutor;
+    private final int sequentialThreshold;
+    private final int maxPrefetchChunks;
+
+    // the end offset of the last read
+    private long lastReadEnd = -1;
+    // the number of consecutive reads starting at the end offset of their previous reads
+    private int sequentialReads = 0;
+    // ordered by offset, every chunk starts at the end of its previous one
+    private final ArrayDeque<PrefetchTask> prefetchTasks = new ArrayDeque<>();
+    private boolean closed = false;
+
+    public ReadAheadReader(FSDataInputStream inputStream, int maxReadLength, ReadBufferPool bufferPool,
+                           BrokerReadStats stats, ExecutorService prefetchExecutor) {
+        this.inputStream = inputStream;
+        this.maxReadLength = maxReadLength;
+        this.bufferPool = bufferPool;
+        this.stats = stats;
+        this.prefetchExecutor = prefetchExecutor;
+        this.sequentialThreshold = BrokerConfig.read_ahead_sequential_threshold;
+        this.maxPrefetchChunks = BrokerConfig.read_ahead_max_chunks_per_file;
+    }
+
+    public FSDataInputStream getInputStream() {
+        return inputStream;
+    }
+
+    /**
+     * Read at most {@code length} bytes at {@code offset}, the returned buffer is empty if the end of file is reached.
+     */
+    public synchronized ByteBuffer read(long offset, long length) {
+        long startTime = System.nanoTime();
+        int readLength = (int) Math.min(Math.max(length, 0), maxReadLength);
+        if (offset == lastReadEnd) {
+            sequentialReads++;
+        } else {
+            sequentialReads = 0;
+        }
+
+        ByteBuffer buffer = takePrefetched(offset, readLength);
+        if (buffer == null) {
+            buffer = readFromStream(offset, readLength);
+        }
+        lastReadEnd = offset + buffer.remaining();
+        if (buffer.remaining() < readLength) {
+            // end of file reached, the following chunks are empty
+            discardPrefetchTasks();
+        } else if (prefetchExecutor != null && readLength > 0 && sequentialReads >= sequentialThreshold) {
+            schedulePrefetch(readLength);
+        }
+        stats.updateRead(buffer.remaining(), System.nanoTime() - startTime);
+        return buffer;
+    }
+
+    /**
+     * Discard the prefetched chunks, must be called before the stream is closed.
+     */
+    public synchronized void close() {
+        closed = true;
+        discardPrefetchTasks();
+    }
+
+    private ByteBuffer takePrefetched(long offset, int readLength) {
+        PrefetchTask task = prefetchTasks.peekFirst();
+        if (task == null) {
+            return null;
+        }
+        if (task.offset != offset || task.length != readLength) {
+            discardPrefetchTasks();
+            return null;
+        }
+        prefetchTasks.pollFirst();
+        try {
+            ByteBuffer buffer = task.get();
+            stats.increasePrefetchHit();
+            return buffer;
+        } catch (IOException e) {
+            logger.warn("errors while read ahead, offset: " + offset + ", read from stream again", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.discard();
+        }
+        stats.increasePrefetchWasted();
+        discardPrefetchTasks();
+        return null;
+    }
+
+    private ByteBuffer readFromStream(long offset, int readLength) {
+        synchronized (inputStream) {
+            long currentStreamOffset;
+            try {
+                currentStreamOffset = inputStream.getPos();
+            } catch (IOException e) {
+                logger.error("errors while get file pos from output stream", e);
+                throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
+                        "errors while get file pos from output stream");
+            }
+            if (currentStreamOffset != offset) {
+                // it's ok, when reading some format like parquet, it is not a sequential read
+                logger.debug("invalid offset, current read offset is "
+                        + currentStreamOffset + " is not equal to request offset "
+                        + offset + " seek to it");
+                try {
+                    inputStream.seek(offset);
+                } catch (IOException e) {
+                    throw new BrokerException(TBrokerOperationStatusCode.INVALID_INPUT_OFFSET,
+                            e, "current read offset {} is not equal to {}, and could not seek to it",
+                            currentStreamOffset, offset);
+                }
+            }
+            byte[] buf = bufferPool.acquire(readLength);
+            try {
+                int n = readFully(inputStream, buf, readLength);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("read buffer from input stream, buffer size:" + readLength + ", read length:" + n);
+                }
+                return ByteBuffer.wrap(buf, 0, n);
+            } catch (IOException e) {
+                bufferPool.release(buf);
+                logger.error("errors while read data from stream", e);
+                throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
+                        e, "errors while read data from stream");
+            }
+        }
+    }
+
+    private void schedulePrefetch(int chunkLength) {
+        if (closed) {
+            return;
+        }
+        PrefetchTask last = prefetchTasks.peekLast();
+        long nextOffset = last == null ? lastReadEnd : last.offset + last.length;
+        while (prefetchTasks.size() < maxPrefetchChunks) {
+            PrefetchTask task = new PrefetchTask(nextOffset, chunkLength);
+            try {
+                prefetchExecutor.execute(task);
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+            prefetchTasks.addLast(task);
+            stats.increasePrefetch();
+            nextOffset += chunkLength;
+        }
+    }
+
+    private void discardPrefetchTasks() {
+        PrefetchTask task;
+        while ((task = prefetchTasks.pollFirst()) != null) {
+            task.discard();
+            stats.increasePrefetchWasted();
+        }
+    }
+
+    static int readFully(FSDataInputStream is, byte[] dest, int length) throws IOException {
+        int readLength = 0;
+        while (readLength < length) {
+            int n = is.read(dest, readLength, length - readLength);
+            if (n <= 0) {
+                break;
+            }
+            readLength += n;
+        }
+        return readLength;
+    }
+
+    private class PrefetchTask implements Runnable {
+        private final long offset;
+        private final int length;
+
+        private byte[] buffer;
+        private int readLength;
+        private IOException error;
+        private boolean done = false;
+        private boolean discarded = false;
+
+        PrefetchTask(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (discarded) {
+                    done = true;
+                    return;
+                }
+            }
+            byte[] buf = bufferPool.acquire(length);
+            int n = 0;
+            IOException ex = null;
+            try {
+                synchronized (inputStream) {
+                    if (inputStream.getPos() != offset) {
+                        inputStream.seek(offset);
+                    }
+                    n = readFully(inputStream, buf, length);
+                }
+            } catch (IOException e) {
+                ex = e;
+            } catch (RuntimeException e) {
+                // e.g. the stream is closed
+                ex = new IOException(e);
+            }
+            synchronized (this) {
+                done = true;
+                if (discarded || ex != null) {
+                    bufferPool.release(buf);
+                    error = ex;
+                } else {
+                    buffer = buf;
+                    readLength = n;
+                }
+                notifyAll();
+            }
+        }
+
+        synchronized ByteBuffer get() throws IOException, InterruptedException {
+            while (!done) {
+                wait();
+            }
+            if (error != null) {
+                throw error;
+            }
+            return ByteBuffer.wrap(buffer, 0, readLength);
+        }
+
+        synchronized void discard() {
+            discarded = true;
+            if (buffer != null) {
+                bufferPool.release(buffer);
+                buffer = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.broker.hdfs;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ReadBufferPool keeps the idle read buffers for reuse, so reading a file doesn't allocate a new buffer of
+ * the chunk size for every request.
+ * <p>
+ * The size of a buffer is rounded up to the power of two, and the buffers of the same size are kept in the same
+ * free list. The buffers released when the pool is full are dropped and left to GC.
+ */
+public class ReadBufferPool {
+    private static final int MIN_BUFFER_SIZE_SHIFT = 12;
+    private static final int MAX_BUFFER_SIZE_SHIFT = 30;
+
+    private final long capacityBytes;
+    private final ConcurrentLinkedDeque<byte[]>[] freeLists;
+    private final AtomicLong pooledBytes = new AtomicLong();
+
+    private final LongAdder acquiredCount = new LongAdder();
+    private final LongAdder reusedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public ReadBufferPool(long capacityBytes) {
+        this.capacityBytes = capacityBytes;
+        this.freeLists = new ConcurrentLinkedDeque[MAX_BUFFER_SIZE_SHIFT + 1];
+        for (int i = MIN_BUFFER_SIZE_SHIFT; i <= MAX_BUFFER_SIZE_SHIFT; i++) {
+            freeLists[i] = new ConcurrentLinkedDeque<>();
+        }
+    }
+
+    /**
+     * Get a buffer of at least {@code length} bytes.
+     */
+    public byte[] acquire(int length) {
+        acquiredCount.increment();
+        int shift = sizeShift(length);
+        byte[] buffer = freeLists[shift].pollFirst();
+        if (buffer != null) {
+            pooledBytes.addAndGet(-buffer.length);
+            reusedCount.increment();
+            return buffer;
+        }
+        return new byte[1 << shift];
+    }
+
+    /**
+     * Return the buffer got by {@link #acquire}, the caller must not use it any more.
+     */
+    public void release(byte[] buffer) {
+        if (buffer == null) {
+            return;
+        }
+        int shift = Integer.numberOfTrailingZeros(buffer.length);
+        if (buffer.length != 1 << shift || shift < MIN_BUFFER_SIZE_SHIFT || shift > MAX_BUFFER_SIZE_SHIFT) {
+            // not allocated by this pool
+            return;
+        }
+        if (pooledBytes.addAndGet(buffer.length) > capacityBytes) {
+            pooledBytes.addAndGet(-buffer.length);
+            droppedCount.increment();
+            return;
+        }
+        freeLists[shift].offerFirst(buffer);
+    }
+
+    private static int sizeShift(int length) {
+        if (length <= 1 << MIN_BUFFER_SIZE_SHIFT) {
+            return MIN_BUFFER_SIZE_SHIFT;
+        }
+        return Math.min(32 - Integer.numberOfLeadingZeros(length - 1), MAX_BUFFER_SIZE_SHIFT);
+    }
+
+    public long getPooledBytes() {
+        return pooledBytes.get();
+    }
+
+    public long getAcquiredCount() {
+        return acquiredCount.sum();
+    }
+
+    public long getReusedCount() {
+        return reusedCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+}
@@ -0,0 +1,34 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.broker.hdfs;
+
+import org.apache.thrift.TException;
+import org.apache.thrift.TProcessor;
+import org.apache.thrift.protocol.TProtocol;
+
+/**
+ * ReleaseBufferProcessor releases the buffers of a response after the request is processed.
+ * <p>
+ * The response is serialized to the output protocol before {@link TProcessor#process} returns, for the
+ * thread pool server it's flushed to the socket, and for the threaded selector server it's copied to the frame
+ * buffer which is written by the selector thread later. So the buffers referenced by the response are not used
+ * any more, and they can be reused by the following requests of any thread.
+ */
+public class ReleaseBufferProcessor implements TProcessor {
+    private final TProcessor processor;
+    private final Runnable releaser;
+
+    public ReleaseBufferProcessor(TProcessor processor, Runnable releaser) {
+        this.processor = processor;
+        this.releaser = releaser;
+    }
+
+    @Override
+    public void process(TProtocol in, TProtocol out) throws TException {
+        try {
+            processor.process(in, out);
+        } finally {
+            releaser.run();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.broker.hdfs;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compare the time of reading a local file chunk by chunk like the pread requests of broker load:
+ * allocating a new buffer for every chunk as before, reusing the pooled buffers, and reading ahead
+ * with the pooled buffers.
+ * <p>
+ * The client waits {@code clientTimeUs} for every chunk, which stands for sending the response over the network
+ * and the time between two requests, so the read ahead can overlap the reads with it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ReadAheadReaderBench {
+    private static final int FILE_SIZE = 256 << 20;
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    @Param({"0", "500"})
+    private long clientTimeUs;
+
+    private File file;
+    private FileSystem fs;
+    private ExecutorService executor;
+    private ReadBufferPool pool;
+    private BrokerReadStats stats;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = File.createTempFile("read_ahead_bench", ".dat");
+        byte[] block = new byte[CHUNK_SIZE];
+        new Random(0).nextBytes(block);
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            for (int i = 0; i < FILE_SIZE / CHUNK_SIZE; i++) {
+                out.write(block);
+            }
+        }
+        fs = FileSystem.getLocal(new Configuration());
+        executor = Executors.newFixedThreadPool(4);
+        pool = new ReadBufferPool(64 << 20);
+        stats = new BrokerReadStats();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        fs.close();
+        file.delete();
+    }
+
+    @Benchmark
+    public void newBuffer(Blackhole blackhole) throws IOException {
+        try (FSDataInputStream in = fs.open(new Path(file.getPath()))) {
+            long offset = 0;
+            while (true) {
+                if (in.getPos() != offset) {
+                    in.seek(offset);
+                }
+                byte[] buf = new byte[CHUNK_SIZE];
+                int n = ReadAheadReader.readFully(in, buf, CHUNK_SIZE);
+                if (n == 0) {
+                    break;
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(buf, 0, n);
+                blackhole.consume(buffer);
+                waitClient();
+                offset += n;
+            }
+        }
+    }
+
+    @Benchmark
+    public void pooledBuffer(Blackhole blackhole) throws IOException {
+        read(blackhole, null);
+    }
+
+    @Benchmark
+    public void readAhead(Blackhole blackhole) throws IOException {
+        read(blackhole, executor);
+    }
+
+    private void read(Blackhole blackhole, ExecutorService prefetchExecutor) throws IOException {
+        try (FSDataInputStream in = fs.open(new Path(file.getPath()))) {
+            ReadAheadReader reader = new ReadAheadReader(in, CHUNK_SIZE, pool, stats, prefetchExecutor);
+            long offset = 0;
+            while (true) {
+                ByteBuffer buffer = reader.read(offset, CHUNK_SIZE);
+                if (buffer.remaining() == 0) {
+                    pool.release(buffer.array());
+                    break;
+                }
+                blackhole.consume(buffer);
+                waitClient();
+                offset += buffer.remaining();
+                pool.release(buffer.array());
+            }
+            reader.close();
+        }
+    }
+
+    private void waitClient() {
+        if (clientTimeUs > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(clientTimeUs));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ReadAheadReaderBench.class.getSimpleName()).build()).run();
+    }
+}
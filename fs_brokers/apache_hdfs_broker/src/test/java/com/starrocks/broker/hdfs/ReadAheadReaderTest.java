@@ -0,0 +1,184 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.broker.hdfs;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.thrift.TException;
+import org.apache.thrift.TProcessor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ReadAheadReaderTest {
+    private static final int FILE_SIZE = (1 << 20) + 100;
+    private static final int CHUNK_SIZE = 64 << 10;
+
+    private File file;
+    private byte[] content;
+    private FileSystem fs;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws IOException {
+        content = new byte[FILE_SIZE];
+        new Random(0).nextBytes(content);
+        file = File.createTempFile("read_ahead", ".dat");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(content);
+        }
+        fs = FileSystem.getLocal(new Configuration());
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        fs.close();
+        file.delete();
+    }
+
+    private void assertContent(long offset, int length, ByteBuffer buffer) {
+        Assert.assertEquals(length, buffer.remaining());
+        for (int i = 0; i < length; i++) {
+            Assert.assertEquals(content[(int) offset + i], buffer.get(buffer.position() + i));
+        }
+    }
+
+    @Test
+    public void testSequentialRead() throws IOException {
+        ReadBufferPool pool = new ReadBufferPool(16 << 20);
+        BrokerReadStats stats = new BrokerReadStats();
+        try (FSDataInputStream in = fs.open(new Path(file.getPath()))) {
+            ReadAheadReader reader = new ReadAheadReader(in, CHUNK_SIZE, pool, stats, executor);
+            long offset = 0;
+            while (true) {
+                // the length larger than the max read length is truncated
+                ByteBuffer buffer = reader.read(offset, CHUNK_SIZE * 2);
+                if (buffer.remaining() == 0) {
+                    break;
+                }
+                assertContent(offset, (int) Math.min(CHUNK_SIZE, FILE_SIZE - offset), buffer);
+                offset += buffer.remaining();
+                pool.release(buffer.array());
+            }
+            Assert.assertEquals(FILE_SIZE, offset);
+            reader.close();
+        }
+        Assert.assertEquals(FILE_SIZE, stats.getReadBytes());
+        Assert.assertEquals(FILE_SIZE / CHUNK_SIZE + 2, stats.getReadCount());
+        Assert.assertTrue(stats.getPrefetchHitCount() > 0);
+        Assert.assertEquals(stats.getPrefetchCount(), stats.getPrefetchHitCount() + stats.getPrefetchWastedCount());
+        Assert.assertTrue(pool.getReusedCount() > 0);
+    }
+
+    @Test
+    public void testRandomRead() throws IOException {
+        ReadBufferPool pool = new ReadBufferPool(16 << 20);
+        BrokerReadStats stats = new BrokerReadStats();
+        Random random = new Random(1);
+        try (FSDataInputStream in = fs.open(new Path(file.getPath()))) {
+            ReadAheadReader reader = new ReadAheadReader(in, CHUNK_SIZE, pool, stats, executor);
+            for (int i = 0; i < 100; i++) {
+                // read several chunks sequentially to trigger read ahead, then jump to another offset
+                long offset = random.nextInt(FILE_SIZE - CHUNK_SIZE * 4);
+                int length = random.nextInt(CHUNK_SIZE) + 1;
+                for (int j = 0; j < 4; j++) {
+                    ByteBuffer buffer = reader.read(offset, length);
+                    assertContent(offset, length, buffer);
+                    offset += length;
+                    pool.release(buffer.array());
+                }
+            }
+            reader.close();
+        }
+        Assert.assertEquals(stats.getPrefetchCount(), stats.getPrefetchHitCount() + stats.getPrefetchWastedCount());
+    }
+
+    @Test
+    public void testReadWithoutReadAhead() throws IOException {
+        ReadBufferPool pool = new ReadBufferPool(16 << 20);
+        BrokerReadStats stats = new BrokerReadStats();
+        try (FSDataInputStream in = fs.open(new Path(file.getPath()))) {
+            ReadAheadReader reader = new ReadAheadReader(in, CHUNK_SIZE, pool, stats, null);
+            for (long offset = 0; offset < FILE_SIZE; offset += CHUNK_SIZE) {
+                ByteBuffer buffer = reader.read(offset, CHUNK_SIZE);
+                assertContent(offset, (int) Math.min(CHUNK_SIZE, FILE_SIZE - offset), buffer);
+                pool.release(buffer.array());
+            }
+            Assert.assertEquals(0, reader.read(FILE_SIZE, CHUNK_SIZE).remaining());
+        }
+        Assert.assertEquals(0, stats.getPrefetchCount());
+    }
+
+    @Test
+    public void testBufferPool() {
+        ReadBufferPool pool = new ReadBufferPool(1 << 20);
+        byte[] buffer = pool.acquire(100 << 10);
+        Assert.assertEquals(128 << 10, buffer.length);
+        pool.release(buffer);
+        Assert.assertEquals(128 << 10, pool.getPooledBytes());
+        Assert.assertSame(buffer, pool.acquire(65 << 10));
+        Assert.assertEquals(0, pool.getPooledBytes());
+        Assert.assertEquals(1, pool.getReusedCount());
+        Assert.assertEquals(4 << 10, pool.acquire(0).length);
+
+        // full
+        pool.release(new byte[1 << 20]);
+        pool.release(new byte[4 << 10]);
+        Assert.assertEquals(1 << 20, pool.getPooledBytes());
+        Assert.assertEquals(1, pool.getDroppedCount());
+        // not allocated by the pool
+        pool.release(new byte[1000]);
+        Assert.assertEquals(1 << 20, pool.getPooledBytes());
+    }
+
+    @Test
+    public void testReleaseBufferProcessor() {
+        ReadBufferPool pool = new ReadBufferPool(1 << 20);
+        List<byte[]> responseBuffers = new ArrayList<>();
+        Runnable releaser = () -> {
+            responseBuffers.forEach(pool::release);
+            responseBuffers.clear();
+        };
+
+        // the buffers are released after the response is written
+        TProcessor processor = new ReleaseBufferProcessor((in, out) -> {
+            responseBuffers.add(pool.acquire(CHUNK_SIZE));
+            Assert.assertEquals(0, pool.getPooledBytes());
+        }, releaser);
+        try {
+            processor.process(null, null);
+        } catch (TException e) {
+            Assert.fail(e.getMessage());
+        }
+        Assert.assertEquals(CHUNK_SIZE, pool.getPooledBytes());
+
+        // and when the request fails
+        processor = new ReleaseBufferProcessor((in, out) -> {
+            responseBuffers.add(pool.acquire(CHUNK_SIZE));
+            throw new TException("failed");
+        }, releaser);
+        try {
+            processor.process(null, null);
+            Assert.fail();
+        } catch (TException e) {
+            Assert.assertEquals("failed", e.getMessage());
+        }
+        Assert.assertEquals(CHUNK_SIZE, pool.getPooledBytes());
+        Assert.assertTrue(responseBuffers.isEmpty());
+    }
+}
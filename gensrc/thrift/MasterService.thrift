@@ -103,12 +103,20 @@ struct TReportRequest {
     8: optional i64 tablet_max_compaction_score
     // active workgroup on this backend
     9: optional list<WorkGroup.TWorkGroup> active_workgroups
+    // generation of this tablet report, must be increasing even if backend restarts
+    10: optional i64 tablet_report_generation
+    // if set, the report is incremental and only contains the tablets changed after this generation,
+    // which must be a generation acknowledged by FE in TMasterResult.tablet_report_generation
+    11: optional i64 base_tablet_report_generation
 }
 
 struct TMasterResult {
     // required in V1
     1: required Status.TStatus status
     2: optional list<WorkGroup.TWorkGroupOp> workgroup_ops
+    // the generation of the latest tablet report handled by FE, backend can send the tablets changed
+    // after it as an incremental report. -1 means a full tablet report is expected.
+    3: optional i64 tablet_report_generation
 }
 
 // Deprecated
@@ -11,6 +11,10 @@ public class JDBCScanContext {
 
     private int statementFetchSize;
     private int connectionPoolSize;
+    // the max number of rows of a chunk, use the statement fetch size if not set
+    private int chunkSize;
+    // reuse the off-heap memory of the previous chunk, the chunk is valid until the next chunk is fetched
+    private boolean reuseChunk = true;
 
     public JDBCScanContext() {}
     public JDBCScanContext(String driverClassName, String jdbcURL, String user, String password,
@@ -48,6 +52,14 @@ public class JDBCScanContext {
         this.statementFetchSize = statementFetchSize;
     }
 
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public void setReuseChunk(boolean reuseChunk) {
+        this.reuseChunk = reuseChunk;
+    }
+
     public String getDriverClassName() {
         return driverClassName;
     }
@@ -76,4 +88,12 @@ public class JDBCScanContext {
         return connectionPoolSize;
     }
 
+    public int getChunkSize() {
+        return chunkSize > 0 ? chunkSize : statementFetchSize;
+    }
+
+    public boolean isReuseChunk() {
+        return reuseChunk;
+    }
+
 }
@@ -2,17 +2,28 @@
 
 package com.starrocks.jdbcbridge;
 
+import com.starrocks.jni.connector.OffHeapColumnVector;
+import com.starrocks.jni.connector.OffHeapTable;
+import com.starrocks.jni.connector.TypeMapping;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import java.math.BigDecimal;
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 public class JDBCScanner {
+    private static final Logger LOG = LogManager.getLogger(JDBCScanner.class);
+
     private String driverLocation;
     private HikariDataSource dataSource;
     private JDBCScanContext scanContext;
@@ -21,6 +32,13 @@ public class JDBCScanner {
     private ResultSet resultSet;
     private ResultSetMetaData resultSetMetaData;
     private List<String> resultColumnClassNames;
+    private OffHeapColumnVector.OffHeapColumnType[] offHeapColumnTypes;
+    private OffHeapTable offHeapTable;
+
+    // statistics of this scan
+    private long scanRows = 0;
+    private long scanBytes = 0;
+    private long scanTimeNs = 0;
 
     public JDBCScanner(String driverLocation, JDBCScanContext scanContext) {
         this.driverLocation = driverLocation;
@@ -58,28 +76,224 @@ public class JDBCScanner {
     }
 
     public boolean hasNext() throws Exception {
-        return resultSet.next();
+        long startTime = System.nanoTime();
+        try {
+            return resultSet.next();
+        } finally {
+            scanTimeNs += System.nanoTime() - startTime;
+        }
     }
 
-    // return columnar chunk
-    public List<List<Object>> getNextChunk() throws Exception {
-        int chunkSize = scanContext.getStatementFetchSize();
-        int columnCount = resultSetMetaData.getColumnCount();
-        List<List<Object>> chunk = new ArrayList<>(columnCount);
-        for (int i = 0; i < columnCount; i++) {
-            chunk.add(new ArrayList<>(chunkSize));
+    /**
+     * Fill the rows into an off-heap table by the typed getters of result set, return the address of the meta
+     * column whose layout is described in {@link OffHeapTable}. It must be called after {@link #hasNext()}
+     * returns true. Dates, datetimes and decimals are saved as strings, byte arrays are saved as the raw bytes.
+     * <p>
+     * If {@link JDBCScanContext#isReuseChunk()}, the memory of the table is reused by the next chunk, so the
+     * caller must consume the chunk before fetching the next one, otherwise the caller must call
+     * {@link #releaseOffHeapTable()} after consuming it.
+     */
+    public long getNextOffHeapChunk() throws Exception {
+        long startTime = System.nanoTime();
+        int chunkSize = scanContext.getChunkSize();
+        if (offHeapColumnTypes == null) {
+            offHeapColumnTypes = new OffHeapColumnVector.OffHeapColumnType[resultColumnClassNames.size()];
+            for (int i = 0; i < offHeapColumnTypes.length; i++) {
+                String className = resultColumnClassNames.get(i);
+                offHeapColumnTypes[i] = TypeMapping.jdbcTypeMappings.get(className);
+                if (offHeapColumnTypes[i] == null) {
+                    throw new UnsupportedOperationException("Unsupported JDBC result type: " + className);
+                }
+            }
+        }
+        if (offHeapTable != null && scanContext.isReuseChunk()) {
+            offHeapTable.reset();
+        } else {
+            releaseOffHeapTable();
+            offHeapTable = new OffHeapTable(offHeapColumnTypes, chunkSize);
         }
+
         int numRows = 0;
-        do {
-            for (int i = 0; i < columnCount; i++) {
-                chunk.get(i).add(resultSet.getObject(i + 1));
+        try {
+            do {
+                for (int i = 0; i < offHeapColumnTypes.length; i++) {
+                    appendValue(i);
+                }
+                numRows++;
+            } while (numRows < chunkSize && resultSet.next());
+        } catch (Exception e) {
+            releaseOffHeapTable();
+            throw e;
+        }
+        offHeapTable.setNumRows(numRows);
+        scanRows += numRows;
+        scanBytes += offHeapTable.getUsedBytes();
+        scanTimeNs += System.nanoTime() - startTime;
+        return offHeapTable.getMetaNativeAddress();
+    }
+
+    private void appendValue(int index) throws Exception {
+        OffHeapColumnVector column = offHeapTable.vectors[index];
+        int columnIndex = index + 1;
+        switch (offHeapColumnTypes[index]) {
+            case BYTE: {
+                byte value = resultSet.getByte(columnIndex);
+                if (resultSet.wasNull()) {
+                    column.appendNull();
+                } else {
+                    column.appendByte(value);
+                }
+                break;
+            }
+            case BOOLEAN: {
+                boolean value = resultSet.getBoolean(columnIndex);
+                if (resultSet.wasNull()) {
+                    column.appendNull();
+                } else {
+                    column.appendBoolean(value);
+                }
+                break;
+            }
+            case SHORT: {
+                short value = resultSet.getShort(columnIndex);
+                if (resultSet.wasNull()) {
+                    column.appendNull();
+                } else {
+                    column.appendShort(value);
+                }
+                break;
+            }
+            case INT: {
+                int value = resultSet.getInt(columnIndex);
+                if (resultSet.wasNull()) {
+                    column.appendNull();
+                } else {
+                    column.appendInt(value);
+                }
+                break;
+            }
+            case FLOAT: {
+                float value = resultSet.getFloat(columnIndex);
+                if (resultSet.wasNull()) {
+                    column.appendNull();
+                } else {
+                    column.appendFloat(value);
+                }
+                break;
+            }
+            case LONG: {
+                long value = resultSet.getLong(columnIndex);
+                if (resultSet.wasNull()) {
+                    column.appendNull();
+                } else {
+                    column.appendLong(value);
+                }
+                break;
+            }
+            case DOUBLE: {
+                double value = resultSet.getDouble(columnIndex);
+                if (resultSet.wasNull()) {
+                    column.appendNull();
+                } else {
+                    column.appendDouble(value);
+                }
+                break;
+            }
+            case STRING: {
+                if (resultColumnClassNames.get(index).equals("[B")) {
+                    byte[] value = resultSet.getBytes(columnIndex);
+                    if (value == null) {
+                        column.appendNull();
+                    } else {
+                        column.appendByteArray(value);
+                    }
+                    break;
+                }
+                String value = resultSet.getString(columnIndex);
+                if (value == null) {
+                    column.appendNull();
+                } else {
+                    column.appendString(value);
+                }
+                break;
+            }
+            case DATE: {
+                String value = getDateString(index, columnIndex);
+                if (value == null) {
+                    column.appendNull();
+                } else {
+                    column.appendString(value);
+                }
+                break;
+            }
+            case DECIMAL: {
+                String value = getDecimalString(index, columnIndex);
+                if (value == null) {
+                    column.appendNull();
+                } else {
+                    column.appendString(value);
+                }
+                break;
+            }
+            default:
+                throw new UnsupportedOperationException("Unsupported type: " + offHeapColumnTypes[index]);
+        }
+    }
+
+    private String getDateString(int index, int columnIndex) throws Exception {
+        switch (resultColumnClassNames.get(index)) {
+            case "java.sql.Date": {
+                Date value = resultSet.getDate(columnIndex);
+                return value == null ? null : JDBCUtil.formatDate(value);
+            }
+            case "java.sql.Timestamp": {
+                Timestamp value = resultSet.getTimestamp(columnIndex);
+                return value == null ? null : JDBCUtil.formatTimestamp(value);
+            }
+            default: {
+                LocalDateTime value = resultSet.getObject(columnIndex, LocalDateTime.class);
+                return value == null ? null : JDBCUtil.formatLocalDatetime(value);
             }
-            numRows++;
-        } while (numRows < chunkSize && resultSet.next());
-        return chunk;
+        }
+    }
+
+    private String getDecimalString(int index, int columnIndex) throws Exception {
+        if (resultColumnClassNames.get(index).equals("java.math.BigInteger")) {
+            Object value = resultSet.getObject(columnIndex);
+            return value == null ? null : value.toString();
+        }
+        BigDecimal value = resultSet.getBigDecimal(columnIndex);
+        return value == null ? null : value.toPlainString();
+    }
+
+    public void releaseOffHeapTable() {
+        if (offHeapTable != null) {
+            offHeapTable.close();
+            offHeapTable = null;
+        }
+    }
+
+    // used for cpp interface, exported to the profile of the scan node when the scanner is closed
+    public long getScanRows() {
+        return scanRows;
+    }
+
+    public long getScanBytes() {
+        return scanBytes;
+    }
+
+    public long getScanTimeNs() {
+        return scanTimeNs;
     }
 
     public void close() throws Exception {
+        releaseOffHeapTable();
+        if (scanRows > 0) {
+            double seconds = Math.max(scanTimeNs, 1) / 1e9;
+            LOG.info("JDBC scan finished, rows: {}, bytes: {}, time: {}ms, rows/s: {}, bytes/s: {}",
+                    scanRows, scanBytes, scanTimeNs / 1000000, (long) (scanRows / seconds),
+                    (long) (scanBytes / seconds));
+        }
         if (resultSet != null) {
             resultSet.close();
         }
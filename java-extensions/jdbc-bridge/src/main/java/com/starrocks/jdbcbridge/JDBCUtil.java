@@ -3,19 +3,23 @@
 package com.starrocks.jdbcbridge;
 
 import java.sql.Date;
-import java.text.SimpleDateFormat;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 public class JDBCUtil {
-    private static final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+    private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     // format Date to 'YYYY-MM-dd'
     static String formatDate(Date date) {
-        return format.format(date);
+        return dateFormatter.format(date.toLocalDate());
     }
     // format LocalDateTime to 'yyyy-MM-dd HH:mm:ss'
     static String formatLocalDatetime(LocalDateTime localDateTime) {
         return dateTimeFormatter.format(localDateTime);
     }
+    // format Timestamp to 'yyyy-MM-dd HH:mm:ss'
+    static String formatTimestamp(Timestamp timestamp) {
+        return dateTimeFormatter.format(timestamp.toLocalDateTime());
+    }
 }
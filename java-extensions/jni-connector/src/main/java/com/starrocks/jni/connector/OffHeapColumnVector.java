@@ -156,7 +156,10 @@ public class OffHeapColumnVector {
         }
     }
 
-    private void reset() {
+    /**
+     * Clear the appended data but keep the allocated memory, so the column can be filled again.
+     */
+    public void reset() {
         if (childColumns != null) {
             for (OffHeapColumnVector c : childColumns) {
                 c.reset();
@@ -194,6 +197,10 @@ public class OffHeapColumnVector {
     public int appendNull() {
         reserve(elementsAppended + 1);
         putNull(elementsAppended);
+        if (isVariableLength()) {
+            // keep the offsets continuous, the length of null is 0
+            putArray(elementsAppended, arrayData().elementsAppended, 0);
+        }
         return elementsAppended++;
     }
 
@@ -202,6 +209,20 @@ public class OffHeapColumnVector {
         ++numNulls;
     }
 
+    public int appendByte(byte v) {
+        reserve(elementsAppended + 1);
+        putByte(elementsAppended, v);
+        return elementsAppended++;
+    }
+
+    private void putByte(int rowId, byte value) {
+        Platform.putByte(null, data + rowId, value);
+    }
+
+    public byte getByte(int rowId) {
+        return Platform.getByte(null, data + rowId);
+    }
+
     public int appendBoolean(boolean v) {
         reserve(elementsAppended + 1);
         putBoolean(elementsAppended, v);
@@ -306,7 +327,11 @@ public class OffHeapColumnVector {
 
     public int appendString(String str) {
         byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
-        return appendByteArray(bytes, 0, str.length());
+        return appendByteArray(bytes, 0, bytes.length);
+    }
+
+    public int appendByteArray(byte[] value) {
+        return appendByteArray(value, 0, value.length);
     }
 
     private int appendByteArray(byte[] value, int offset, int length) {
@@ -331,6 +356,31 @@ public class OffHeapColumnVector {
         return new String(bytes, StandardCharsets.UTF_8);
     }
 
+    private boolean isVariableLength() {
+        return type == OffHeapColumnType.STRING || type == OffHeapColumnType.DATE || type == OffHeapColumnType.DECIMAL;
+    }
+
+    /**
+     * The number of bytes of the appended data, including the null indicators and offsets.
+     */
+    public long getUsedBytes() {
+        switch (type) {
+            case BOOLEAN:
+            case BYTE:
+                return elementsAppended * 2L;
+            case SHORT:
+                return elementsAppended * 3L;
+            case INT:
+            case FLOAT:
+                return elementsAppended * 5L;
+            case LONG:
+            case DOUBLE:
+                return elementsAppended * 9L;
+            default:
+                return elementsAppended * 5L + arrayData().elementsAppended;
+        }
+    }
+
     private int getArrayOffset(int rowId) {
         return Platform.getInt(null, offsetData + 4L * rowId);
     }
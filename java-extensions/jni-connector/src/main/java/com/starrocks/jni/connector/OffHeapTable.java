@@ -70,7 +70,8 @@ public class OffHeapTable {
         for (int i = 0; i < types.length; i++) {
             vectors[i] = new OffHeapColumnVector(capacity, types[i]);
             if (types[i] == OffHeapColumnVector.OffHeapColumnType.STRING
-                    || types[i] == OffHeapColumnVector.OffHeapColumnType.DATE) {
+                    || types[i] == OffHeapColumnVector.OffHeapColumnType.DATE
+                    || types[i] == OffHeapColumnVector.OffHeapColumnType.DECIMAL) {
                 metaSize += 3;
             } else {
                 metaSize += 2;
@@ -90,6 +91,9 @@ public class OffHeapTable {
 
         OffHeapColumnVector.OffHeapColumnType type = types[fieldId];
         switch (type) {
+            case BYTE:
+                column.appendByte((byte) o);
+                break;
             case BOOLEAN:
                 column.appendBoolean((boolean) o);
                 break;
@@ -129,6 +133,29 @@ public class OffHeapTable {
         this.numRows = numRows;
     }
 
+    /**
+     * Clear the data of all columns and keep the allocated memory, so the table can be reused for
+     * the next chunk. The table must not be released.
+     */
+    public void reset() {
+        for (OffHeapColumnVector vector : vectors) {
+            vector.reset();
+        }
+        meta.reset();
+        numRows = 0;
+    }
+
+    /**
+     * The number of bytes of the data appended to all columns.
+     */
+    public long getUsedBytes() {
+        long bytes = 0;
+        for (OffHeapColumnVector vector : vectors) {
+            bytes += vector.getUsedBytes();
+        }
+        return bytes;
+    }
+
     public long getMetaNativeAddress() {
         meta.appendLong(numRows);
         for (int i = 0; i < types.length; i++) {
@@ -163,6 +190,9 @@ public class OffHeapTable {
                 }
                 OffHeapColumnVector.OffHeapColumnType type = types[fieldId];
                 switch (type) {
+                    case BYTE:
+                        sb.append(column.getByte(i)).append(", ");
+                        break;
                     case BOOLEAN:
                         sb.append(column.getBoolean(i)).append(", ");
                         break;
@@ -19,4 +19,24 @@ public class TypeMapping {
         hiveTypeMappings.put("date", OffHeapColumnVector.OffHeapColumnType.DATE);
         hiveTypeMappings.put("decimal", OffHeapColumnVector.OffHeapColumnType.DECIMAL);
     }
+
+    // mappings from the class names of JDBC result set columns, the dates and decimals are saved as strings,
+    // byte arrays are saved as the raw bytes of strings
+    public static Map<String, OffHeapColumnVector.OffHeapColumnType> jdbcTypeMappings = new HashMap<>();
+    static {
+        jdbcTypeMappings.put("java.lang.Byte", OffHeapColumnVector.OffHeapColumnType.BYTE);
+        jdbcTypeMappings.put("java.lang.Boolean", OffHeapColumnVector.OffHeapColumnType.BOOLEAN);
+        jdbcTypeMappings.put("java.lang.Short", OffHeapColumnVector.OffHeapColumnType.SHORT);
+        jdbcTypeMappings.put("java.lang.Integer", OffHeapColumnVector.OffHeapColumnType.INT);
+        jdbcTypeMappings.put("java.lang.Float", OffHeapColumnVector.OffHeapColumnType.FLOAT);
+        jdbcTypeMappings.put("java.lang.Long", OffHeapColumnVector.OffHeapColumnType.LONG);
+        jdbcTypeMappings.put("java.lang.Double", OffHeapColumnVector.OffHeapColumnType.DOUBLE);
+        jdbcTypeMappings.put("java.lang.String", OffHeapColumnVector.OffHeapColumnType.STRING);
+        jdbcTypeMappings.put("[B", OffHeapColumnVector.OffHeapColumnType.STRING);
+        jdbcTypeMappings.put("java.sql.Date", OffHeapColumnVector.OffHeapColumnType.DATE);
+        jdbcTypeMappings.put("java.sql.Timestamp", OffHeapColumnVector.OffHeapColumnType.DATE);
+        jdbcTypeMappings.put("java.time.LocalDateTime", OffHeapColumnVector.OffHeapColumnType.DATE);
+        jdbcTypeMappings.put("java.math.BigDecimal", OffHeapColumnVector.OffHeapColumnType.DECIMAL);
+        jdbcTypeMappings.put("java.math.BigInteger", OffHeapColumnVector.OffHeapColumnType.DECIMAL);
+    }
 }
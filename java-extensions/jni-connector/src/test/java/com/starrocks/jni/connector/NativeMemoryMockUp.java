@@ -0,0 +1,40 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.jni.connector;
+
+import com.starrocks.utils.NativeMethodHelper;
+import mockit.Mock;
+import mockit.MockUp;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+
+/**
+ * The native methods of {@link NativeMethodHelper} are registered by the JNI launcher in BE, which is absent
+ * in unit tests, so the off-heap memory is allocated by Unsafe instead.
+ */
+public class NativeMemoryMockUp extends MockUp<NativeMethodHelper> {
+    private static final Unsafe UNSAFE;
+
+    static {
+        try {
+            Field field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            UNSAFE = (Unsafe) field.get(null);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Mock
+    public static long memoryTrackerMalloc(long bytes) {
+        return UNSAFE.allocateMemory(bytes);
+    }
+
+    @Mock
+    public static void memoryTrackerFree(long address) {
+        if (address != 0) {
+            UNSAFE.freeMemory(address);
+        }
+    }
+}
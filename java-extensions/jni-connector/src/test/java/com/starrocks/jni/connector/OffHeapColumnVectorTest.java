@@ -0,0 +1,147 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.jni.connector;
+
+import com.starrocks.utils.Platform;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class OffHeapColumnVectorTest {
+    private OffHeapColumnVector column;
+
+    @BeforeClass
+    public static void setUp() {
+        new NativeMemoryMockUp();
+    }
+
+    @After
+    public void tearDown() {
+        if (column != null) {
+            column.close();
+            column = null;
+        }
+    }
+
+    private static int getOffset(OffHeapColumnVector column, int rowId) {
+        return Platform.getInt(null, column.arrayOffsetNativeAddress() + 4L * rowId);
+    }
+
+    @Test
+    public void testAppendNullOfVariableLength() {
+        column = new OffHeapColumnVector(2, OffHeapColumnVector.OffHeapColumnType.STRING);
+        column.appendString("ab");
+        column.appendNull();
+        column.appendString("cde");
+        column.appendNull();
+
+        // the offsets are continuous, the length of null is 0
+        int[] expected = {0, 2, 2, 5, 5};
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], getOffset(column, i));
+        }
+        Assert.assertEquals("ab", column.getUTF8String(0));
+        Assert.assertNull(column.getUTF8String(1));
+        Assert.assertEquals("cde", column.getUTF8String(2));
+        Assert.assertNull(column.getUTF8String(3));
+        Assert.assertTrue(column.hasNull());
+    }
+
+    @Test
+    public void testAppendNullFirst() {
+        column = new OffHeapColumnVector(4, OffHeapColumnVector.OffHeapColumnType.DECIMAL);
+        column.appendNull();
+        column.appendString("1.5");
+        Assert.assertEquals(0, getOffset(column, 0));
+        Assert.assertEquals(0, getOffset(column, 1));
+        Assert.assertEquals(3, getOffset(column, 2));
+        Assert.assertEquals("1.5", column.getUTF8String(1));
+    }
+
+    @Test
+    public void testAppendUTF8String() {
+        column = new OffHeapColumnVector(4, OffHeapColumnVector.OffHeapColumnType.STRING);
+        // 3-byte, 3-byte and 2-byte chars in UTF-8
+        String value = "\u661f\u77f3\u00e9";
+        column.appendString(value);
+        column.appendString("a");
+
+        // the length is in bytes instead of chars
+        int length = value.getBytes(StandardCharsets.UTF_8).length;
+        Assert.assertEquals(8, length);
+        Assert.assertEquals(length, getOffset(column, 1));
+        Assert.assertEquals(length + 1, getOffset(column, 2));
+        Assert.assertEquals(value, column.getUTF8String(0));
+        Assert.assertEquals("a", column.getUTF8String(1));
+        Assert.assertEquals(2 * 5L + length + 1, column.getUsedBytes());
+    }
+
+    @Test
+    public void testAppendByteArray() {
+        column = new OffHeapColumnVector(4, OffHeapColumnVector.OffHeapColumnType.STRING);
+        byte[] value = {0, -1, 2};
+        column.appendByteArray(value);
+        // the bytes are copied as they are
+        Assert.assertEquals(3, getOffset(column, 1));
+        long data = column.arrayDataNativeAddress();
+        for (int i = 0; i < value.length; i++) {
+            Assert.assertEquals(value[i], Platform.getByte(null, data + i));
+        }
+    }
+
+    @Test
+    public void testReset() {
+        column = new OffHeapColumnVector(2, OffHeapColumnVector.OffHeapColumnType.STRING);
+        for (int i = 0; i < 10; i++) {
+            if (i % 3 == 0) {
+                column.appendNull();
+            } else {
+                column.appendString("value" + i);
+            }
+        }
+        long usedBytes = column.getUsedBytes();
+        Assert.assertTrue(column.hasNull());
+
+        column.reset();
+        Assert.assertFalse(column.hasNull());
+        Assert.assertEquals(0, column.getUsedBytes());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertFalse(column.isNullAt(i));
+        }
+
+        // the column is filled again from the first row
+        for (int i = 0; i < 10; i++) {
+            if (i % 3 == 0) {
+                column.appendNull();
+            } else {
+                column.appendString("value" + i);
+            }
+        }
+        Assert.assertEquals(usedBytes, column.getUsedBytes());
+        Assert.assertEquals(0, getOffset(column, 0));
+        Assert.assertNull(column.getUTF8String(0));
+        Assert.assertEquals("value1", column.getUTF8String(1));
+        Assert.assertEquals("value8", column.getUTF8String(8));
+    }
+
+    @Test
+    public void testFixedLength() {
+        column = new OffHeapColumnVector(1, OffHeapColumnVector.OffHeapColumnType.INT);
+        column.appendInt(1);
+        column.appendNull();
+        column.appendInt(-3);
+        Assert.assertEquals(1, column.getInt(0));
+        Assert.assertTrue(column.isNullAt(1));
+        Assert.assertEquals(-3, column.getInt(2));
+        Assert.assertEquals(3 * 5L, column.getUsedBytes());
+
+        column.reset();
+        column.appendInt(4);
+        Assert.assertFalse(column.isNullAt(1));
+        Assert.assertEquals(4, column.getInt(0));
+        Assert.assertEquals(5L, column.getUsedBytes());
+    }
+}
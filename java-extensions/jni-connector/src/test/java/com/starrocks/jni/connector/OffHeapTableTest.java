@@ -0,0 +1,90 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.jni.connector;
+
+import com.starrocks.utils.Platform;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class OffHeapTableTest {
+    private static final OffHeapColumnVector.OffHeapColumnType[] TYPES = {
+            OffHeapColumnVector.OffHeapColumnType.BYTE,
+            OffHeapColumnVector.OffHeapColumnType.LONG,
+            OffHeapColumnVector.OffHeapColumnType.STRING,
+    };
+
+    private OffHeapTable table;
+
+    @BeforeClass
+    public static void setUp() {
+        new NativeMemoryMockUp();
+    }
+
+    @After
+    public void tearDown() {
+        if (table != null) {
+            table.close();
+            table = null;
+        }
+    }
+
+    private void fill(int numRows) {
+        for (int i = 0; i < numRows; i++) {
+            table.appendData(0, i % 2 == 0 ? null : (byte) i);
+            table.appendData(1, (long) i);
+            table.appendData(2, i % 3 == 0 ? null : "row" + i);
+        }
+        table.setNumRows(numRows);
+    }
+
+    @Test
+    public void testMeta() {
+        table = new OffHeapTable(TYPES, 4);
+        fill(5);
+
+        long meta = table.getMetaNativeAddress();
+        Assert.assertEquals(5, Platform.getLong(null, meta));
+        // BYTE: nulls and data
+        long nulls = Platform.getLong(null, meta + 8);
+        long data = Platform.getLong(null, meta + 16);
+        Assert.assertEquals(1, Platform.getByte(null, nulls));
+        Assert.assertEquals(0, Platform.getByte(null, nulls + 1));
+        Assert.assertEquals(3, Platform.getByte(null, data + 3));
+        // LONG: nulls and data
+        data = Platform.getLong(null, meta + 32);
+        Assert.assertEquals(4, Platform.getLong(null, data + 8 * 4));
+        // STRING: nulls, offsets and data
+        nulls = Platform.getLong(null, meta + 40);
+        long offsets = Platform.getLong(null, meta + 48);
+        data = Platform.getLong(null, meta + 56);
+        Assert.assertEquals(1, Platform.getByte(null, nulls + 3));
+        Assert.assertEquals(Platform.getInt(null, offsets + 4 * 3), Platform.getInt(null, offsets + 4 * 4));
+        int start = Platform.getInt(null, offsets + 4 * 4);
+        Assert.assertEquals('r', Platform.getByte(null, data + start));
+        Assert.assertEquals(start + 4, Platform.getInt(null, offsets + 4 * 5));
+    }
+
+    @Test
+    public void testReset() {
+        table = new OffHeapTable(TYPES, 2);
+        fill(10);
+        long usedBytes = table.getUsedBytes();
+        table.getMetaNativeAddress();
+
+        table.reset();
+        Assert.assertEquals(0, table.numRows);
+        Assert.assertEquals(0, table.getUsedBytes());
+
+        // the same data is filled into the reused memory, the meta is rebuilt from the start
+        fill(10);
+        Assert.assertEquals(usedBytes, table.getUsedBytes());
+        long meta = table.getMetaNativeAddress();
+        Assert.assertEquals(10, Platform.getLong(null, meta));
+        Assert.assertTrue(table.vectors[0].isNullAt(0));
+        Assert.assertEquals(1, table.vectors[0].getByte(1));
+        Assert.assertNull(table.vectors[2].getUTF8String(9));
+        Assert.assertEquals("row8", table.vectors[2].getUTF8String(8));
+    }
+}
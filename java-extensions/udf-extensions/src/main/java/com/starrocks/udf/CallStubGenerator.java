@@ -9,6 +9,8 @@ import org.objectweb.asm.Type;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.objectweb.asm.Opcodes.AALOAD;
 import static org.objectweb.asm.Opcodes.AASTORE;
@@ -22,11 +24,14 @@ import static org.objectweb.asm.Opcodes.F_APPEND;
 import static org.objectweb.asm.Opcodes.F_CHOP;
 import static org.objectweb.asm.Opcodes.GOTO;
 import static org.objectweb.asm.Opcodes.ICONST_0;
+import static org.objectweb.asm.Opcodes.IFNE;
 import static org.objectweb.asm.Opcodes.IF_ICMPGE;
 import static org.objectweb.asm.Opcodes.ILOAD;
 import static org.objectweb.asm.Opcodes.INTEGER;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
 import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
 import static org.objectweb.asm.Opcodes.ISTORE;
+import static org.objectweb.asm.Opcodes.LLOAD;
 import static org.objectweb.asm.Opcodes.RETURN;
 import static org.objectweb.asm.Opcodes.V1_8;
 
@@ -286,4 +291,282 @@ public class CallStubGenerator {
         return generator.getByteCode();
     }
 
+    private static final String UDF_HELPER_NAME = Type.getInternalName(UDFHelper.class);
+
+    // the name used in the accessors of UDFHelper, e.g. getIntAt, getBoxedIntAt, putIntArray
+    private static final Map<Class<?>, String> PRIMITIVE_ACCESSOR_NAMES = new HashMap<>();
+    private static final Map<Class<?>, Class<?>> BOXED_TO_PRIMITIVE = new HashMap<>();
+
+    static {
+        PRIMITIVE_ACCESSOR_NAMES.put(boolean.class, "Boolean");
+        PRIMITIVE_ACCESSOR_NAMES.put(byte.class, "Byte");
+        PRIMITIVE_ACCESSOR_NAMES.put(short.class, "Short");
+        PRIMITIVE_ACCESSOR_NAMES.put(int.class, "Int");
+        PRIMITIVE_ACCESSOR_NAMES.put(long.class, "Long");
+        PRIMITIVE_ACCESSOR_NAMES.put(float.class, "Float");
+        PRIMITIVE_ACCESSOR_NAMES.put(double.class, "Double");
+        BOXED_TO_PRIMITIVE.put(Boolean.class, boolean.class);
+        BOXED_TO_PRIMITIVE.put(Byte.class, byte.class);
+        BOXED_TO_PRIMITIVE.put(Short.class, short.class);
+        BOXED_TO_PRIMITIVE.put(Integer.class, int.class);
+        BOXED_TO_PRIMITIVE.put(Long.class, long.class);
+        BOXED_TO_PRIMITIVE.put(Float.class, float.class);
+        BOXED_TO_PRIMITIVE.put(Double.class, double.class);
+    }
+
+    // The native call stub of scalar UDF reads the arguments from the memory of BE columns and writes the results
+    // back to the result column, instead of converting every column to a boxed array.
+    // Every argument is passed by the addresses of its column: (nullAddr, dataAddr) for fixed length types,
+    // and (nullAddr, offsetAddr, dataAddr) for String. The nullAddr is 0 if the column is not nullable.
+    // The result of the row is null if any primitive argument is null.
+    //
+    // public class CallStub {
+    //     public static void batchCallV(int rows, UDF obj, long null0, long data0, ..., long resNull, long resData) {
+    //         for (int i = 0; i < rows; ++i) {
+    //             UDFHelper.putIntAt(resNull, resData, i, obj.evaluate(UDFHelper.getIntAt(data0, i), ...));
+    //         }
+    //     }
+    // }
+    //
+    // The scalar UDF whose arguments and result are all primitive arrays, e.g. int[] evaluate(int[] a, long[] b),
+    // processes the whole batch in one call:
+    //     public static void batchCallV(int rows, UDF obj, long null0, long data0, ..., long resNull, long resData) {
+    //         UDFHelper.clearNulls(resNull, rows);
+    //         UDFHelper.mergeNulls(resNull, null0, rows);
+    //         ...
+    //         UDFHelper.putIntArray(resData, rows, obj.evaluate(UDFHelper.getIntArray(data0, rows), ...));
+    //     }
+    private static class NativeBatchCallGenerator {
+        NativeBatchCallGenerator(Class<?> clazz, Method method) {
+            this.udfClazz = clazz;
+            this.udfMethod = method;
+        }
+
+        private final Class<?> udfClazz;
+        private final Method udfMethod;
+
+        // only the object type of the UDF is merged, which doesn't need to be loaded
+        private final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                return "java/lang/Object";
+            }
+        };
+
+        private boolean isPrimitiveArrayCall() {
+            if (!isPrimitiveArray(udfMethod.getReturnType())) {
+                return false;
+            }
+            for (Class<?> type : udfMethod.getParameterTypes()) {
+                if (!isPrimitiveArray(type)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isSupported() {
+            if (isPrimitiveArrayCall()) {
+                return true;
+            }
+            Class<?> returnType = udfMethod.getReturnType();
+            if (!PRIMITIVE_ACCESSOR_NAMES.containsKey(returnType) && !BOXED_TO_PRIMITIVE.containsKey(returnType)) {
+                return false;
+            }
+            for (Class<?> type : udfMethod.getParameterTypes()) {
+                if (!PRIMITIVE_ACCESSOR_NAMES.containsKey(type) && !BOXED_TO_PRIMITIVE.containsKey(type) &&
+                        type != String.class) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isPrimitiveArray(Class<?> type) {
+            return type.isArray() && PRIMITIVE_ACCESSOR_NAMES.containsKey(type.getComponentType());
+        }
+
+        private static int numAddrs(Class<?> type) {
+            return type == String.class ? 3 : 2;
+        }
+
+        private void declareCallStubClazz() {
+            writer.visit(V1_8, ACC_PUBLIC, CLAZZ_NAME, null, "java/lang/Object", null);
+        }
+
+        private void genBatchCall() {
+            final Class<?>[] argTypes = udfMethod.getParameterTypes();
+            StringBuilder desc = new StringBuilder("(");
+            desc.append("I");
+            desc.append(Type.getDescriptor(udfClazz));
+            // local var0: rows, var1: UDF handle
+            int slot = 2;
+            // the first slot of the addresses of every argument
+            int[] argSlots = new int[argTypes.length];
+            for (int i = 0; i < argTypes.length; i++) {
+                argSlots[i] = slot;
+                for (int j = 0; j < numAddrs(argTypes[i]); j++) {
+                    desc.append("J");
+                    slot += 2;
+                }
+            }
+            int resNullSlot = slot;
+            int resDataSlot = slot + 2;
+            desc.append("JJ");
+            slot += 4;
+            desc.append(")V");
+
+            final MethodVisitor batchCall =
+                    writer.visitMethod(ACC_PUBLIC + ACC_STATIC, "batchCallV", desc.toString(), null,
+                            new String[] {"java/lang/Exception"});
+            batchCall.visitCode();
+            if (isPrimitiveArrayCall()) {
+                genPrimitiveArrayCall(batchCall, argTypes, argSlots, resNullSlot, resDataSlot);
+            } else {
+                genRowCall(batchCall, argTypes, argSlots, resNullSlot, resDataSlot, slot);
+            }
+            batchCall.visitMaxs(0, 0);
+            batchCall.visitEnd();
+        }
+
+        private void genRowCall(MethodVisitor batchCall, Class<?>[] argTypes, int[] argSlots, int resNullSlot,
+                                int resDataSlot, int slot) {
+            int iIndex = slot;
+            batchCall.visitInsn(ICONST_0);
+            batchCall.visitVarInsn(ISTORE, iIndex);
+
+            final Label loop = new Label();
+            final Label next = new Label();
+            final Label nullRow = new Label();
+            final Label end = new Label();
+            boolean hasPrimitiveArg = false;
+
+            batchCall.visitLabel(loop);
+            batchCall.visitVarInsn(ILOAD, iIndex);
+            batchCall.visitVarInsn(ILOAD, 0);
+            batchCall.visitJumpInsn(IF_ICMPGE, end);
+
+            // primitive arguments can't be null
+            for (int i = 0; i < argTypes.length; i++) {
+                if (argTypes[i].isPrimitive()) {
+                    hasPrimitiveArg = true;
+                    batchCall.visitVarInsn(LLOAD, argSlots[i]);
+                    batchCall.visitVarInsn(ILOAD, iIndex);
+                    batchCall.visitMethodInsn(INVOKESTATIC, UDF_HELPER_NAME, "isNullAt", "(JI)Z", false);
+                    batchCall.visitJumpInsn(IFNE, nullRow);
+                }
+            }
+
+            batchCall.visitVarInsn(LLOAD, resNullSlot);
+            batchCall.visitVarInsn(LLOAD, resDataSlot);
+            batchCall.visitVarInsn(ILOAD, iIndex);
+            batchCall.visitVarInsn(ALOAD, 1);
+            for (int i = 0; i < argTypes.length; i++) {
+                genLoadArgument(batchCall, argTypes[i], argSlots[i], iIndex);
+            }
+            batchCall.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(udfClazz), udfMethod.getName(),
+                    Type.getMethodDescriptor(udfMethod), false);
+
+            final Class<?> returnType = udfMethod.getReturnType();
+            if (returnType.isPrimitive()) {
+                batchCall.visitMethodInsn(INVOKESTATIC, UDF_HELPER_NAME,
+                        "put" + PRIMITIVE_ACCESSOR_NAMES.get(returnType) + "At",
+                        "(JJI" + Type.getDescriptor(returnType) + ")V", false);
+            } else {
+                batchCall.visitMethodInsn(INVOKESTATIC, UDF_HELPER_NAME,
+                        "putBoxed" + PRIMITIVE_ACCESSOR_NAMES.get(BOXED_TO_PRIMITIVE.get(returnType)) + "At",
+                        "(JJI" + Type.getDescriptor(returnType) + ")V", false);
+            }
+
+            if (hasPrimitiveArg) {
+                batchCall.visitJumpInsn(GOTO, next);
+                batchCall.visitLabel(nullRow);
+                batchCall.visitVarInsn(LLOAD, resNullSlot);
+                batchCall.visitVarInsn(ILOAD, iIndex);
+                batchCall.visitMethodInsn(INVOKESTATIC, UDF_HELPER_NAME, "putNullAt", "(JI)V", false);
+            }
+            batchCall.visitLabel(next);
+            batchCall.visitIincInsn(iIndex, 1);
+            batchCall.visitJumpInsn(GOTO, loop);
+
+            batchCall.visitLabel(end);
+            batchCall.visitInsn(RETURN);
+        }
+
+        private void genLoadArgument(MethodVisitor batchCall, Class<?> type, int argSlot, int iIndex) {
+            if (type.isPrimitive()) {
+                // skip the null address
+                batchCall.visitVarInsn(LLOAD, argSlot + 2);
+                batchCall.visitVarInsn(ILOAD, iIndex);
+                batchCall.visitMethodInsn(INVOKESTATIC, UDF_HELPER_NAME,
+                        "get" + PRIMITIVE_ACCESSOR_NAMES.get(type) + "At",
+                        "(JI)" + Type.getDescriptor(type), false);
+            } else if (type == String.class) {
+                batchCall.visitVarInsn(LLOAD, argSlot);
+                batchCall.visitVarInsn(LLOAD, argSlot + 2);
+                batchCall.visitVarInsn(LLOAD, argSlot + 4);
+                batchCall.visitVarInsn(ILOAD, iIndex);
+                batchCall.visitMethodInsn(INVOKESTATIC, UDF_HELPER_NAME, "getStringAt",
+                        "(JJJI)Ljava/lang/String;", false);
+            } else {
+                batchCall.visitVarInsn(LLOAD, argSlot);
+                batchCall.visitVarInsn(LLOAD, argSlot + 2);
+                batchCall.visitVarInsn(ILOAD, iIndex);
+                batchCall.visitMethodInsn(INVOKESTATIC, UDF_HELPER_NAME,
+                        "getBoxed" + PRIMITIVE_ACCESSOR_NAMES.get(BOXED_TO_PRIMITIVE.get(type)) + "At",
+                        "(JJI)" + Type.getDescriptor(type), false);
+            }
+        }
+
+        private void genPrimitiveArrayCall(MethodVisitor batchCall, Class<?>[] argTypes, int[] argSlots,
+                                           int resNullSlot, int resDataSlot) {
+            batchCall.visitVarInsn(LLOAD, resNullSlot);
+            batchCall.visitVarInsn(ILOAD, 0);
+            batchCall.visitMethodInsn(INVOKESTATIC, UDF_HELPER_NAME, "clearNulls", "(JI)V", false);
+            for (int argSlot : argSlots) {
+                batchCall.visitVarInsn(LLOAD, resNullSlot);
+                batchCall.visitVarInsn(LLOAD, argSlot);
+                batchCall.visitVarInsn(ILOAD, 0);
+                batchCall.visitMethodInsn(INVOKESTATIC, UDF_HELPER_NAME, "mergeNulls", "(JJI)V", false);
+            }
+
+            final Class<?> returnType = udfMethod.getReturnType();
+            batchCall.visitVarInsn(LLOAD, resDataSlot);
+            batchCall.visitVarInsn(ILOAD, 0);
+            batchCall.visitVarInsn(ALOAD, 1);
+            for (int i = 0; i < argTypes.length; i++) {
+                batchCall.visitVarInsn(LLOAD, argSlots[i] + 2);
+                batchCall.visitVarInsn(ILOAD, 0);
+                batchCall.visitMethodInsn(INVOKESTATIC, UDF_HELPER_NAME,
+                        "get" + PRIMITIVE_ACCESSOR_NAMES.get(argTypes[i].getComponentType()) + "Array",
+                        "(JI)" + Type.getDescriptor(argTypes[i]), false);
+            }
+            batchCall.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(udfClazz), udfMethod.getName(),
+                    Type.getMethodDescriptor(udfMethod), false);
+            batchCall.visitMethodInsn(INVOKESTATIC, UDF_HELPER_NAME,
+                    "put" + PRIMITIVE_ACCESSOR_NAMES.get(returnType.getComponentType()) + "Array",
+                    "(JI" + Type.getDescriptor(returnType) + ")V", false);
+            batchCall.visitInsn(RETURN);
+        }
+
+        private void finish() {
+            writer.visitEnd();
+        }
+
+        private byte[] getByteCode() {
+            return writer.toByteArray();
+        }
+    }
+
+    // return null if the types of the method are not supported by native call stub
+    public static byte[] generateNativeScalarCallStub(Class<?> clazz, Method method) {
+        final NativeBatchCallGenerator generator = new NativeBatchCallGenerator(clazz, method);
+        if (!generator.isSupported()) {
+            return null;
+        }
+        generator.declareCallStubClazz();
+        generator.genBatchCall();
+        generator.finish();
+        return generator.getByteCode();
+    }
 }
@@ -18,7 +18,9 @@ public class UDFClassLoader extends URLClassLoader {
 
     private Map<String, Class<?>> genClazzMap = new HashMap<>();
     private static final int SINGLE_BATCH_UPDATE = 1;
-    private static final int BATCH_EVALUATE = 2; 
+    private static final int BATCH_EVALUATE = 2;
+    // the stub reading the arguments from the memory of columns, see CallStubGenerator
+    private static final int NATIVE_BATCH_EVALUATE = 4;
 
     public UDFClassLoader(String udfPath) throws IOException {
         super(new URL[] {new URL("file://" + udfPath)});
@@ -45,9 +47,15 @@ public class UDFClassLoader extends URLClassLoader {
             bytes = CallStubGenerator.generateCallStubV(clazz, method);
         } else if (genType == BATCH_EVALUATE) {
             bytes = CallStubGenerator.generateScalarCallStub(clazz, method);
+        } else if (genType == NATIVE_BATCH_EVALUATE) {
+            bytes = CallStubGenerator.generateNativeScalarCallStub(clazz, method);
         } else {
             throw new UnsupportedOperationException("Unsupported generate stub type:" + genType);
         }
+        // the types of method are not supported by native stub, the caller should use the boxed one
+        if (bytes == null) {
+            return null;
+        }
         final Class<?> genClazz = defineClass(clazzName, bytes, 0, bytes.length);
         genClazzMap.put(name, genClazz);
         return genClazz;
@@ -296,7 +296,6 @@ public class UDFHelper {
     public static Object[] createBoxedIntegerArray(int numRows, ByteBuffer nullBuffer, ByteBuffer dataBuffer) {
         int[] dataArr = new int[numRows];
         dataBuffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(dataArr);
-        dataBuffer.asIntBuffer().get(dataArr);
         if (nullBuffer != null) {
             byte[] nullArr = getNullData(nullBuffer, numRows);
             Integer[] result = new Integer[numRows];
@@ -471,6 +470,278 @@ public class UDFHelper {
         return strings;
     }
 
+    // Accessors of the native columns used by the call stubs generated by CallStubGenerator.
+    // The null address is 0 if the column is not nullable.
+    public static boolean isNullAt(long nullAddr, int row) {
+        return nullAddr != 0 && Platform.getByte(null, nullAddr + row) != 0;
+    }
+
+    public static boolean getBooleanAt(long dataAddr, int row) {
+        return Platform.getByte(null, dataAddr + row) != 0;
+    }
+
+    public static byte getByteAt(long dataAddr, int row) {
+        return Platform.getByte(null, dataAddr + row);
+    }
+
+    public static short getShortAt(long dataAddr, int row) {
+        return Platform.getShort(null, dataAddr + 2L * row);
+    }
+
+    public static int getIntAt(long dataAddr, int row) {
+        return Platform.getInt(null, dataAddr + 4L * row);
+    }
+
+    public static long getLongAt(long dataAddr, int row) {
+        return Platform.getLong(null, dataAddr + 8L * row);
+    }
+
+    public static float getFloatAt(long dataAddr, int row) {
+        return Platform.getFloat(null, dataAddr + 4L * row);
+    }
+
+    public static double getDoubleAt(long dataAddr, int row) {
+        return Platform.getDouble(null, dataAddr + 8L * row);
+    }
+
+    public static Boolean getBoxedBooleanAt(long nullAddr, long dataAddr, int row) {
+        return isNullAt(nullAddr, row) ? null : getBooleanAt(dataAddr, row);
+    }
+
+    public static Byte getBoxedByteAt(long nullAddr, long dataAddr, int row) {
+        return isNullAt(nullAddr, row) ? null : getByteAt(dataAddr, row);
+    }
+
+    public static Short getBoxedShortAt(long nullAddr, long dataAddr, int row) {
+        return isNullAt(nullAddr, row) ? null : getShortAt(dataAddr, row);
+    }
+
+    public static Integer getBoxedIntAt(long nullAddr, long dataAddr, int row) {
+        return isNullAt(nullAddr, row) ? null : getIntAt(dataAddr, row);
+    }
+
+    public static Long getBoxedLongAt(long nullAddr, long dataAddr, int row) {
+        return isNullAt(nullAddr, row) ? null : getLongAt(dataAddr, row);
+    }
+
+    public static Float getBoxedFloatAt(long nullAddr, long dataAddr, int row) {
+        return isNullAt(nullAddr, row) ? null : getFloatAt(dataAddr, row);
+    }
+
+    public static Double getBoxedDoubleAt(long nullAddr, long dataAddr, int row) {
+        return isNullAt(nullAddr, row) ? null : getDoubleAt(dataAddr, row);
+    }
+
+    public static String getStringAt(long nullAddr, long offsetAddr, long dataAddr, int row) {
+        if (isNullAt(nullAddr, row)) {
+            return null;
+        }
+        int start = Platform.getInt(null, offsetAddr + 4L * row);
+        int end = Platform.getInt(null, offsetAddr + 4L * (row + 1));
+        byte[] bytes = new byte[end - start];
+        Platform.copyMemory(null, dataAddr + start, bytes, Platform.BYTE_ARRAY_OFFSET, end - start);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void putNullAt(long nullAddr, int row) {
+        Platform.putByte(null, nullAddr + row, (byte) 1);
+    }
+
+    public static void putBooleanAt(long nullAddr, long dataAddr, int row, boolean value) {
+        Platform.putByte(null, nullAddr + row, (byte) 0);
+        Platform.putByte(null, dataAddr + row, (byte) (value ? 1 : 0));
+    }
+
+    public static void putByteAt(long nullAddr, long dataAddr, int row, byte value) {
+        Platform.putByte(null, nullAddr + row, (byte) 0);
+        Platform.putByte(null, dataAddr + row, value);
+    }
+
+    public static void putShortAt(long nullAddr, long dataAddr, int row, short value) {
+        Platform.putByte(null, nullAddr + row, (byte) 0);
+        Platform.putShort(null, dataAddr + 2L * row, value);
+    }
+
+    public static void putIntAt(long nullAddr, long dataAddr, int row, int value) {
+        Platform.putByte(null, nullAddr + row, (byte) 0);
+        Platform.putInt(null, dataAddr + 4L * row, value);
+    }
+
+    public static void putLongAt(long nullAddr, long dataAddr, int row, long value) {
+        Platform.putByte(null, nullAddr + row, (byte) 0);
+        Platform.putLong(null, dataAddr + 8L * row, value);
+    }
+
+    public static void putFloatAt(long nullAddr, long dataAddr, int row, float value) {
+        Platform.putByte(null, nullAddr + row, (byte) 0);
+        Platform.putFloat(null, dataAddr + 4L * row, value);
+    }
+
+    public static void putDoubleAt(long nullAddr, long dataAddr, int row, double value) {
+        Platform.putByte(null, nullAddr + row, (byte) 0);
+        Platform.putDouble(null, dataAddr + 8L * row, value);
+    }
+
+    public static void putBoxedBooleanAt(long nullAddr, long dataAddr, int row, Boolean value) {
+        if (value == null) {
+            putNullAt(nullAddr, row);
+        } else {
+            putBooleanAt(nullAddr, dataAddr, row, value);
+        }
+    }
+
+    public static void putBoxedByteAt(long nullAddr, long dataAddr, int row, Byte value) {
+        if (value == null) {
+            putNullAt(nullAddr, row);
+        } else {
+            putByteAt(nullAddr, dataAddr, row, value);
+        }
+    }
+
+    public static void putBoxedShortAt(long nullAddr, long dataAddr, int row, Short value) {
+        if (value == null) {
+            putNullAt(nullAddr, row);
+        } else {
+            putShortAt(nullAddr, dataAddr, row, value);
+        }
+    }
+
+    public static void putBoxedIntAt(long nullAddr, long dataAddr, int row, Integer value) {
+        if (value == null) {
+            putNullAt(nullAddr, row);
+        } else {
+            putIntAt(nullAddr, dataAddr, row, value);
+        }
+    }
+
+    public static void putBoxedLongAt(long nullAddr, long dataAddr, int row, Long value) {
+        if (value == null) {
+            putNullAt(nullAddr, row);
+        } else {
+            putLongAt(nullAddr, dataAddr, row, value);
+        }
+    }
+
+    public static void putBoxedFloatAt(long nullAddr, long dataAddr, int row, Float value) {
+        if (value == null) {
+            putNullAt(nullAddr, row);
+        } else {
+            putFloatAt(nullAddr, dataAddr, row, value);
+        }
+    }
+
+    public static void putBoxedDoubleAt(long nullAddr, long dataAddr, int row, Double value) {
+        if (value == null) {
+            putNullAt(nullAddr, row);
+        } else {
+            putDoubleAt(nullAddr, dataAddr, row, value);
+        }
+    }
+
+    // Accessors for the UDFs with primitive array arguments, which process the whole batch in one call
+    // and never see the nulls. The result is null if any argument is null.
+    public static void mergeNulls(long resultNullAddr, long nullAddr, int numRows) {
+        if (nullAddr == 0) {
+            return;
+        }
+        for (int i = 0; i < numRows; i++) {
+            if (Platform.getByte(null, nullAddr + i) != 0) {
+                Platform.putByte(null, resultNullAddr + i, (byte) 1);
+            }
+        }
+    }
+
+    public static void clearNulls(long nullAddr, int numRows) {
+        Platform.setMemory(nullAddr, (byte) 0, numRows);
+    }
+
+    public static boolean[] getBooleanArray(long dataAddr, int numRows) {
+        boolean[] values = new boolean[numRows];
+        for (int i = 0; i < numRows; i++) {
+            values[i] = getBooleanAt(dataAddr, i);
+        }
+        return values;
+    }
+
+    public static byte[] getByteArray(long dataAddr, int numRows) {
+        byte[] values = new byte[numRows];
+        Platform.copyMemory(null, dataAddr, values, Platform.BYTE_ARRAY_OFFSET, numRows);
+        return values;
+    }
+
+    public static short[] getShortArray(long dataAddr, int numRows) {
+        short[] values = new short[numRows];
+        Platform.copyMemory(null, dataAddr, values, Platform.SHORT_ARRAY_OFFSET, numRows * 2L);
+        return values;
+    }
+
+    public static int[] getIntArray(long dataAddr, int numRows) {
+        int[] values = new int[numRows];
+        Platform.copyMemory(null, dataAddr, values, Platform.INT_ARRAY_OFFSET, numRows * 4L);
+        return values;
+    }
+
+    public static long[] getLongArray(long dataAddr, int numRows) {
+        long[] values = new long[numRows];
+        Platform.copyMemory(null, dataAddr, values, Platform.LONG_ARRAY_OFFSET, numRows * 8L);
+        return values;
+    }
+
+    public static float[] getFloatArray(long dataAddr, int numRows) {
+        float[] values = new float[numRows];
+        Platform.copyMemory(null, dataAddr, values, Platform.FLOAT_ARRAY_OFFSET, numRows * 4L);
+        return values;
+    }
+
+    public static double[] getDoubleArray(long dataAddr, int numRows) {
+        double[] values = new double[numRows];
+        Platform.copyMemory(null, dataAddr, values, Platform.DOUBLE_ARRAY_OFFSET, numRows * 8L);
+        return values;
+    }
+
+    private static void checkResultSize(int length, int numRows) {
+        if (length != numRows) {
+            throw new IllegalStateException("UDF returns " + length + " rows, but expect " + numRows + " rows");
+        }
+    }
+
+    public static void putBooleanArray(long dataAddr, int numRows, boolean[] values) {
+        checkResultSize(values.length, numRows);
+        for (int i = 0; i < numRows; i++) {
+            Platform.putByte(null, dataAddr + i, (byte) (values[i] ? 1 : 0));
+        }
+    }
+
+    public static void putByteArray(long dataAddr, int numRows, byte[] values) {
+        checkResultSize(values.length, numRows);
+        Platform.copyMemory(values, Platform.BYTE_ARRAY_OFFSET, null, dataAddr, numRows);
+    }
+
+    public static void putShortArray(long dataAddr, int numRows, short[] values) {
+        checkResultSize(values.length, numRows);
+        Platform.copyMemory(values, Platform.SHORT_ARRAY_OFFSET, null, dataAddr, numRows * 2L);
+    }
+
+    public static void putIntArray(long dataAddr, int numRows, int[] values) {
+        checkResultSize(values.length, numRows);
+        Platform.copyMemory(values, Platform.INT_ARRAY_OFFSET, null, dataAddr, numRows * 4L);
+    }
+
+    public static void putLongArray(long dataAddr, int numRows, long[] values) {
+        checkResultSize(values.length, numRows);
+        Platform.copyMemory(values, Platform.LONG_ARRAY_OFFSET, null, dataAddr, numRows * 8L);
+    }
+
+    public static void putFloatArray(long dataAddr, int numRows, float[] values) {
+        checkResultSize(values.length, numRows);
+        Platform.copyMemory(values, Platform.FLOAT_ARRAY_OFFSET, null, dataAddr, numRows * 4L);
+    }
+
+    public static void putDoubleArray(long dataAddr, int numRows, double[] values) {
+        checkResultSize(values.length, numRows);
+        Platform.copyMemory(values, Platform.DOUBLE_ARRAY_OFFSET, null, dataAddr, numRows * 8L);
+    }
+
     // batch call void(Object...)
     public static void batchUpdate(Object o, Method method, FunctionStates ctx, int[] states, Object[] column)
             throws Throwable {
@@ -2,11 +2,17 @@
 
 package com.starrocks.udf;
 
+import com.starrocks.utils.Platform;
 import org.junit.Assert;
 import org.junit.Test;
+import sun.misc.Unsafe;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 public class CallStubGeneratorTest {
     public static class IntSumfunc {
@@ -144,4 +150,156 @@ public class CallStubGeneratorTest {
             Assert.assertEquals(expects[i], res[i]);
         }
     }
+
+    // The memory of native columns. Platform allocates memory by the native methods of BE,
+    // so allocate it by Unsafe directly in tests.
+    private static class NativeMemory implements AutoCloseable {
+        private static final Unsafe UNSAFE;
+
+        static {
+            try {
+                Field field = Unsafe.class.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                UNSAFE = (Unsafe) field.get(null);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        private final List<Long> addresses = new ArrayList<>();
+
+        long allocate(long bytes) {
+            long address = UNSAFE.allocateMemory(bytes);
+            UNSAFE.setMemory(address, bytes, (byte) 0);
+            addresses.add(address);
+            return address;
+        }
+
+        long ints(int[] values) {
+            long address = allocate(values.length * 4L);
+            Platform.copyMemory(values, Platform.INT_ARRAY_OFFSET, null, address, values.length * 4L);
+            return address;
+        }
+
+        long longs(long[] values) {
+            long address = allocate(values.length * 8L);
+            Platform.copyMemory(values, Platform.LONG_ARRAY_OFFSET, null, address, values.length * 8L);
+            return address;
+        }
+
+        long nulls(int numRows, int nullEvery) {
+            long address = allocate(numRows);
+            for (int i = 0; i < numRows; i += nullEvery) {
+                Platform.putByte(null, address + i, (byte) 1);
+            }
+            return address;
+        }
+
+        // return the addresses of offsets and bytes
+        long[] strings(String[] values) {
+            int[] offsets = new int[values.length + 1];
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < values.length; i++) {
+                sb.append(values[i]);
+                offsets[i + 1] = sb.toString().getBytes(StandardCharsets.UTF_8).length;
+            }
+            byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+            long bytesAddr = allocate(bytes.length + 1);
+            Platform.copyMemory(bytes, Platform.BYTE_ARRAY_OFFSET, null, bytesAddr, bytes.length);
+            return new long[] {ints(offsets), bytesAddr};
+        }
+
+        @Override
+        public void close() {
+            for (Long address : addresses) {
+                UNSAFE.freeMemory(address);
+            }
+        }
+    }
+
+    private static Method loadNativeStub(byte[] bytes) throws ClassNotFoundException {
+        final String genClassName = CallStubGenerator.CLAZZ_NAME.replace("/", ".");
+        ClassLoader classLoader = new TestClassLoader(genClassName, bytes);
+        return getFirstMethod(classLoader.loadClass(genClassName), "batchCallV");
+    }
+
+    public static class ScalarNativeAdd {
+        public Integer evaluate(Integer v1, long v2, String v3) {
+            return v1 == null ? null : (int) (v1 + v2 + v3.length());
+        }
+    }
+
+    @Test
+    public void testNativeScalarCallStub() throws Exception {
+        Method m = ScalarNativeAdd.class.getMethod("evaluate", Integer.class, long.class, String.class);
+        Method batchCall = loadNativeStub(CallStubGenerator.generateNativeScalarCallStub(ScalarNativeAdd.class, m));
+
+        int testSize = 1000;
+        int[] inputs1 = new int[testSize];
+        long[] inputs2 = new long[testSize];
+        String[] inputs3 = new String[testSize];
+        for (int i = 0; i < testSize; i++) {
+            inputs1[i] = i;
+            inputs2[i] = i * 10L;
+            inputs3[i] = "\u4e2d" + i;
+        }
+        try (NativeMemory memory = new NativeMemory()) {
+            long[] strings = memory.strings(inputs3);
+            long resNull = memory.allocate(testSize);
+            long resData = memory.allocate(testSize * 4L);
+            // every 3rd of v1 and every 5th of v2 is null, v3 is not nullable
+            batchCall.invoke(null, testSize, new ScalarNativeAdd(), memory.nulls(testSize, 3), memory.ints(inputs1),
+                    memory.nulls(testSize, 5), memory.longs(inputs2), 0L, strings[0], strings[1], resNull, resData);
+
+            for (int i = 0; i < testSize; i++) {
+                boolean isNull = i % 3 == 0 || i % 5 == 0;
+                Assert.assertEquals(isNull, UDFHelper.isNullAt(resNull, i));
+                if (!isNull) {
+                    Assert.assertEquals(inputs1[i] + inputs2[i] + inputs3[i].length(), UDFHelper.getIntAt(resData, i));
+                }
+            }
+        }
+    }
+
+    public static class ScalarArrayAdd {
+        public long[] evaluate(int[] v1, long[] v2) {
+            long[] res = new long[v1.length];
+            for (int i = 0; i < v1.length; i++) {
+                res[i] = v1[i] + v2[i];
+            }
+            return res;
+        }
+    }
+
+    @Test
+    public void testPrimitiveArrayCallStub() throws Exception {
+        Method m = ScalarArrayAdd.class.getMethod("evaluate", int[].class, long[].class);
+        Method batchCall = loadNativeStub(CallStubGenerator.generateNativeScalarCallStub(ScalarArrayAdd.class, m));
+
+        int testSize = 1000;
+        int[] inputs1 = new int[testSize];
+        long[] inputs2 = new long[testSize];
+        for (int i = 0; i < testSize; i++) {
+            inputs1[i] = i;
+            inputs2[i] = Long.MAX_VALUE - i * 2L;
+        }
+        try (NativeMemory memory = new NativeMemory()) {
+            long resNull = memory.nulls(testSize, 1);
+            long resData = memory.allocate(testSize * 8L);
+            batchCall.invoke(null, testSize, new ScalarArrayAdd(), memory.nulls(testSize, 7), memory.ints(inputs1),
+                    0L, memory.longs(inputs2), resNull, resData);
+
+            for (int i = 0; i < testSize; i++) {
+                Assert.assertEquals(i % 7 == 0, UDFHelper.isNullAt(resNull, i));
+                Assert.assertEquals(inputs1[i] + inputs2[i], UDFHelper.getLongAt(resData, i));
+            }
+        }
+    }
+
+    @Test
+    public void testUnsupportedNativeCallStub() throws Exception {
+        // the result of String is not supported, use the boxed stub
+        Method m = ScalarAdd.class.getMethod("evaluate", String.class, Integer.class);
+        Assert.assertNull(CallStubGenerator.generateNativeScalarCallStub(ScalarAdd.class, m));
+    }
 }
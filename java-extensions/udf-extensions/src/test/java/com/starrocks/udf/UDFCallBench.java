@@ -0,0 +1,186 @@
+// This file is licensed under the Elastic License 2.0. Copyright 2021-present, StarRocks Inc.
+
+package com.starrocks.udf;
+
+import com.starrocks.utils.Platform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the rows/s of calling a scalar UDF {@code Integer evaluate(Integer, Integer)} on nullable INT columns:
+ * the boxed path converting the columns to boxed arrays and calling the UDF by reflection or the boxed call stub,
+ * and the native call stubs reading the columns directly, including the UDF with primitive array arguments.
+ * <p>
+ * The boxed result is copied to the result column like {@link UDFHelper#getResultFromBoxedArray}, which can't
+ * be called outside BE.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class UDFCallBench {
+    private static final int ROWS = 4096;
+    private static final Unsafe UNSAFE;
+
+    static {
+        try {
+            Field field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            UNSAFE = (Unsafe) field.get(null);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static class IntAdd {
+        public Integer evaluate(Integer v1, Integer v2) {
+            return v1 + v2;
+        }
+    }
+
+    public static class IntArrayAdd {
+        public int[] evaluate(int[] v1, int[] v2) {
+            int[] res = new int[v1.length];
+            for (int i = 0; i < v1.length; i++) {
+                res[i] = v1[i] + v2[i];
+            }
+            return res;
+        }
+    }
+
+    private static class StubClassLoader extends ClassLoader {
+        Method defineStub(byte[] bytes) throws Exception {
+            String name = CallStubGenerator.CLAZZ_NAME.replace("/", ".");
+            Class<?> clazz = defineClass(name, bytes, 0, bytes.length);
+            for (Method method : clazz.getMethods()) {
+                if (method.getName().equals("batchCallV")) {
+                    return method;
+                }
+            }
+            throw new IllegalStateException("batchCallV is not generated");
+        }
+    }
+
+    private final IntAdd intAdd = new IntAdd();
+    private final IntArrayAdd intArrayAdd = new IntArrayAdd();
+    private Method evaluate;
+    private Method boxedStub;
+    private Method nativeStub;
+    private Method arrayStub;
+
+    private byte[] nulls;
+    private ByteBuffer nullBuffer;
+    private ByteBuffer dataBuffer;
+    private long nullAddr;
+    private long dataAddr;
+    private long resNullAddr;
+    private long resDataAddr;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        evaluate = IntAdd.class.getMethod("evaluate", Integer.class, Integer.class);
+        boxedStub = new StubClassLoader().defineStub(CallStubGenerator.generateScalarCallStub(IntAdd.class, evaluate));
+        nativeStub = new StubClassLoader().defineStub(
+                CallStubGenerator.generateNativeScalarCallStub(IntAdd.class, evaluate));
+        arrayStub = new StubClassLoader().defineStub(CallStubGenerator.generateNativeScalarCallStub(IntArrayAdd.class,
+                IntArrayAdd.class.getMethod("evaluate", int[].class, int[].class)));
+
+        nulls = new byte[ROWS];
+        int[] data = new int[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            data[i] = i;
+        }
+        nullBuffer = ByteBuffer.wrap(nulls);
+        dataBuffer = ByteBuffer.allocate(ROWS * 4).order(ByteOrder.LITTLE_ENDIAN);
+        dataBuffer.asIntBuffer().put(data);
+
+        nullAddr = UNSAFE.allocateMemory(ROWS);
+        UNSAFE.setMemory(nullAddr, ROWS, (byte) 0);
+        dataAddr = UNSAFE.allocateMemory(ROWS * 4L);
+        Platform.copyMemory(data, Platform.INT_ARRAY_OFFSET, null, dataAddr, ROWS * 4L);
+        resNullAddr = UNSAFE.allocateMemory(ROWS);
+        resDataAddr = UNSAFE.allocateMemory(ROWS * 4L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        UNSAFE.freeMemory(nullAddr);
+        UNSAFE.freeMemory(dataAddr);
+        UNSAFE.freeMemory(resNullAddr);
+        UNSAFE.freeMemory(resDataAddr);
+    }
+
+    private Object[][] createBoxedColumns() {
+        Object[] column1 = UDFHelper.createBoxedArray(UDFHelper.TYPE_INT, ROWS, true, nullBuffer.duplicate(),
+                dataBuffer.duplicate());
+        Object[] column2 = UDFHelper.createBoxedArray(UDFHelper.TYPE_INT, ROWS, true, nullBuffer.duplicate(),
+                dataBuffer.duplicate());
+        return new Object[][] {column1, column2};
+    }
+
+    private void copyBoxedResult(Integer[] result) {
+        byte[] resNulls = new byte[ROWS];
+        int[] resData = new int[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            if (result[i] == null) {
+                resNulls[i] = 1;
+            } else {
+                resData[i] = result[i];
+            }
+        }
+        Platform.copyMemory(resNulls, Platform.BYTE_ARRAY_OFFSET, null, resNullAddr, ROWS);
+        Platform.copyMemory(resData, Platform.INT_ARRAY_OFFSET, null, resDataAddr, ROWS * 4L);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void boxedReflection() throws Throwable {
+        copyBoxedResult((Integer[]) UDFHelper.batchCall(intAdd, evaluate, ROWS, createBoxedColumns()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void boxedCallStub() throws Exception {
+        Object[][] columns = createBoxedColumns();
+        copyBoxedResult((Integer[]) boxedStub.invoke(null, ROWS, intAdd, columns[0], columns[1]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void nativeCallStub() throws Exception {
+        nativeStub.invoke(null, ROWS, intAdd, nullAddr, dataAddr, nullAddr, dataAddr, resNullAddr, resDataAddr);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void primitiveArrayCallStub() throws Exception {
+        arrayStub.invoke(null, ROWS, intArrayAdd, nullAddr, dataAddr, nullAddr, dataAddr, resNullAddr, resDataAddr);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UDFCallBench.class.getSimpleName()).build()).run();
+    }
+}